@@ -0,0 +1,158 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Arnés de medición de los benchmarks.
+ *
+ * Cada caso se ejecuta en el hilo actual durante un calentamiento (para que el JIT
+ * compile las rutas medidas) y luego durante varias iteraciones de medición. Se reporta:
+ *
+ *   - rendimiento en operaciones por segundo (promedio de las iteraciones),
+ *   - latencia por operación en percentiles p50, p90, p99 y p99.9,
+ *   - bytes asignados por operación (com.sun.management.ThreadMXBean, si la JVM lo soporta).
+ *
+ * El valor retornado por cada operación se consume en un sumidero volátil para que el
+ * JIT no elimine el trabajo como código muerto.
+ */
+final class Bench {
+
+	/**
+	 * Operación a medir; el resultado se consume para evitar la eliminación de código muerto.
+	 */
+	interface Operation {
+		Object run() throws Exception;
+	}
+
+	/**
+	 * Latencias guardadas por iteración; si se excede, se conserva una muestra uniforme.
+	 */
+	private static final int MAX_SAMPLES = 1 << 20;
+
+	private static volatile int sink;
+
+	private final long warmupMillis;
+	private final long iterationMillis;
+	private final int iterations;
+	private final String filter;
+	private final com.sun.management.ThreadMXBean threads;
+
+	/**
+	 * Crea el arnés con la configuración de las propiedades de sistema:
+	 * bench.calentamiento (ms, por defecto 2000), bench.tiempo (ms por iteración, por
+	 * defecto 1000), bench.iteraciones (por defecto 5) y bench.filtro (subcadena del
+	 * nombre de los casos a ejecutar).
+	 */
+	Bench() {
+		this.warmupMillis = Long.getLong("bench.calentamiento", 2_000L);
+		this.iterationMillis = Long.getLong("bench.tiempo", 1_000L);
+		this.iterations = Integer.getInteger("bench.iteraciones", 5);
+		this.filter = System.getProperty("bench.filtro");
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+			this.threads = (com.sun.management.ThreadMXBean) bean;
+			this.threads.setThreadAllocatedMemoryEnabled(true);
+		} else {
+			this.threads = null;
+		}
+	}
+
+	/**
+	 * Imprime el encabezado de la tabla de resultados.
+	 */
+	void printHeader() {
+		System.out.printf(Locale.ROOT, "%-44s %14s %10s %10s %10s %10s %12s%n",
+			"Benchmark", "ops/s", "p50 us", "p90 us", "p99 us", "p99.9 us", "B/op");
+	}
+
+	/**
+	 * Ejecuta un caso e imprime su resultado.
+	 *
+	 * @param name Nombre del caso
+	 * @param operation Operación a medir
+	 * @throws Exception Si la operación falla
+	 */
+	void run(String name, Operation operation) throws Exception {
+		if (filter != null && !name.contains(filter)) {
+			return;
+		}
+		loop(operation, warmupMillis, null, 0);
+
+		long[] samples = new long[MAX_SAMPLES];
+		long ops = 0;
+		long nanos = 0;
+		long allocated = 0;
+		for (int i = 0; i < iterations; i++) {
+			long bytesBefore = allocatedBytes();
+			long start = System.nanoTime();
+			long count = loop(operation, iterationMillis, samples, ops);
+			nanos += System.nanoTime() - start;
+			allocated += allocatedBytes() - bytesBefore;
+			ops += count;
+		}
+
+		long[] sorted = Arrays.copyOf(samples, (int) Math.min(ops, samples.length));
+		Arrays.sort(sorted);
+		System.out.printf(Locale.ROOT, "%-44s %14.1f %10.2f %10.2f %10.2f %10.2f %12s%n",
+			name, ops * 1e9 / nanos,
+			percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 0.999),
+			threads == null ? "n/d" : String.valueOf(allocated / Math.max(1, ops)));
+	}
+
+	/**
+	 * Ejecuta la operación durante el tiempo indicado. Las latencias se guardan con
+	 * muestreo de reservorio sobre todas las iteraciones, para no sesgar los percentiles
+	 * hacia el inicio de la medición.
+	 *
+	 * @param samples Reservorio de latencias (null durante el calentamiento)
+	 * @param seen Operaciones medidas en iteraciones anteriores
+	 * @return Operaciones ejecutadas
+	 */
+	private static long loop(Operation operation, long millis, long[] samples, long seen) throws Exception {
+		long deadline = System.nanoTime() + millis * 1_000_000L;
+		long ops = 0;
+		int hash = 0;
+		long now = System.nanoTime();
+		while (now < deadline) {
+			Object result = operation.run();
+			long end = System.nanoTime();
+			hash += result == null ? 0 : System.identityHashCode(result);
+			if (samples != null) {
+				long n = seen + ops;
+				if (n < samples.length) {
+					samples[(int) n] = end - now;
+				} else {
+					long slot = (long) (Math.random() * (n + 1));
+					if (slot < samples.length) {
+						samples[(int) slot] = end - now;
+					}
+				}
+			}
+			ops++;
+			now = System.nanoTime();
+		}
+		sink += hash;
+		return ops;
+	}
+
+	private long allocatedBytes() {
+		return threads == null ? 0 : threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	private static double percentile(long[] sorted, double p) {
+		if (sorted.length == 0) {
+			return 0.0;
+		}
+		int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+		return sorted[Math.max(0, index)] / 1_000.0;
+	}
+}
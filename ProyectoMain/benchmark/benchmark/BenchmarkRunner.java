@@ -0,0 +1,292 @@
+package benchmark;
+
+import DAO.CachedUsuarioDAO;
+import DAO.ConsultaPagina;
+import DAO.CultivoDAO;
+import DAO.DAOBase;
+import DAO.InspeccionFitosanitariaDAO;
+import DAO.LoteDAO;
+import DAO.LugarProduccionDAO;
+import DAO.PredioDAO;
+import DAO.ResultadoTecnicoDAO;
+import DAO.UnidadDeTrabajo;
+import DAO.UsuarioDAO;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.AsistenteTecnico;
+import model.InspeccionFitosanitaria;
+import service.analitica.AnaliticaService;
+import service.analitica.ConsultaAnalitica;
+import service.analitica.Dimension;
+import service.analitica.ResultadosColumnares;
+import service.base.SessionContext;
+import service.negocio.CultivoService;
+import service.negocio.InspeccionFitosanitariaService;
+import service.utilidad.CsvWriter;
+import service.utilidad.ReportRequest;
+import service.usuario.UsuarioService;
+import service.utilidad.ReportService;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Punto de entrada de los benchmarks de la capa de datos y de servicios.
+ *
+ * Ejecuta los DAOs y servicios reales contra InMemoryDatabase, de modo que las mediciones
+ * cubren DAOBase (obtención de conexión, caché de sentencias, asignación de parámetros,
+ * cierre de recursos), los ResultSetMapper de cada DAO, la lógica de los servicios y la
+ * generación de reportes CSV.
+ *
+ * Uso (desde ProyectoMain, con src y benchmark compilados en el classpath):
+ *
+ *   java -cp bin:bin-benchmark benchmark.BenchmarkRunner
+ *
+ * Propiedades: bench.inspecciones (tamaño del conjunto de datos, por defecto 100000),
+ * bench.resultados (resultados del almacén analítico, por defecto 1000000),
+ * bench.filtro (subcadena de los casos a ejecutar) y las de Bench para los tiempos.
+ */
+public final class BenchmarkRunner {
+
+	private BenchmarkRunner() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		int inspecciones = Integer.getInteger("bench.inspecciones", 100_000);
+		InMemoryDatabase db = new InMemoryDatabase(inspecciones);
+		System.out.println("Datos: " + db.size("PREDIO") + " predios, " + db.size("LOTE") + " lotes, "
+			+ db.size("INSPECCION_FITOSANITARIA") + " inspecciones, " + db.size("RESULTADO_TECNICO")
+			+ " resultados");
+
+		// Sin sesión los DAOs con alcance no devuelven registros; se mide como administrador
+		AsistenteTecnico administrador = new AsistenteTecnico();
+		administrador.setId("1");
+		administrador.setRol(SessionContext.ROL_ADMINISTRADOR);
+		SessionContext.iniciar(administrador, new LugarProduccionDAO(db));
+
+		Bench bench = new Bench();
+		bench.printHeader();
+		daoBase(bench, db);
+		mapeo(bench, db, inspecciones);
+		servicios(bench, db);
+		reportes(bench, db);
+		analitica(bench, Integer.getInteger("bench.resultados", 1_000_000));
+	}
+
+	/**
+	 * Casos de DAOBase: asignación de parámetros sobre una sentencia preparada.
+	 */
+	private static void daoBase(Bench bench, InMemoryDatabase db) throws Exception {
+		ParametrosDAO dao = new ParametrosDAO(db);
+		Connection conn = db.getConnection();
+		PreparedStatement pstmt = conn.prepareStatement(
+			"UPDATE INSPECCION_FITOSANITARIA SET ID_CULTIVO = ?, ESTADO = ?, PLANTAS_AFECTADAS = ?, "
+			+ "NIVEL = ?, FECHA_INSPECCION = ?, FECHA_REGISTRO = ?, ACTIVO = ? WHERE ID_INSPECCION = ?");
+		Object[] params = {Long.valueOf(17), "COMPLETADA", Integer.valueOf(42), Double.valueOf(12.5),
+			Date.valueOf("2024-03-01"), new Timestamp(0), Boolean.TRUE, Long.valueOf(99)};
+		bench.run("DAOBase.setParameters(8 tipos)", () -> {
+			dao.asignar(pstmt, params);
+			return pstmt;
+		});
+		Object[] texto = {"COMPLETADA"};
+		bench.run("DAOBase.setParameters(1 String)", () -> {
+			dao.asignar(pstmt, texto);
+			return pstmt;
+		});
+		Date fecha = Date.valueOf("2024-03-01");
+		Timestamp registro = new Timestamp(0);
+		DAOBase.ParameterSetter tipados = b -> b.bindLong(17).bindString("COMPLETADA").bindInt(42)
+			.bindDouble(12.5).bindDate(fecha).bindTimestamp(registro).bindBoolean(true).bindLong(99);
+		bench.run("DAOBase.bindParameters(8 tipos)", () -> {
+			dao.asignar(pstmt, tipados);
+			return pstmt;
+		});
+		Object[] nulos = {null, null, null, null, null, null, null, null};
+		bench.run("DAOBase.setParameters(8 null)", () -> {
+			dao.asignar(pstmt, nulos);
+			return pstmt;
+		});
+	}
+
+	/**
+	 * Casos de mapeo: consultas completas a través de los DAOs.
+	 */
+	private static void mapeo(Bench bench, InMemoryDatabase db, int inspecciones) throws Exception {
+		InspeccionFitosanitariaDAO inspeccionDAO = new InspeccionFitosanitariaDAO(db);
+		ResultadoTecnicoDAO resultadoDAO = new ResultadoTecnicoDAO(db);
+		PredioDAO predioDAO = new PredioDAO(db);
+		AtomicInteger siguiente = new AtomicInteger();
+
+		bench.run("InspeccionDAO.obtenerPorId", () ->
+			inspeccionDAO.obtenerPorId(1 + siguiente.getAndIncrement() % inspecciones));
+		bench.run("PredioDAO.obtenerPorId", () ->
+			predioDAO.obtenerPorId(1 + siguiente.getAndIncrement() % db.size("PREDIO")));
+		bench.run("PredioDAO.obtenerTodos", predioDAO::obtenerTodos);
+		LoteDAO loteDAO = new LoteDAO(db);
+		CultivoDAO cultivoDAO = new CultivoDAO(db);
+		bench.run("Carga predio+lotes+cultivos (12 obtenerPorId)", () ->
+			cargarPantalla(predioDAO, loteDAO, cultivoDAO, 1 + (siguiente.getAndIncrement() & 255)));
+		bench.run("Carga predio+lotes+cultivos (unidad de trabajo)", () -> {
+			try (UnidadDeTrabajo unidad = UnidadDeTrabajo.iniciar()) {
+				int encontrados = cargarPantalla(predioDAO, loteDAO, cultivoDAO, 1 + (siguiente.getAndIncrement() & 255));
+				return encontrados + unidad.getAciertos();
+			}
+		});
+		try (UnidadDeTrabajo unidad = UnidadDeTrabajo.iniciar()) {
+			int predios = db.size("PREDIO");
+			for (long id = 1; id <= predios; id++) {
+				predioDAO.obtenerPorId(id);
+			}
+			bench.run("PredioDAO.obtenerPorId (identidad, acierto)", () ->
+				predioDAO.obtenerPorId(1 + siguiente.getAndIncrement() % predios));
+			if (unidad.getLecturas() - unidad.getAciertos() != predios) {
+				throw new IllegalStateException("El caso de identidad consultó la base de datos: " + unidad);
+			}
+		}
+		bench.run("InspeccionDAO.obtenerPagina(100)", () -> inspeccionDAO.obtenerPagina(new ConsultaPagina()));
+		bench.run("InspeccionDAO.obtenerPaginaResumen(100)", () ->
+			inspeccionDAO.obtenerPaginaResumen(new ConsultaPagina()));
+		ConsultaPagina segunda = inspeccionDAO.obtenerPagina(new ConsultaPagina()).getSiguiente();
+		bench.run("InspeccionDAO.obtenerPagina(100, cursor)", () -> inspeccionDAO.obtenerPagina(segunda));
+		bench.run("ResultadoTecnicoDAO.recorrerTodos", () -> resultadoDAO.recorrerTodos(r -> { }));
+		bench.run("InspeccionDAO.streamTodos().count()", () -> {
+			try (java.util.stream.Stream<InspeccionFitosanitaria> s = inspeccionDAO.streamTodos()) {
+				return s.count();
+			}
+		});
+	}
+
+	/**
+	 * Simula una pantalla que vuelve a buscar el mismo predio, sus lotes y sus cultivos
+	 * desde varios componentes.
+	 */
+	private static int cargarPantalla(PredioDAO predioDAO, LoteDAO loteDAO, CultivoDAO cultivoDAO, long id)
+			throws Exception {
+		int encontrados = 0;
+		for (int componente = 0; componente < 4; componente++) {
+			encontrados += predioDAO.obtenerPorId(id) != null ? 1 : 0;
+			encontrados += loteDAO.obtenerPorId(id) != null ? 1 : 0;
+			encontrados += cultivoDAO.obtenerPorId(id) != null ? 1 : 0;
+		}
+		return encontrados;
+	}
+
+	/**
+	 * Casos de servicios.
+	 */
+	private static void servicios(Bench bench, InMemoryDatabase db) throws Exception {
+		InspeccionFitosanitariaService service = new InspeccionFitosanitariaService(new InspeccionFitosanitariaDAO(db));
+		AtomicInteger n = new AtomicInteger();
+		bench.run("InspeccionService.calcularIndiceInfestacion", () -> {
+			int i = n.getAndIncrement() & 127;
+			return service.calcularIndiceInfestacion(i, 128);
+		});
+		bench.run("InspeccionService.obtenerPorId", () -> service.obtenerPorId(1 + (n.getAndIncrement() & 1023)));
+
+		UsuarioService sinCache = new UsuarioService(new UsuarioDAO(db));
+		UsuarioService conCache = new UsuarioService(new CachedUsuarioDAO(db));
+		bench.run("UsuarioService.iniciarSesion", () ->
+			sinCache.iniciarSesion("usuario" + (1 + (n.getAndIncrement() & 1023)) + "@ica.gov.co"));
+		bench.run("UsuarioService.iniciarSesion(cache)", () ->
+			conCache.iniciarSesion("usuario" + (1 + (n.getAndIncrement() & 1023)) + "@ica.gov.co"));
+		bench.run("UsuarioService.iniciarSesion(cache, inexistente)", () ->
+			conCache.iniciarSesion("nadie" + (n.getAndIncrement() & 15) + "@ica.gov.co"));
+
+		CultivoService cultivos = new CultivoService(db);
+		bench.run("CultivoService.obtenerPorId(cache)", () -> cultivos.obtenerPorId(1 + (n.getAndIncrement() & 255)));
+	}
+
+	/**
+	 * Casos de reportes: codificación CSV y generación completa de archivos.
+	 */
+	private static void reportes(Bench bench, InMemoryDatabase db) throws Exception {
+		CsvWriter csv = new CsvWriter(Writer.nullWriter());
+		LocalDate fecha = LocalDate.of(2024, 3, 1);
+		bench.run("CsvWriter.fila(6 campos)", () -> {
+			csv.campo(123456L).campo(fecha).campo("Broca del cafe").campo(37).campo(120).campo(30.8333, 2);
+			csv.finFila();
+			return csv;
+		});
+
+		Path directorio = Files.createTempDirectory("bench-reportes");
+		ReportService service = new ReportService(db);
+		ReportRequest nacional = new ReportRequest(ReportRequest.Tipo.INSPECCIONES, directorio.toString());
+		ReportRequest comprimido = new ReportRequest(ReportRequest.Tipo.INSPECCIONES, directorio.toString());
+		nacional.setSolicitante(SessionContext.getActual());
+		comprimido.setSolicitante(SessionContext.getActual());
+		comprimido.setComprimir(true);
+		bench.run("ReportService.inspecciones(nacional)", () -> generarYBorrar(service, nacional));
+		bench.run("ReportService.inspecciones(nacional, gzip)", () -> generarYBorrar(service, comprimido));
+		Files.deleteIfExists(directorio);
+	}
+
+	/**
+	 * Casos de analítica: consultas del motor columnar sobre resultados sintéticos
+	 * (40 plagas, 500 veredas en 25 municipios, 20000 lotes y dos años de inspecciones).
+	 */
+	private static void analitica(Bench bench, int resultados) throws Exception {
+		Random random = new Random(20251113L);
+		LocalDate inicio = LocalDate.of(2023, 1, 1);
+		ResultadosColumnares.Cargador cargador = new ResultadosColumnares.Cargador(resultados);
+		for (int i = 0; i < resultados; i++) {
+			int plaga = random.nextInt(40);
+			int vereda = random.nextInt(500);
+			int lote = random.nextInt(20_000);
+			int evaluadas = 10 + random.nextInt(90);
+			cargador.agregar(String.valueOf(lote), String.valueOf(plaga), "Plaga " + plaga, "Cultivo " + lote % 7,
+				String.valueOf(vereda), "Vereda " + vereda, String.valueOf(vereda / 20), "Municipio " + vereda / 20,
+				inicio.plusDays(random.nextInt(730)), evaluadas, random.nextInt(evaluadas + 1));
+		}
+		AnaliticaService service = new AnaliticaService(null);
+		service.cargar(cargador.construir());
+
+		ConsultaAnalitica total = new ConsultaAnalitica();
+		ConsultaAnalitica filtrada = new ConsultaAnalitica().filtrar(Dimension.PLAGA, "3")
+			.filtrar(Dimension.MUNICIPIO, "0").setRangoFechas(LocalDate.of(2024, 1, 1), null);
+		ConsultaAnalitica tendencia = new ConsultaAnalitica().filtrar(Dimension.MUNICIPIO, "0")
+			.agruparPor(Dimension.PLAGA, Dimension.SEMANA);
+		ConsultaAnalitica severidad = new ConsultaAnalitica().agruparPor(Dimension.CULTIVO).setClasesSeveridad(10);
+		bench.run("Analitica.total", () -> service.consultar(total));
+		bench.run("Analitica.filtro(plaga, municipio, fechas)", () -> service.consultar(filtrada));
+		bench.run("Analitica.agrupar(plaga, semana)", () -> service.consultar(tendencia));
+		bench.run("Analitica.severidad(cultivo, 10 clases)", () -> service.consultar(severidad));
+	}
+
+	private static Object generarYBorrar(ReportService service, ReportRequest request) throws Exception {
+		Path ruta = Paths.get(service.generar(request, null));
+		long bytes = Files.size(ruta);
+		Files.delete(ruta);
+		return bytes;
+	}
+
+	/**
+	 * DAO mínimo para medir DAOBase.setParameters de forma aislada.
+	 */
+	private static final class ParametrosDAO extends DAOBase<Object> {
+
+		ParametrosDAO(InMemoryDatabase db) {
+			super(db);
+		}
+
+		void asignar(PreparedStatement pstmt, Object[] params) throws SQLException {
+			setParameters(pstmt, params);
+		}
+
+		void asignar(PreparedStatement pstmt, ParameterSetter params) throws SQLException {
+			bindParameters(pstmt, params);
+		}
+	}
+}
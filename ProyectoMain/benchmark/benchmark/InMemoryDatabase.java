@@ -0,0 +1,577 @@
+package benchmark;
+
+import BaseDatos.DBConnection;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Base de datos en memoria para los benchmarks de la capa de acceso a datos.
+ *
+ * Implementa DBConnection con un Connection JDBC mínimo (java.lang.reflect.Proxy)
+ * sobre un conjunto de datos sintético y reproducible (semilla fija) de departamentos,
+ * municipios, veredas, predios, lotes, plagas, usuarios, inspecciones y resultados técnicos.
+ * No necesita dependencias externas, de modo que los benchmarks corren con el mismo
+ * classpath de la aplicación.
+ *
+ * No es un motor SQL: resuelve cada consulta sobre la primera tabla del FROM,
+ * proyecta la lista de columnas del SELECT (o todas con *), aplica los predicados
+ * "COLUMNA op ?" en orden (como AND), COUNT(*), ORDER BY ... DESC
+ * sobre la clave y FETCH FIRST ? ROWS ONLY. Las columnas de tablas unidas por JOIN
+ * se incluyen desnormalizadas en las filas. Las búsquedas por clave primaria usan
+ * un índice. INSERT, UPDATE y DELETE no modifican los datos y retornan 1.
+ * Con esto se mide el costo del lado Java (pool, caché de sentencias, asignación de
+ * parámetros, mapeo de filas, servicios), no el de Oracle.
+ */
+public final class InMemoryDatabase implements DBConnection {
+
+	private static final Pattern FROM = Pattern.compile("\\bFROM\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+	private static final Pattern PREDICADO = Pattern.compile(
+		"(?:\\w+\\.)?(\\w+)\\s*(=|<>|<=|>=|<|>|LIKE)\\s*\\?", Pattern.CASE_INSENSITIVE);
+
+	private final Map<String, Table> tables = new HashMap<>();
+	private final AtomicLong sequence = new AtomicLong(10_000_000L);
+	private final Connection connection;
+
+	/**
+	 * Crea la base de datos con un conjunto de datos sintético.
+	 *
+	 * @param inspecciones Número de inspecciones a generar (los predios, lotes y
+	 *                     resultados se escalan a partir de este valor)
+	 */
+	public InMemoryDatabase(int inspecciones) {
+		generate(inspecciones, new Random(20251113L));
+		this.connection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+			new Class<?>[] {Connection.class}, new ConnectionHandler());
+	}
+
+	/**
+	 * Retorna siempre la misma conexión; close() no la cierra, como una conexión de pool.
+	 */
+	@Override
+	public Connection getConnection() {
+		return connection;
+	}
+
+	@Override
+	public String getConnectionString() {
+		return "jdbc:memoria:benchmark";
+	}
+
+	/**
+	 * Número de filas de una tabla del conjunto de datos.
+	 *
+	 * @param table Nombre de la tabla
+	 * @return Filas de la tabla
+	 */
+	public int size(String table) {
+		Table t = tables.get(table.toUpperCase(Locale.ROOT));
+		return t == null ? 0 : t.rows.size();
+	}
+
+	// ------------------------------------------------------------------
+	// Conjunto de datos sintético
+	// ------------------------------------------------------------------
+
+	private void generate(int inspecciones, Random random) {
+		String[] estados = {"PENDIENTE", "EN_PROCESO", "COMPLETADA", "CANCELADA"};
+		String[] severidades = {"BAJA", "MEDIA", "ALTA", "CRITICA"};
+		String[] plagas = {"Broca del cafe", "Roya", "Moniliasis", "Sigatoka negra", "Gusano cogollero",
+			"Mosca blanca", "Trips", "Acaro rojo", "Picudo", "Antracnosis"};
+
+		int departamentos = 32;
+		int municipios = departamentos * 10;
+		int veredas = municipios * 8;
+		int predios = Math.max(10, inspecciones / 20);
+		int lotes = predios * 4;
+		long inicio = Date.valueOf("2019-01-01").getTime();
+		long rango = Date.valueOf("2025-12-31").getTime() - inicio;
+
+		Table t = table("DEPARTAMENTO", "ID_DEPARTAMENTO", "NOMBRE", "CODIGO");
+		for (long i = 1; i <= departamentos; i++) {
+			t.add(i, "Departamento " + i, String.format("%02d", i));
+		}
+		t = table("MUNICIPIO", "ID_MUNICIPIO", "ID_DEPARTAMENTO", "NOMBRE", "CODIGO");
+		for (long i = 1; i <= municipios; i++) {
+			t.add(i, 1 + (i - 1) / 10, "Municipio " + i, String.format("%05d", i));
+		}
+		t = table("VEREDA", "ID_VEREDA", "ID_MUNICIPIO", "NOMBRE", "CODIGO");
+		for (long i = 1; i <= veredas; i++) {
+			t.add(i, 1 + (i - 1) / 8, "Vereda " + i, String.format("%08d", i));
+		}
+		t = table("PLAGA", "ID_PLAGA", "NOMBRE_COMUN", "NOMBRE_CIENTIFICO", "DESCRIPCION", "NIVEL_PELIGROSIDAD");
+		for (int i = 0; i < plagas.length; i++) {
+			t.add((long) i + 1, plagas[i], "Species " + (i + 1), "Plaga de importancia economica", 1 + i % 5);
+		}
+		String[] roles = {"ASISTENTE_TECNICO", "PRODUCTOR", "PROPIETARIO"};
+		t = table("USUARIO", "ID_USUARIO", "NUMERO_IDENTIFICACION", "ROL", "NOMBRE", "TELEFONO_CONTACTO",
+			"CORREO_ELECTRONICO", "ACTIVO");
+		for (long i = 1; i <= 2000; i++) {
+			t.add(i, String.valueOf(10_000_000L + i), roles[(int) (i % roles.length)], "Usuario " + i,
+				"300" + (1_000_000 + i), "usuario" + i + "@ica.gov.co", 1);
+		}
+		t = table("PREDIO", "ID_PREDIO", "ID_PROPIETARIO", "ID_VEREDA", "NUMERO_PREDIAL", "DIRECCION",
+			"AREA_HECTAREAS");
+		for (long i = 1; i <= predios; i++) {
+			t.add(i, 1 + (long) random.nextInt(predios), 1 + (long) random.nextInt(veredas),
+				String.format("%015d", i * 7919), "Km " + random.nextInt(40) + " via vereda",
+				1 + random.nextDouble() * 120);
+		}
+		t = table("LOTE", "ID_LOTE", "ID_LUGAR_PRODUCCION", "ID_PREDIO", "ID_VEREDA", "NUMERO_LOTE",
+			"AREA_HECTAREAS", "AREA");
+		for (long i = 1; i <= lotes; i++) {
+			double area = 0.5 + random.nextDouble() * 30;
+			t.add(i, 1 + (i - 1) / 4, 1 + (i - 1) / 4, 1 + (long) random.nextInt(veredas), "L-" + i, area, area);
+		}
+		t = table("CULTIVO", "ID_CULTIVO", "ID_LOTE", "TIPO_CULTIVO", "NOMBRE_CULTIVO", "VARIEDAD",
+			"FECHA_SIEMBRA", "ESTADO", "AREA_TOTAL");
+		for (long i = 1; i <= lotes; i++) {
+			String tipo = random.nextBoolean() ? "CAFE" : "PLATANO";
+			t.add(i, i, tipo, tipo, "Variedad " + (1 + random.nextInt(6)),
+				new Date(inicio + (long) (random.nextDouble() * rango)), "ACTIVO", 0.5 + random.nextDouble() * 30);
+		}
+
+		// Las inspecciones incluyen desnormalizado el nombre de la plaga (JOIN con PLAGA)
+		Table insp = table("INSPECCION_FITOSANITARIA", "ID_INSPECCION", "ID_CULTIVO", "ID_LOTE", "ID_PLAGA",
+			"ID_ASISTENTE_TECNICO", "FECHA_INSPECCION", "FECHA", "ESTADO", "PLANTAS_AFECTADAS",
+			"PLANTAS_MUESTREADAS", "OBSERVACIONES", "NOMBRE_PLAGA", "NOMBRE_COMUN");
+		Table res = table("RESULTADO_TECNICO", "ID_RESULTADO", "ID_INSPECCION", "ID_CULTIVO", "ID_LOTE",
+			"ID_PLAGA", "PLANTAS_EVALUADAS", "PLANTAS_AFECTADAS", "NIVEL_INFESTACION", "NIVEL_SEVERIDAD",
+			"RECOMENDACIONES", "OBSERVACIONES", "FECHA_RESULTADO");
+		for (long i = 1; i <= inspecciones; i++) {
+			long lote = 1 + (long) random.nextInt(lotes);
+			int plaga = random.nextInt(plagas.length);
+			int muestreadas = 20 + random.nextInt(180);
+			int afectadas = random.nextInt(muestreadas + 1);
+			Date fecha = new Date(inicio + (long) (random.nextDouble() * rango));
+			String observaciones = random.nextInt(4) == 0 ? "Observacion de campo numero " + i : null;
+			insp.add(i, lote, lote, plaga + 1L, 1 + (long) random.nextInt(50), fecha, fecha,
+				estados[random.nextInt(estados.length)], afectadas, muestreadas, observaciones,
+				plagas[plaga], plagas[plaga]);
+			double indice = afectadas * 100.0 / muestreadas;
+			res.add(i, i, lote, lote, plaga + 1L, muestreadas, afectadas, indice,
+				severidades[Math.min(3, (int) (indice / 25))], "Monitoreo y control integrado",
+				observaciones, fecha);
+		}
+	}
+
+	private Table table(String name, String... columns) {
+		Table t = new Table(columns);
+		tables.put(name, t);
+		return t;
+	}
+
+	/**
+	 * Tabla en memoria: filas como Object[] ordenadas por la clave (primera columna).
+	 */
+	private static final class Table {
+		private final Map<String, Integer> columns = new HashMap<>();
+		private final List<Object[]> rows = new ArrayList<>();
+		private final Map<Long, Object[]> byKey = new HashMap<>();
+
+		Table(String... names) {
+			for (int i = 0; i < names.length; i++) {
+				columns.put(names[i], i);
+			}
+		}
+
+		void add(Object... values) {
+			rows.add(values);
+			byKey.put((Long) values[0], values);
+		}
+
+		Integer column(String name) {
+			return columns.get(name.toUpperCase(Locale.ROOT));
+		}
+	}
+
+	// ------------------------------------------------------------------
+	// Ejecución de consultas
+	// ------------------------------------------------------------------
+
+	private ResultData query(String sql, Object[] params) throws SQLException {
+		Matcher from = FROM.matcher(sql);
+		if (!from.find()) {
+			throw new SQLException("Consulta no soportada por la base de datos en memoria: " + sql);
+		}
+		Table table = tables.get(from.group(1).toUpperCase(Locale.ROOT));
+		if (table == null) {
+			throw new SQLException("ORA-00942: la tabla o vista no existe: " + from.group(1));
+		}
+		String upper = sql.toUpperCase(Locale.ROOT);
+		int limit = Integer.MAX_VALUE;
+		int paramCount = countParameters(sql);
+		if (upper.contains("FETCH FIRST ?")) {
+			limit = ((Number) params[paramCount - 1]).intValue();
+			paramCount--;
+		}
+
+		List<int[]> filtros = new ArrayList<>();
+		List<String> operadores = new ArrayList<>();
+		Matcher m = PREDICADO.matcher(sql);
+		int param = 0;
+		while (m.find() && param < paramCount) {
+			Integer col = table.column(m.group(1));
+			if (col != null) {
+				filtros.add(new int[] {col, param});
+				operadores.add(m.group(2).toUpperCase(Locale.ROOT));
+			}
+			param++;
+		}
+
+		List<Object[]> rows;
+		if (filtros.size() == 1 && filtros.get(0)[0] == 0 && "=".equals(operadores.get(0))) {
+			Object[] row = table.byKey.get(toLong(params[filtros.get(0)[1]]));
+			rows = row == null ? Collections.emptyList() : Collections.singletonList(row);
+		} else {
+			rows = new ArrayList<>();
+			boolean desc = upper.contains(" DESC");
+			int n = table.rows.size();
+			for (int i = 0; i < n && rows.size() < limit; i++) {
+				Object[] row = table.rows.get(desc ? n - 1 - i : i);
+				if (matches(row, filtros, operadores, params)) {
+					rows.add(row);
+				}
+			}
+		}
+
+		if (upper.startsWith("SELECT COUNT(")) {
+			return new ResultData(Collections.singletonMap("COUNT", 0),
+				Collections.singletonList(new Object[] {(long) rows.size()}));
+		}
+		return new ResultData(table.columns, rows, projection(sql, table));
+	}
+
+	/**
+	 * Índices de las columnas de la lista del SELECT, o null para SELECT *.
+	 * Cada elemento se resuelve por su alias (AS) o por el nombre de la columna sin
+	 * prefijo de tabla ni función de agregación.
+	 */
+	private static int[] projection(String sql, Table table) throws SQLException {
+		int from = sql.toUpperCase(Locale.ROOT).indexOf(" FROM ");
+		String list = sql.substring("SELECT ".length(), from).trim();
+		if (list.endsWith("*")) {
+			return null;
+		}
+		String[] items = list.split(",(?![^(]*\\))");
+		int[] projection = new int[items.length];
+		for (int i = 0; i < items.length; i++) {
+			String item = items[i].trim();
+			String[] alias = item.split("(?i)\\s+AS\\s+");
+			Integer col = alias.length > 1 ? table.column(alias[1].trim()) : null;
+			if (col == null) {
+				String name = alias[0].replaceAll("^\\w+\\(|\\)$", "").trim();
+				col = table.column(name.substring(name.indexOf('.') + 1));
+			}
+			if (col == null) {
+				throw new SQLException("ORA-00904: identificador no válido: " + item);
+			}
+			projection[i] = col;
+		}
+		return projection;
+	}
+
+	private static boolean matches(Object[] row, List<int[]> filtros, List<String> operadores, Object[] params) {
+		for (int i = 0; i < filtros.size(); i++) {
+			Object value = row[filtros.get(i)[0]];
+			Object param = params[filtros.get(i)[1]];
+			if (value == null || param == null) {
+				return false;
+			}
+			int cmp = compare(value, param);
+			boolean ok;
+			switch (operadores.get(i)) {
+				case "=": ok = cmp == 0; break;
+				case "<>": ok = cmp != 0; break;
+				case "<": ok = cmp < 0; break;
+				case "<=": ok = cmp <= 0; break;
+				case ">": ok = cmp > 0; break;
+				case ">=": ok = cmp >= 0; break;
+				default: ok = String.valueOf(value).contains(String.valueOf(param).replace("%", ""));
+			}
+			if (!ok) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static int compare(Object value, Object param) {
+		if (value instanceof Number && param instanceof Number) {
+			return Double.compare(((Number) value).doubleValue(), ((Number) param).doubleValue());
+		}
+		if (value instanceof java.util.Date && param instanceof java.util.Date) {
+			return Long.compare(((java.util.Date) value).getTime(), ((java.util.Date) param).getTime());
+		}
+		if (value instanceof Comparable && value.getClass() == param.getClass()) {
+			return ((Comparable) value).compareTo(param);
+		}
+		return String.valueOf(value).compareTo(String.valueOf(param));
+	}
+
+	private static int countParameters(String sql) {
+		int count = 0;
+		for (int i = 0; i < sql.length(); i++) {
+			if (sql.charAt(i) == '?') {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static long toLong(Object value) {
+		return value instanceof Number ? ((Number) value).longValue() : Long.parseLong(String.valueOf(value));
+	}
+
+	/**
+	 * Resultado de una consulta: columnas, filas seleccionadas y proyección del SELECT.
+	 */
+	private static final class ResultData {
+		private final Map<String, Integer> columns;
+		private final List<Object[]> rows;
+		private final int[] projection;
+
+		ResultData(Map<String, Integer> columns, List<Object[]> rows) {
+			this(columns, rows, null);
+		}
+
+		ResultData(Map<String, Integer> columns, List<Object[]> rows, int[] projection) {
+			this.columns = columns;
+			this.rows = rows;
+			this.projection = projection;
+		}
+	}
+
+	// ------------------------------------------------------------------
+	// Proxies JDBC
+	// ------------------------------------------------------------------
+
+	private static Object defaultValue(Class<?> type) {
+		if (type == boolean.class) {
+			return false;
+		}
+		if (type == int.class) {
+			return 0;
+		}
+		if (type == long.class) {
+			return 0L;
+		}
+		return null;
+	}
+
+	private final class ConnectionHandler implements InvocationHandler {
+		private boolean autoCommit = true;
+
+		@Override
+		public Object invoke(Object proxy, java.lang.reflect.Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "prepareStatement":
+					return Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+						new Class<?>[] {PreparedStatement.class},
+						new StatementHandler((Connection) proxy, (String) args[0]));
+				case "getAutoCommit":
+					return autoCommit;
+				case "setAutoCommit":
+					autoCommit = (Boolean) args[0];
+					return null;
+				case "isClosed":
+				case "isWrapperFor":
+					return false;
+				case "isValid":
+					return true;
+				case "unwrap":
+					return proxy;
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "equals":
+					return proxy == args[0];
+				case "toString":
+					return "InMemoryConnection";
+				default:
+					// commit, rollback, close, clearWarnings...: sin efecto
+					return defaultValue(method.getReturnType());
+			}
+		}
+	}
+
+	private final class StatementHandler implements InvocationHandler {
+		private final Connection connection;
+		private final String sql;
+		private Object[] params = new Object[8];
+		private int batch;
+		private final List<Long> keys = new ArrayList<>();
+		private boolean closed;
+
+		StatementHandler(Connection connection, String sql) {
+			this.connection = connection;
+			this.sql = sql;
+		}
+
+		@Override
+		public Object invoke(Object proxy, java.lang.reflect.Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+				int index = (Integer) args[0];
+				if (index > params.length) {
+					params = Arrays.copyOf(params, Math.max(index, params.length * 2));
+				}
+				params[index - 1] = name.equals("setNull") ? null : args[1];
+				return null;
+			}
+			switch (name) {
+				case "executeQuery":
+					return resultSet(query(sql, params));
+				case "executeUpdate":
+					keys.clear();
+					keys.add(sequence.incrementAndGet());
+					return 1;
+				case "addBatch":
+					batch++;
+					return null;
+				case "executeBatch": {
+					int[] counts = new int[batch];
+					Arrays.fill(counts, 1);
+					keys.clear();
+					for (int i = 0; i < batch; i++) {
+						keys.add(sequence.incrementAndGet());
+					}
+					batch = 0;
+					return counts;
+				}
+				case "getGeneratedKeys": {
+					List<Object[]> rows = new ArrayList<>(keys.size());
+					for (Long key : keys) {
+						rows.add(new Object[] {key});
+					}
+					return resultSet(new ResultData(Collections.singletonMap("ID", 0), rows));
+				}
+				case "clearParameters":
+					Arrays.fill(params, null);
+					return null;
+				case "clearBatch":
+					batch = 0;
+					return null;
+				case "getConnection":
+					return connection;
+				case "close":
+					closed = true;
+					return null;
+				case "isClosed":
+					return closed;
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "equals":
+					return proxy == args[0];
+				default:
+					return defaultValue(method.getReturnType());
+			}
+		}
+	}
+
+	private static ResultSet resultSet(ResultData data) {
+		return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+			new Class<?>[] {ResultSet.class}, new ResultSetHandler(data));
+	}
+
+	private static final class ResultSetHandler implements InvocationHandler {
+		private final ResultData data;
+		private int row = -1;
+		private boolean wasNull;
+
+		ResultSetHandler(ResultData data) {
+			this.data = data;
+		}
+
+		@Override
+		public Object invoke(Object proxy, java.lang.reflect.Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			switch (name) {
+				case "next":
+					return ++row < data.rows.size();
+				case "wasNull":
+					return wasNull;
+				case "close":
+					return null;
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "equals":
+					return proxy == args[0];
+				default:
+					break;
+			}
+			if (!name.startsWith("get") || args == null || args.length != 1) {
+				return defaultValue(method.getReturnType());
+			}
+			Object value = value(args[0]);
+			wasNull = value == null;
+			return convert(value, method.getReturnType());
+		}
+
+		private Object value(Object column) throws SQLException {
+			int index;
+			if (column instanceof Integer) {
+				index = (Integer) column - 1;
+				if (data.projection != null) {
+					index = data.projection[index];
+				}
+			} else {
+				Integer i = data.columns.get(String.valueOf(column).toUpperCase(Locale.ROOT));
+				if (i == null) {
+					throw new SQLException("ORA-00904: identificador no válido: " + column);
+				}
+				index = i;
+			}
+			Object[] values = data.rows.get(row);
+			return index < values.length ? values[index] : null;
+		}
+
+		private static Object convert(Object value, Class<?> type) {
+			if (type == String.class) {
+				return value == null ? null : String.valueOf(value);
+			}
+			if (type == long.class) {
+				return value == null ? 0L : ((Number) value).longValue();
+			}
+			if (type == int.class) {
+				return value == null ? 0 : ((Number) value).intValue();
+			}
+			if (type == double.class) {
+				return value == null ? 0.0 : ((Number) value).doubleValue();
+			}
+			if (type == float.class) {
+				return value == null ? 0f : ((Number) value).floatValue();
+			}
+			if (type == Timestamp.class && value instanceof java.util.Date) {
+				return new Timestamp(((java.util.Date) value).getTime());
+			}
+			if (type == BigDecimal.class && value instanceof Number) {
+				return BigDecimal.valueOf(((Number) value).doubleValue());
+			}
+			return value;
+		}
+	}
+}
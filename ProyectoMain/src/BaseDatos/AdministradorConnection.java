@@ -1,6 +1,7 @@
 package BaseDatos;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 
 /**
  * @version 2.1
@@ -12,18 +13,30 @@ import java.sql.Connection;
  * Clase singleton que proporciona conexión para usuarios administradores.
  * Los administradores tienen acceso completo a todas las tablas y operaciones.
  * 
- * Implementa el patrón Singleton para garantizar una única conexión por rol.
+ * Implementa el patrón Singleton para garantizar un único pool por rol.
+ * Cada rol tiene su propio ConnectionPool, con tamaño y credenciales configurables
+ * (claves bd.admin.* de bd.properties), de modo que la carga de un rol no deja sin
+ * conexiones a los demás: cada pool limita y encola solo a los hilos de su rol.
+ * Los administradores ejecutan reportes pesados, por lo que su pool es pequeño
+ * para no acaparar sesiones de la base de datos.
  */
 public class AdministradorConnection implements DBConnection {
 
 	private static AdministradorConnection instance;
-	private final Conexion conexion;
+	/**
+	 * Nombre del rol y tamaños por defecto de su pool.
+	 */
+	public static final String ROLE = "admin";
+	private static final int DEFAULT_MIN_SIZE = 2;
+	private static final int DEFAULT_MAX_SIZE = 4;
+
+	private final ConnectionPool pool;
 
 	/**
 	 * Constructor privado para el patrón Singleton.
 	 */
 	private AdministradorConnection() {
-		this.conexion = Conexion.getInstance();
+		this.pool = new ConnectionPool(ROLE, PoolConfig.forRole(ROLE, DEFAULT_MIN_SIZE, DEFAULT_MAX_SIZE));
 	}
 
 	/**
@@ -39,13 +52,14 @@ public class AdministradorConnection implements DBConnection {
 	}
 
 	/**
-	 * Obtiene la conexión a la base de datos.
+	 * Obtiene una conexión del pool del rol.
 	 * 
-	 * @return Connection - Conexión activa
+	 * @return Connection - Conexión prestada (close() la devuelve al pool)
+	 * @throws SQLException si el pool está cerrado, agotado o no se puede abrir una conexión
 	 */
 	@Override
-	public Connection getConnection() {
-		return conexion.getConnection();
+	public Connection getConnection() throws SQLException {
+		return pool.getConnection();
 	}
 
 	/**
@@ -55,6 +69,15 @@ public class AdministradorConnection implements DBConnection {
 	 */
 	@Override
 	public String getConnectionString() {
-		return conexion.getConnectionString();
+		return pool.getConnectionString();
+	}
+
+	/**
+	 * Obtiene el pool de conexiones del rol.
+	 * 
+	 * @return ConnectionPool - Pool del rol
+	 */
+	public ConnectionPool getPool() {
+		return pool;
 	}
 }
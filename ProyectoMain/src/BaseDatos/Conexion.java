@@ -25,12 +25,13 @@ public final class Conexion implements DBConnection {
     private Connection connection;
     private static final Logger LOGGER = Logger.getLogger(Conexion.class.getName());
     
-    // Parámetros de conexión Oracle
-    private final String username = "EJEMPLOICA";
-    private final String password = "EJEMPLOICA";
-    private final String host = "192.168.2.100";
-    private final String port = "1521";
-    private final String service = "XE";
+    // Parámetros de conexión Oracle (compartidos con los pools de BaseDatos)
+    static final String USERNAME = "EJEMPLOICA";
+    static final String PASSWORD = "EJEMPLOICA";
+    static final String HOST = "192.168.2.100";
+    static final String PORT = "1521";
+    static final String SERVICE = "XE";
+    static final String DRIVER = "oracle.jdbc.driver.OracleDriver";
 
     /**
      * Constructor privado para el patrón Singleton.
@@ -41,10 +42,10 @@ public final class Conexion implements DBConnection {
     private Conexion() {
         try {
             // Cargar driver JDBC de Oracle
-            Class.forName("oracle.jdbc.driver.OracleDriver");
+            Class.forName(DRIVER);
             
             // Establecer conexión
-            connection = DriverManager.getConnection(getConnectionString(), username, password);
+            connection = DriverManager.getConnection(getConnectionString(), USERNAME, PASSWORD);
         } catch (ClassNotFoundException e) {
             LOGGER.log(Level.SEVERE, "Error: Driver de Oracle no encontrado", e);
             throw new RuntimeException("Error: ojdbc.jar no está en el classpath.", e);
@@ -84,7 +85,19 @@ public final class Conexion implements DBConnection {
      */
     @Override
     public String getConnectionString() {
-        return String.format("jdbc:oracle:thin:@%s:%s/%s", this.host, this.port, this.service);
+        return buildConnectionString(HOST, PORT, SERVICE);
+    }
+
+    /**
+     * Construye una cadena de conexión JDBC thin para Oracle.
+     * 
+     * @param host - Servidor de base de datos
+     * @param port - Puerto del listener
+     * @param service - Nombre del servicio
+     * @return String - Cadena de conexión formateada
+     */
+    static String buildConnectionString(String host, String port, String service) {
+        return String.format("jdbc:oracle:thin:@%s:%s/%s", host, port, service);
     }
 
     /**
@@ -0,0 +1,33 @@
+package BaseDatos;
+
+import java.sql.Connection;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ * 
+ * Interfaz para recibir eventos del ciclo de vida de las conexiones físicas
+ * administradas por un ConnectionPool.
+ * 
+ * Permite que otras capas (por ejemplo, la caché de sentencias de DAOBase) asocien
+ * recursos a una conexión física y los liberen cuando el pool la descarta.
+ */
+public interface ConnectionListener {
+
+	/**
+	 * Se invoca cuando una conexión prestada vuelve al pool y será reutilizada.
+	 * 
+	 * @param physical - Conexión física devuelta
+	 */
+	void connectionReturned(Connection physical);
+
+	/**
+	 * Se invoca cuando el pool cierra una conexión física (inválida, inactiva o por cierre del pool).
+	 * 
+	 * @param physical - Conexión física descartada
+	 */
+	void connectionDiscarded(Connection physical);
+}
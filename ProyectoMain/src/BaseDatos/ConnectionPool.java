@@ -0,0 +1,564 @@
+package BaseDatos;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Pool acotado de conexiones JDBC que implementa DBConnection.
+ *
+ * Cada llamada a getConnection() presta una conexión física del pool envuelta en un
+ * proxy; al invocar close() sobre ella (como hace DAOBase.closeResources) la conexión
+ * vuelve al pool en lugar de cerrarse. Esto permite que varios paneles y tareas en
+ * segundo plano consulten en paralelo sin compartir un único socket.
+ *
+ * Características:
+ * - Tamaño mínimo y máximo, con espera acotada (borrow timeout) cuando está agotado.
+ * - Validación al prestar las conexiones que llevan tiempo inactivas.
+ * - Cierre de conexiones inactivas por encima del mínimo.
+ * - Descarte de las conexiones con errores fatales (SQLState 08xxx), también cuando el
+ *   error lo lanza una sentencia o un ResultSet obtenido de la conexión prestada.
+ * - Detección de fugas: avisa de préstamos que superan un umbral de tiempo.
+ * - Estadísticas: activas, libres, hilos en espera y latencia de obtención.
+ * - Eventos de devolución y descarte de conexiones físicas (ConnectionListener).
+ */
+public final class ConnectionPool implements DBConnection {
+
+	private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+	private static final List<ConnectionListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+	private final String name;
+	private final PoolConfig config;
+	private final Semaphore permits;
+	private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+	private final Set<PooledEntry> borrowed = ConcurrentHashMap.newKeySet();
+	private final ScheduledExecutorService maintenance;
+
+	private final LongAdder borrowCount = new LongAdder();
+	private final LongAdder timeoutCount = new LongAdder();
+	private final LongAdder createdCount = new LongAdder();
+	private final LongAdder destroyedCount = new LongAdder();
+	private final LongAdder leakCount = new LongAdder();
+	private final LongAdder borrowNanos = new LongAdder();
+	private final AtomicLong maxBorrowNanos = new AtomicLong();
+
+	private volatile boolean closed;
+
+	/**
+	 * Crea el pool, carga el driver JDBC y abre las conexiones mínimas.
+	 *
+	 * @param name - Nombre del pool (para logs y estadísticas)
+	 * @param config - Configuración del pool
+	 * @throws RuntimeException si el driver no está disponible o no se puede conectar
+	 */
+	public ConnectionPool(String name, PoolConfig config) {
+		if (config == null) {
+			throw new IllegalArgumentException("La configuración del pool no puede ser null");
+		}
+		if (config.getMinSize() > config.getMaxSize()) {
+			throw new IllegalArgumentException("El tamaño mínimo no puede superar el máximo");
+		}
+		this.name = name;
+		this.config = config;
+		this.permits = new Semaphore(config.getMaxSize(), true);
+
+		try {
+			Class.forName(Conexion.DRIVER);
+		} catch (ClassNotFoundException e) {
+			LOGGER.log(Level.SEVERE, "Error: Driver de Oracle no encontrado", e);
+			throw new RuntimeException("Error: ojdbc.jar no está en el classpath.", e);
+		}
+
+		try {
+			fillToMinimum();
+		} catch (SQLException e) {
+			LOGGER.log(Level.SEVERE, "Error abriendo las conexiones iniciales del pool " + name, e);
+			throw new RuntimeException("Error conectando a la base de datos: " + e.getMessage(), e);
+		}
+
+		this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "pool-" + name + "-mantenimiento");
+			t.setDaemon(true);
+			return t;
+		});
+		long interval = config.getMaintenanceIntervalMillis();
+		maintenance.scheduleWithFixedDelay(this::runMaintenance, interval, interval, TimeUnit.MILLISECONDS);
+		LOGGER.info("Pool de conexiones '" + name + "' iniciado: " + config);
+	}
+
+	/**
+	 * Presta una conexión del pool; equivale a borrow().
+	 *
+	 * @return Connection - Conexión prestada (close() la devuelve al pool)
+	 * @throws SQLException si el pool está cerrado, agotado o no se puede abrir una conexión
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		return borrow();
+	}
+
+	/**
+	 * Presta una conexión del pool esperando como máximo el tiempo configurado.
+	 *
+	 * @return Connection - Conexión prestada
+	 * @throws SQLException si el pool está cerrado, agotado o no se puede abrir una conexión
+	 */
+	public Connection borrow() throws SQLException {
+		if (closed) {
+			throw new SQLException("El pool de conexiones '" + name + "' está cerrado");
+		}
+		long start = System.nanoTime();
+		try {
+			if (!permits.tryAcquire(config.getBorrowTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+				timeoutCount.increment();
+				throw new SQLTimeoutException("Tiempo de espera agotado obteniendo conexión del pool '" + name
+					+ "' (" + config.getBorrowTimeoutMillis() + " ms)");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrumpido esperando una conexión del pool", e);
+		}
+
+		try {
+			PooledEntry entry;
+			while ((entry = idle.pollFirst()) != null) {
+				if (isUsable(entry)) {
+					break;
+				}
+				destroy(entry);
+			}
+			if (entry == null) {
+				entry = createEntry();
+			}
+			entry.markBorrowed(config.getLeakDetectionThresholdMillis() > 0);
+			borrowed.add(entry);
+			recordBorrow(System.nanoTime() - start);
+			return entry.newHandle();
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Obtiene la cadena de conexión JDBC.
+	 *
+	 * @return String - Cadena de conexión
+	 */
+	@Override
+	public String getConnectionString() {
+		return config.getUrl();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public PoolConfig getConfig() {
+		return config;
+	}
+
+	/**
+	 * Obtiene una instantánea de las estadísticas del pool.
+	 *
+	 * @return PoolStatistics - Estadísticas actuales
+	 */
+	public PoolStatistics getStatistics() {
+		long borrows = borrowCount.sum();
+		double avg = borrows == 0 ? 0.0 : borrowNanos.sum() / (double) borrows / 1_000_000.0;
+		return new PoolStatistics(name, borrowed.size(), idle.size(), permits.getQueueLength(), borrows,
+			timeoutCount.sum(), createdCount.sum(), destroyedCount.sum(), leakCount.sum(), avg,
+			maxBorrowNanos.get() / 1_000_000.0);
+	}
+
+	/**
+	 * Cierra el pool: detiene el mantenimiento y cierra las conexiones libres.
+	 * Las conexiones prestadas se cierran cuando sus usuarios las devuelven.
+	 */
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		maintenance.shutdownNow();
+		PooledEntry entry;
+		while ((entry = idle.pollFirst()) != null) {
+			destroy(entry);
+		}
+		LOGGER.info("Pool de conexiones '" + name + "' cerrado. " + getStatistics());
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Registra un listener de eventos de conexión para todos los pools.
+	 * 
+	 * @param listener - Listener a registrar
+	 */
+	public static void addConnectionListener(ConnectionListener listener) {
+		if (listener != null && !LISTENERS.contains(listener)) {
+			LISTENERS.add(listener);
+		}
+	}
+
+	/**
+	 * Elimina un listener de eventos de conexión.
+	 * 
+	 * @param listener - Listener a eliminar
+	 */
+	public static void removeConnectionListener(ConnectionListener listener) {
+		LISTENERS.remove(listener);
+	}
+
+	// ---------------------------------------------------------------------
+	// Gestión interna
+	// ---------------------------------------------------------------------
+
+	private PooledEntry createEntry() throws SQLException {
+		Connection physical = DriverManager.getConnection(config.getUrl(), config.getUsername(), config.getPassword());
+		createdCount.increment();
+		return new PooledEntry(physical);
+	}
+
+	private boolean isUsable(PooledEntry entry) {
+		try {
+			if (entry.physical.isClosed()) {
+				return false;
+			}
+			if (config.isValidateOnBorrow()
+					&& entry.idleMillis() >= config.getValidationIntervalMillis()) {
+				return entry.physical.isValid(config.getValidationTimeoutSeconds());
+			}
+			return true;
+		} catch (SQLException e) {
+			LOGGER.log(Level.FINE, "Conexión inválida descartada del pool " + name, e);
+			return false;
+		}
+	}
+
+	private void recordBorrow(long nanos) {
+		borrowCount.increment();
+		borrowNanos.add(nanos);
+		maxBorrowNanos.accumulateAndGet(nanos, Math::max);
+	}
+
+	/**
+	 * Devuelve una conexión al pool tras el close() lógico de su proxy.
+	 */
+	private void release(PooledEntry entry) {
+		if (!borrowed.remove(entry)) {
+			return;
+		}
+		try {
+			boolean reusable = !closed && !entry.broken && resetState(entry);
+			if (reusable) {
+				for (ConnectionListener listener : LISTENERS) {
+					try {
+						listener.connectionReturned(entry.physical);
+					} catch (RuntimeException e) {
+						LOGGER.log(Level.WARNING, "Error en listener de devolución de conexión", e);
+					}
+				}
+				entry.markIdle();
+				idle.offerFirst(entry);
+			} else {
+				destroy(entry);
+			}
+		} finally {
+			permits.release();
+		}
+	}
+
+	/**
+	 * Restablece el estado de la conexión antes de reutilizarla.
+	 * Deshace las transacciones que hayan quedado abiertas.
+	 */
+	private boolean resetState(PooledEntry entry) {
+		try {
+			if (entry.physical.isClosed()) {
+				return false;
+			}
+			if (!entry.physical.getAutoCommit()) {
+				entry.physical.rollback();
+				entry.physical.setAutoCommit(true);
+			}
+			entry.physical.clearWarnings();
+			return true;
+		} catch (SQLException e) {
+			LOGGER.log(Level.WARNING, "Error restableciendo conexión del pool " + name + "; se descarta", e);
+			return false;
+		}
+	}
+
+	private void destroy(PooledEntry entry) {
+		destroyedCount.increment();
+		for (ConnectionListener listener : LISTENERS) {
+			try {
+				listener.connectionDiscarded(entry.physical);
+			} catch (RuntimeException e) {
+				LOGGER.log(Level.WARNING, "Error en listener de descarte de conexión", e);
+			}
+		}
+		try {
+			entry.physical.close();
+		} catch (SQLException e) {
+			LOGGER.log(Level.FINE, "Error cerrando conexión física del pool " + name, e);
+		}
+	}
+
+	private void fillToMinimum() throws SQLException {
+		while (!closed && idle.size() + borrowed.size() < config.getMinSize()) {
+			if (!permits.tryAcquire()) {
+				return;
+			}
+			try {
+				PooledEntry entry = createEntry();
+				entry.markIdle();
+				idle.offerLast(entry);
+			} finally {
+				permits.release();
+			}
+		}
+	}
+
+	/**
+	 * Tarea periódica: cierra conexiones inactivas, reporta fugas y repone el mínimo.
+	 */
+	private void runMaintenance() {
+		try {
+			evictIdle();
+			detectLeaks();
+			fillToMinimum();
+		} catch (SQLException e) {
+			LOGGER.log(Level.WARNING, "No fue posible reponer el mínimo de conexiones del pool " + name, e);
+		} catch (RuntimeException e) {
+			LOGGER.log(Level.WARNING, "Error en el mantenimiento del pool " + name, e);
+		}
+	}
+
+	private void evictIdle() {
+		long idleTimeout = config.getIdleTimeoutMillis();
+		if (idleTimeout <= 0) {
+			return;
+		}
+		// Las conexiones más antiguas quedan al final de la cola (se reutiliza por el frente)
+		List<PooledEntry> expired = new ArrayList<>();
+		Iterator<PooledEntry> it = idle.descendingIterator();
+		int total = idle.size() + borrowed.size();
+		while (it.hasNext() && total - expired.size() > config.getMinSize()) {
+			PooledEntry entry = it.next();
+			if (entry.idleMillis() < idleTimeout) {
+				break;
+			}
+			expired.add(entry);
+		}
+		for (PooledEntry entry : expired) {
+			if (idle.remove(entry)) {
+				destroy(entry);
+			}
+		}
+	}
+
+	private void detectLeaks() {
+		long threshold = config.getLeakDetectionThresholdMillis();
+		if (threshold <= 0) {
+			return;
+		}
+		for (PooledEntry entry : borrowed) {
+			if (!entry.leakReported && entry.borrowedMillis() >= threshold) {
+				entry.leakReported = true;
+				leakCount.increment();
+				LOGGER.log(Level.WARNING, "Posible fuga de conexión en el pool '" + name + "': prestada hace "
+					+ entry.borrowedMillis() + " ms sin devolverse", entry.borrowTrace);
+			}
+		}
+	}
+
+	/**
+	 * Conexión física administrada por el pool.
+	 */
+	private final class PooledEntry {
+		private final Connection physical;
+		private volatile long lastReturnedAt = System.nanoTime();
+		private volatile long borrowedAt;
+		private volatile boolean broken;
+		private volatile boolean leakReported;
+		private volatile Throwable borrowTrace;
+
+		PooledEntry(Connection physical) {
+			this.physical = physical;
+		}
+
+		void markBorrowed(boolean captureTrace) {
+			borrowedAt = System.nanoTime();
+			leakReported = false;
+			borrowTrace = captureTrace ? new Throwable("Conexión prestada desde") : null;
+		}
+
+		void markIdle() {
+			lastReturnedAt = System.nanoTime();
+			borrowTrace = null;
+		}
+
+		long idleMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastReturnedAt);
+		}
+
+		long borrowedMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - borrowedAt);
+		}
+
+		Connection newHandle() {
+			return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, new BorrowedConnection(this));
+		}
+
+		/**
+		 * Marca la conexión como rota si el error indica que se perdió (SQLState 08xxx).
+		 */
+		void checkFatal(Throwable cause) {
+			if (cause instanceof SQLException) {
+				String state = ((SQLException) cause).getSQLState();
+				if (state != null && state.startsWith("08")) {
+					broken = true;
+				}
+			}
+		}
+
+		/**
+		 * Envuelve las sentencias y ResultSet obtenidos de la conexión para que un error
+		 * fatal al ejecutarlos o recorrerlos también marque la conexión como rota.
+		 */
+		Object guard(Method method, Object result) {
+			Class<?> type = method.getReturnType();
+			if (result == null || type != Statement.class && type != PreparedStatement.class
+					&& type != CallableStatement.class && type != ResultSet.class) {
+				return result;
+			}
+			return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+				new GuardedStatement(this, result));
+		}
+	}
+
+	/**
+	 * Proxy entregado a los usuarios del pool: close() devuelve la conexión física.
+	 * Tras el cierre lógico cualquier otra operación falla con SQLException.
+	 */
+	private final class BorrowedConnection implements InvocationHandler {
+		private final PooledEntry entry;
+		private volatile boolean returned;
+
+		BorrowedConnection(PooledEntry entry) {
+			this.entry = entry;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "close":
+				if (!returned) {
+					returned = true;
+					release(entry);
+				}
+				return null;
+			case "isClosed":
+				return returned || entry.physical.isClosed();
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "PooledConnection[" + name + "] " + entry.physical;
+			case "unwrap":
+				if (((Class<?>) args[0]).isInstance(entry.physical)) {
+					return entry.physical;
+				}
+				break;
+			case "isWrapperFor":
+				if (((Class<?>) args[0]).isInstance(entry.physical)) {
+					return true;
+				}
+				break;
+			default:
+				break;
+			}
+
+			if (returned) {
+				throw new SQLException("La conexión ya fue devuelta al pool '" + name + "'");
+			}
+			try {
+				return entry.guard(method, method.invoke(entry.physical, args));
+			} catch (InvocationTargetException e) {
+				entry.checkFatal(e.getCause());
+				throw e.getCause();
+			}
+		}
+	}
+
+	/**
+	 * Proxy de las sentencias y ResultSet de una conexión prestada. Delega todo en el
+	 * objeto del driver (getConnection() retorna la conexión física, que es la clave de
+	 * StatementCache) y solo revisa los errores.
+	 */
+	private static final class GuardedStatement implements InvocationHandler {
+		private final PooledEntry entry;
+		private final Object target;
+
+		GuardedStatement(PooledEntry entry, Object target) {
+			this.entry = entry;
+			this.target = target;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return target.toString();
+			default:
+				break;
+			}
+			try {
+				return entry.guard(method, method.invoke(target, args));
+			} catch (InvocationTargetException e) {
+				entry.checkFatal(e.getCause());
+				throw e.getCause();
+			}
+		}
+	}
+}
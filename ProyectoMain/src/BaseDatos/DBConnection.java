@@ -1,6 +1,7 @@
 package BaseDatos;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 
 /**
  * @version 2.1
@@ -20,8 +21,9 @@ public interface DBConnection {
 	 * Obtiene la conexión activa a la base de datos.
 	 * 
 	 * @return Connection - Objeto de conexión
+	 * @throws SQLException si no se puede obtener la conexión
 	 */
-	Connection getConnection();
+	Connection getConnection() throws SQLException;
 
 	/**
 	 * Obtiene la cadena de conexión JDBC.
@@ -1,5 +1,7 @@
 package BaseDatos;
 
+import java.util.logging.Logger;
+
 /**
  * @version 2.1
  * @author Isabella Vargas
@@ -11,15 +13,29 @@ package BaseDatos;
  * Implementa el patrón Factory para crear instancias de conexión apropiadas.
  * 
  * Soporta diferentes roles: admin, productor, asistente_tecnico, propietario.
- * Cada rol puede tener una conexión con permisos específicos si es necesario.
+ * Cada rol obtiene su propio pool de conexiones, dimensionado y con credenciales
+ * configurables en bd.properties, de modo que un rol no puede agotar las conexiones
+ * de los demás.
+ * 
+ * La conexión por defecto es un ConnectionPool compartido. Puede volverse a la
+ * conexión única de Conexion con la propiedad de sistema -Dbd.pool.habilitado=false.
  */
 public class DBConnectionFactory {
 
+	private static final Logger LOGGER = Logger.getLogger(DBConnectionFactory.class.getName());
+
+	/**
+	 * Propiedad de sistema que habilita o deshabilita el pool de conexiones.
+	 */
+	public static final String POOL_ENABLED_PROPERTY = "bd.pool.habilitado";
+
+	private static ConnectionPool defaultPool;
+
 	/**
 	 * Obtiene una conexión configurada según el rol del usuario.
 	 * 
 	 * @param rol - Rol del usuario (admin, productor, asistente_tecnico, propietario)
-	 * @return DBConnection - Conexión configurada para el rol especificado
+	 * @return DBConnection - Pool de conexiones del rol especificado
 	 * @throws IllegalArgumentException - Si el rol no es válido
 	 */
 	public static DBConnection getConnectionByRole(String rol) {
@@ -45,9 +61,39 @@ public class DBConnectionFactory {
 	/**
 	 * Obtiene la conexión por defecto (conexión general del sistema).
 	 * 
-	 * @return DBConnection - Conexión única del sistema
+	 * @return DBConnection - Pool compartido, o la conexión única si el pool está deshabilitado
 	 */
 	public static DBConnection getDefaultConnection() {
+		if (isPoolEnabled()) {
+			return getDefaultPool();
+		}
 		return Conexion.getInstance();
 	}
+
+	/**
+	 * Obtiene el pool de conexiones compartido, creándolo en el primer uso.
+	 * 
+	 * @return ConnectionPool - Pool por defecto del sistema
+	 */
+	public static synchronized ConnectionPool getDefaultPool() {
+		if (defaultPool == null || defaultPool.isClosed()) {
+			defaultPool = new ConnectionPool("default", PoolConfig.forRole("default", 2, 10));
+			final ConnectionPool pool = defaultPool;
+			Runtime.getRuntime().addShutdownHook(new Thread(pool::close, "pool-default-cierre"));
+		}
+		return defaultPool;
+	}
+
+	/**
+	 * Indica si la conexión por defecto usa el pool de conexiones.
+	 * 
+	 * @return boolean - true salvo que -Dbd.pool.habilitado=false
+	 */
+	public static boolean isPoolEnabled() {
+		boolean enabled = Boolean.parseBoolean(System.getProperty(POOL_ENABLED_PROPERTY, "true"));
+		if (!enabled) {
+			LOGGER.fine("Pool de conexiones deshabilitado; se usa la conexión única");
+		}
+		return enabled;
+	}
 }
\ No newline at end of file
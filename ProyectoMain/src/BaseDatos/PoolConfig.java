@@ -0,0 +1,282 @@
+package BaseDatos;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Parámetros de configuración de un ConnectionPool.
+ * Agrupa credenciales, límites de tamaño y tiempos de espera, validación,
+ * inactividad y detección de fugas de conexiones.
+ *
+ * Los valores por defecto son adecuados para la aplicación de escritorio;
+ * los tiempos se expresan en milisegundos salvo que se indique lo contrario.
+ *
+ * Las configuraciones por rol se leen del archivo bd.properties (ruta indicada con
+ * -Dbd.config, el directorio de trabajo o la raíz del classpath) y pueden
+ * sobrescribirse con propiedades de sistema. Claves reconocidas, con rol = admin,
+ * productor, asistente_tecnico, propietario o default:
+ *
+ *   bd.&lt;rol&gt;.url, bd.&lt;rol&gt;.usuario, bd.&lt;rol&gt;.password,
+ *   bd.&lt;rol&gt;.pool.min, bd.&lt;rol&gt;.pool.max, bd.&lt;rol&gt;.pool.timeout
+ *
+ * Una clave ausente para el rol toma el valor de bd.default.* y, en su defecto,
+ * el de la conexión por defecto del sistema.
+ */
+public class PoolConfig {
+
+	private static final Logger LOGGER = Logger.getLogger(PoolConfig.class.getName());
+
+	/**
+	 * Propiedad de sistema con la ruta del archivo de configuración de base de datos.
+	 */
+	public static final String CONFIG_FILE_PROPERTY = "bd.config";
+
+	private static final String CONFIG_FILE_NAME = "bd.properties";
+	private static final String DEFAULT_ROLE = "default";
+
+	private static Properties fileProperties;
+
+	private String url;
+	private String username;
+	private String password;
+
+	private int minSize = 2;
+	private int maxSize = 10;
+	private long borrowTimeoutMillis = 10_000;
+	private boolean validateOnBorrow = true;
+	private long validationIntervalMillis = 1_000;
+	private int validationTimeoutSeconds = 2;
+	private long idleTimeoutMillis = 300_000;
+	private long leakDetectionThresholdMillis = 60_000;
+	private long maintenanceIntervalMillis = 30_000;
+
+	/**
+	 * Constructor con la cadena de conexión y las credenciales.
+	 *
+	 * @param url - Cadena de conexión JDBC
+	 * @param username - Usuario de base de datos
+	 * @param password - Contraseña del usuario
+	 */
+	public PoolConfig(String url, String username, String password) {
+		if (url == null || url.trim().isEmpty()) {
+			throw new IllegalArgumentException("La cadena de conexión no puede estar vacía");
+		}
+		this.url = url;
+		this.username = username;
+		this.password = password;
+	}
+
+	/**
+	 * Crea una configuración con los parámetros de conexión por defecto del sistema.
+	 *
+	 * @return PoolConfig - Configuración apuntando a la base de datos de Conexion
+	 */
+	public static PoolConfig defaults() {
+		return new PoolConfig(
+			Conexion.buildConnectionString(Conexion.HOST, Conexion.PORT, Conexion.SERVICE),
+			Conexion.USERNAME, Conexion.PASSWORD);
+	}
+
+	/**
+	 * Crea la configuración del pool de un rol a partir de bd.properties y de las
+	 * propiedades de sistema.
+	 *
+	 * @param role - Rol del pool (admin, productor, asistente_tecnico, propietario)
+	 * @param defaultMin - Tamaño mínimo si no está configurado
+	 * @param defaultMax - Tamaño máximo si no está configurado
+	 * @return PoolConfig - Configuración del rol
+	 */
+	public static PoolConfig forRole(String role, int defaultMin, int defaultMax) {
+		PoolConfig base = defaults();
+		PoolConfig config = new PoolConfig(
+			lookup(role, "url", base.getUrl()),
+			lookup(role, "usuario", base.getUsername()),
+			lookup(role, "password", base.getPassword()));
+		config.setMaxSize(lookupInt(role, "pool.max", defaultMax));
+		config.setMinSize(Math.min(lookupInt(role, "pool.min", defaultMin), config.getMaxSize()));
+		config.setBorrowTimeoutMillis(lookupInt(role, "pool.timeout", (int) base.getBorrowTimeoutMillis()));
+		return config;
+	}
+
+	private static String lookup(String role, String key, String fallback) {
+		String value = property("bd." + role + "." + key);
+		if (value == null) {
+			value = property("bd." + DEFAULT_ROLE + "." + key);
+		}
+		return value != null ? value : fallback;
+	}
+
+	private static int lookupInt(String role, String key, int fallback) {
+		String value = lookup(role, key, null);
+		if (value == null) {
+			return fallback;
+		}
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			LOGGER.warning("Valor inválido para bd." + role + "." + key + ": " + value + "; se usa " + fallback);
+			return fallback;
+		}
+	}
+
+	private static String property(String key) {
+		String value = System.getProperty(key);
+		return value != null ? value : loadFileProperties().getProperty(key);
+	}
+
+	private static synchronized Properties loadFileProperties() {
+		if (fileProperties != null) {
+			return fileProperties;
+		}
+		fileProperties = new Properties();
+		Path path = Paths.get(System.getProperty(CONFIG_FILE_PROPERTY, CONFIG_FILE_NAME));
+		try {
+			if (Files.isRegularFile(path)) {
+				try (InputStream in = new FileInputStream(path.toFile())) {
+					fileProperties.load(in);
+				}
+			} else {
+				try (InputStream in = PoolConfig.class.getResourceAsStream("/" + CONFIG_FILE_NAME)) {
+					if (in != null) {
+						fileProperties.load(in);
+					}
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "No fue posible leer la configuración de base de datos " + path, e);
+		}
+		return fileProperties;
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public String getPassword() {
+		return password;
+	}
+
+	public void setCredentials(String username, String password) {
+		this.username = username;
+		this.password = password;
+	}
+
+	public int getMinSize() {
+		return minSize;
+	}
+
+	/**
+	 * Número de conexiones que el pool mantiene abiertas aunque estén inactivas.
+	 */
+	public void setMinSize(int minSize) {
+		if (minSize < 0) {
+			throw new IllegalArgumentException("El tamaño mínimo no puede ser negativo");
+		}
+		this.minSize = minSize;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Número máximo de conexiones físicas (prestadas + libres).
+	 */
+	public void setMaxSize(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("El tamaño máximo debe ser mayor a cero");
+		}
+		this.maxSize = maxSize;
+	}
+
+	public long getBorrowTimeoutMillis() {
+		return borrowTimeoutMillis;
+	}
+
+	/**
+	 * Tiempo máximo que un hilo espera por una conexión antes de fallar.
+	 */
+	public void setBorrowTimeoutMillis(long borrowTimeoutMillis) {
+		this.borrowTimeoutMillis = Math.max(0, borrowTimeoutMillis);
+	}
+
+	public boolean isValidateOnBorrow() {
+		return validateOnBorrow;
+	}
+
+	public void setValidateOnBorrow(boolean validateOnBorrow) {
+		this.validateOnBorrow = validateOnBorrow;
+	}
+
+	public long getValidationIntervalMillis() {
+		return validationIntervalMillis;
+	}
+
+	/**
+	 * Una conexión solo se valida al prestarse si lleva inactiva más de este tiempo.
+	 */
+	public void setValidationIntervalMillis(long validationIntervalMillis) {
+		this.validationIntervalMillis = Math.max(0, validationIntervalMillis);
+	}
+
+	public int getValidationTimeoutSeconds() {
+		return validationTimeoutSeconds;
+	}
+
+	public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+		this.validationTimeoutSeconds = Math.max(1, validationTimeoutSeconds);
+	}
+
+	public long getIdleTimeoutMillis() {
+		return idleTimeoutMillis;
+	}
+
+	/**
+	 * Tiempo de inactividad tras el cual una conexión por encima del mínimo se cierra.
+	 */
+	public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+		this.idleTimeoutMillis = Math.max(0, idleTimeoutMillis);
+	}
+
+	public long getLeakDetectionThresholdMillis() {
+		return leakDetectionThresholdMillis;
+	}
+
+	/**
+	 * Tiempo de préstamo a partir del cual se reporta una posible fuga (0 desactiva).
+	 */
+	public void setLeakDetectionThresholdMillis(long leakDetectionThresholdMillis) {
+		this.leakDetectionThresholdMillis = Math.max(0, leakDetectionThresholdMillis);
+	}
+
+	public long getMaintenanceIntervalMillis() {
+		return maintenanceIntervalMillis;
+	}
+
+	public void setMaintenanceIntervalMillis(long maintenanceIntervalMillis) {
+		this.maintenanceIntervalMillis = Math.max(100, maintenanceIntervalMillis);
+	}
+
+	@Override
+	public String toString() {
+		return "PoolConfig [url=" + url + ", username=" + username + ", minSize=" + minSize
+			+ ", maxSize=" + maxSize + ", borrowTimeoutMillis=" + borrowTimeoutMillis + "]";
+	}
+}
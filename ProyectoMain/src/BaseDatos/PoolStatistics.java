@@ -0,0 +1,105 @@
+package BaseDatos;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Instantánea inmutable de las estadísticas de un ConnectionPool.
+ * Permite monitorear el uso del pool (conexiones activas, libres, hilos en espera)
+ * y la latencia de obtención de conexiones.
+ */
+public final class PoolStatistics {
+
+	private final String poolName;
+	private final int active;
+	private final int idle;
+	private final int waiters;
+	private final long borrows;
+	private final long timeouts;
+	private final long created;
+	private final long destroyed;
+	private final long leaks;
+	private final double averageBorrowMillis;
+	private final double maxBorrowMillis;
+
+	PoolStatistics(String poolName, int active, int idle, int waiters, long borrows, long timeouts,
+			long created, long destroyed, long leaks, double averageBorrowMillis, double maxBorrowMillis) {
+		this.poolName = poolName;
+		this.active = active;
+		this.idle = idle;
+		this.waiters = waiters;
+		this.borrows = borrows;
+		this.timeouts = timeouts;
+		this.created = created;
+		this.destroyed = destroyed;
+		this.leaks = leaks;
+		this.averageBorrowMillis = averageBorrowMillis;
+		this.maxBorrowMillis = maxBorrowMillis;
+	}
+
+	public String getPoolName() {
+		return poolName;
+	}
+
+	/** Conexiones prestadas en este momento. */
+	public int getActive() {
+		return active;
+	}
+
+	/** Conexiones abiertas disponibles en el pool. */
+	public int getIdle() {
+		return idle;
+	}
+
+	/** Total de conexiones físicas abiertas. */
+	public int getTotal() {
+		return active + idle;
+	}
+
+	/** Hilos esperando una conexión. */
+	public int getWaiters() {
+		return waiters;
+	}
+
+	public long getBorrows() {
+		return borrows;
+	}
+
+	public long getTimeouts() {
+		return timeouts;
+	}
+
+	public long getCreated() {
+		return created;
+	}
+
+	public long getDestroyed() {
+		return destroyed;
+	}
+
+	/** Préstamos que superaron el umbral de detección de fugas. */
+	public long getLeaks() {
+		return leaks;
+	}
+
+	/** Latencia promedio de obtención de una conexión, en milisegundos. */
+	public double getAverageBorrowMillis() {
+		return averageBorrowMillis;
+	}
+
+	/** Latencia máxima observada de obtención de una conexión, en milisegundos. */
+	public double getMaxBorrowMillis() {
+		return maxBorrowMillis;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("PoolStatistics [%s activas=%d libres=%d espera=%d prestamos=%d timeouts=%d "
+			+ "creadas=%d cerradas=%d fugas=%d latenciaProm=%.3fms latenciaMax=%.3fms]",
+			poolName, active, idle, waiters, borrows, timeouts, created, destroyed, leaks,
+			averageBorrowMillis, maxBorrowMillis);
+	}
+}
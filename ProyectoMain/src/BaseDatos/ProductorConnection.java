@@ -1,6 +1,7 @@
 package BaseDatos;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 
 /**
  * @version 2.1
@@ -12,18 +13,29 @@ import java.sql.Connection;
  * Clase singleton que proporciona conexión para usuarios productores.
  * Los productores tienen acceso a información de sus lugares de producción y lotes.
  * 
- * Implementa el patrón Singleton para garantizar una única conexión por rol.
+ * Implementa el patrón Singleton para garantizar un único pool por rol.
+ * Cada rol tiene su propio ConnectionPool, con tamaño y credenciales configurables
+ * (claves bd.productor.* de bd.properties), de modo que la carga de un rol no deja sin
+ * conexiones a los demás: cada pool limita y encola solo a los hilos de su rol.
+ * Los productores realizan principalmente consultas sobre sus lotes.
  */
 public class ProductorConnection implements DBConnection {
 
 	private static ProductorConnection instance;
-	private final Conexion conexion;
+	/**
+	 * Nombre del rol y tamaños por defecto de su pool.
+	 */
+	public static final String ROLE = "productor";
+	private static final int DEFAULT_MIN_SIZE = 1;
+	private static final int DEFAULT_MAX_SIZE = 4;
+
+	private final ConnectionPool pool;
 
 	/**
 	 * Constructor privado para el patrón Singleton.
 	 */
 	private ProductorConnection() {
-		this.conexion = Conexion.getInstance();
+		this.pool = new ConnectionPool(ROLE, PoolConfig.forRole(ROLE, DEFAULT_MIN_SIZE, DEFAULT_MAX_SIZE));
 	}
 
 	/**
@@ -39,13 +51,14 @@ public class ProductorConnection implements DBConnection {
 	}
 
 	/**
-	 * Obtiene la conexión a la base de datos.
+	 * Obtiene una conexión del pool del rol.
 	 * 
-	 * @return Connection - Conexión activa
+	 * @return Connection - Conexión prestada (close() la devuelve al pool)
+	 * @throws SQLException si el pool está cerrado, agotado o no se puede abrir una conexión
 	 */
 	@Override
-	public Connection getConnection() {
-		return conexion.getConnection();
+	public Connection getConnection() throws SQLException {
+		return pool.getConnection();
 	}
 
 	/**
@@ -55,6 +68,15 @@ public class ProductorConnection implements DBConnection {
 	 */
 	@Override
 	public String getConnectionString() {
-		return conexion.getConnectionString();
+		return pool.getConnectionString();
+	}
+
+	/**
+	 * Obtiene el pool de conexiones del rol.
+	 * 
+	 * @return ConnectionPool - Pool del rol
+	 */
+	public ConnectionPool getPool() {
+		return pool;
 	}
 }
@@ -5,6 +5,11 @@
 -- =====================================================================
 
 -- Eliminación de tablas existentes (en orden inverso de dependencias)
+BEGIN
+   EXECUTE IMMEDIATE 'DROP TABLE ESTADISTICA_INFESTACION';
+EXCEPTION WHEN OTHERS THEN NULL;
+END;
+/
 BEGIN
    EXECUTE IMMEDIATE 'DROP TABLE RESULTADO_TECNICO';
 EXCEPTION WHEN OTHERS THEN NULL;
@@ -276,6 +281,25 @@ CREATE TABLE RESULTADO_TECNICO
     CONSTRAINT rt_pla_fk REFERENCES PLAGA(id)
 );
 
+-- =====================================================================
+-- TABLA: ESTADISTICA_INFESTACION
+-- =====================================================================
+CREATE TABLE ESTADISTICA_INFESTACION
+(
+    id_lote VARCHAR(20) CONSTRAINT est_lot_nn NOT NULL
+    CONSTRAINT est_lot_fk REFERENCES LOTE(id),
+    id_plaga VARCHAR(10) CONSTRAINT est_pla_nn NOT NULL
+    CONSTRAINT est_pla_fk REFERENCES PLAGA(id),
+    semana DATE CONSTRAINT est_sem_nn NOT NULL,
+    id_municipio VARCHAR(10)
+    CONSTRAINT est_mun_fk REFERENCES MUNICIPIO(id),
+    plantas_evaluadas NUMBER(12,0) DEFAULT 0 CONSTRAINT est_pe_nn NOT NULL,
+    plantas_afectadas NUMBER(12,0) DEFAULT 0 CONSTRAINT est_pa_nn NOT NULL,
+    num_resultados NUMBER(10,0) DEFAULT 0 CONSTRAINT est_nr_nn NOT NULL,
+    fecha_actualizacion TIMESTAMP DEFAULT SYSTIMESTAMP,
+    CONSTRAINT est_pk PRIMARY KEY (id_lote, id_plaga, semana)
+);
+
 -- =====================================================================
 -- ÍNDICES PARA OPTIMIZACIÓN DE CONSULTAS
 -- =====================================================================
@@ -332,6 +356,10 @@ CREATE INDEX idx_resultado_inspeccion ON RESULTADO_TECNICO(codigo_ica_inspeccion
 CREATE INDEX idx_resultado_cultivo ON RESULTADO_TECNICO(id_cultivo);
 CREATE INDEX idx_resultado_plaga ON RESULTADO_TECNICO(id_plaga);
 
+-- Índices para ESTADISTICA_INFESTACION
+CREATE INDEX idx_estadistica_municipio ON ESTADISTICA_INFESTACION(id_municipio, semana);
+CREATE INDEX idx_estadistica_plaga ON ESTADISTICA_INFESTACION(id_plaga, semana);
+
 -- =====================================================================
 -- SECUENCIAS PARA GENERACIÓN AUTOMÁTICA DE IDs (Opcional)
 -- =====================================================================
@@ -464,6 +492,17 @@ TABLA RESULTADO_TECNICO:
 - codigo_ica_inspeccion (VARCHAR 20) - NOT NULL - FK a INSPECCION_FITOSANITARIA
 - id_cultivo (VARCHAR 10) - FK a CULTIVO
 - id_plaga (VARCHAR 10) - FK a PLAGA
+
+TABLA ESTADISTICA_INFESTACION:
+- id_lote (VARCHAR 20) - NOT NULL - FK a LOTE (PK compuesta)
+- id_plaga (VARCHAR 10) - NOT NULL - FK a PLAGA (PK compuesta)
+- semana (DATE) - NOT NULL - Lunes de la semana ISO (PK compuesta)
+- id_municipio (VARCHAR 10) - FK a MUNICIPIO - Municipio del lote
+- plantas_evaluadas (NUMBER 12,0) - NOT NULL - Suma de plantas evaluadas
+- plantas_afectadas (NUMBER 12,0) - NOT NULL - Suma de plantas afectadas
+- num_resultados (NUMBER 10,0) - NOT NULL - Resultados técnicos acumulados
+- fecha_actualizacion (TIMESTAMP) - Última actualización del acumulado
+Se mantiene de forma incremental al registrar o eliminar resultados técnicos
 */
 
 -- =====================================================================
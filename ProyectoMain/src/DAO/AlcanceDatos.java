@@ -0,0 +1,162 @@
+package DAO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Alcance de los datos que puede consultar un usuario: todos los registros, o solo
+ * los de un conjunto de lugares de producción resuelto al iniciar sesión.
+ *
+ * DAOBase lo aplica a todas las consultas de registros (búsquedas por ID, listados,
+ * recorridos, páginas y conteos) de los DAOs cuyos registros pertenecen a un lugar de
+ * producción (ver DAOBase.condicionAlcance y scopedSql). Los IDs se guardan ordenados
+ * y sin duplicados, y la condición se arma con parámetros en grupos de hasta 1000
+ * valores por IN (límite de Oracle).
+ *
+ * Es inmutable y puede compartirse entre hilos y DAOs.
+ *
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ */
+public final class AlcanceDatos {
+
+	/**
+	 * Sin restricción: todos los registros. SessionContext solo lo asigna a las sesiones
+	 * de ADMINISTRADOR.
+	 */
+	public static final AlcanceDatos TOTAL = new AlcanceDatos(null);
+
+	/**
+	 * Ningún registro (por ejemplo, sin sesión o con un rol sin lugares de producción asignados).
+	 */
+	public static final AlcanceDatos NINGUNO = new AlcanceDatos(new long[0]);
+
+	private static final int MAX_IN = 1000;
+
+	private final long[] lugares;
+	private final String clave;
+
+	private AlcanceDatos(long[] lugares) {
+		this.lugares = lugares;
+		this.clave = lugares == null ? "*" : Arrays.toString(lugares);
+	}
+
+	/**
+	 * Crea un alcance restringido a unos lugares de producción.
+	 *
+	 * @param idsLugares IDs de los lugares de producción accesibles
+	 * @return Alcance restringido (NINGUNO si la colección está vacía)
+	 */
+	public static AlcanceDatos porLugares(Collection<Long> idsLugares) {
+		long[] ids = idsLugares.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+		return ids.length == 0 ? NINGUNO : new AlcanceDatos(ids);
+	}
+
+	/**
+	 * @return true si el alcance no restringe los registros
+	 */
+	public boolean esTotal() {
+		return lugares == null;
+	}
+
+	/**
+	 * Indica si un lugar de producción está dentro del alcance.
+	 *
+	 * @param idLugar ID del lugar de producción
+	 * @return true si el usuario puede ver los registros del lugar
+	 */
+	public boolean incluye(long idLugar) {
+		return lugares == null || Arrays.binarySearch(lugares, idLugar) >= 0;
+	}
+
+	/**
+	 * @return Número de lugares accesibles, o -1 si el alcance es total
+	 */
+	public int getCantidadLugares() {
+		return lugares == null ? -1 : lugares.length;
+	}
+
+	/**
+	 * Arma la condición SQL que restringe una columna con el ID del lugar de producción.
+	 *
+	 * @param columna Columna (o expresión) con el ID del lugar de producción
+	 * @param params Recibe los valores de los parámetros de la condición
+	 * @return Condición, como "(COLUMNA IN (?, ?) OR COLUMNA IN (?))", o "1 = 0" si no hay lugares
+	 */
+	public String condicion(String columna, List<Object> params) {
+		if (lugares == null) {
+			throw new IllegalStateException("El alcance total no tiene condición");
+		}
+		if (lugares.length == 0) {
+			return "1 = 0";
+		}
+		StringBuilder sql = new StringBuilder(columna.length() * 2 + lugares.length * 3 + 8).append('(');
+		for (int i = 0; i < lugares.length; i++) {
+			if (i % MAX_IN == 0) {
+				sql.append(i == 0 ? "" : ") OR ").append(columna).append(" IN (?");
+			} else {
+				sql.append(", ?");
+			}
+			params.add(lugares[i]);
+		}
+		return sql.append("))").toString();
+	}
+
+	/**
+	 * Representa el alcance como texto, para guardarlo junto a un trabajo diferido (por
+	 * ejemplo, un reporte) y restaurarlo con desdeTexto.
+	 *
+	 * @return "*" para el alcance total, o los IDs de los lugares separados por comas
+	 */
+	public String comoTexto() {
+		if (lugares == null) {
+			return "*";
+		}
+		StringBuilder texto = new StringBuilder(lugares.length * 4);
+		for (int i = 0; i < lugares.length; i++) {
+			if (i > 0) {
+				texto.append(',');
+			}
+			texto.append(lugares[i]);
+		}
+		return texto.toString();
+	}
+
+	/**
+	 * Restaura un alcance guardado con comoTexto.
+	 *
+	 * @param texto Alcance como texto (null o vacío equivale a NINGUNO)
+	 * @return Alcance restaurado
+	 * @throws NumberFormatException Si el texto contiene un ID no numérico
+	 */
+	public static AlcanceDatos desdeTexto(String texto) {
+		if (texto == null || texto.trim().isEmpty()) {
+			return NINGUNO;
+		}
+		if ("*".equals(texto.trim())) {
+			return TOTAL;
+		}
+		List<Long> ids = new ArrayList<>();
+		for (String id : texto.split(",")) {
+			ids.add(Long.valueOf(id.trim()));
+		}
+		return porLugares(ids);
+	}
+
+	/**
+	 * Clave que identifica el alcance, usada en la caché de conteos.
+	 */
+	String clave() {
+		return clave;
+	}
+
+	@Override
+	public String toString() {
+		return lugares == null ? "AlcanceDatos [total]" : "AlcanceDatos [lugares=" + lugares.length + "]";
+	}
+}
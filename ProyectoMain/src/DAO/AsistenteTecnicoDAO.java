@@ -18,6 +18,16 @@ import model.AsistenteTecnico;
  */
 public class AsistenteTecnicoDAO extends DAOBase<AsistenteTecnico> {
 	
+	private static final String TABLA = "ASISTENTE_TECNICO";
+	private static final String COLUMNA_ID = "ID_ASISTENTE_TECNICO";
+	
+	/**
+	 * Columnas que lee mapAsistente.
+	 */
+	private static final Proyeccion COLUMNAS = Proyeccion.de("ID_ASISTENTE_TECNICO");
+	
+	private static final String SQL_SELECT = "SELECT " + COLUMNAS + " FROM " + TABLA;
+	
 	public AsistenteTecnicoDAO() {
 		super();
 	}
@@ -35,19 +45,39 @@ public class AsistenteTecnicoDAO extends DAOBase<AsistenteTecnico> {
 			"GENERAL"
 		};
 		
-		return executeInsertWithGeneratedKey(sql, params);
+		return executeInsertWithGeneratedKey(sql, params, COLUMNA_ID);
 	}
 	
 	public AsistenteTecnico obtenerPorId(long id) throws SQLException {
-		String sql = "SELECT * FROM ASISTENTE_TECNICO WHERE ID_ASISTENTE_TECNICO = ?";
-		Object[] params = {id};
-		
-		return findOneWithParams(sql, params, this::mapAsistente);
+		return findById(TABLA, id, SQL_SELECT, COLUMNA_ID, this::mapAsistente);
 	}
 	
 	public List<AsistenteTecnico> obtenerTodos() throws SQLException {
-		String sql = "SELECT * FROM ASISTENTE_TECNICO WHERE ACTIVO = 1";
-		return findMany(sql, this::mapAsistente);
+		return findWhere(SQL_SELECT, "ACTIVO = 1", null, this::mapAsistente);
+	}
+	
+	/**
+	 * Obtiene una página de asistentes técnicos activos usando paginación por clave.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de asistentes técnicos activos
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public Pagina<AsistenteTecnico> obtenerPagina(ConsultaPagina consulta) throws SQLException {
+		return findPage(TABLA, COLUMNA_ID, "ACTIVO = 1", consulta, COLUMNAS, this::mapAsistente);
+	}
+	
+	/**
+	 * Cuenta los asistentes técnicos activos que cumplen los filtros de la consulta.
+	 * 
+	 * @param consulta Filtros a aplicar
+	 * @return Número total de registros
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public long contar(ConsultaPagina consulta) throws SQLException {
+		return countRows(TABLA, "ACTIVO = 1", consulta);
 	}
 	
 	public int actualizar(AsistenteTecnico asistente) throws SQLException {
@@ -58,14 +88,14 @@ public class AsistenteTecnicoDAO extends DAOBase<AsistenteTecnico> {
 			asistente.getId()
 		};
 		
-		return executeUpdate(sql, params);
+		return executeEntityUpdate(TABLA, asistente.getId(), sql, params);
 	}
 	
 	public int eliminarLogico(long id) throws SQLException {
 		String sql = "UPDATE ASISTENTE_TECNICO SET ACTIVO = 0 WHERE ID_ASISTENTE_TECNICO = ?";
 		Object[] params = {id};
 		
-		return executeUpdate(sql, params);
+		return executeEntityDelete(TABLA, id, sql, params);
 	}
 	
 	private AsistenteTecnico mapAsistente(ResultSet rs) throws SQLException {
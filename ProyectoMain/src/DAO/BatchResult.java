@@ -0,0 +1,116 @@
+package DAO;
+
+import java.util.Arrays;
+
+/**
+ * Resultado de una operación por lotes (JDBC batch) ejecutada por DAOBase.
+ * Registra las filas procesadas, el tiempo de cada lote y, cuando aplica,
+ * los IDs generados por la base de datos.
+ *
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ */
+public class BatchResult {
+
+	private final int rows;
+	private final int affectedRows;
+	private final int[] rowCounts;
+	private final long[] batchNanos;
+	private final long totalNanos;
+	private final long[] generatedKeys;
+
+	BatchResult(int rows, int affectedRows, int[] rowCounts, long[] batchNanos, long totalNanos, long[] generatedKeys) {
+		this.rows = rows;
+		this.affectedRows = affectedRows;
+		this.rowCounts = rowCounts;
+		this.batchNanos = batchNanos;
+		this.totalNanos = totalNanos;
+		this.generatedKeys = generatedKeys;
+	}
+
+	/**
+	 * Obtiene el número de filas enviadas a la base de datos.
+	 *
+	 * @return Filas procesadas
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * Obtiene el número de filas afectadas reportado por el driver.
+	 * Los drivers que no informan el conteo por fila (SUCCESS_NO_INFO) cuentan como una fila.
+	 *
+	 * @return Filas afectadas
+	 */
+	public int getAffectedRows() {
+		return affectedRows;
+	}
+
+	/**
+	 * Obtiene el número de filas afectadas por una de las filas enviadas, tal como lo
+	 * reporta el driver (Statement.SUCCESS_NO_INFO si no informa el conteo por fila).
+	 *
+	 * @param row Índice de la fila, en el orden de los parámetros
+	 * @return Filas afectadas por esa fila
+	 */
+	public int getAffectedRows(int row) {
+		return rowCounts[row];
+	}
+
+	/**
+	 * Obtiene el número de lotes enviados.
+	 *
+	 * @return Lotes ejecutados
+	 */
+	public int getBatchCount() {
+		return batchNanos.length;
+	}
+
+	/**
+	 * Obtiene el tiempo de ejecución de un lote, en milisegundos.
+	 *
+	 * @param index Índice del lote
+	 * @return Duración del lote
+	 */
+	public double getBatchMillis(int index) {
+		return batchNanos[index] / 1_000_000.0;
+	}
+
+	/**
+	 * Obtiene el tiempo total de la operación (incluye el commit), en milisegundos.
+	 *
+	 * @return Duración total
+	 */
+	public double getTotalMillis() {
+		return totalNanos / 1_000_000.0;
+	}
+
+	/**
+	 * Obtiene el rendimiento de la operación en filas por segundo.
+	 *
+	 * @return Filas por segundo
+	 */
+	public double getRowsPerSecond() {
+		return totalNanos == 0 ? 0.0 : rows * 1_000_000_000.0 / totalNanos;
+	}
+
+	/**
+	 * Obtiene los IDs generados, en el orden de las filas insertadas.
+	 * Hay un ID por fila: si el driver retorna menos, el lote falla y se deshace.
+	 *
+	 * @return Copia de los IDs generados
+	 */
+	public long[] getGeneratedKeys() {
+		return Arrays.copyOf(generatedKeys, generatedKeys.length);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("BatchResult [filas=%d, afectadas=%d, lotes=%d, total=%.1f ms, %.0f filas/s]",
+			rows, affectedRows, getBatchCount(), getTotalMillis(), getRowsPerSecond());
+	}
+}
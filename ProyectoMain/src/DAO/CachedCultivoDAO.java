@@ -0,0 +1,84 @@
+package DAO;
+
+import BaseDatos.DBConnection;
+import java.sql.SQLException;
+import java.util.List;
+import model.Cultivo;
+
+/**
+ * DAO con caché para la entidad Cultivo.
+ * Atiende obtenerPorId y obtenerTodos desde memoria (CatalogCache compartida por
+ * todas las instancias) y solo consulta la tabla CULTIVO la primera vez o al vencer
+ * la caché. Las sesiones con alcance restringido no usan la caché. Crear, actualizar,
+ * cambiarEstado y eliminar invalidan las entradas afectadas cuando el cambio se confirma
+ * (ver UnidadDeTrabajo.despuesDeEscribir).
+ * 
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ */
+public class CachedCultivoDAO extends CultivoDAO {
+	
+	private static final CatalogCache<Cultivo> CACHE = CatalogCache.of("CULTIVO", Cultivo::getId);
+	
+	public CachedCultivoDAO() {
+		super();
+	}
+	
+	public CachedCultivoDAO(DBConnection dbConnection) {
+		super(dbConnection);
+	}
+	
+	@Override
+	public long crear(Cultivo cultivo) throws SQLException {
+		long id = super.crear(cultivo);
+		UnidadDeTrabajo.despuesDeEscribir(CACHE::invalidarListados);
+		return id;
+	}
+	
+	@Override
+	public int cambiarEstado(long id, String estado) throws SQLException {
+		int filas = super.cambiarEstado(id, estado);
+		UnidadDeTrabajo.despuesDeEscribir(() -> CACHE.invalidar(id));
+		return filas;
+	}
+	
+	@Override
+	public Cultivo obtenerPorId(long id) throws SQLException {
+		if (!getAlcance().esTotal()) {
+			return super.obtenerPorId(id);
+		}
+		return CACHE.obtenerPorId(id, () -> super.obtenerPorId(id));
+	}
+	
+	/**
+	 * Obtiene todos los cultivos activos desde la caché. Con un alcance restringido se
+	 * consulta la tabla, porque la caché es compartida por todas las sesiones.
+	 * 
+	 * @return Copia del listado cacheado
+	 * @throws SQLException Si hay error al cargar el listado
+	 */
+	@Override
+	public List<Cultivo> obtenerTodos() throws SQLException {
+		if (!getAlcance().esTotal()) {
+			return super.obtenerTodos();
+		}
+		return CACHE.obtenerListado("todos", super::obtenerTodos);
+	}
+	
+	@Override
+	public int actualizar(Cultivo cultivo) throws SQLException {
+		int filas = super.actualizar(cultivo);
+		UnidadDeTrabajo.despuesDeEscribir(() -> CACHE.invalidar(cultivo.getId()));
+		return filas;
+	}
+	
+	@Override
+	public int eliminar(long id) throws SQLException {
+		int filas = super.eliminar(id);
+		UnidadDeTrabajo.despuesDeEscribir(() -> CACHE.invalidar(id));
+		return filas;
+	}
+}
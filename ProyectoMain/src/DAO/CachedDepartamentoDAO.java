@@ -0,0 +1,69 @@
+package DAO;
+
+import BaseDatos.DBConnection;
+import java.sql.SQLException;
+import java.util.List;
+import model.Departamento;
+
+/**
+ * DAO con caché para la entidad Departamento.
+ * Atiende obtenerPorId y obtenerTodos desde memoria (CatalogCache compartida por
+ * todas las instancias) y solo consulta la tabla DEPARTAMENTO la primera vez o al vencer
+ * la caché. Crear, actualizar y eliminar invalidan las entradas afectadas cuando
+ * el cambio se confirma (ver UnidadDeTrabajo.despuesDeEscribir).
+ * 
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ */
+public class CachedDepartamentoDAO extends DepartamentoDAO {
+	
+	private static final CatalogCache<Departamento> CACHE = CatalogCache.of("DEPARTAMENTO", Departamento::getId);
+	
+	public CachedDepartamentoDAO() {
+		super();
+	}
+	
+	public CachedDepartamentoDAO(DBConnection dbConnection) {
+		super(dbConnection);
+	}
+	
+	@Override
+	public long crear(Departamento depto) throws SQLException {
+		long id = super.crear(depto);
+		UnidadDeTrabajo.despuesDeEscribir(CACHE::invalidarListados);
+		return id;
+	}
+	
+	@Override
+	public Departamento obtenerPorId(long id) throws SQLException {
+		return CACHE.obtenerPorId(id, () -> super.obtenerPorId(id));
+	}
+	
+	/**
+	 * Obtiene todos los departamentos desde la caché.
+	 * 
+	 * @return Copia del listado cacheado
+	 * @throws SQLException Si hay error al cargar el listado
+	 */
+	@Override
+	public List<Departamento> obtenerTodos() throws SQLException {
+		return CACHE.obtenerListado("todos", super::obtenerTodos);
+	}
+	
+	@Override
+	public int actualizar(Departamento depto) throws SQLException {
+		int filas = super.actualizar(depto);
+		UnidadDeTrabajo.despuesDeEscribir(() -> CACHE.invalidar(depto.getId()));
+		return filas;
+	}
+	
+	@Override
+	public int eliminar(long id) throws SQLException {
+		int filas = super.eliminar(id);
+		UnidadDeTrabajo.despuesDeEscribir(() -> CACHE.invalidar(id));
+		return filas;
+	}
+}
@@ -0,0 +1,69 @@
+package DAO;
+
+import BaseDatos.DBConnection;
+import java.sql.SQLException;
+import java.util.List;
+import model.Municipio;
+
+/**
+ * DAO con caché para la entidad Municipio.
+ * Atiende obtenerPorId y obtenerTodos desde memoria (CatalogCache compartida por
+ * todas las instancias) y solo consulta la tabla MUNICIPIO la primera vez o al vencer
+ * la caché. Crear, actualizar y eliminar invalidan las entradas afectadas cuando
+ * el cambio se confirma (ver UnidadDeTrabajo.despuesDeEscribir).
+ * 
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ */
+public class CachedMunicipioDAO extends MunicipioDAO {
+	
+	private static final CatalogCache<Municipio> CACHE = CatalogCache.of("MUNICIPIO", Municipio::getId);
+	
+	public CachedMunicipioDAO() {
+		super();
+	}
+	
+	public CachedMunicipioDAO(DBConnection dbConnection) {
+		super(dbConnection);
+	}
+	
+	@Override
+	public long crear(Municipio municipio) throws SQLException {
+		long id = super.crear(municipio);
+		UnidadDeTrabajo.despuesDeEscribir(CACHE::invalidarListados);
+		return id;
+	}
+	
+	@Override
+	public Municipio obtenerPorId(long id) throws SQLException {
+		return CACHE.obtenerPorId(id, () -> super.obtenerPorId(id));
+	}
+	
+	/**
+	 * Obtiene todos los municipios desde la caché.
+	 * 
+	 * @return Copia del listado cacheado
+	 * @throws SQLException Si hay error al cargar el listado
+	 */
+	@Override
+	public List<Municipio> obtenerTodos() throws SQLException {
+		return CACHE.obtenerListado("todos", super::obtenerTodos);
+	}
+	
+	@Override
+	public int actualizar(Municipio municipio) throws SQLException {
+		int filas = super.actualizar(municipio);
+		UnidadDeTrabajo.despuesDeEscribir(() -> CACHE.invalidar(municipio.getId()));
+		return filas;
+	}
+	
+	@Override
+	public int eliminar(long id) throws SQLException {
+		int filas = super.eliminar(id);
+		UnidadDeTrabajo.despuesDeEscribir(() -> CACHE.invalidar(id));
+		return filas;
+	}
+}
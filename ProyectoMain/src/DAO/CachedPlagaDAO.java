@@ -0,0 +1,69 @@
+package DAO;
+
+import BaseDatos.DBConnection;
+import java.sql.SQLException;
+import java.util.List;
+import model.Plaga;
+
+/**
+ * DAO con caché para la entidad Plaga.
+ * Atiende obtenerPorId y obtenerTodos desde memoria (CatalogCache compartida por
+ * todas las instancias) y solo consulta la tabla PLAGA la primera vez o al vencer
+ * la caché. Crear, actualizar y eliminar invalidan las entradas afectadas cuando
+ * el cambio se confirma (ver UnidadDeTrabajo.despuesDeEscribir).
+ * 
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ */
+public class CachedPlagaDAO extends PlagaDAO {
+	
+	private static final CatalogCache<Plaga> CACHE = CatalogCache.of("PLAGA", Plaga::getId);
+	
+	public CachedPlagaDAO() {
+		super();
+	}
+	
+	public CachedPlagaDAO(DBConnection dbConnection) {
+		super(dbConnection);
+	}
+	
+	@Override
+	public long crear(Plaga plaga) throws SQLException {
+		long id = super.crear(plaga);
+		UnidadDeTrabajo.despuesDeEscribir(CACHE::invalidarListados);
+		return id;
+	}
+	
+	@Override
+	public Plaga obtenerPorId(long id) throws SQLException {
+		return CACHE.obtenerPorId(id, () -> super.obtenerPorId(id));
+	}
+	
+	/**
+	 * Obtiene todas las plagas desde la caché.
+	 * 
+	 * @return Copia del listado cacheado
+	 * @throws SQLException Si hay error al cargar el listado
+	 */
+	@Override
+	public List<Plaga> obtenerTodos() throws SQLException {
+		return CACHE.obtenerListado("todos", super::obtenerTodos);
+	}
+	
+	@Override
+	public int actualizar(Plaga plaga) throws SQLException {
+		int filas = super.actualizar(plaga);
+		UnidadDeTrabajo.despuesDeEscribir(() -> CACHE.invalidar(plaga.getId()));
+		return filas;
+	}
+	
+	@Override
+	public int eliminar(long id) throws SQLException {
+		int filas = super.eliminar(id);
+		UnidadDeTrabajo.despuesDeEscribir(() -> CACHE.invalidar(id));
+		return filas;
+	}
+}
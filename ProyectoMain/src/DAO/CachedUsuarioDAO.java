@@ -0,0 +1,234 @@
+package DAO;
+
+import BaseDatos.DBConnection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import model.Usuario;
+
+/**
+ * DAO con caché para la entidad Usuario, usado en el inicio de sesión.
+ * Atiende obtenerPorEmail y obtenerPorCedula desde memoria (cachés compartidas por
+ * todas las instancias) y solo consulta la tabla USUARIO en el primer acceso o al
+ * vencer la entrada.
+ *
+ * - Los correos que no existen también se recuerdan (caché negativa, con un tiempo de
+ *   vida corto) para que los intentos repetidos con un correo inválido no lleguen a la
+ *   base de datos.
+ * - Si varios hilos piden a la vez la misma clave ausente (por ejemplo, en un cambio de
+ *   turno en que muchos técnicos inician sesión), solo uno consulta la base de datos y
+ *   los demás esperan su resultado.
+ * - eliminarLogico descarta las entradas del usuario eliminado.
+ *
+ * La capacidad y los tiempos de vida se configuran con -Dbd.cache.usuarios (entradas,
+ * por defecto 5000), -Dbd.cache.usuarios.ttl (milisegundos, por defecto 5 minutos) y
+ * -Dbd.cache.usuarios.ttlNegativo (milisegundos, por defecto 30 segundos).
+ * Los usuarios cacheados se comparten entre llamadas y deben tratarse como de solo lectura.
+ *
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ */
+public class CachedUsuarioDAO extends UsuarioDAO {
+
+	private static final Logger LOGGER = Logger.getLogger(CachedUsuarioDAO.class.getName());
+
+	private static final int CAPACITY = Integer.getInteger("bd.cache.usuarios", 5000);
+	private static final long TTL_MILLIS = Long.getLong("bd.cache.usuarios.ttl", 300_000L);
+	private static final long TTL_NEGATIVO_MILLIS = Long.getLong("bd.cache.usuarios.ttlNegativo", 30_000L);
+
+	private static final LruCache<String, Usuario> POR_EMAIL = new LruCache<>("USUARIO.email", CAPACITY, TTL_MILLIS);
+	private static final LruCache<String, Usuario> POR_CEDULA = new LruCache<>("USUARIO.cedula", CAPACITY, TTL_MILLIS);
+	private static final LruCache<String, Boolean> EMAIL_INEXISTENTE =
+		new LruCache<>("USUARIO.email.inexistente", CAPACITY, TTL_NEGATIVO_MILLIS);
+
+	/**
+	 * Consultas en curso por clave ("email:..." o "cedula:..."); las peticiones
+	 * concurrentes de la misma clave esperan la misma consulta.
+	 */
+	private static final Map<String, CompletableFuture<Usuario>> EN_CURSO = new ConcurrentHashMap<>();
+
+	private static final LongAdder CONSULTAS = new LongAdder();
+	private static final LongAdder COMPARTIDAS = new LongAdder();
+
+	public CachedUsuarioDAO() {
+		super();
+	}
+
+	public CachedUsuarioDAO(DBConnection dbConnection) {
+		super(dbConnection);
+	}
+
+	/**
+	 * Busca un usuario por correo desde la caché o, si no está, desde la base de datos.
+	 *
+	 * @param email Correo del usuario a buscar
+	 * @return Usuario encontrado, o null si no existe
+	 * @throws SQLException Si hay error en la consulta
+	 */
+	@Override
+	public Usuario obtenerPorEmail(String email) throws SQLException {
+		if (email == null) {
+			return super.obtenerPorEmail(email);
+		}
+		Usuario usuario = POR_EMAIL.get(email);
+		if (usuario != null || EMAIL_INEXISTENTE.get(email) != null) {
+			return usuario;
+		}
+		usuario = cargar("email:" + email, () -> super.obtenerPorEmail(email));
+		if (usuario == null) {
+			EMAIL_INEXISTENTE.put(email, Boolean.TRUE);
+		}
+		return usuario;
+	}
+
+	/**
+	 * Busca un usuario por número de identificación desde la caché o, si no está,
+	 * desde la base de datos.
+	 *
+	 * @param cedula Número de identificación del usuario a buscar
+	 * @return Usuario encontrado, o null si no existe
+	 * @throws SQLException Si hay error en la consulta
+	 */
+	@Override
+	public Usuario obtenerPorCedula(String cedula) throws SQLException {
+		if (cedula == null) {
+			return super.obtenerPorCedula(cedula);
+		}
+		Usuario usuario = POR_CEDULA.get(cedula);
+		if (usuario != null) {
+			return usuario;
+		}
+		return cargar("cedula:" + cedula, () -> super.obtenerPorCedula(cedula));
+	}
+
+	/**
+	 * Elimina un usuario de forma lógica y descarta sus entradas de la caché.
+	 *
+	 * @param id ID del usuario a eliminar
+	 * @return Número de filas afectadas
+	 * @throws SQLException Si hay error en la operación
+	 */
+	@Override
+	public int eliminarLogico(long id) throws SQLException {
+		Usuario usuario = super.obtenerPorId(id);
+		int filas = super.eliminarLogico(id);
+		if (usuario != null) {
+			invalidar(usuario);
+		}
+		return filas;
+	}
+
+	/**
+	 * Descarta las entradas cacheadas de un usuario (por correo y por cédula), por
+	 * ejemplo tras modificarlo o registrarlo desde otro DAO.
+	 *
+	 * @param usuario Usuario modificado
+	 */
+	public static void invalidar(Usuario usuario) {
+		if (usuario.getCorreoElectronico() != null) {
+			POR_EMAIL.remove(usuario.getCorreoElectronico());
+			EMAIL_INEXISTENTE.remove(usuario.getCorreoElectronico());
+		}
+		if (usuario.getNumeroIdentificacion() != null) {
+			POR_CEDULA.remove(usuario.getNumeroIdentificacion());
+		}
+	}
+
+	/**
+	 * Descarta el contenido de las cachés de usuarios.
+	 */
+	public static void limpiar() {
+		POR_EMAIL.clear();
+		POR_CEDULA.clear();
+		EMAIL_INEXISTENTE.clear();
+	}
+
+	/**
+	 * Obtiene las cachés de usuarios, para monitorear su tasa de aciertos.
+	 *
+	 * @return Cachés por correo, por cédula y de correos inexistentes
+	 */
+	public static List<LruCache<?, ?>> getEstadisticas() {
+		return Arrays.asList(POR_EMAIL, POR_CEDULA, EMAIL_INEXISTENTE);
+	}
+
+	/**
+	 * Número de consultas a la base de datos hechas por la caché.
+	 */
+	public static long getConsultas() {
+		return CONSULTAS.sum();
+	}
+
+	/**
+	 * Número de peticiones que esperaron una consulta ya en curso en lugar de hacer la suya.
+	 */
+	public static long getCompartidas() {
+		return COMPARTIDAS.sum();
+	}
+
+	/**
+	 * Carga un usuario ausente. Solo el primer hilo que pide la clave ejecuta la
+	 * consulta; los demás esperan y reciben el mismo resultado (o el mismo error).
+	 */
+	private static Usuario cargar(String clave, LruCache.Loader<Usuario> loader) throws SQLException {
+		CompletableFuture<Usuario> propia = new CompletableFuture<>();
+		CompletableFuture<Usuario> enCurso = EN_CURSO.putIfAbsent(clave, propia);
+		if (enCurso != null) {
+			COMPARTIDAS.increment();
+			return esperar(enCurso);
+		}
+		try {
+			CONSULTAS.increment();
+			Usuario usuario = loader.load();
+			if (usuario != null) {
+				guardar(usuario);
+			}
+			propia.complete(usuario);
+			return usuario;
+		} catch (SQLException | RuntimeException e) {
+			propia.completeExceptionally(e);
+			throw e;
+		} finally {
+			EN_CURSO.remove(clave, propia);
+		}
+	}
+
+	/**
+	 * Guarda un usuario bajo todas sus claves, de modo que tras buscarlo por correo
+	 * la búsqueda por cédula (y viceversa) también se atiende desde memoria.
+	 */
+	private static void guardar(Usuario usuario) {
+		if (usuario.getCorreoElectronico() != null) {
+			POR_EMAIL.put(usuario.getCorreoElectronico(), usuario);
+			EMAIL_INEXISTENTE.remove(usuario.getCorreoElectronico());
+		}
+		if (usuario.getNumeroIdentificacion() != null) {
+			POR_CEDULA.put(usuario.getNumeroIdentificacion(), usuario);
+		}
+	}
+
+	private static Usuario esperar(CompletableFuture<Usuario> enCurso) throws SQLException {
+		try {
+			return enCurso.join();
+		} catch (CompletionException e) {
+			Throwable causa = e.getCause();
+			if (causa instanceof SQLException) {
+				LOGGER.fine("Consulta de usuario compartida falló: " + causa.getMessage());
+				throw (SQLException) causa;
+			}
+			if (causa instanceof RuntimeException) {
+				throw (RuntimeException) causa;
+			}
+			throw e;
+		}
+	}
+}
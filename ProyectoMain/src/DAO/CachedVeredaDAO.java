@@ -0,0 +1,76 @@
+package DAO;
+
+import BaseDatos.DBConnection;
+import java.sql.SQLException;
+import java.util.List;
+import model.Vereda;
+
+/**
+ * DAO con caché para la entidad Vereda.
+ * Atiende obtenerPorId y obtenerTodos desde memoria (CatalogCache compartida por
+ * todas las instancias) y solo consulta la tabla VEREDA la primera vez o al vencer
+ * la caché. Crear, actualizar y eliminar invalidan las entradas afectadas cuando
+ * el cambio se confirma (ver UnidadDeTrabajo.despuesDeEscribir).
+ * 
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ */
+public class CachedVeredaDAO extends VeredaDAO {
+	
+	private static final CatalogCache<Vereda> CACHE = CatalogCache.of("VEREDA", Vereda::getId);
+	
+	public CachedVeredaDAO() {
+		super();
+	}
+	
+	public CachedVeredaDAO(DBConnection dbConnection) {
+		super(dbConnection);
+	}
+	
+	@Override
+	public long crear(Vereda vereda) throws SQLException {
+		long id = super.crear(vereda);
+		UnidadDeTrabajo.despuesDeEscribir(CACHE::invalidarListados);
+		return id;
+	}
+	
+	@Override
+	public BatchResult crearTodos(List<Vereda> veredas) throws SQLException {
+		BatchResult result = super.crearTodos(veredas);
+		UnidadDeTrabajo.despuesDeEscribir(CACHE::invalidarListados);
+		return result;
+	}
+	
+	@Override
+	public Vereda obtenerPorId(long id) throws SQLException {
+		return CACHE.obtenerPorId(id, () -> super.obtenerPorId(id));
+	}
+	
+	/**
+	 * Obtiene todas las veredas desde la caché.
+	 * 
+	 * @return Copia del listado cacheado
+	 * @throws SQLException Si hay error al cargar el listado
+	 */
+	@Override
+	public List<Vereda> obtenerTodos() throws SQLException {
+		return CACHE.obtenerListado("todos", super::obtenerTodos);
+	}
+	
+	@Override
+	public int actualizar(Vereda vereda) throws SQLException {
+		int filas = super.actualizar(vereda);
+		UnidadDeTrabajo.despuesDeEscribir(() -> CACHE.invalidar(vereda.getId()));
+		return filas;
+	}
+	
+	@Override
+	public int eliminar(long id) throws SQLException {
+		int filas = super.eliminar(id);
+		UnidadDeTrabajo.despuesDeEscribir(() -> CACHE.invalidar(id));
+		return filas;
+	}
+}
@@ -0,0 +1,263 @@
+package DAO;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Caché de un catálogo de referencia (departamentos, municipios, veredas, plagas, cultivos).
+ * Guarda los registros por ID en una LruCache y, por separado, el listado completo.
+ * Al cargar el listado completo también se indexa cada registro por su ID, de modo
+ * que los combos de los formularios y las búsquedas por ID se atienden desde memoria.
+ * 
+ * Las escrituras realizadas por los DAOs con caché invalidan las entradas afectadas.
+ * Los objetos cacheados se comparten entre llamadas y deben tratarse como de solo lectura.
+ * 
+ * Cada invalidación incrementa la generación del catálogo, y una carga solo guarda su
+ * resultado si la generación no cambió mientras consultaba: una consulta que empezó antes
+ * de una escritura no deja en caché los datos anteriores. Los listados se cargan una sola
+ * vez a la vez por clave; quienes los piden mientras tanto esperan esa carga.
+ * 
+ * La capacidad y el tiempo de vida se configuran con -Dbd.cache.catalogos (entradas,
+ * por defecto 1000) y -Dbd.cache.catalogos.ttl (milisegundos, por defecto 10 minutos).
+ * 
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ * @param <T> Tipo de entidad del catálogo
+ */
+public class CatalogCache<T> {
+	
+	private static final Logger LOGGER = Logger.getLogger(CatalogCache.class.getName());
+	
+	private static final int CAPACITY = Integer.getInteger("bd.cache.catalogos", 1000);
+	private static final long TTL_MILLIS = Long.getLong("bd.cache.catalogos.ttl", 600_000L);
+	
+	private static final Map<String, CatalogCache<?>> REGISTRY = new ConcurrentHashMap<>();
+	
+	private final LruCache<Long, T> porId;
+	private final LruCache<String, List<T>> listados;
+	private final Function<T, String> idOf;
+	
+	/**
+	 * Cargas de listados en curso, por clave. Protegido por this, igual que generacion.
+	 */
+	private final Map<String, Carga<T>> cargas = new HashMap<>();
+	private long generacion;
+	
+	private CatalogCache(String name, Function<T, String> idOf) {
+		this.porId = new LruCache<>(name, CAPACITY, TTL_MILLIS);
+		this.listados = new LruCache<>(name + ".listados", 8, TTL_MILLIS);
+		this.idOf = idOf;
+	}
+	
+	/**
+	 * Obtiene la caché compartida de un catálogo, creándola la primera vez.
+	 * 
+	 * @param <T> Tipo de entidad
+	 * @param name Nombre del catálogo (tabla)
+	 * @param idOf Obtiene el ID de un registro
+	 * @return Caché del catálogo
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> CatalogCache<T> of(String name, Function<T, String> idOf) {
+		return (CatalogCache<T>) REGISTRY.computeIfAbsent(name, n -> new CatalogCache<>(n, idOf));
+	}
+	
+	/**
+	 * Obtiene las cachés de todos los catálogos, para monitorear su tasa de aciertos.
+	 * 
+	 * @return Cachés por ID de cada catálogo
+	 */
+	public static List<LruCache<?, ?>> getEstadisticas() {
+		List<LruCache<?, ?>> caches = new ArrayList<>();
+		for (CatalogCache<?> cache : REGISTRY.values()) {
+			caches.add(cache.porId);
+			caches.add(cache.listados);
+		}
+		return caches;
+	}
+	
+	/**
+	 * Descarta el contenido de todas las cachés de catálogos.
+	 */
+	public static void limpiarTodas() {
+		for (CatalogCache<?> cache : REGISTRY.values()) {
+			cache.limpiar();
+		}
+	}
+	
+	/**
+	 * Obtiene un registro por ID desde la caché o, si no está, desde la base de datos.
+	 * 
+	 * @param id ID del registro
+	 * @param loader Consulta el registro en la base de datos
+	 * @return Registro o null si no existe
+	 * @throws SQLException Si hay error en la consulta
+	 */
+	T obtenerPorId(long id, LruCache.Loader<T> loader) throws SQLException {
+		T registro = porId.get(id);
+		if (registro != null) {
+			return registro;
+		}
+		long inicio = getGeneracion();
+		registro = loader.load();
+		if (registro != null) {
+			synchronized (this) {
+				if (generacion == inicio) {
+					porId.put(id, registro);
+				}
+			}
+		}
+		return registro;
+	}
+	
+	/**
+	 * Obtiene un listado completo desde la caché o, si no está, desde la base de datos.
+	 * 
+	 * @param clave Nombre del listado (por ejemplo "todos")
+	 * @param loader Consulta el listado en la base de datos
+	 * @return Copia del listado
+	 * @throws SQLException Si hay error en la consulta
+	 */
+	List<T> obtenerListado(String clave, LruCache.Loader<List<T>> loader) throws SQLException {
+		List<T> listado = listados.get(clave);
+		if (listado != null) {
+			return new ArrayList<>(listado);
+		}
+		Carga<T> carga;
+		boolean propia;
+		synchronized (this) {
+			listado = listados.get(clave);
+			if (listado != null) {
+				return new ArrayList<>(listado);
+			}
+			carga = cargas.get(clave);
+			propia = carga == null || carga.generacion != generacion;
+			if (propia) {
+				carga = new Carga<>(generacion);
+				cargas.put(clave, carga);
+			}
+		}
+		if (!propia) {
+			return new ArrayList<>(carga.resultado());
+		}
+		try {
+			listado = new ArrayList<>(loader.load());
+		} catch (SQLException | RuntimeException e) {
+			terminar(clave, carga);
+			carga.futuro.completeExceptionally(e);
+			throw e;
+		}
+		synchronized (this) {
+			if (carga.generacion == generacion) {
+				listados.put(clave, listado);
+				indexar(listado);
+			}
+			cargas.remove(clave, carga);
+		}
+		carga.futuro.complete(listado);
+		LOGGER.fine(porId.getName() + ": listado '" + clave + "' cargado con " + listado.size() + " registros");
+		return new ArrayList<>(listado);
+	}
+	
+	/**
+	 * Invalida un registro modificado o eliminado y los listados que lo contienen.
+	 * 
+	 * @param id ID del registro
+	 */
+	synchronized void invalidar(long id) {
+		generacion++;
+		porId.remove(id);
+		listados.clear();
+	}
+	
+	/**
+	 * Invalida un registro a partir de su ID de modelo.
+	 * Si el ID no es numérico se descarta todo el catálogo.
+	 * 
+	 * @param id ID del registro como texto
+	 */
+	void invalidar(String id) {
+		try {
+			invalidar(Long.parseLong(id.trim()));
+		} catch (NullPointerException | NumberFormatException e) {
+			limpiar();
+		}
+	}
+	
+	/**
+	 * Invalida los listados (por ejemplo tras insertar registros).
+	 */
+	synchronized void invalidarListados() {
+		generacion++;
+		listados.clear();
+	}
+	
+	synchronized void limpiar() {
+		generacion++;
+		porId.clear();
+		listados.clear();
+	}
+	
+	private synchronized long getGeneracion() {
+		return generacion;
+	}
+	
+	private synchronized void terminar(String clave, Carga<T> carga) {
+		cargas.remove(clave, carga);
+	}
+	
+	private void indexar(List<T> registros) {
+		for (T registro : registros) {
+			String id = idOf.apply(registro);
+			if (id != null) {
+				try {
+					porId.put(Long.parseLong(id.trim()), registro);
+				} catch (NumberFormatException e) {
+					// Registro sin ID numérico: solo se sirve desde el listado
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Carga de un listado en curso. Quien la inicia la completa; los demás esperan su
+	 * resultado.
+	 */
+	private static final class Carga<T> {
+		
+		final long generacion;
+		final CompletableFuture<List<T>> futuro = new CompletableFuture<>();
+		
+		Carga(long generacion) {
+			this.generacion = generacion;
+		}
+		
+		/**
+		 * Espera el listado de quien hace la carga.
+		 */
+		List<T> resultado() throws SQLException {
+			try {
+				return futuro.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof SQLException) {
+					throw (SQLException) e.getCause();
+				}
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw e;
+			}
+		}
+	}
+}
@@ -0,0 +1,298 @@
+package DAO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Parámetros de una consulta paginada por clave (keyset/seek pagination).
+ * Define el tamaño de página, la columna de orden, los filtros y el cursor
+ * desde el cual continuar. La primera página se consulta sin cursor; las
+ * siguientes se obtienen con Pagina.getSiguiente().
+ * 
+ * A diferencia de OFFSET, el cursor permite saltar directamente a la página
+ * siguiente mediante el índice de la clave primaria, sin recorrer las filas
+ * anteriores. La columna de orden puede tener valores nulos: esas filas van al final
+ * en ambos sentidos (NULLS LAST) y el cursor las recorre por la clave primaria.
+ * Para llegar a una página lejana sin pedir las intermedias (un salto con la barra de
+ * desplazamiento), saltando() omite filas con OFFSET desde el cursor; la página
+ * obtenida vuelve a entregar un cursor para las siguientes.
+ * 
+ * Los nombres de columna se validan como identificadores SQL simples, de modo
+ * que nunca se concatenan valores provenientes del usuario en la consulta.
+ * 
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ */
+public class ConsultaPagina {
+	
+	/**
+	 * Tamaño de página por defecto.
+	 */
+	public static final int TAMANO_POR_DEFECTO = 100;
+	
+	/**
+	 * Tamaño de página máximo permitido.
+	 */
+	public static final int TAMANO_MAXIMO = 1000;
+	
+	private static final Pattern IDENTIFICADOR = Pattern.compile("[A-Za-z][A-Za-z0-9_]{0,29}");
+	private static final Set<String> OPERADORES =
+		new HashSet<>(Arrays.asList("=", "<>", "<", "<=", ">", ">=", "LIKE"));
+	
+	private int tamano;
+	private String columnaOrden;
+	private boolean descendente;
+	private final List<Filtro> filtros = new ArrayList<>();
+	
+	private Object valorOrdenDesde;
+	private Long idDesde;
+	private long filasOmitidas;
+	
+	/**
+	 * Constructor con el tamaño de página por defecto.
+	 */
+	public ConsultaPagina() {
+		this(TAMANO_POR_DEFECTO);
+	}
+	
+	/**
+	 * Constructor con un tamaño de página específico.
+	 * 
+	 * @param tamano Número de registros por página
+	 */
+	public ConsultaPagina(int tamano) {
+		setTamano(tamano);
+	}
+	
+	/**
+	 * Crea una copia de la consulta sin cursor (primera página).
+	 * 
+	 * @return Copia de los parámetros de la consulta
+	 */
+	public ConsultaPagina copia() {
+		ConsultaPagina copia = new ConsultaPagina(tamano);
+		copia.columnaOrden = columnaOrden;
+		copia.descendente = descendente;
+		copia.filtros.addAll(filtros);
+		return copia;
+	}
+	
+	/**
+	 * Crea la consulta de la página que sigue al registro indicado.
+	 * 
+	 * @param valorOrden Valor de la columna de orden del último registro
+	 * @param id Clave primaria del último registro
+	 * @return Consulta posicionada después del registro
+	 */
+	ConsultaPagina despuesDe(Object valorOrden, long id) {
+		ConsultaPagina siguiente = copia();
+		siguiente.valorOrdenDesde = valorOrden;
+		siguiente.idDesde = id;
+		return siguiente;
+	}
+	
+	/**
+	 * Crea una consulta que, desde la posición de esta (su cursor o el inicio), omite
+	 * las filas indicadas antes de la página.
+	 * 
+	 * @param filas Filas a omitir
+	 * @return Consulta con el mismo cursor y las filas a omitir
+	 */
+	public ConsultaPagina saltando(long filas) {
+		if (filas < 0) {
+			throw new IllegalArgumentException("Las filas a omitir no pueden ser negativas");
+		}
+		ConsultaPagina salto = copia();
+		salto.valorOrdenDesde = valorOrdenDesde;
+		salto.idDesde = idDesde;
+		salto.filasOmitidas = filas;
+		return salto;
+	}
+	
+	public int getTamano() {
+		return tamano;
+	}
+	
+	public void setTamano(int tamano) {
+		if (tamano <= 0 || tamano > TAMANO_MAXIMO) {
+			throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + TAMANO_MAXIMO);
+		}
+		this.tamano = tamano;
+	}
+	
+	public String getColumnaOrden() {
+		return columnaOrden;
+	}
+	
+	public boolean isDescendente() {
+		return descendente;
+	}
+	
+	/**
+	 * Ordena por una columna; la clave primaria se usa como desempate.
+	 * Con columna null se ordena solo por la clave primaria.
+	 * 
+	 * @param columna Nombre de la columna de orden
+	 * @param descendente true para orden descendente
+	 */
+	public void setOrden(String columna, boolean descendente) {
+		this.columnaOrden = columna == null ? null : validarColumna(columna);
+		this.descendente = descendente;
+		limpiarCursor();
+	}
+	
+	public List<Filtro> getFiltros() {
+		return Collections.unmodifiableList(filtros);
+	}
+	
+	/**
+	 * Agrega un filtro de igualdad sobre una columna.
+	 * 
+	 * @param columna Nombre de la columna
+	 * @param valor Valor a comparar
+	 */
+	public void agregarFiltro(String columna, Object valor) {
+		agregarFiltro(columna, "=", valor);
+	}
+	
+	/**
+	 * Agrega un filtro sobre una columna.
+	 * 
+	 * @param columna Nombre de la columna
+	 * @param operador Uno de =, &lt;&gt;, &lt;, &lt;=, &gt;, &gt;=, LIKE
+	 * @param valor Valor a comparar (no puede ser null)
+	 */
+	public void agregarFiltro(String columna, String operador, Object valor) {
+		String op = operador == null ? null : operador.trim().toUpperCase();
+		if (!OPERADORES.contains(op)) {
+			throw new IllegalArgumentException("Operador de filtro no permitido: " + operador);
+		}
+		if (valor == null) {
+			throw new IllegalArgumentException("El valor del filtro no puede ser null");
+		}
+		filtros.add(new Filtro(validarColumna(columna), op, valor));
+		limpiarCursor();
+	}
+	
+	public void limpiarFiltros() {
+		filtros.clear();
+		limpiarCursor();
+	}
+	
+	public Object getValorOrdenDesde() {
+		return valorOrdenDesde;
+	}
+	
+	public Long getIdDesde() {
+		return idDesde;
+	}
+	
+	public long getFilasOmitidas() {
+		return filasOmitidas;
+	}
+	
+	/**
+	 * Indica si la consulta corresponde a la primera página.
+	 * 
+	 * @return true si no tiene cursor
+	 */
+	public boolean esPrimeraPagina() {
+		return idDesde == null;
+	}
+	
+	private void limpiarCursor() {
+		valorOrdenDesde = null;
+		idDesde = null;
+		filasOmitidas = 0;
+	}
+	
+	/**
+	 * Valida que un nombre de columna sea un identificador SQL simple.
+	 * 
+	 * @param columna Nombre de la columna
+	 * @return Nombre en mayúsculas
+	 */
+	static String validarColumna(String columna) {
+		if (columna == null || !IDENTIFICADOR.matcher(columna).matches()) {
+			throw new IllegalArgumentException("Nombre de columna inválido: " + columna);
+		}
+		return columna.toUpperCase();
+	}
+	
+	/**
+	 * Clave que identifica la consulta sin cursor (filtros incluidos), usada para
+	 * cachear el conteo total.
+	 * 
+	 * @return Clave de la consulta
+	 */
+	String claveConteo() {
+		StringBuilder clave = new StringBuilder();
+		for (Filtro filtro : filtros) {
+			clave.append(filtro.getColumna()).append(filtro.getOperador())
+				.append(filtro.getValor()).append('|');
+		}
+		return clave.toString();
+	}
+	
+	@Override
+	public String toString() {
+		return "ConsultaPagina [tamano=" + tamano + ", orden=" + columnaOrden + (descendente ? " DESC" : "")
+			+ ", filtros=" + filtros + ", idDesde=" + idDesde
+			+ (filasOmitidas > 0 ? ", omitir=" + filasOmitidas : "") + "]";
+	}
+	
+	/**
+	 * Filtro sobre una columna de la consulta paginada.
+	 */
+	public static final class Filtro {
+		private final String columna;
+		private final String operador;
+		private final Object valor;
+		
+		Filtro(String columna, String operador, Object valor) {
+			this.columna = columna;
+			this.operador = operador;
+			this.valor = valor;
+		}
+		
+		public String getColumna() {
+			return columna;
+		}
+		
+		public String getOperador() {
+			return operador;
+		}
+		
+		public Object getValor() {
+			return valor;
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Filtro)) {
+				return false;
+			}
+			Filtro otro = (Filtro) o;
+			return columna.equals(otro.columna) && operador.equals(otro.operador) && valor.equals(otro.valor);
+		}
+		
+		@Override
+		public int hashCode() {
+			return Objects.hash(columna, operador, valor);
+		}
+		
+		@Override
+		public String toString() {
+			return columna + " " + operador + " " + valor;
+		}
+	}
+}
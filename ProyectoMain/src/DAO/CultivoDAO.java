@@ -18,6 +18,16 @@ import model.Cultivo;
  */
 public class CultivoDAO extends DAOBase<Cultivo> {
 	
+	private static final String TABLA = "CULTIVO";
+	private static final String COLUMNA_ID = "ID_CULTIVO";
+	
+	/**
+	 * Columnas que lee mapCultivo.
+	 */
+	private static final Proyeccion COLUMNAS = Proyeccion.de("ID_CULTIVO");
+	
+	private static final String SQL_SELECT = "SELECT " + COLUMNAS + " FROM " + TABLA;
+	
 	public CultivoDAO() {
 		super();
 	}
@@ -30,24 +40,53 @@ public class CultivoDAO extends DAOBase<Cultivo> {
 		String sql = "INSERT INTO CULTIVO (ID_LOTE, TIPO_CULTIVO, FECHA_SIEMBRA, ESTADO) " +
 					 "VALUES (?, ?, SYSDATE, 'ACTIVO')";
 		Object[] params = {null, cultivo.getId()};
-		return executeInsertWithGeneratedKey(sql, params);
+		return executeInsertWithGeneratedKey(sql, params, COLUMNA_ID);
 	}
 	
 	public Cultivo obtenerPorId(long id) throws SQLException {
-		String sql = "SELECT * FROM CULTIVO WHERE ID_CULTIVO = ?";
-		Object[] params = {id};
-		return findOneWithParams(sql, params, this::mapCultivo);
+		return findById(TABLA, id, SQL_SELECT, COLUMNA_ID, this::mapCultivo);
 	}
 	
 	public List<Cultivo> obtenerTodos() throws SQLException {
-		String sql = "SELECT * FROM CULTIVO WHERE ESTADO = 'ACTIVO'";
-		return findMany(sql, this::mapCultivo);
+		return findWhere(SQL_SELECT, "ESTADO = 'ACTIVO'", null, this::mapCultivo);
+	}
+	
+	/**
+	 * Obtiene una página de cultivos activos usando paginación por clave.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de cultivos activos
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public Pagina<Cultivo> obtenerPagina(ConsultaPagina consulta) throws SQLException {
+		return findPage(TABLA, COLUMNA_ID, "ESTADO = 'ACTIVO'", consulta, COLUMNAS, this::mapCultivo);
+	}
+	
+	/**
+	 * Cuenta los cultivos activos que cumplen los filtros de la consulta.
+	 * 
+	 * @param consulta Filtros a aplicar
+	 * @return Número total de registros
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public long contar(ConsultaPagina consulta) throws SQLException {
+		return countRows(TABLA, "ESTADO = 'ACTIVO'", consulta);
+	}
+	
+	/**
+	 * Restringe los cultivos al alcance de la sesión por el lugar de producción de su lote.
+	 */
+	@Override
+	protected String condicionAlcance(AlcanceDatos alcance, List<Object> params) {
+		return "ID_LOTE IN (SELECT ID_LOTE FROM LOTE WHERE " + alcance.condicion("ID_LUGAR_PRODUCCION", params) + ")";
 	}
 	
 	public int actualizar(Cultivo cultivo) throws SQLException {
 		String sql = "UPDATE CULTIVO SET TIPO_CULTIVO = ? WHERE ID_CULTIVO = ?";
 		Object[] params = {cultivo.getId(), cultivo.getId()};
-		return executeUpdate(sql, params);
+		return executeEntityUpdate(TABLA, cultivo.getId(), sql, params);
 	}
 	
 	public int cambiarEstado(long id, String estado) throws SQLException {
@@ -59,7 +98,7 @@ public class CultivoDAO extends DAOBase<Cultivo> {
 	public int eliminar(long id) throws SQLException {
 		String sql = "DELETE FROM CULTIVO WHERE ID_CULTIVO = ?";
 		Object[] params = {id};
-		return executeUpdate(sql, params);
+		return executeEntityDelete(TABLA, id, sql, params);
 	}
 	
 	private Cultivo mapCultivo(ResultSet rs) throws SQLException {
@@ -6,9 +6,20 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.sql.SQLFeatureNotSupportedException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Clase abstracta base para todos los DAOs (Data Access Objects).
@@ -26,11 +37,59 @@ import java.util.List;
  */
 public abstract class DAOBase<T> {
 	
+	private static final Logger LOGGER = Logger.getLogger(DAOBase.class.getName());
+	
+	/**
+	 * Tamaño de lote por defecto para las operaciones por lotes.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 500;
+	
+	/**
+	 * Número de filas por viaje a la base de datos en las consultas en streaming.
+	 */
+	public static final int DEFAULT_FETCH_SIZE = 500;
+	
+	/**
+	 * Propiedad de sistema con la vigencia en milisegundos de los conteos totales cacheados.
+	 */
+	public static final String COUNT_CACHE_TTL_PROPERTY = "bd.cache.conteo";
+	
+	private static final long COUNT_CACHE_TTL_MILLIS = Long.getLong(COUNT_CACHE_TTL_PROPERTY, 30_000L);
+	
+	/**
+	 * Conteos totales por consulta: {conteo, instante de expiración en ms}.
+	 */
+	private static final Map<String, long[]> COUNT_CACHE = new ConcurrentHashMap<>();
+	
+	/**
+	 * Asignador de parámetros de cada hilo, reutilizado en todas las consultas.
+	 */
+	private static final ThreadLocal<ParameterBinder> BINDER = ThreadLocal.withInitial(ParameterBinder::new);
+	
+	/**
+	 * Consultas por clave sin restricción de alcance, por SELECT base; se arman una sola vez.
+	 */
+	private static final Map<String, String> SQL_POR_CLAVE = new ConcurrentHashMap<>();
+	
+	private static final Supplier<AlcanceDatos> SIN_SESION = () -> AlcanceDatos.NINGUNO;
+	
+	/**
+	 * Origen del alcance de los DAOs que no tienen uno propio: la sesión de la aplicación.
+	 * Mientras nadie lo registre, los DAOs con alcance no devuelven registros.
+	 */
+	private static volatile Supplier<AlcanceDatos> fuenteAlcancePorDefecto = SIN_SESION;
+	
 	/**
 	 * Conexión a la base de datos.
 	 */
 	protected DBConnection dbConnection;
 	
+	/**
+	 * Origen del alcance de los datos que puede consultar el usuario de la sesión; se
+	 * consulta en cada operación. Si es null se usa fuenteAlcancePorDefecto.
+	 */
+	private volatile Supplier<AlcanceDatos> fuenteAlcance;
+	
 	/**
 	 * Constructor del DAO base.
 	 * Inicializa la conexión a base de datos usando la conexión por defecto.
@@ -50,12 +109,137 @@ public abstract class DAOBase<T> {
 	}
 	
 	/**
-	 * Obtiene la conexión actual a la base de datos.
+	 * Fija el alcance de los datos para todas las consultas de este DAO. Se aplica, en los
+	 * DAOs que definen condicionAlcance, a todas las consultas armadas con scopedSql:
+	 * búsquedas por ID, listados, recorridos, páginas y conteos.
+	 * 
+	 * @param alcance Alcance fijo (null equivale a AlcanceDatos.NINGUNO)
+	 */
+	public void setAlcance(AlcanceDatos alcance) {
+		AlcanceDatos fijo = alcance != null ? alcance : AlcanceDatos.NINGUNO;
+		this.fuenteAlcance = () -> fijo;
+	}
+	
+	/**
+	 * Establece de dónde se toma el alcance de los datos. Se consulta al ejecutar cada
+	 * operación, de modo que un cambio de sesión se aplica a los DAOs ya creados.
+	 * 
+	 * @param fuente Proveedor del alcance (un alcance null equivale a AlcanceDatos.NINGUNO), o
+	 *        null para usar el de todos los DAOs (ver setFuenteAlcancePorDefecto)
+	 */
+	public void setFuenteAlcance(Supplier<AlcanceDatos> fuente) {
+		this.fuenteAlcance = fuente;
+	}
+	
+	/**
+	 * Establece el origen del alcance de todos los DAOs que no tienen uno propio. Lo
+	 * registra SessionContext para que un DAO creado sin servicio también se restrinja
+	 * a la sesión actual.
+	 * 
+	 * @param fuente Proveedor del alcance (null equivale a ningún registro)
+	 */
+	public static void setFuenteAlcancePorDefecto(Supplier<AlcanceDatos> fuente) {
+		fuenteAlcancePorDefecto = fuente != null ? fuente : SIN_SESION;
+	}
+	
+	/**
+	 * @return Alcance de los datos vigente en este momento
+	 */
+	public AlcanceDatos getAlcance() {
+		Supplier<AlcanceDatos> fuente = fuenteAlcance;
+		AlcanceDatos alcance = (fuente != null ? fuente : fuenteAlcancePorDefecto).get();
+		return alcance != null ? alcance : AlcanceDatos.NINGUNO;
+	}
+	
+	/**
+	 * Condición que restringe los registros de la tabla al alcance de la sesión.
+	 * Por defecto no hay restricción (catálogos y tablas sin lugar de producción); los
+	 * DAOs cuyos registros pertenecen a un lugar de producción la redefinen, normalmente
+	 * con alcance.condicion("ID_LUGAR_PRODUCCION", params).
+	 * 
+	 * @param alcance Alcance restringido de la sesión
+	 * @param params Recibe los valores de los parámetros de la condición
+	 * @return Condición SQL, o null si la tabla no se restringe
+	 */
+	protected String condicionAlcance(AlcanceDatos alcance, List<Object> params) {
+		return null;
+	}
+	
+	/**
+	 * Arma una consulta sobre la tabla del DAO restringida al alcance vigente de la
+	 * sesión. Todas las búsquedas de registros de la tabla se arman con este método (o
+	 * con findPage y countRows, que usan la misma condición), para que ninguna devuelva
+	 * registros fuera del alcance.
+	 * 
+	 * @param select Consulta sin WHERE, como "SELECT ID_LOTE FROM LOTE" (la tabla sin alias)
+	 * @param condition Condición del DAO, como "ESTADO = ?" (puede ser null)
+	 * @param params Parámetros de la condición; recibe al final los del alcance
+	 * @return Consulta con la condición y la del alcance
+	 */
+	protected String scopedSql(String select, String condition, List<Object> params) {
+		StringBuilder sql = new StringBuilder(select);
+		appendWhere(sql, params, condition, null, getAlcance());
+		return sql.toString();
+	}
+	
+	/**
+	 * Busca los registros de la tabla que cumplen una condición, dentro del alcance de
+	 * la sesión.
+	 * 
+	 * @param select Consulta sin WHERE, como "SELECT ID_LOTE FROM LOTE"
+	 * @param condition Condición del DAO (puede ser null)
+	 * @param params Parámetros de la condición (puede ser null)
+	 * @param mapResultSet Implementación de la interfaz para mapear ResultSet a objeto
+	 * @return Lista de objetos T mapeados desde el ResultSet
+	 * @throws SQLException Si hay error en la ejecución de la consulta
+	 */
+	protected List<T> findWhere(String select, String condition, Object[] params, ResultSetMapper<T> mapResultSet)
+			throws SQLException {
+		List<Object> todos = params != null ? new ArrayList<>(Arrays.asList(params)) : new ArrayList<>();
+		String sql = scopedSql(select, condition, todos);
+		return findManyWithParams(sql, todos.toArray(), mapResultSet);
+	}
+	
+	/**
+	 * Ejecuta un trabajo en una transacción sobre la conexión de este DAO: las sentencias
+	 * de todos los DAOs con la misma DBConnection se confirman con un solo commit al
+	 * terminar, o se deshacen todas si el trabajo falla. Dentro de otra transacción se
+	 * une a ella (ver Transaccion).
+	 * 
+	 * @param <R> Tipo del resultado
+	 * @param trabajo Trabajo a ejecutar
+	 * @return Resultado del trabajo
+	 * @throws SQLException Si falla el trabajo o el commit (la transacción se deshace)
+	 */
+	public <R> R inTransaction(Transaccion.Trabajo<R> trabajo) throws SQLException {
+		return Transaccion.ejecutar(dbConnection, trabajo);
+	}
+	
+	/**
+	 * Ejecuta un trabajo protegido por un savepoint dentro de la transacción activa: si
+	 * falla, se deshacen solo sus cambios. Sin transacción activa equivale a inTransaction.
+	 * 
+	 * @param <R> Tipo del resultado
+	 * @param trabajo Trabajo a ejecutar
+	 * @return Resultado del trabajo
+	 * @throws SQLException Si falla el trabajo (sus cambios se deshacen)
+	 */
+	public <R> R inSavepoint(Transaccion.Trabajo<R> trabajo) throws SQLException {
+		return Transaccion.ejecutarConSavepoint(dbConnection, trabajo);
+	}
+	
+	/**
+	 * Obtiene la conexión actual a la base de datos, o la de la transacción activa si
+	 * pertenece a la misma DBConnection.
 	 * 
 	 * @return Objeto Connection activo
 	 * @throws SQLException Si hay error al obtener la conexión
 	 */
 	protected Connection getConnection() throws SQLException {
+		Connection enTransaccion = Transaccion.conexionPara(dbConnection);
+		if (enTransaccion != null) {
+			return enTransaccion;
+		}
 		Connection conn = dbConnection.getConnection();
 		if (conn == null || conn.isClosed()) {
 			throw new SQLException("No hay conexión disponible a la base de datos");
@@ -63,6 +247,38 @@ public abstract class DAOBase<T> {
 		return conn;
 	}
 	
+	/**
+	 * Prepara una sentencia SQL reutilizando, si existe, la de la caché de la conexión.
+	 * La sentencia debe liberarse con closeResources, que la devuelve a la caché.
+	 * 
+	 * @param conn Conexión sobre la que se prepara la sentencia
+	 * @param sql Consulta SQL
+	 * @return Sentencia preparada
+	 * @throws SQLException Si hay error al preparar la sentencia
+	 */
+	protected PreparedStatement prepareStatement(Connection conn, String sql) throws SQLException {
+		return StatementCache.prepare(conn, sql, null);
+	}
+	
+	/**
+	 * Prepara un INSERT que retorna el valor generado de la columna indicada.
+	 * La columna se pide por nombre: con Statement.RETURN_GENERATED_KEYS el driver de
+	 * Oracle retorna el ROWID de la fila, que no se puede leer como número.
+	 * 
+	 * @param conn Conexión sobre la que se prepara la sentencia
+	 * @param sql Sentencia INSERT
+	 * @param keyColumn Columna del ID generado (por ejemplo ID_INSPECCION)
+	 * @return Sentencia preparada
+	 * @throws SQLException Si hay error al preparar la sentencia
+	 */
+	protected PreparedStatement prepareStatement(Connection conn, String sql, String keyColumn)
+			throws SQLException {
+		if (keyColumn == null || keyColumn.isEmpty()) {
+			throw new IllegalArgumentException("Debe indicarse la columna del ID generado");
+		}
+		return StatementCache.prepare(conn, sql, keyColumn);
+	}
+	
 	/**
 	 * Ejecuta una consulta SELECT que retorna un único registro.
 	 * 
@@ -78,7 +294,7 @@ public abstract class DAOBase<T> {
 		
 		try {
 			conn = getConnection();
-			pstmt = conn.prepareStatement(sql);
+			pstmt = prepareStatement(conn, sql);
 			rs = pstmt.executeQuery();
 			
 			if (rs.next()) {
@@ -106,7 +322,7 @@ public abstract class DAOBase<T> {
 		
 		try {
 			conn = getConnection();
-			pstmt = conn.prepareStatement(sql);
+			pstmt = prepareStatement(conn, sql);
 			rs = pstmt.executeQuery();
 			
 			while (rs.next()) {
@@ -134,7 +350,7 @@ public abstract class DAOBase<T> {
 		
 		try {
 			conn = getConnection();
-			pstmt = conn.prepareStatement(sql);
+			pstmt = prepareStatement(conn, sql);
 			setParameters(pstmt, params);
 			rs = pstmt.executeQuery();
 			
@@ -147,6 +363,139 @@ public abstract class DAOBase<T> {
 		}
 	}
 	
+	/**
+	 * Busca un registro por su ID dentro del alcance de la sesión. Si hay una
+	 * UnidadDeTrabajo activa en el hilo, el registro se toma de su mapa de identidad o, si
+	 * no está, se consulta y se guarda en él, de modo que las búsquedas repetidas
+	 * retornan la misma instancia.
+	 * 
+	 * @param tipo Tipo de entidad (la tabla)
+	 * @param id ID del registro
+	 * @param select Consulta sin WHERE, como "SELECT ID_LOTE FROM LOTE"
+	 * @param keyColumn Columna de la clave primaria
+	 * @param mapResultSet Implementación de la interfaz para mapear ResultSet a objeto
+	 * @return El objeto T encontrado, o null si no existe o está fuera del alcance
+	 * @throws SQLException Si hay error en la ejecución de la consulta
+	 */
+	@SuppressWarnings("unchecked")
+	protected T findById(String tipo, long id, String select, String keyColumn, ResultSetMapper<T> mapResultSet)
+			throws SQLException {
+		UnidadDeTrabajo unidad = UnidadDeTrabajo.getActual();
+		T entidad = unidad != null ? (T) unidad.buscar(tipo, id) : null;
+		if (entidad != null) {
+			return entidad;
+		}
+		if (getAlcance().esTotal()) {
+			String sql = SQL_POR_CLAVE.get(select);
+			if (sql == null) {
+				sql = select + " WHERE " + keyColumn + " = ?";
+				SQL_POR_CLAVE.put(select, sql);
+			}
+			entidad = findOneByLong(sql, id, mapResultSet);
+		} else {
+			List<Object> params = new ArrayList<>();
+			params.add(id);
+			entidad = findOneWithParams(scopedSql(select, keyColumn + " = ?", params), params.toArray(), mapResultSet);
+		}
+		if (entidad != null && unidad != null) {
+			unidad.registrar(tipo, id, entidad);
+		}
+		return entidad;
+	}
+	
+	/**
+	 * Ejecuta una consulta SELECT cuyo único parámetro es un ID numérico. Asigna el ID
+	 * con setLong, sin crear el arreglo de parámetros ni convertirlo en Long.
+	 * 
+	 * @param sql Consulta SQL con el ID como único parámetro
+	 * @param id ID del registro
+	 * @param mapResultSet Implementación de la interfaz para mapear ResultSet a objeto
+	 * @return El objeto T mapeado desde el ResultSet, o null si no hay resultados
+	 * @throws SQLException Si hay error en la ejecución de la consulta
+	 */
+	protected T findOneByLong(String sql, long id, ResultSetMapper<T> mapResultSet) throws SQLException {
+		Connection conn = null;
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		
+		try {
+			conn = getConnection();
+			pstmt = prepareStatement(conn, sql);
+			pstmt.setLong(1, id);
+			rs = pstmt.executeQuery();
+			
+			if (rs.next()) {
+				return mapResultSet.map(rs);
+			}
+			return null;
+		} finally {
+			closeResources(rs, pstmt, conn);
+		}
+	}
+	
+	/**
+	 * Ejecuta una consulta SELECT que retorna un único registro, asignando los
+	 * parámetros con un ParameterBinder en lugar de un arreglo de objetos.
+	 * 
+	 * @param sql Consulta SQL a ejecutar
+	 * @param parameters Asigna los parámetros, como b -&gt; b.bindLong(id).bindString(estado)
+	 * @param mapResultSet Implementación de la interfaz para mapear ResultSet a objeto
+	 * @return El objeto T mapeado desde el ResultSet, o null si no hay resultados
+	 * @throws SQLException Si hay error en la ejecución de la consulta
+	 */
+	protected T findOneWithBinder(String sql, ParameterSetter parameters, ResultSetMapper<T> mapResultSet)
+			throws SQLException {
+		Connection conn = null;
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		
+		try {
+			conn = getConnection();
+			pstmt = prepareStatement(conn, sql);
+			bindParameters(pstmt, parameters);
+			rs = pstmt.executeQuery();
+			
+			if (rs.next()) {
+				return mapResultSet.map(rs);
+			}
+			return null;
+		} finally {
+			closeResources(rs, pstmt, conn);
+		}
+	}
+	
+	/**
+	 * Ejecuta una consulta SELECT que retorna múltiples registros, asignando los
+	 * parámetros con un ParameterBinder en lugar de un arreglo de objetos.
+	 * 
+	 * @param sql Consulta SQL a ejecutar
+	 * @param parameters Asigna los parámetros
+	 * @param mapResultSet Implementación de la interfaz para mapear ResultSet a objeto
+	 * @return Lista de objetos T mapeados desde el ResultSet
+	 * @throws SQLException Si hay error en la ejecución de la consulta
+	 */
+	protected List<T> findManyWithBinder(String sql, ParameterSetter parameters, ResultSetMapper<T> mapResultSet)
+			throws SQLException {
+		Connection conn = null;
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		List<T> resultados = new ArrayList<>();
+		
+		try {
+			conn = getConnection();
+			pstmt = prepareStatement(conn, sql);
+			bindParameters(pstmt, parameters);
+			rs = pstmt.executeQuery();
+			
+			while (rs.next()) {
+				resultados.add(mapResultSet.map(rs));
+			}
+			return resultados;
+		} finally {
+			closeResources(rs, pstmt, conn);
+		}
+	}
+	
 	/**
 	 * Ejecuta una consulta SELECT con parámetros que retorna múltiples registros.
 	 * 
@@ -164,7 +513,7 @@ public abstract class DAOBase<T> {
 		
 		try {
 			conn = getConnection();
-			pstmt = conn.prepareStatement(sql);
+			pstmt = prepareStatement(conn, sql);
 			setParameters(pstmt, params);
 			rs = pstmt.executeQuery();
 			
@@ -177,6 +526,351 @@ public abstract class DAOBase<T> {
 		}
 	}
 	
+	/**
+	 * Ejecuta una consulta SELECT y retorna sus filas como un Stream que se mapea
+	 * de forma perezosa, sin acumular los resultados en memoria.
+	 * 
+	 * La conexión permanece prestada mientras se consume el Stream; los recursos se
+	 * liberan al agotarlo o al cerrarlo, por lo que debe usarse con try-with-resources:
+	 * <pre>
+	 * try (Stream&lt;T&gt; filas = streamWithParams(sql, params, DEFAULT_FETCH_SIZE, mapper)) { ... }
+	 * </pre>
+	 * Los errores SQL durante el recorrido se lanzan como UncheckedSQLException.
+	 * 
+	 * @param <R> Tipo de cada fila mapeada
+	 * @param sql Consulta SQL a ejecutar
+	 * @param params Parámetros para la consulta preparada (puede ser null)
+	 * @param fetchSize Filas por viaje a la base de datos
+	 * @param mapResultSet Implementación de la interfaz para mapear ResultSet a objeto
+	 * @return Stream de objetos mapeados
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	protected <R> Stream<R> streamWithParams(String sql, Object[] params, int fetchSize,
+			ResultSetMapper<R> mapResultSet) throws SQLException {
+		Connection conn = null;
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		
+		try {
+			conn = getConnection();
+			pstmt = prepareStatement(conn, sql);
+			pstmt.setFetchSize(fetchSize);
+			setParameters(pstmt, params);
+			rs = pstmt.executeQuery();
+		} catch (SQLException | RuntimeException e) {
+			closeStreamResources(rs, pstmt, conn);
+			throw e;
+		}
+		
+		ResultSetSpliterator<R> spliterator = new ResultSetSpliterator<>(rs, pstmt, conn, mapResultSet);
+		return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+	}
+	
+	/**
+	 * Ejecuta una consulta SELECT y entrega cada fila mapeada al callback a medida que se lee,
+	 * sin acumular los resultados en memoria. Los recursos se liberan al terminar.
+	 * 
+	 * @param <R> Tipo de cada fila mapeada
+	 * @param sql Consulta SQL a ejecutar
+	 * @param params Parámetros para la consulta preparada (puede ser null)
+	 * @param fetchSize Filas por viaje a la base de datos
+	 * @param mapResultSet Implementación de la interfaz para mapear ResultSet a objeto
+	 * @param callback Procesa cada fila mapeada
+	 * @return Número de filas procesadas
+	 * @throws SQLException Si hay error en la consulta o en el callback
+	 */
+	protected <R> int forEachWithParams(String sql, Object[] params, int fetchSize,
+			ResultSetMapper<R> mapResultSet, RowCallback<R> callback) throws SQLException {
+		Connection conn = null;
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		int filas = 0;
+		
+		try {
+			conn = getConnection();
+			pstmt = prepareStatement(conn, sql);
+			pstmt.setFetchSize(fetchSize);
+			setParameters(pstmt, params);
+			rs = pstmt.executeQuery();
+			
+			while (rs.next()) {
+				callback.process(mapResultSet.map(rs));
+				filas++;
+			}
+			return filas;
+		} finally {
+			closeStreamResources(rs, pstmt, conn);
+		}
+	}
+	
+	/**
+	 * Libera los recursos de una consulta en streaming, restableciendo el fetch size
+	 * de la sentencia antes de devolverla a la caché.
+	 */
+	private void closeStreamResources(ResultSet rs, PreparedStatement pstmt, Connection conn) {
+		if (pstmt != null) {
+			try {
+				pstmt.setFetchSize(0);
+			} catch (SQLException e) {
+				LOGGER.log(Level.FINE, "Error al restablecer fetch size", e);
+			}
+		}
+		closeResources(rs, pstmt, conn);
+	}
+	
+	/**
+	 * Recorre un ResultSet abierto mapeando una fila por cada avance del Stream.
+	 */
+	private final class ResultSetSpliterator<R> extends Spliterators.AbstractSpliterator<R> {
+		private final ResultSet rs;
+		private final PreparedStatement pstmt;
+		private final Connection conn;
+		private final ResultSetMapper<R> mapper;
+		private boolean closed;
+		
+		ResultSetSpliterator(ResultSet rs, PreparedStatement pstmt, Connection conn, ResultSetMapper<R> mapper) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.rs = rs;
+			this.pstmt = pstmt;
+			this.conn = conn;
+			this.mapper = mapper;
+		}
+		
+		@Override
+		public boolean tryAdvance(Consumer<? super R> action) {
+			if (closed) {
+				return false;
+			}
+			try {
+				if (!rs.next()) {
+					close();
+					return false;
+				}
+				action.accept(mapper.map(rs));
+				return true;
+			} catch (SQLException e) {
+				close();
+				throw new UncheckedSQLException(e);
+			}
+		}
+		
+		void close() {
+			if (!closed) {
+				closed = true;
+				closeStreamResources(rs, pstmt, conn);
+			}
+		}
+	}
+	
+	/**
+	 * Obtiene una página de registros usando paginación por clave. Los DAOs paginables
+	 * la implementan con findPage; ServiceBase la expone a la interfaz.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de registros
+	 * @throws SQLException Si hay error al ejecutar la consulta, o
+	 *         SQLFeatureNotSupportedException si el DAO no admite paginación
+	 */
+	public Pagina<T> obtenerPagina(ConsultaPagina consulta) throws SQLException {
+		throw new SQLFeatureNotSupportedException(getClass().getSimpleName() + " no admite paginación");
+	}
+	
+	/**
+	 * Cuenta los registros que cumplen los filtros de una consulta paginada. Los DAOs
+	 * paginables la implementan con countRows.
+	 * 
+	 * @param consulta Filtros a aplicar
+	 * @return Número total de registros
+	 * @throws SQLException Si hay error al ejecutar la consulta, o
+	 *         SQLFeatureNotSupportedException si el DAO no admite paginación
+	 */
+	public long contar(ConsultaPagina consulta) throws SQLException {
+		throw new SQLFeatureNotSupportedException(getClass().getSimpleName() + " no admite paginación");
+	}
+	
+	/**
+	 * Obtiene una página de registros usando paginación por clave (seek):
+	 * en lugar de OFFSET, la consulta continúa después del último registro de la
+	 * página anterior, por lo que el costo de cada página no depende de su posición.
+	 * 
+	 * Genera una consulta de la forma:
+	 * <pre>
+	 * SELECT [columnas] FROM tabla WHERE [condición] AND [alcance] AND [filtros]
+	 * AND (ORDEN &gt; ? OR (ORDEN = ? AND ID &gt; ?) OR ORDEN IS NULL)
+	 * ORDER BY ORDEN NULLS LAST, ID FETCH FIRST ? ROWS ONLY
+	 * </pre>
+	 * Las filas con la columna de orden nula van al final en ambos sentidos; cuando el
+	 * cursor ya está entre ellas, la condición es (ORDEN IS NULL AND ID &gt; ?).
+	 * Si la consulta omite filas (ConsultaPagina.saltando), se agrega OFFSET ? ROWS: la
+	 * base de datos recorre las filas omitidas, pero en una sola consulta.
+	 * 
+	 * Se leen solo las columnas de la proyección, más la clave y la columna de orden
+	 * (necesarias para el cursor) si no están incluidas.
+	 * 
+	 * @param table Nombre de la tabla
+	 * @param keyColumn Columna de clave primaria numérica (desempate y cursor)
+	 * @param baseCondition Condición fija del DAO, como "ACTIVO = 1" (puede ser null)
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @param proyeccion Columnas que lee el mapper
+	 * @param mapResultSet Implementación de la interfaz para mapear ResultSet a objeto
+	 * @return Página con los registros y la consulta de la página siguiente
+	 * @throws SQLException Si hay error en la ejecución de la consulta
+	 */
+	protected Pagina<T> findPage(String table, String keyColumn, String baseCondition,
+			ConsultaPagina consulta, Proyeccion proyeccion, ResultSetMapper<T> mapResultSet) throws SQLException {
+		String orden = consulta.getColumnaOrden();
+		String direccion = consulta.isDescendente() ? " DESC" : "";
+		String comparador = consulta.isDescendente() ? " < ?" : " > ?";
+		List<Object> params = new ArrayList<>();
+		StringBuilder sql = new StringBuilder("SELECT ").append(proyeccion.con(keyColumn, orden))
+			.append(" FROM ").append(table);
+		boolean hayWhere = appendWhere(sql, params, baseCondition, consulta, getAlcance());
+		
+		if (!consulta.esPrimeraPagina()) {
+			sql.append(hayWhere ? " AND " : " WHERE ");
+			if (orden == null) {
+				sql.append(keyColumn).append(comparador);
+			} else if (consulta.getValorOrdenDesde() == null) {
+				sql.append("(").append(orden).append(" IS NULL AND ").append(keyColumn).append(comparador).append(")");
+			} else {
+				sql.append("(").append(orden).append(comparador)
+					.append(" OR (").append(orden).append(" = ? AND ").append(keyColumn).append(comparador)
+					.append(") OR ").append(orden).append(" IS NULL)");
+				params.add(consulta.getValorOrdenDesde());
+				params.add(consulta.getValorOrdenDesde());
+			}
+			params.add(consulta.getIdDesde());
+		}
+		
+		sql.append(" ORDER BY ");
+		if (orden != null) {
+			sql.append(orden).append(direccion).append(" NULLS LAST, ");
+		}
+		sql.append(keyColumn).append(direccion);
+		if (consulta.getFilasOmitidas() > 0) {
+			sql.append(" OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+			params.add(consulta.getFilasOmitidas());
+		} else {
+			sql.append(" FETCH FIRST ? ROWS ONLY");
+		}
+		params.add(consulta.getTamano() + 1);
+		
+		Connection conn = null;
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		List<T> elementos = new ArrayList<>(consulta.getTamano());
+		Object ultimoOrden = null;
+		long ultimoId = 0;
+		boolean hayMas = false;
+		
+		try {
+			conn = getConnection();
+			pstmt = prepareStatement(conn, sql.toString());
+			setParameters(pstmt, params.toArray());
+			rs = pstmt.executeQuery();
+			
+			while (rs.next()) {
+				if (elementos.size() == consulta.getTamano()) {
+					hayMas = true;
+					break;
+				}
+				if (elementos.size() == consulta.getTamano() - 1) {
+					ultimoOrden = orden == null ? null : rs.getObject(orden);
+					ultimoId = rs.getLong(keyColumn);
+				}
+				elementos.add(mapResultSet.map(rs));
+			}
+		} finally {
+			closeResources(rs, pstmt, conn);
+		}
+		
+		return new Pagina<>(elementos, consulta, hayMas ? consulta.despuesDe(ultimoOrden, ultimoId) : null);
+	}
+	
+	/**
+	 * Cuenta los registros que cumplen la condición y los filtros de una consulta paginada.
+	 * El resultado se cachea durante unos segundos (-Dbd.cache.conteo) y se invalida
+	 * con cualquier escritura realizada a través de un DAO.
+	 * 
+	 * @param table Nombre de la tabla
+	 * @param baseCondition Condición fija del DAO (puede ser null)
+	 * @param consulta Filtros a aplicar (se ignoran el orden y el cursor)
+	 * @return Número total de registros
+	 * @throws SQLException Si hay error en la ejecución de la consulta
+	 */
+	protected long countRows(String table, String baseCondition, ConsultaPagina consulta) throws SQLException {
+		AlcanceDatos alcance = getAlcance();
+		String clave = table + "|" + baseCondition + "|" + consulta.claveConteo() + "|" + alcance.clave();
+		long ahora = System.currentTimeMillis();
+		long[] cacheado = COUNT_CACHE.get(clave);
+		if (cacheado != null && cacheado[1] > ahora) {
+			return cacheado[0];
+		}
+		
+		List<Object> params = new ArrayList<>();
+		StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM ").append(table);
+		appendWhere(sql, params, baseCondition, consulta, alcance);
+		
+		Connection conn = null;
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		
+		try {
+			conn = getConnection();
+			pstmt = prepareStatement(conn, sql.toString());
+			setParameters(pstmt, params.toArray());
+			rs = pstmt.executeQuery();
+			long total = rs.next() ? rs.getLong(1) : 0;
+			if (COUNT_CACHE_TTL_MILLIS > 0) {
+				COUNT_CACHE.put(clave, new long[] {total, ahora + COUNT_CACHE_TTL_MILLIS});
+			}
+			return total;
+		} finally {
+			closeResources(rs, pstmt, conn);
+		}
+	}
+	
+	/**
+	 * Descarta los conteos totales cacheados.
+	 */
+	protected static void invalidateCountCache() {
+		if (!COUNT_CACHE.isEmpty()) {
+			COUNT_CACHE.clear();
+		}
+	}
+	
+	/**
+	 * Agrega la condición fija, la del alcance de la sesión y los filtros de la consulta.
+	 * Es el único lugar donde se aplica condicionAlcance.
+	 * 
+	 * @param consulta Filtros de la página (puede ser null)
+	 * @return true si se agregó una cláusula WHERE
+	 */
+	private boolean appendWhere(StringBuilder sql, List<Object> params, String baseCondition,
+			ConsultaPagina consulta, AlcanceDatos alcance) {
+		String conector = " WHERE ";
+		if (baseCondition != null) {
+			sql.append(conector).append(baseCondition);
+			conector = " AND ";
+		}
+		if (!alcance.esTotal()) {
+			String condicion = condicionAlcance(alcance, params);
+			if (condicion != null) {
+				sql.append(conector).append(condicion);
+				conector = " AND ";
+			}
+		}
+		if (consulta == null) {
+			return !" WHERE ".equals(conector);
+		}
+		for (ConsultaPagina.Filtro filtro : consulta.getFiltros()) {
+			sql.append(conector).append(filtro.getColumna()).append(' ').append(filtro.getOperador()).append(" ?");
+			params.add(filtro.getValor());
+			conector = " AND ";
+		}
+		return !" WHERE ".equals(conector);
+	}
+	
 	/**
 	 * Ejecuta una operación INSERT, UPDATE o DELETE con parámetros.
 	 * 
@@ -190,33 +884,121 @@ public abstract class DAOBase<T> {
 		PreparedStatement pstmt = null;
 		
 		try {
+			writePendingUpdates();
 			conn = getConnection();
-			pstmt = conn.prepareStatement(sql);
+			pstmt = prepareStatement(conn, sql);
 			setParameters(pstmt, params);
-			return pstmt.executeUpdate();
+			int filas = pstmt.executeUpdate();
+			invalidateCountCache();
+			return filas;
+		} finally {
+			closeResources(null, pstmt, conn);
+		}
+	}
+	
+	/**
+	 * Ejecuta una operación INSERT, UPDATE o DELETE asignando los parámetros con un
+	 * ParameterBinder en lugar de un arreglo de objetos.
+	 * 
+	 * @param sql Consulta SQL a ejecutar (INSERT, UPDATE o DELETE)
+	 * @param parameters Asigna los parámetros
+	 * @return Número de filas afectadas
+	 * @throws SQLException Si hay error en la ejecución de la consulta
+	 */
+	protected int executeUpdateWithBinder(String sql, ParameterSetter parameters) throws SQLException {
+		Connection conn = null;
+		PreparedStatement pstmt = null;
+		
+		try {
+			writePendingUpdates();
+			conn = getConnection();
+			pstmt = prepareStatement(conn, sql);
+			bindParameters(pstmt, parameters);
+			int filas = pstmt.executeUpdate();
+			invalidateCountCache();
+			return filas;
 		} finally {
 			closeResources(null, pstmt, conn);
 		}
 	}
 	
+	/**
+	 * Actualiza un registro. Si hay una UnidadDeTrabajo activa en el hilo, la
+	 * actualización queda pendiente y se envía por lotes al confirmar la unidad (o antes
+	 * de la siguiente escritura inmediata); en ese caso se retorna 0, las filas afectadas
+	 * las retorna confirmar() y es este quien verifica que cada registro exista. El número
+	 * de actualizaciones por escribir se consulta con UnidadDeTrabajo.getPendientes().
+	 * 
+	 * @param tipo Tipo de entidad (la tabla)
+	 * @param id ID del registro actualizado
+	 * @param sql Sentencia UPDATE
+	 * @param params Parámetros de la sentencia
+	 * @return Número de filas afectadas, o 0 si la actualización quedó pendiente
+	 * @throws SQLException Si hay error en la ejecución de la sentencia, o si la unidad ya
+	 *         tiene actualizaciones pendientes sobre otra conexión
+	 */
+	protected int executeEntityUpdate(String tipo, Object id, String sql, Object[] params) throws SQLException {
+		UnidadDeTrabajo unidad = UnidadDeTrabajo.getActual();
+		if (unidad == null) {
+			return executeUpdate(sql, params);
+		}
+		unidad.registrarModificacion(this, tipo, id, sql, params);
+		return 0;
+	}
+	
+	/**
+	 * Elimina un registro (o lo desactiva, en una baja lógica). Si hay una UnidadDeTrabajo
+	 * activa en el hilo, el registro se retira de su mapa de identidad antes de ejecutar
+	 * la sentencia.
+	 * 
+	 * @param tipo Tipo de entidad (la tabla)
+	 * @param id ID del registro eliminado
+	 * @param sql Sentencia DELETE, o UPDATE en una baja lógica
+	 * @param params Parámetros de la sentencia
+	 * @return Número de filas afectadas
+	 * @throws SQLException Si hay error en la ejecución de la sentencia
+	 */
+	protected int executeEntityDelete(String tipo, long id, String sql, Object[] params) throws SQLException {
+		UnidadDeTrabajo unidad = UnidadDeTrabajo.getActual();
+		if (unidad != null) {
+			unidad.olvidar(tipo, id);
+		}
+		return executeUpdate(sql, params);
+	}
+	
+	/**
+	 * Envía las actualizaciones pendientes de la UnidadDeTrabajo del hilo antes de una
+	 * escritura inmediata, para que la base de datos las reciba en el orden en que se
+	 * hicieron.
+	 */
+	private static void writePendingUpdates() throws SQLException {
+		UnidadDeTrabajo unidad = UnidadDeTrabajo.getActual();
+		if (unidad != null) {
+			unidad.escribirPendientes();
+		}
+	}
+	
 	/**
 	 * Ejecuta una operación INSERT con retorno de ID generado automáticamente.
 	 * 
 	 * @param sql Consulta SQL INSERT a ejecutar
 	 * @param params Parámetros para la consulta preparada
+	 * @param keyColumn Columna del ID generado (por ejemplo ID_INSPECCION)
 	 * @return ID generado automáticamente por la base de datos
 	 * @throws SQLException Si hay error en la ejecución de la consulta
 	 */
-	protected long executeInsertWithGeneratedKey(String sql, Object[] params) throws SQLException {
+	protected long executeInsertWithGeneratedKey(String sql, Object[] params, String keyColumn) throws SQLException {
 		Connection conn = null;
 		PreparedStatement pstmt = null;
 		ResultSet rs = null;
 		
 		try {
+			writePendingUpdates();
 			conn = getConnection();
-			pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+			pstmt = prepareStatement(conn, sql, keyColumn);
 			setParameters(pstmt, params);
 			pstmt.executeUpdate();
+			invalidateCountCache();
 			
 			rs = pstmt.getGeneratedKeys();
 			if (rs.next()) {
@@ -229,7 +1011,149 @@ public abstract class DAOBase<T> {
 	}
 	
 	/**
-	 * Asigna parámetros a una consulta preparada.
+	 * Ejecuta una sentencia INSERT, UPDATE o DELETE para varias filas usando JDBC batch.
+	 * Todas las filas se envían en una única transacción: si un lote falla se deshace todo.
+	 * Dentro de una Transaccion activa se une a ella y el commit lo hace la transacción.
+	 * 
+	 * @param sql Sentencia SQL a ejecutar
+	 * @param params Parámetros de cada fila
+	 * @param batchSize Número de filas por lote enviado a la base de datos
+	 * @return Resultado con filas procesadas, tiempos por lote y filas por segundo
+	 * @throws SQLException Si hay error en la ejecución (la transacción se deshace)
+	 */
+	protected BatchResult executeBatch(String sql, List<Object[]> params, int batchSize) throws SQLException {
+		return runBatch(sql, params, batchSize, null);
+	}
+	
+	/**
+	 * Ejecuta un INSERT para varias filas usando JDBC batch y recupera los IDs generados.
+	 * Todas las filas se envían en una única transacción: si un lote falla se deshace todo.
+	 * Dentro de una Transaccion activa se une a ella y el commit lo hace la transacción.
+	 * 
+	 * @param sql Sentencia INSERT a ejecutar
+	 * @param params Parámetros de cada fila
+	 * @param batchSize Número de filas por lote enviado a la base de datos
+	 * @param keyColumn Columna del ID generado (por ejemplo ID_RESULTADO)
+	 * @return Resultado con los IDs generados, tiempos por lote y filas por segundo
+	 * @throws SQLException Si hay error en la ejecución o el driver no retorna un ID por
+	 *         fila (la transacción se deshace)
+	 */
+	protected BatchResult executeBatchWithGeneratedKeys(String sql, List<Object[]> params, int batchSize,
+			String keyColumn) throws SQLException {
+		return runBatch(sql, params, batchSize, keyColumn);
+	}
+	
+	private BatchResult runBatch(String sql, List<Object[]> params, int batchSize, String keyColumn)
+			throws SQLException {
+		boolean generatedKeys = keyColumn != null;
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("El tamaño de lote debe ser mayor a cero");
+		}
+		if (params == null || params.isEmpty()) {
+			return new BatchResult(0, 0, new int[0], new long[0], 0, new long[0]);
+		}
+		
+		Connection conn = null;
+		PreparedStatement pstmt = null;
+		boolean autoCommit = true;
+		boolean propia = false;
+		long inicio = System.nanoTime();
+		long[] batchNanos = new long[(params.size() + batchSize - 1) / batchSize];
+		long[] keys = new long[generatedKeys ? params.size() : 0];
+		int[] counts = new int[params.size()];
+		int keyCount = 0;
+		int affected = 0;
+		
+		try {
+			writePendingUpdates();
+			conn = getConnection();
+			propia = !Transaccion.enCurso(conn);
+			if (propia) {
+				autoCommit = conn.getAutoCommit();
+				conn.setAutoCommit(false);
+			}
+			pstmt = generatedKeys ? prepareStatement(conn, sql, keyColumn) : prepareStatement(conn, sql);
+			
+			int batch = 0;
+			for (int from = 0; from < params.size(); from += batchSize) {
+				long inicioLote = System.nanoTime();
+				int to = Math.min(from + batchSize, params.size());
+				for (int i = from; i < to; i++) {
+					setParameters(pstmt, params.get(i));
+					pstmt.addBatch();
+				}
+				int[] loteCounts = pstmt.executeBatch();
+				System.arraycopy(loteCounts, 0, counts, from, Math.min(loteCounts.length, to - from));
+				for (int count : loteCounts) {
+					affected += count >= 0 ? count : 1;
+				}
+				if (generatedKeys) {
+					keyCount = readGeneratedKeys(pstmt, keys, keyCount);
+					if (keyCount != to) {
+						throw new SQLException("El driver retornó " + keyCount + " IDs generados para " + to
+							+ " filas de " + keyColumn);
+					}
+				}
+				batchNanos[batch] = System.nanoTime() - inicioLote;
+				LOGGER.fine(String.format("Lote %d: %d filas en %.1f ms", batch + 1, to - from,
+					batchNanos[batch] / 1_000_000.0));
+				batch++;
+			}
+			if (propia) {
+				conn.commit();
+			}
+			invalidateCountCache();
+		} catch (SQLException | RuntimeException e) {
+			if (propia) {
+				rollbackQuietly(conn);
+			}
+			throw e;
+		} finally {
+			if (propia) {
+				restoreAutoCommit(conn, autoCommit);
+			}
+			closeResources(null, pstmt, conn);
+		}
+		
+		BatchResult result = new BatchResult(params.size(), affected, counts, batchNanos, System.nanoTime() - inicio,
+			keys);
+		LOGGER.info(getClass().getSimpleName() + ": " + result);
+		return result;
+	}
+	
+	private int readGeneratedKeys(PreparedStatement pstmt, long[] keys, int keyCount) throws SQLException {
+		try (ResultSet rs = pstmt.getGeneratedKeys()) {
+			while (rs != null && rs.next() && keyCount < keys.length) {
+				keys[keyCount++] = rs.getLong(1);
+			}
+		}
+		return keyCount;
+	}
+	
+	private void rollbackQuietly(Connection conn) {
+		if (conn != null) {
+			try {
+				conn.rollback();
+			} catch (SQLException e) {
+				LOGGER.log(Level.WARNING, "Error al deshacer la transacción del lote", e);
+			}
+		}
+	}
+	
+	private void restoreAutoCommit(Connection conn, boolean autoCommit) {
+		if (conn != null) {
+			try {
+				conn.setAutoCommit(autoCommit);
+			} catch (SQLException e) {
+				LOGGER.log(Level.WARNING, "Error al restablecer autocommit", e);
+			}
+		}
+	}
+	
+	/**
+	 * Asigna parámetros a una consulta preparada según el tipo de cada valor
+	 * (ver ParameterBinder.bindObject). Los null se asignan con setNull, porque el
+	 * driver de Oracle rechaza setObject con null.
 	 * 
 	 * @param pstmt Prepared statement a parametrizar
 	 * @param params Array de parámetros
@@ -237,32 +1161,39 @@ public abstract class DAOBase<T> {
 	 */
 	protected void setParameters(PreparedStatement pstmt, Object[] params) throws SQLException {
 		if (params != null) {
-			for (int i = 0; i < params.length; i++) {
-				Object param = params[i];
-				if (param instanceof String) {
-					pstmt.setString(i + 1, (String) param);
-				} else if (param instanceof Integer) {
-					pstmt.setInt(i + 1, (Integer) param);
-				} else if (param instanceof Long) {
-					pstmt.setLong(i + 1, (Long) param);
-				} else if (param instanceof Double) {
-					pstmt.setDouble(i + 1, (Double) param);
-				} else if (param instanceof java.sql.Date) {
-					pstmt.setDate(i + 1, (java.sql.Date) param);
-				} else if (param instanceof java.sql.Timestamp) {
-					pstmt.setTimestamp(i + 1, (java.sql.Timestamp) param);
-				} else if (param instanceof Boolean) {
-					pstmt.setInt(i + 1, ((Boolean) param) ? 1 : 0);
-				} else {
-					pstmt.setObject(i + 1, param);
+			ParameterBinder binder = BINDER.get().on(pstmt);
+			try {
+				for (Object param : params) {
+					binder.bindObject(param);
 				}
+			} finally {
+				binder.release();
 			}
 		}
 	}
 	
+	/**
+	 * Asigna los parámetros de una consulta preparada con el ParameterBinder del hilo.
+	 * 
+	 * @param pstmt Prepared statement a parametrizar
+	 * @param parameters Asigna los parámetros (no debe ejecutar otras consultas)
+	 * @throws SQLException Si hay error al asignar parámetros
+	 */
+	protected void bindParameters(PreparedStatement pstmt, ParameterSetter parameters) throws SQLException {
+		ParameterBinder binder = BINDER.get().on(pstmt);
+		try {
+			parameters.bind(binder);
+		} finally {
+			binder.release();
+		}
+	}
+	
 	/**
 	 * Cierra los recursos de base de datos (ResultSet, PreparedStatement, Connection).
 	 * Implementa el patrón try-with-resources de forma manual para compatibilidad.
+	 * Las sentencias obtenidas de la caché se devuelven a ella en lugar de cerrarse,
+	 * y la conexión vuelve al pool si fue prestada por uno. La conexión de una
+	 * Transaccion activa no se cierra: la libera la transacción al terminar.
 	 * 
 	 * @param rs ResultSet a cerrar (puede ser null)
 	 * @param pstmt PreparedStatement a cerrar (puede ser null)
@@ -277,7 +1208,7 @@ public abstract class DAOBase<T> {
 			}
 		}
 		
-		if (pstmt != null) {
+		if (pstmt != null && !StatementCache.release(pstmt)) {
 			try {
 				pstmt.close();
 			} catch (SQLException e) {
@@ -285,7 +1216,7 @@ public abstract class DAOBase<T> {
 			}
 		}
 		
-		if (conn != null) {
+		if (conn != null && !Transaccion.enCurso(conn)) {
 			try {
 				conn.close();
 			} catch (SQLException e) {
@@ -311,4 +1242,35 @@ public abstract class DAOBase<T> {
 		 */
 		T map(ResultSet rs) throws SQLException;
 	}
+	
+	/**
+	 * Interfaz funcional para asignar los parámetros de una consulta con un
+	 * ParameterBinder, en el orden de los marcadores de la sentencia.
+	 */
+	@FunctionalInterface
+	public interface ParameterSetter {
+		/**
+		 * Asigna los parámetros de la consulta.
+		 * 
+		 * @param binder Asignador posicionado en el primer parámetro
+		 * @throws SQLException Si hay error al asignar un parámetro
+		 */
+		void bind(ParameterBinder binder) throws SQLException;
+	}
+	
+	/**
+	 * Interfaz funcional para procesar filas mapeadas una a una durante un recorrido.
+	 * 
+	 * @param <T> Tipo de objeto procesado
+	 */
+	@FunctionalInterface
+	public interface RowCallback<T> {
+		/**
+		 * Procesa una fila mapeada.
+		 * 
+		 * @param row Objeto mapeado de la fila actual
+		 * @throws SQLException Si hay error al procesar la fila
+		 */
+		void process(T row) throws SQLException;
+	}
 }
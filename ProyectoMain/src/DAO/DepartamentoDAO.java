@@ -18,6 +18,16 @@ import model.Departamento;
  */
 public class DepartamentoDAO extends DAOBase<Departamento> {
 	
+	private static final String TABLA = "DEPARTAMENTO";
+	private static final String COLUMNA_ID = "ID_DEPARTAMENTO";
+	
+	/**
+	 * Columnas que lee mapDepartamento.
+	 */
+	private static final Proyeccion COLUMNAS = Proyeccion.de("ID_DEPARTAMENTO", "NOMBRE");
+	
+	private static final String SQL_SELECT = "SELECT " + COLUMNAS + " FROM " + TABLA;
+	
 	public DepartamentoDAO() {
 		super();
 	}
@@ -29,30 +39,51 @@ public class DepartamentoDAO extends DAOBase<Departamento> {
 	public long crear(Departamento depto) throws SQLException {
 		String sql = "INSERT INTO DEPARTAMENTO (NOMBRE, CODIGO) VALUES (?, ?)";
 		Object[] params = {depto.getNombre(), depto.getId()};
-		return executeInsertWithGeneratedKey(sql, params);
+		return executeInsertWithGeneratedKey(sql, params, COLUMNA_ID);
 	}
 	
 	public Departamento obtenerPorId(long id) throws SQLException {
-		String sql = "SELECT * FROM DEPARTAMENTO WHERE ID_DEPARTAMENTO = ?";
-		Object[] params = {id};
-		return findOneWithParams(sql, params, this::mapDepartamento);
+		return findById(TABLA, id, SQL_SELECT, COLUMNA_ID, this::mapDepartamento);
 	}
 	
 	public List<Departamento> obtenerTodos() throws SQLException {
-		String sql = "SELECT * FROM DEPARTAMENTO";
-		return findMany(sql, this::mapDepartamento);
+		return findWhere(SQL_SELECT, null, null, this::mapDepartamento);
+	}
+	
+	/**
+	 * Obtiene una página de departamentos usando paginación por clave.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de departamentos
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public Pagina<Departamento> obtenerPagina(ConsultaPagina consulta) throws SQLException {
+		return findPage(TABLA, COLUMNA_ID, null, consulta, COLUMNAS, this::mapDepartamento);
+	}
+	
+	/**
+	 * Cuenta los departamentos que cumplen los filtros de la consulta.
+	 * 
+	 * @param consulta Filtros a aplicar
+	 * @return Número total de registros
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public long contar(ConsultaPagina consulta) throws SQLException {
+		return countRows(TABLA, null, consulta);
 	}
 	
 	public int actualizar(Departamento depto) throws SQLException {
 		String sql = "UPDATE DEPARTAMENTO SET NOMBRE = ? WHERE ID_DEPARTAMENTO = ?";
 		Object[] params = {depto.getNombre(), depto.getId()};
-		return executeUpdate(sql, params);
+		return executeEntityUpdate(TABLA, depto.getId(), sql, params);
 	}
 	
 	public int eliminar(long id) throws SQLException {
 		String sql = "DELETE FROM DEPARTAMENTO WHERE ID_DEPARTAMENTO = ?";
 		Object[] params = {id};
-		return executeUpdate(sql, params);
+		return executeEntityDelete(TABLA, id, sql, params);
 	}
 	
 	private Departamento mapDepartamento(ResultSet rs) throws SQLException {
@@ -0,0 +1,304 @@
+package DAO;
+
+import BaseDatos.DBConnection;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import model.EstadisticaInfestacion;
+
+/**
+ * DAO para los acumulados semanales de infestación por lote y plaga.
+ * Gestiona la tabla ESTADISTICA_INFESTACION, que se mantiene de forma incremental
+ * con MERGE cada vez que ResultadoTecnicoDAO registra o elimina un resultado.
+ *
+ * Los acumulados se calculan en la base de datos a partir de la fila de RESULTADO_TECNICO
+ * y de la fecha de su inspección (semana ISO), de modo que la actualización incremental y
+ * la reconstrucción completa producen los mismos valores.
+ *
+ * Dos MERGE concurrentes para un acumulado que aún no existe (mismo lote, plaga y semana)
+ * pueden tomar ambos la rama WHEN NOT MATCHED; el segundo falla con ORA-00001 al insertar.
+ * Ese MERGE se repite una vez, y entonces encuentra la fila del primero y la actualiza, en
+ * lugar de deshacer el registro del resultado técnico que lo originó. En Oracle una
+ * sentencia que falla no deja cambios, así que el MERGE individual se repite directamente;
+ * el de un lote se ejecuta con un savepoint, porque las filas anteriores a la que falló sí
+ * quedan aplicadas.
+ *
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ */
+public class EstadisticaInfestacionDAO extends DAOBase<EstadisticaInfestacion> {
+
+	private static final Logger LOGGER = Logger.getLogger(EstadisticaInfestacionDAO.class.getName());
+
+	/**
+	 * Código de error de Oracle para una clave única duplicada (ORA-00001).
+	 */
+	private static final int ORA_CLAVE_DUPLICADA = 1;
+
+	private static final LocalDate FECHA_MINIMA = LocalDate.of(1900, 1, 1);
+	private static final LocalDate FECHA_MAXIMA = LocalDate.of(9999, 12, 31);
+
+	/**
+	 * Municipio de un lote (lote, lugar de producción, predio y vereda).
+	 */
+	private static final String SQL_MUNICIPIO_LOTE =
+		"(SELECT MAX(v.ID_MUNICIPIO) FROM LOTE l " +
+		"JOIN PREDIO p ON p.ID_LUGAR_PRODUCCION = l.ID_LUGAR_PRODUCCION " +
+		"JOIN VEREDA v ON v.ID_VEREDA = p.ID_VEREDA " +
+		"WHERE l.ID_LOTE = r.ID_LOTE)";
+
+	/**
+	 * Suma (signo 1) o resta (signo -1) un resultado técnico a su acumulado.
+	 * Parámetros: signo, signo, signo, ID del resultado.
+	 * Solo inserta acumulados nuevos al sumar: restar un resultado que no estaba contado
+	 * no crea un acumulado con valores negativos.
+	 */
+	private static final String SQL_ACUMULAR =
+		"MERGE INTO ESTADISTICA_INFESTACION e " +
+		"USING (SELECT r.ID_LOTE, r.ID_PLAGA, TRUNC(i.FECHA_INSPECCION, 'IW') AS SEMANA, " +
+		SQL_MUNICIPIO_LOTE + " AS ID_MUNICIPIO, " +
+		"? * r.PLANTAS_EVALUADAS AS EVALUADAS, ? * r.PLANTAS_AFECTADAS AS AFECTADAS, ? AS RESULTADOS " +
+		"FROM RESULTADO_TECNICO r " +
+		"JOIN INSPECCION_FITOSANITARIA i ON i.ID_INSPECCION = r.ID_INSPECCION " +
+		"WHERE r.ID_RESULTADO = ? AND r.ID_LOTE IS NOT NULL AND r.ID_PLAGA IS NOT NULL) d " +
+		"ON (e.ID_LOTE = d.ID_LOTE AND e.ID_PLAGA = d.ID_PLAGA AND e.SEMANA = d.SEMANA) " +
+		"WHEN MATCHED THEN UPDATE SET " +
+		"e.PLANTAS_EVALUADAS = e.PLANTAS_EVALUADAS + d.EVALUADAS, " +
+		"e.PLANTAS_AFECTADAS = e.PLANTAS_AFECTADAS + d.AFECTADAS, " +
+		"e.NUM_RESULTADOS = e.NUM_RESULTADOS + d.RESULTADOS, " +
+		"e.FECHA_ACTUALIZACION = SYSTIMESTAMP " +
+		"DELETE WHERE e.NUM_RESULTADOS <= 0 " +
+		"WHEN NOT MATCHED THEN INSERT (ID_LOTE, ID_PLAGA, SEMANA, ID_MUNICIPIO, PLANTAS_EVALUADAS, " +
+		"PLANTAS_AFECTADAS, NUM_RESULTADOS, FECHA_ACTUALIZACION) " +
+		"VALUES (d.ID_LOTE, d.ID_PLAGA, d.SEMANA, d.ID_MUNICIPIO, d.EVALUADAS, d.AFECTADAS, d.RESULTADOS, SYSTIMESTAMP) " +
+		"WHERE d.RESULTADOS > 0";
+
+	private static final String SQL_RECONSTRUIR =
+		"INSERT INTO ESTADISTICA_INFESTACION (ID_LOTE, ID_PLAGA, SEMANA, ID_MUNICIPIO, PLANTAS_EVALUADAS, " +
+		"PLANTAS_AFECTADAS, NUM_RESULTADOS, FECHA_ACTUALIZACION) " +
+		"SELECT r.ID_LOTE, r.ID_PLAGA, TRUNC(i.FECHA_INSPECCION, 'IW'), MAX(" + SQL_MUNICIPIO_LOTE + "), " +
+		"SUM(r.PLANTAS_EVALUADAS), SUM(r.PLANTAS_AFECTADAS), COUNT(*), SYSTIMESTAMP " +
+		"FROM RESULTADO_TECNICO r " +
+		"JOIN INSPECCION_FITOSANITARIA i ON i.ID_INSPECCION = r.ID_INSPECCION " +
+		"WHERE r.ID_LOTE IS NOT NULL AND r.ID_PLAGA IS NOT NULL " +
+		"GROUP BY r.ID_LOTE, r.ID_PLAGA, TRUNC(i.FECHA_INSPECCION, 'IW')";
+
+	private static final String SQL_POR_MUNICIPIO =
+		"SELECT NULL AS ID_LOTE, ID_MUNICIPIO, ID_PLAGA, SEMANA, SUM(PLANTAS_EVALUADAS) AS PLANTAS_EVALUADAS, " +
+		"SUM(PLANTAS_AFECTADAS) AS PLANTAS_AFECTADAS, SUM(NUM_RESULTADOS) AS NUM_RESULTADOS " +
+		"FROM ESTADISTICA_INFESTACION WHERE ID_MUNICIPIO = ? AND SEMANA BETWEEN ? AND ? " +
+		"GROUP BY ID_MUNICIPIO, ID_PLAGA, SEMANA ORDER BY SEMANA, ID_PLAGA";
+
+	public EstadisticaInfestacionDAO() {
+		super();
+	}
+
+	public EstadisticaInfestacionDAO(DBConnection dbConnection) {
+		super(dbConnection);
+	}
+
+	/**
+	 * Suma un resultado técnico recién registrado a su acumulado semanal.
+	 *
+	 * @param idResultado ID del resultado técnico
+	 * @return Filas del acumulado afectadas (0 si el resultado no tiene lote o plaga)
+	 * @throws SQLException Si hay error al ejecutar el MERGE
+	 */
+	public int acumular(long idResultado) throws SQLException {
+		return conReintento(() -> executeUpdateWithBinder(SQL_ACUMULAR, b -> bindAcumular(b, idResultado, 1)));
+	}
+
+	/**
+	 * Suma varios resultados técnicos a sus acumulados en una sola transacción.
+	 *
+	 * @param idsResultado IDs de los resultados técnicos
+	 * @return Resultado de la operación por lotes
+	 * @throws SQLException Si hay error al ejecutar los MERGE
+	 */
+	public BatchResult acumularTodos(long[] idsResultado) throws SQLException {
+		List<Object[]> params = new ArrayList<>(idsResultado.length);
+		for (long id : idsResultado) {
+			params.add(paramsAcumular(id, 1));
+		}
+		return conReintento(() -> inSavepoint(() -> executeBatch(SQL_ACUMULAR, params, DEFAULT_BATCH_SIZE)));
+	}
+
+	/**
+	 * Resta un resultado técnico de su acumulado. Debe invocarse antes de eliminar el resultado.
+	 *
+	 * @param idResultado ID del resultado técnico
+	 * @return Filas del acumulado afectadas (0 si el resultado no estaba en ningún acumulado)
+	 * @throws SQLException Si hay error al ejecutar el MERGE
+	 */
+	public int descontar(long idResultado) throws SQLException {
+		return conReintento(() -> executeUpdateWithBinder(SQL_ACUMULAR, b -> bindAcumular(b, idResultado, -1)));
+	}
+
+	/**
+	 * Recalcula todos los acumulados a partir de RESULTADO_TECNICO en una sola transacción
+	 * (o en la transacción activa, si hay una).
+	 * Se usa en la carga inicial o para corregir acumulados tras un fallo.
+	 *
+	 * @return Número de acumulados generados
+	 * @throws SQLException Si hay error (no se modifica ningún acumulado)
+	 */
+	public int reconstruir() throws SQLException {
+		return inTransaction(() -> {
+			executeUpdate("DELETE FROM ESTADISTICA_INFESTACION", null);
+			return executeUpdate(SQL_RECONSTRUIR, null);
+		});
+	}
+
+	/**
+	 * Obtiene los acumulados semanales de un lote, de todas las plagas.
+	 *
+	 * @param idLote ID del lote
+	 * @param desde Primera fecha del rango (null sin límite)
+	 * @param hasta Última fecha del rango (null sin límite)
+	 * @return Acumulados ordenados por semana y plaga
+	 * @throws SQLException Si hay error en la consulta
+	 */
+	public List<EstadisticaInfestacion> obtenerPorLote(long idLote, LocalDate desde, LocalDate hasta) throws SQLException {
+		String sql = "SELECT ID_LOTE, ID_PLAGA, ID_MUNICIPIO, SEMANA, PLANTAS_EVALUADAS, PLANTAS_AFECTADAS, NUM_RESULTADOS " +
+					 "FROM ESTADISTICA_INFESTACION WHERE ID_LOTE = ? AND SEMANA BETWEEN ? AND ? " +
+					 "ORDER BY SEMANA, ID_PLAGA";
+		Object[] params = {idLote, inicioSemana(desde), fin(hasta)};
+		return findManyWithParams(sql, params, this::mapEstadistica);
+	}
+
+	/**
+	 * Obtiene los acumulados semanales de todos los lotes desde una fecha.
+	 *
+	 * @param desde Primera fecha del rango (se incluye su semana completa)
+	 * @return Acumulados ordenados por semana, lote y plaga
+	 * @throws SQLException Si hay error en la consulta
+	 */
+	public List<EstadisticaInfestacion> obtenerDesde(LocalDate desde) throws SQLException {
+		String sql = "SELECT ID_LOTE, ID_PLAGA, ID_MUNICIPIO, SEMANA, PLANTAS_EVALUADAS, PLANTAS_AFECTADAS, NUM_RESULTADOS " +
+					 "FROM ESTADISTICA_INFESTACION WHERE SEMANA >= ? " +
+					 "ORDER BY SEMANA, ID_LOTE, ID_PLAGA";
+		Object[] params = {inicioSemana(desde)};
+		return findManyWithParams(sql, params, this::mapEstadistica);
+	}
+
+	/**
+	 * Obtiene los acumulados semanales de un municipio por plaga (suma de sus lotes).
+	 *
+	 * @param idMunicipio ID del municipio
+	 * @param desde Primera fecha del rango (null sin límite)
+	 * @param hasta Última fecha del rango (null sin límite)
+	 * @return Acumulados sin lote, ordenados por semana y plaga
+	 * @throws SQLException Si hay error en la consulta
+	 */
+	public List<EstadisticaInfestacion> obtenerPorMunicipio(long idMunicipio, LocalDate desde, LocalDate hasta)
+			throws SQLException {
+		Object[] params = {idMunicipio, inicioSemana(desde), fin(hasta)};
+		return findManyWithParams(SQL_POR_MUNICIPIO, params, this::mapEstadistica);
+	}
+
+	/**
+	 * Obtiene el acumulado total de un lote y una plaga en un rango de fechas.
+	 *
+	 * @param idLote ID del lote
+	 * @param idPlaga ID de la plaga
+	 * @param desde Primera fecha del rango (null sin límite)
+	 * @param hasta Última fecha del rango (null sin límite)
+	 * @return Acumulado sin semana; con ceros si no hay resultados
+	 * @throws SQLException Si hay error en la consulta
+	 */
+	public EstadisticaInfestacion obtenerTotal(long idLote, long idPlaga, LocalDate desde, LocalDate hasta)
+			throws SQLException {
+		String sql = "SELECT ID_LOTE, ID_PLAGA, NULL AS ID_MUNICIPIO, NULL AS SEMANA, " +
+					 "NVL(SUM(PLANTAS_EVALUADAS), 0) AS PLANTAS_EVALUADAS, " +
+					 "NVL(SUM(PLANTAS_AFECTADAS), 0) AS PLANTAS_AFECTADAS, " +
+					 "NVL(SUM(NUM_RESULTADOS), 0) AS NUM_RESULTADOS " +
+					 "FROM ESTADISTICA_INFESTACION WHERE ID_LOTE = ? AND ID_PLAGA = ? AND SEMANA BETWEEN ? AND ? " +
+					 "GROUP BY ID_LOTE, ID_PLAGA";
+		Object[] params = {idLote, idPlaga, inicioSemana(desde), fin(hasta)};
+		EstadisticaInfestacion total = findOneWithParams(sql, params, this::mapEstadistica);
+		if (total == null) {
+			total = new EstadisticaInfestacion();
+			total.setIdLote(String.valueOf(idLote));
+			total.setIdPlaga(String.valueOf(idPlaga));
+		}
+		return total;
+	}
+
+	/**
+	 * Ejecuta un MERGE de acumulados y lo repite una vez si chocó con el acumulado que otra
+	 * sesión insertó al mismo tiempo.
+	 */
+	private <R> R conReintento(Transaccion.Trabajo<R> merge) throws SQLException {
+		try {
+			return merge.ejecutar();
+		} catch (SQLException e) {
+			if (!esClaveDuplicada(e)) {
+				throw e;
+			}
+			LOGGER.log(Level.FINE, "Acumulado creado por otra sesión; se repite el MERGE", e);
+			return merge.ejecutar();
+		}
+	}
+
+	/**
+	 * Busca ORA-00001 en la excepción y sus causas: en un lote el driver lo reporta dentro
+	 * de una BatchUpdateException.
+	 */
+	private static boolean esClaveDuplicada(SQLException e) {
+		for (Throwable t = e; t != null; t = t.getCause() != null ? t.getCause() : siguiente(t)) {
+			if (t instanceof SQLIntegrityConstraintViolationException
+					|| t instanceof SQLException && ((SQLException) t).getErrorCode() == ORA_CLAVE_DUPLICADA) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static SQLException siguiente(Throwable t) {
+		return t instanceof SQLException ? ((SQLException) t).getNextException() : null;
+	}
+
+	private static Object[] paramsAcumular(long idResultado, int signo) {
+		return new Object[] {signo, signo, signo, idResultado};
+	}
+
+	private static void bindAcumular(ParameterBinder binder, long idResultado, int signo) throws SQLException {
+		binder.bindInt(signo).bindInt(signo).bindInt(signo).bindLong(idResultado);
+	}
+
+	/**
+	 * Los acumulados se indexan por el lunes de cada semana; el inicio del rango se lleva
+	 * al lunes de su semana para incluir la semana parcial.
+	 */
+	private static Date inicioSemana(LocalDate fecha) {
+		LocalDate inicio = fecha == null ? FECHA_MINIMA : fecha.with(DayOfWeek.MONDAY);
+		return Date.valueOf(inicio);
+	}
+
+	private static Date fin(LocalDate fecha) {
+		return Date.valueOf(fecha == null ? FECHA_MAXIMA : fecha);
+	}
+
+	private EstadisticaInfestacion mapEstadistica(ResultSet rs) throws SQLException {
+		EstadisticaInfestacion estadistica = new EstadisticaInfestacion();
+		estadistica.setIdLote(rs.getString("ID_LOTE"));
+		estadistica.setIdPlaga(rs.getString("ID_PLAGA"));
+		estadistica.setIdMunicipio(rs.getString("ID_MUNICIPIO"));
+		Date semana = rs.getDate("SEMANA");
+		estadistica.setSemana(semana == null ? null : semana.toLocalDate());
+		estadistica.setPlantasEvaluadas(rs.getLong("PLANTAS_EVALUADAS"));
+		estadistica.setPlantasAfectadas(rs.getLong("PLANTAS_AFECTADAS"));
+		estadistica.setNumeroResultados(rs.getLong("NUM_RESULTADOS"));
+		return estadistica;
+	}
+}
@@ -1,10 +1,23 @@
 package DAO;
 
 import BaseDatos.DBConnection;
+import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import model.AsistenteTecnico;
+import model.Cultivo;
 import model.InspeccionFitosanitaria;
+import model.Lote;
+import model.LugarProduccion;
+import model.Plaga;
+import model.ResultadoTecnico;
 
 /**
  * DAO para la entidad InspeccionFitosanitaria.
@@ -18,6 +31,57 @@ import model.InspeccionFitosanitaria;
  */
 public class InspeccionFitosanitariaDAO extends DAOBase<InspeccionFitosanitaria> {
 	
+	private static final String TABLA = "INSPECCION_FITOSANITARIA";
+	private static final String COLUMNA_ID = "ID_INSPECCION";
+	
+	/**
+	 * Columnas que lee mapInspeccion.
+	 */
+	private static final Proyeccion COLUMNAS =
+		Proyeccion.de("ID_INSPECCION", "ID_CULTIVO", "ID_ASISTENTE_TECNICO", "FECHA_INSPECCION", "ESTADO");
+	
+	/**
+	 * Columnas que lee mapResumen, para los listados.
+	 */
+	private static final Proyeccion RESUMEN = Proyeccion.de("ID_INSPECCION", "FECHA_INSPECCION", "ESTADO");
+	
+	private static final String SQL_TODOS = "SELECT " + COLUMNAS + " FROM " + TABLA;
+	
+	/**
+	 * Lugar de producción (por cultivo y lote) y asistente técnico de cada inspección.
+	 * El %s recibe el filtro por IDs, o nada para todas las inspecciones.
+	 */
+	private static final String SQL_RELACIONES =
+		"SELECT i.ID_INSPECCION, lp.ID_LUGAR_PRODUCCION, lp.NOMBRE AS NOMBRE_LUGAR, " +
+		"a.ID_ASISTENTE_TECNICO, a.NOMBRE AS NOMBRE_ASISTENTE " +
+		"FROM INSPECCION_FITOSANITARIA i " +
+		"LEFT JOIN CULTIVO c ON c.ID_CULTIVO = i.ID_CULTIVO " +
+		"LEFT JOIN LOTE l ON l.ID_LOTE = c.ID_LOTE " +
+		"LEFT JOIN LUGAR_PRODUCCION lp ON lp.ID_LUGAR_PRODUCCION = l.ID_LUGAR_PRODUCCION " +
+		"LEFT JOIN ASISTENTE_TECNICO a ON a.ID_ASISTENTE_TECNICO = i.ID_ASISTENTE_TECNICO%s";
+	
+	/**
+	 * Resultados técnicos de las inspecciones. El %s recibe el filtro por IDs, o nada.
+	 */
+	private static final String SQL_RESULTADOS =
+		"SELECT r.ID_RESULTADO, r.ID_INSPECCION, r.ID_LOTE, r.ID_PLAGA, r.PLANTAS_EVALUADAS, " +
+		"r.PLANTAS_AFECTADAS, r.OBSERVACIONES FROM RESULTADO_TECNICO r%s";
+	
+	/**
+	 * Máximo de valores por IN (límite de Oracle).
+	 */
+	private static final int MAX_IN = 1000;
+	
+	private static final String SQL_INSERT =
+		"INSERT INTO INSPECCION_FITOSANITARIA (ID_CULTIVO, ID_ASISTENTE_TECNICO, FECHA_INSPECCION, ESTADO) " +
+		"VALUES (?, ?, SYSDATE, 'PENDIENTE')";
+	
+	/**
+	 * Mapper de obtenerPorId, creado una sola vez para que la búsqueda por ID no
+	 * cree una referencia a método en cada llamada.
+	 */
+	private final ResultSetMapper<InspeccionFitosanitaria> porId = this::mapInspeccion;
+	
 	public InspeccionFitosanitariaDAO() {
 		super();
 	}
@@ -27,50 +91,351 @@ public class InspeccionFitosanitariaDAO extends DAOBase<InspeccionFitosanitaria>
 	}
 	
 	public long crear(InspeccionFitosanitaria inspeccion) throws SQLException {
-		String sql = "INSERT INTO INSPECCION_FITOSANITARIA (ID_CULTIVO, ID_ASISTENTE_TECNICO, FECHA_INSPECCION, ESTADO) " +
-					 "VALUES (?, ?, SYSDATE, 'PENDIENTE')";
-		Object[] params = {null, null};
-		return executeInsertWithGeneratedKey(sql, params);
+		return executeInsertWithGeneratedKey(SQL_INSERT, insertParams(inspeccion), COLUMNA_ID);
+	}
+	
+	/**
+	 * Inserta una inspección y sus resultados técnicos en una sola transacción: se
+	 * confirman con un solo commit o no se guarda ninguno. Los resultados quedan
+	 * asociados a la inspección con el ID generado.
+	 * 
+	 * @param inspeccion La inspección a insertar
+	 * @param resultados Sus resultados técnicos
+	 * @return ID generado de la inspección
+	 * @throws SQLException Si hay error (la transacción se deshace)
+	 */
+	public long crearConResultados(InspeccionFitosanitaria inspeccion, List<ResultadoTecnico> resultados)
+			throws SQLException {
+		ResultadoTecnicoDAO resultadoDAO = new ResultadoTecnicoDAO(dbConnection);
+		return inTransaction(() -> {
+			long id = crear(inspeccion);
+			inspeccion.setId(id);
+			for (ResultadoTecnico resultado : resultados) {
+				resultado.setInspeccionFitosanitaria(inspeccion);
+			}
+			resultadoDAO.crearTodos(resultados);
+			return id;
+		});
+	}
+	
+	/**
+	 * Inserta las inspecciones en una sola transacción usando JDBC batch.
+	 * 
+	 * @param inspecciones Las inspecciones a insertar
+	 * @return Resultado de la operación por lotes con los IDs generados y métricas de rendimiento
+	 * @throws SQLException Si hay error en la operación (no se inserta ninguna fila)
+	 */
+	public BatchResult crearTodos(List<InspeccionFitosanitaria> inspecciones) throws SQLException {
+		List<Object[]> params = new ArrayList<>(inspecciones.size());
+		for (InspeccionFitosanitaria item : inspecciones) {
+			params.add(insertParams(item));
+		}
+		return executeBatchWithGeneratedKeys(SQL_INSERT, params, DEFAULT_BATCH_SIZE, COLUMNA_ID);
 	}
 	
 	public InspeccionFitosanitaria obtenerPorId(long id) throws SQLException {
-		String sql = "SELECT * FROM INSPECCION_FITOSANITARIA WHERE ID_INSPECCION = ?";
-		Object[] params = {id};
-		return findOneWithParams(sql, params, this::mapInspeccion);
+		return findById(TABLA, id, SQL_TODOS, COLUMNA_ID, porId);
 	}
 	
 	public List<InspeccionFitosanitaria> obtenerTodos() throws SQLException {
-		String sql = "SELECT * FROM INSPECCION_FITOSANITARIA";
-		return findMany(sql, this::mapInspeccion);
+		return findWhere(SQL_TODOS, null, null, this::mapInspeccion);
+	}
+	
+	/**
+	 * Obtiene una página de inspecciones fitosanitarias usando paginación por clave.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de inspecciones fitosanitarias
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public Pagina<InspeccionFitosanitaria> obtenerPagina(ConsultaPagina consulta) throws SQLException {
+		return findPage(TABLA, COLUMNA_ID, null, consulta, COLUMNAS, this::mapInspeccion);
+	}
+	
+	/**
+	 * Obtiene una página de inspecciones con solo ID, fecha y estado, para listados.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de inspecciones resumidas
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	public Pagina<InspeccionFitosanitaria> obtenerPaginaResumen(ConsultaPagina consulta) throws SQLException {
+		return findPage(TABLA, COLUMNA_ID, null, consulta, RESUMEN, this::mapResumen);
+	}
+	
+	/**
+	 * Obtiene una página de inspecciones con su lugar de producción, asistente técnico y
+	 * resultados técnicos. Además de la consulta de la página se hacen dos consultas por
+	 * cada MAX_IN inspecciones, sin importar cuántos lugares o asistentes distintos tengan.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de inspecciones con sus relaciones cargadas
+	 * @throws SQLException Si hay error al ejecutar las consultas
+	 */
+	public Pagina<InspeccionFitosanitaria> obtenerPaginaCompleta(ConsultaPagina consulta) throws SQLException {
+		Pagina<InspeccionFitosanitaria> pagina = obtenerPagina(consulta);
+		cargarRelaciones(pagina.getElementos());
+		return pagina;
+	}
+	
+	/**
+	 * Obtiene todas las inspecciones con su lugar de producción, asistente técnico y
+	 * resultados técnicos en tres consultas, sin importar cuántas inspecciones haya.
+	 * Con un alcance restringido las relaciones se cargan solo para las inspecciones
+	 * del alcance, por IDs (ver cargarRelaciones).
+	 * 
+	 * @return Lista de inspecciones con sus relaciones cargadas
+	 * @throws SQLException Si hay error al ejecutar las consultas
+	 */
+	public List<InspeccionFitosanitaria> obtenerTodosCompletos() throws SQLException {
+		List<InspeccionFitosanitaria> inspecciones = obtenerTodos();
+		if (!getAlcance().esTotal()) {
+			cargarRelaciones(inspecciones);
+			return inspecciones;
+		}
+		GrafoInspecciones grafo = new GrafoInspecciones(inspecciones);
+		if (!inspecciones.isEmpty()) {
+			forEachWithParams(String.format(SQL_RELACIONES, ""), null, DEFAULT_FETCH_SIZE,
+				this::mapRelaciones, grafo::enlazar);
+			forEachWithParams(String.format(SQL_RESULTADOS, ""), null, DEFAULT_FETCH_SIZE,
+				this::mapResultado, grafo::agregarResultado);
+		}
+		return inspecciones;
+	}
+	
+	/**
+	 * Carga el lugar de producción, el asistente técnico y los resultados técnicos de
+	 * inspecciones recién consultadas, con dos consultas por cada MAX_IN inspecciones.
+	 * Los lugares y asistentes repetidos se comparten entre las inspecciones.
+	 */
+	private void cargarRelaciones(List<InspeccionFitosanitaria> inspecciones) throws SQLException {
+		GrafoInspecciones grafo = new GrafoInspecciones(inspecciones);
+		long[] ids = grafo.getIds();
+		for (int desde = 0; desde < ids.length; desde += MAX_IN) {
+			int tamano = Math.min(ids.length - desde, MAX_IN);
+			String marcadores = String.join(", ", Collections.nCopies(tamano, "?"));
+			Object[] params = new Object[tamano];
+			for (int i = 0; i < tamano; i++) {
+				params[i] = ids[desde + i];
+			}
+			forEachWithParams(String.format(SQL_RELACIONES, " WHERE i.ID_INSPECCION IN (" + marcadores + ")"),
+				params, MAX_IN, this::mapRelaciones, grafo::enlazar);
+			forEachWithParams(String.format(SQL_RESULTADOS, " WHERE r.ID_INSPECCION IN (" + marcadores + ")"),
+				params, MAX_IN, this::mapResultado, grafo::agregarResultado);
+		}
+	}
+	
+	/**
+	 * Cuenta las inspecciones fitosanitarias que cumplen los filtros de la consulta.
+	 * 
+	 * @param consulta Filtros a aplicar
+	 * @return Número total de registros
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public long contar(ConsultaPagina consulta) throws SQLException {
+		return countRows(TABLA, null, consulta);
+	}
+	
+	/**
+	 * Restringe las inspecciones al alcance de la sesión por el lugar de producción del lote de su cultivo.
+	 */
+	@Override
+	protected String condicionAlcance(AlcanceDatos alcance, List<Object> params) {
+		return "ID_CULTIVO IN (SELECT c.ID_CULTIVO FROM CULTIVO c JOIN LOTE l ON l.ID_LOTE = c.ID_LOTE WHERE "
+			+ alcance.condicion("l.ID_LUGAR_PRODUCCION", params) + ")";
+	}
+	
+	/**
+	 * Recorre todas las inspecciones sin cargarlas completas en memoria.
+	 * El Stream mantiene una conexión prestada hasta agotarse o cerrarse,
+	 * por lo que debe usarse con try-with-resources.
+	 * 
+	 * @return Stream de inspecciones mapeadas bajo demanda
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	public Stream<InspeccionFitosanitaria> streamTodos() throws SQLException {
+		List<Object> params = new ArrayList<>();
+		String sql = scopedSql(SQL_TODOS, null, params);
+		return streamWithParams(sql, params.toArray(), DEFAULT_FETCH_SIZE, this::mapInspeccion);
+	}
+	
+	/**
+	 * Procesa todas las inspecciones una a una a medida que se leen de la base de datos.
+	 * 
+	 * @param callback Procesa cada registro
+	 * @return Número de registros procesados
+	 * @throws SQLException Si hay error en la consulta o en el callback
+	 */
+	public int recorrerTodos(RowCallback<InspeccionFitosanitaria> callback) throws SQLException {
+		List<Object> params = new ArrayList<>();
+		String sql = scopedSql(SQL_TODOS, null, params);
+		return forEachWithParams(sql, params.toArray(), DEFAULT_FETCH_SIZE, this::mapInspeccion, callback);
 	}
 	
 	public List<InspeccionFitosanitaria> obtenerPorEstado(String estado) throws SQLException {
-		String sql = "SELECT * FROM INSPECCION_FITOSANITARIA WHERE ESTADO = ?";
-		Object[] params = {estado};
-		return findManyWithParams(sql, params, this::mapInspeccion);
+		return findWhere(SQL_TODOS, "ESTADO = ?", new Object[] {estado}, this::mapInspeccion);
 	}
 	
 	public int actualizar(InspeccionFitosanitaria inspeccion) throws SQLException {
 		String sql = "UPDATE INSPECCION_FITOSANITARIA SET ESTADO = ? WHERE ID_INSPECCION = ?";
 		Object[] params = {"COMPLETADA", inspeccion.getId()};
-		return executeUpdate(sql, params);
+		return executeEntityUpdate(TABLA, inspeccion.getId(), sql, params);
 	}
 	
 	public int cambiarEstado(long id, String estado) throws SQLException {
 		String sql = "UPDATE INSPECCION_FITOSANITARIA SET ESTADO = ? WHERE ID_INSPECCION = ?";
-		Object[] params = {estado, id};
-		return executeUpdate(sql, params);
+		return executeUpdateWithBinder(sql, b -> b.bindString(estado).bindLong(id));
 	}
 	
 	public int eliminar(long id) throws SQLException {
 		String sql = "DELETE FROM INSPECCION_FITOSANITARIA WHERE ID_INSPECCION = ?";
 		Object[] params = {id};
-		return executeUpdate(sql, params);
+		return executeEntityDelete(TABLA, id, sql, params);
+	}
+	
+	private Object[] insertParams(InspeccionFitosanitaria inspeccion) {
+		return new Object[] {
+			inspeccion.getCultivo() != null ? idDe(inspeccion.getCultivo().getId()) : null,
+			inspeccion.getAsistenteTecnico() != null ? idDe(inspeccion.getAsistenteTecnico().getId()) : null
+		};
+	}
+	
+	private static Long idDe(String id) {
+		return id == null || id.trim().isEmpty() ? null : Long.valueOf(id.trim());
 	}
 	
 	private InspeccionFitosanitaria mapInspeccion(ResultSet rs) throws SQLException {
+		InspeccionFitosanitaria inspeccion = mapResumen(rs);
+		String idCultivo = rs.getString("ID_CULTIVO");
+		if (idCultivo != null) {
+			Cultivo cultivo = new Cultivo();
+			cultivo.setId(idCultivo);
+			inspeccion.setCultivo(cultivo);
+		}
+		String idAsistente = rs.getString("ID_ASISTENTE_TECNICO");
+		if (idAsistente != null) {
+			AsistenteTecnico asistente = new AsistenteTecnico();
+			asistente.setId(idAsistente);
+			inspeccion.setAsistenteTecnico(asistente);
+		}
+		return inspeccion;
+	}
+	
+	/**
+	 * Mapea una fila de SQL_RELACIONES a una inspección con solo ID, lugar y asistente.
+	 */
+	private InspeccionFitosanitaria mapRelaciones(ResultSet rs) throws SQLException {
+		InspeccionFitosanitaria inspeccion = new InspeccionFitosanitaria();
+		inspeccion.setId(rs.getLong("ID_INSPECCION"));
+		String idLugar = rs.getString("ID_LUGAR_PRODUCCION");
+		if (idLugar != null) {
+			LugarProduccion lugar = new LugarProduccion();
+			lugar.setId(idLugar);
+			lugar.setNombre(rs.getString("NOMBRE_LUGAR"));
+			inspeccion.setLugarProduccion(lugar);
+		}
+		String idAsistente = rs.getString("ID_ASISTENTE_TECNICO");
+		if (idAsistente != null) {
+			AsistenteTecnico asistente = new AsistenteTecnico();
+			asistente.setId(idAsistente);
+			asistente.setNombre(rs.getString("NOMBRE_ASISTENTE"));
+			inspeccion.setAsistenteTecnico(asistente);
+		}
+		return inspeccion;
+	}
+	
+	private ResultadoTecnico mapResultado(ResultSet rs) throws SQLException {
+		ResultadoTecnico resultado = new ResultadoTecnico();
+		resultado.setId(rs.getString("ID_RESULTADO"));
+		resultado.setTotalPlantasEvaluadas(rs.getInt("PLANTAS_EVALUADAS"));
+		resultado.setPlantasAfectadas(rs.getInt("PLANTAS_AFECTADAS"));
+		resultado.setObservaciones(rs.getString("OBSERVACIONES"));
+		String idLote = rs.getString("ID_LOTE");
+		if (idLote != null) {
+			Lote lote = new Lote();
+			lote.setId(idLote);
+			resultado.setLote(lote);
+		}
+		String idPlaga = rs.getString("ID_PLAGA");
+		if (idPlaga != null) {
+			Plaga plaga = new Plaga();
+			plaga.setId(idPlaga);
+			resultado.agregarPlaga(plaga);
+		}
+		InspeccionFitosanitaria inspeccion = new InspeccionFitosanitaria();
+		inspeccion.setId(rs.getLong("ID_INSPECCION"));
+		resultado.setInspeccionFitosanitaria(inspeccion);
+		return resultado;
+	}
+	
+	private InspeccionFitosanitaria mapResumen(ResultSet rs) throws SQLException {
 		InspeccionFitosanitaria inspeccion = new InspeccionFitosanitaria();
-		inspeccion.setId(rs.getString("ID_INSPECCION"));
+		inspeccion.setId(rs.getLong("ID_INSPECCION"));
+		Date fecha = rs.getDate("FECHA_INSPECCION");
+		inspeccion.setFechaInspeccion(fecha != null ? fecha.toString() : null);
+		inspeccion.setEstado(rs.getString("ESTADO"));
 		return inspeccion;
 	}
+	
+	/**
+	 * Arma el grafo de un conjunto de inspecciones a partir de las filas de
+	 * SQL_RELACIONES y SQL_RESULTADOS: enlaza cada fila con su inspección y usa un
+	 * solo objeto por lugar de producción y por asistente técnico. Las inspecciones se
+	 * indexan por su ID numérico, sin convertirlo en Long. Cada fila sigue creando, en
+	 * mapRelaciones, su inspección provisional y su lugar y asistente; al enlazarla solo
+	 * se conserva el primer objeto de cada lugar y asistente.
+	 */
+	private static final class GrafoInspecciones {
+		
+		private final LongMap<InspeccionFitosanitaria> inspecciones;
+		private final long[] ids;
+		private final Map<String, LugarProduccion> lugares = new HashMap<>();
+		private final Map<String, AsistenteTecnico> asistentes = new HashMap<>();
+		
+		GrafoInspecciones(List<InspeccionFitosanitaria> lista) {
+			inspecciones = new LongMap<>(lista.size());
+			long[] enOrden = new long[lista.size()];
+			int total = 0;
+			for (InspeccionFitosanitaria inspeccion : lista) {
+				if (inspecciones.put(inspeccion.getIdNumerico(), inspeccion) == null) {
+					enOrden[total++] = inspeccion.getIdNumerico();
+				}
+			}
+			ids = total == enOrden.length ? enOrden : Arrays.copyOf(enOrden, total);
+		}
+		
+		/**
+		 * @return IDs de las inspecciones, sin repetir y en el orden de la lista
+		 */
+		long[] getIds() {
+			return ids;
+		}
+		
+		void enlazar(InspeccionFitosanitaria fila) {
+			InspeccionFitosanitaria inspeccion = inspecciones.get(fila.getIdNumerico());
+			if (inspeccion == null) {
+				return;
+			}
+			LugarProduccion lugar = fila.getLugaresProduccion();
+			if (lugar != null) {
+				LugarProduccion compartido = lugares.putIfAbsent(lugar.getId(), lugar);
+				inspeccion.setLugarProduccion(compartido != null ? compartido : lugar);
+			}
+			AsistenteTecnico asistente = fila.getAsistenteTecnico();
+			if (asistente != null) {
+				AsistenteTecnico compartido = asistentes.putIfAbsent(asistente.getId(), asistente);
+				inspeccion.setAsistenteTecnico(compartido != null ? compartido : asistente);
+			}
+		}
+		
+		void agregarResultado(ResultadoTecnico resultado) {
+			InspeccionFitosanitaria inspeccion = inspecciones.get(resultado.getInspeccionFitosanitaria().getIdNumerico());
+			if (inspeccion != null) {
+				resultado.setInspeccionFitosanitaria(inspeccion);
+				inspeccion.agregarResultadoTecnico(resultado);
+			}
+		}
+	}
 }
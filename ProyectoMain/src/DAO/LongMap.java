@@ -0,0 +1,193 @@
+package DAO;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Mapa con claves long primitivas, para indexar registros por ID sin convertir el ID
+ * en Long ni en String en cada búsqueda.
+ *
+ * Usa direccionamiento abierto con sondeo lineal sobre dos arreglos paralelos (claves y
+ * valores), por lo que get y containsKey no crean objetos; put solo asigna memoria al
+ * crecer. El ID 0 se admite como cualquier otra clave. Los valores null no se guardan.
+ *
+ * No es segura para uso concurrente.
+ *
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ * @param <V> Tipo del valor
+ */
+public final class LongMap<V> {
+
+	private static final float CARGA_MAXIMA = 0.6f;
+
+	private long[] claves;
+	private Object[] valores;
+	private int tamano;
+	private int limite;
+
+	public LongMap() {
+		this(16);
+	}
+
+	/**
+	 * @param capacidad Número de entradas esperado
+	 */
+	public LongMap(int capacidad) {
+		int celdas = Integer.highestOneBit(Math.max(4, (int) (capacidad / CARGA_MAXIMA)) - 1) << 1;
+		claves = new long[celdas];
+		valores = new Object[celdas];
+		limite = (int) (celdas * CARGA_MAXIMA);
+	}
+
+	/**
+	 * @param clave ID
+	 * @return Valor asociado, o null si no hay
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long clave) {
+		int mascara = claves.length - 1;
+		for (int i = indice(clave, mascara); valores[i] != null; i = (i + 1) & mascara) {
+			if (claves[i] == clave) {
+				return (V) valores[i];
+			}
+		}
+		return null;
+	}
+
+	public boolean containsKey(long clave) {
+		return get(clave) != null;
+	}
+
+	/**
+	 * Asocia un valor a una clave.
+	 *
+	 * @param clave ID
+	 * @param valor Valor (no null)
+	 * @return Valor anterior, o null si no había
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long clave, V valor) {
+		if (valor == null) {
+			throw new IllegalArgumentException("LongMap no admite valores null");
+		}
+		int mascara = claves.length - 1;
+		int i = indice(clave, mascara);
+		for (; valores[i] != null; i = (i + 1) & mascara) {
+			if (claves[i] == clave) {
+				V anterior = (V) valores[i];
+				valores[i] = valor;
+				return anterior;
+			}
+		}
+		claves[i] = clave;
+		valores[i] = valor;
+		if (++tamano > limite) {
+			crecer();
+		}
+		return null;
+	}
+
+	/**
+	 * Retorna el valor de una clave o, si no hay, asocia y retorna el indicado.
+	 *
+	 * @param clave ID
+	 * @param valor Valor a asociar si la clave no tiene uno
+	 * @return Valor asociado a la clave después de la operación
+	 */
+	public V putIfAbsent(long clave, V valor) {
+		V actual = get(clave);
+		if (actual != null) {
+			return actual;
+		}
+		put(clave, valor);
+		return valor;
+	}
+
+	/**
+	 * @param clave ID
+	 * @return Valor eliminado, o null si no había
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(long clave) {
+		int mascara = claves.length - 1;
+		int i = indice(clave, mascara);
+		while (valores[i] != null && claves[i] != clave) {
+			i = (i + 1) & mascara;
+		}
+		if (valores[i] == null) {
+			return null;
+		}
+		V anterior = (V) valores[i];
+		valores[i] = null;
+		tamano--;
+		// Reubica las entradas siguientes del mismo grupo para no cortar su sondeo
+		for (int j = (i + 1) & mascara; valores[j] != null; j = (j + 1) & mascara) {
+			int destino = indice(claves[j], mascara);
+			if (((j - destino) & mascara) >= ((j - i) & mascara)) {
+				claves[i] = claves[j];
+				valores[i] = valores[j];
+				valores[j] = null;
+				i = j;
+			}
+		}
+		return anterior;
+	}
+
+	public int size() {
+		return tamano;
+	}
+
+	public boolean isEmpty() {
+		return tamano == 0;
+	}
+
+	public void clear() {
+		Arrays.fill(valores, null);
+		tamano = 0;
+	}
+
+	/**
+	 * Recorre los valores, en un orden no especificado.
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEachValue(Consumer<? super V> accion) {
+		for (Object valor : valores) {
+			if (valor != null) {
+				accion.accept((V) valor);
+			}
+		}
+	}
+
+	private void crecer() {
+		long[] clavesAnteriores = claves;
+		Object[] valoresAnteriores = valores;
+		claves = new long[clavesAnteriores.length * 2];
+		valores = new Object[valoresAnteriores.length * 2];
+		limite = (int) (claves.length * CARGA_MAXIMA);
+		int mascara = claves.length - 1;
+		for (int j = 0; j < clavesAnteriores.length; j++) {
+			if (valoresAnteriores[j] != null) {
+				int i = indice(clavesAnteriores[j], mascara);
+				while (valores[i] != null) {
+					i = (i + 1) & mascara;
+				}
+				claves[i] = clavesAnteriores[j];
+				valores[i] = valoresAnteriores[j];
+			}
+		}
+	}
+
+	private static int indice(long clave, int mascara) {
+		long h = clave * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mascara;
+	}
+
+	@Override
+	public String toString() {
+		return "LongMap [entradas=" + tamano + "]";
+	}
+}
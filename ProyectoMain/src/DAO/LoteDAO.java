@@ -3,8 +3,16 @@ package DAO;
 import BaseDatos.DBConnection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import model.Lote;
+import model.Municipio;
+import model.Vereda;
 
 /**
  * DAO para la entidad Lote.
@@ -18,6 +26,43 @@ import model.Lote;
  */
 public class LoteDAO extends DAOBase<Lote> {
 	
+	private static final String TABLA = "LOTE";
+	private static final String COLUMNA_ID = "ID_LOTE";
+	
+	/**
+	 * Columnas que lee mapLote.
+	 */
+	private static final Proyeccion COLUMNAS = Proyeccion.de("ID_LOTE");
+	
+	private static final String SQL_SELECT = "SELECT " + COLUMNAS + " FROM " + TABLA;
+	
+	private static final String SQL_INSERT =
+		"INSERT INTO LOTE (ID_LUGAR_PRODUCCION, NUMERO_LOTE, AREA_HECTAREAS) " +
+		"VALUES (?, ?, ?)";
+	
+	/**
+	 * Vereda y municipio de los lotes, a través de los predios de su lugar de producción.
+	 * Si el lugar tiene predios en varias veredas se toma la de mayor ID, como en
+	 * ESTADISTICA_INFESTACION.
+	 */
+	private static final String SQL_UBICACION =
+		"SELECT l.ID_LOTE, v.ID_VEREDA, v.NOMBRE, m.ID_MUNICIPIO, m.NOMBRE FROM LOTE l " +
+		"JOIN PREDIO p ON p.ID_LUGAR_PRODUCCION = l.ID_LUGAR_PRODUCCION " +
+		"JOIN VEREDA v ON v.ID_VEREDA = p.ID_VEREDA " +
+		"JOIN MUNICIPIO m ON m.ID_MUNICIPIO = v.ID_MUNICIPIO " +
+		"WHERE l.ID_LOTE IN (%s) ORDER BY v.ID_VEREDA DESC";
+	
+	/**
+	 * Máximo de IDs por cláusula IN (Oracle admite hasta 1000).
+	 */
+	private static final int MAX_IN = 500;
+	
+	/**
+	 * Mapper de obtenerPorId, creado una sola vez para que la búsqueda por ID no
+	 * cree una referencia a método en cada llamada.
+	 */
+	private final ResultSetMapper<Lote> porId = this::mapLote;
+	
 	public LoteDAO() {
 		super();
 	}
@@ -27,38 +72,128 @@ public class LoteDAO extends DAOBase<Lote> {
 	}
 	
 	public long crear(Lote lote) throws SQLException {
-		String sql = "INSERT INTO LOTE (ID_LUGAR_PRODUCCION, NUMERO_LOTE, AREA_HECTAREAS) " +
-					 "VALUES (?, ?, ?)";
-		Object[] params = {null, lote.getId(), null};
-		return executeInsertWithGeneratedKey(sql, params);
+		return executeInsertWithGeneratedKey(SQL_INSERT, insertParams(lote), COLUMNA_ID);
+	}
+	
+	/**
+	 * Inserta los lotes en una sola transacción usando JDBC batch.
+	 * 
+	 * @param lotes Los lotes a insertar
+	 * @return Resultado de la operación por lotes con los IDs generados y métricas de rendimiento
+	 * @throws SQLException Si hay error en la operación (no se inserta ninguna fila)
+	 */
+	public BatchResult crearTodos(List<Lote> lotes) throws SQLException {
+		List<Object[]> params = new ArrayList<>(lotes.size());
+		for (Lote item : lotes) {
+			params.add(insertParams(item));
+		}
+		return executeBatchWithGeneratedKeys(SQL_INSERT, params, DEFAULT_BATCH_SIZE, COLUMNA_ID);
 	}
 	
 	public Lote obtenerPorId(long id) throws SQLException {
-		String sql = "SELECT * FROM LOTE WHERE ID_LOTE = ?";
-		Object[] params = {id};
-		return findOneWithParams(sql, params, this::mapLote);
+		return findById(TABLA, id, SQL_SELECT, COLUMNA_ID, porId);
 	}
 	
 	public List<Lote> obtenerTodos() throws SQLException {
-		String sql = "SELECT * FROM LOTE";
-		return findMany(sql, this::mapLote);
+		return findWhere(SQL_SELECT, null, null, this::mapLote);
+	}
+	
+	/**
+	 * Obtiene una página de lotes usando paginación por clave.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de lotes
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public Pagina<Lote> obtenerPagina(ConsultaPagina consulta) throws SQLException {
+		return findPage(TABLA, COLUMNA_ID, null, consulta, COLUMNAS, this::mapLote);
+	}
+	
+	/**
+	 * Cuenta los lotes que cumplen los filtros de la consulta.
+	 * 
+	 * @param consulta Filtros a aplicar
+	 * @return Número total de registros
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public long contar(ConsultaPagina consulta) throws SQLException {
+		return countRows(TABLA, null, consulta);
+	}
+	
+	/**
+	 * Restringe los lotes al alcance de la sesión por su lugar de producción.
+	 */
+	@Override
+	protected String condicionAlcance(AlcanceDatos alcance, List<Object> params) {
+		return alcance.condicion("ID_LUGAR_PRODUCCION", params);
+	}
+	
+	/**
+	 * Obtiene la vereda (con su municipio) en la que está un lote.
+	 * 
+	 * @param idLote ID del lote
+	 * @return Vereda del lote, o null si el lote no tiene ubicación
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	public Vereda obtenerUbicacion(long idLote) throws SQLException {
+		List<Long> ids = new ArrayList<>(1);
+		ids.add(idLote);
+		return obtenerUbicaciones(ids).get(idLote);
+	}
+	
+	/**
+	 * Obtiene la vereda (con su municipio) de varios lotes, en consultas de hasta
+	 * MAX_IN IDs.
+	 * 
+	 * @param idsLote IDs de los lotes
+	 * @return Vereda por ID de lote; los lotes sin ubicación no aparecen
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	public Map<Long, Vereda> obtenerUbicaciones(Collection<Long> idsLote) throws SQLException {
+		Map<Long, Vereda> ubicaciones = new HashMap<>();
+		List<Long> ids = new ArrayList<>(idsLote);
+		for (int desde = 0; desde < ids.size(); desde += MAX_IN) {
+			List<Long> bloque = ids.subList(desde, Math.min(ids.size(), desde + MAX_IN));
+			String marcadores = String.join(", ", Collections.nCopies(bloque.size(), "?"));
+			forEachWithParams(String.format(SQL_UBICACION, marcadores), bloque.toArray(), MAX_IN,
+				rs -> new AbstractMap.SimpleImmutableEntry<>(rs.getLong(1), mapUbicacion(rs)),
+				e -> ubicaciones.putIfAbsent(e.getKey(), e.getValue()));
+		}
+		return ubicaciones;
 	}
 	
 	public int actualizar(Lote lote) throws SQLException {
 		String sql = "UPDATE LOTE SET NUMERO_LOTE = ?, AREA_HECTAREAS = ? WHERE ID_LOTE = ?";
 		Object[] params = {lote.getId(), null, lote.getId()};
-		return executeUpdate(sql, params);
+		return executeEntityUpdate(TABLA, lote.getId(), sql, params);
 	}
 	
 	public int eliminar(long id) throws SQLException {
 		String sql = "DELETE FROM LOTE WHERE ID_LOTE = ?";
 		Object[] params = {id};
-		return executeUpdate(sql, params);
+		return executeEntityDelete(TABLA, id, sql, params);
+	}
+	
+	private Object[] insertParams(Lote lote) {
+		return new Object[] {null, lote.getId(), null};
+	}
+	
+	private static Vereda mapUbicacion(ResultSet rs) throws SQLException {
+		Municipio municipio = new Municipio();
+		municipio.setId(rs.getString(4));
+		municipio.setNombre(rs.getString(5));
+		Vereda vereda = new Vereda();
+		vereda.setId(rs.getString(2));
+		vereda.setNombre(rs.getString(3));
+		vereda.setMunicipio(municipio);
+		return vereda;
 	}
 	
 	private Lote mapLote(ResultSet rs) throws SQLException {
 		Lote lote = new Lote();
-		lote.setId(rs.getString("ID_LOTE"));
+		lote.setId(rs.getLong("ID_LOTE"));
 		return lote;
 	}
 }
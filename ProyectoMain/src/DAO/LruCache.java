@@ -0,0 +1,207 @@
+package DAO;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché en memoria acotada por tamaño (LRU) y por tiempo de vida (TTL).
+ * Cuando se supera la capacidad se descarta la entrada usada hace más tiempo, y
+ * las entradas cuyo TTL venció se tratan como ausentes. Registra aciertos, fallos
+ * y desalojos para medir su efectividad.
+ * 
+ * Es segura para uso concurrente; las lecturas y escrituras se sincronizan sobre
+ * la caché, y la carga desde la base de datos se hace fuera del bloqueo.
+ * 
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ * @param <K> Tipo de la clave
+ * @param <V> Tipo del valor
+ */
+public class LruCache<K, V> {
+	
+	/**
+	 * Carga el valor de una clave ausente, normalmente desde la base de datos.
+	 * 
+	 * @param <V> Tipo del valor
+	 */
+	@FunctionalInterface
+	public interface Loader<V> {
+		V load() throws SQLException;
+	}
+	
+	private final String name;
+	private final int capacity;
+	private final long ttlMillis;
+	private final LinkedHashMap<K, Entry<V>> entries;
+	
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	
+	/**
+	 * Constructor de la caché.
+	 * 
+	 * @param name Nombre para registros y estadísticas
+	 * @param capacity Número máximo de entradas
+	 * @param ttlMillis Tiempo de vida de cada entrada en milisegundos (0 = sin vencimiento)
+	 */
+	public LruCache(String name, int capacity, long ttlMillis) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("La capacidad de la caché debe ser mayor a cero");
+		}
+		this.name = name;
+		this.capacity = capacity;
+		this.ttlMillis = Math.max(0, ttlMillis);
+		this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				if (size() > LruCache.this.capacity) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+	
+	/**
+	 * Obtiene el valor de una clave si está en la caché y no ha vencido.
+	 * 
+	 * @param key Clave
+	 * @return Valor cacheado o null
+	 */
+	public V get(K key) {
+		synchronized (entries) {
+			Entry<V> entry = entries.get(key);
+			if (entry != null && !entry.isExpired()) {
+				hits.increment();
+				return entry.value;
+			}
+			if (entry != null) {
+				entries.remove(key);
+			}
+		}
+		misses.increment();
+		return null;
+	}
+	
+	/**
+	 * Obtiene el valor de una clave; si no está, lo carga y lo guarda.
+	 * Los valores null no se cachean.
+	 * 
+	 * @param key Clave
+	 * @param loader Carga el valor ausente
+	 * @return Valor cacheado o cargado
+	 * @throws SQLException Si la carga falla
+	 */
+	public V get(K key, Loader<V> loader) throws SQLException {
+		V value = get(key);
+		if (value == null) {
+			value = loader.load();
+			if (value != null) {
+				put(key, value);
+			}
+		}
+		return value;
+	}
+	
+	/**
+	 * Guarda un valor en la caché.
+	 * 
+	 * @param key Clave
+	 * @param value Valor (no puede ser null)
+	 */
+	public void put(K key, V value) {
+		if (value == null) {
+			throw new IllegalArgumentException("No se pueden cachear valores null");
+		}
+		long expira = ttlMillis == 0 ? Long.MAX_VALUE : System.currentTimeMillis() + ttlMillis;
+		synchronized (entries) {
+			entries.put(key, new Entry<>(value, expira));
+		}
+	}
+	
+	/**
+	 * Descarta el valor de una clave.
+	 * 
+	 * @param key Clave
+	 */
+	public void remove(K key) {
+		synchronized (entries) {
+			entries.remove(key);
+		}
+	}
+	
+	/**
+	 * Descarta todas las entradas.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+	
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+	
+	public String getName() {
+		return name;
+	}
+	
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	public long getHits() {
+		return hits.sum();
+	}
+	
+	public long getMisses() {
+		return misses.sum();
+	}
+	
+	public long getEvictions() {
+		return evictions.sum();
+	}
+	
+	/**
+	 * Obtiene la proporción de aciertos de la caché.
+	 * 
+	 * @return Valor entre 0 y 1
+	 */
+	public double getHitRatio() {
+		long h = hits.sum();
+		long total = h + misses.sum();
+		return total == 0 ? 0.0 : (double) h / total;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("LruCache [%s entradas=%d/%d aciertos=%d fallos=%d desalojos=%d ratio=%.2f]",
+			name, size(), capacity, getHits(), getMisses(), getEvictions(), getHitRatio());
+	}
+	
+	private static final class Entry<V> {
+		private final V value;
+		private final long expiresAt;
+		
+		Entry(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+		
+		boolean isExpired() {
+			return System.currentTimeMillis() > expiresAt;
+		}
+	}
+}
@@ -3,6 +3,7 @@ package DAO;
 import BaseDatos.DBConnection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import model.LugarProduccion;
 
@@ -18,6 +19,16 @@ import model.LugarProduccion;
  */
 public class LugarProduccionDAO extends DAOBase<LugarProduccion> {
 	
+	private static final String TABLA = "LUGAR_PRODUCCION";
+	private static final String COLUMNA_ID = "ID_LUGAR_PRODUCCION";
+	
+	/**
+	 * Columnas que lee mapLugar.
+	 */
+	private static final Proyeccion COLUMNAS = Proyeccion.de("ID_LUGAR_PRODUCCION");
+	
+	private static final String SQL_SELECT = "SELECT " + COLUMNAS + " FROM " + TABLA;
+	
 	public LugarProduccionDAO() {
 		super();
 	}
@@ -30,30 +41,100 @@ public class LugarProduccionDAO extends DAOBase<LugarProduccion> {
 		String sql = "INSERT INTO LUGAR_PRODUCCION (ID_PREDIO, NOMBRE, TIPO_CULTIVO) " +
 					 "VALUES (?, ?, ?)";
 		Object[] params = {null, lugar.getId(), "GENERAL"};
-		return executeInsertWithGeneratedKey(sql, params);
+		return executeInsertWithGeneratedKey(sql, params, COLUMNA_ID);
 	}
 	
 	public LugarProduccion obtenerPorId(long id) throws SQLException {
-		String sql = "SELECT * FROM LUGAR_PRODUCCION WHERE ID_LUGAR_PRODUCCION = ?";
-		Object[] params = {id};
-		return findOneWithParams(sql, params, this::mapLugar);
+		return findById(TABLA, id, SQL_SELECT, COLUMNA_ID, this::mapLugar);
 	}
 	
 	public List<LugarProduccion> obtenerTodos() throws SQLException {
-		String sql = "SELECT * FROM LUGAR_PRODUCCION";
-		return findMany(sql, this::mapLugar);
+		return findWhere(SQL_SELECT, null, null, this::mapLugar);
+	}
+	
+	/**
+	 * Obtiene una página de lugares de producción usando paginación por clave.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de lugares de producción
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public Pagina<LugarProduccion> obtenerPagina(ConsultaPagina consulta) throws SQLException {
+		return findPage(TABLA, COLUMNA_ID, null, consulta, COLUMNAS, this::mapLugar);
+	}
+	
+	/**
+	 * Cuenta los lugares de producción que cumplen los filtros de la consulta.
+	 * 
+	 * @param consulta Filtros a aplicar
+	 * @return Número total de registros
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public long contar(ConsultaPagina consulta) throws SQLException {
+		return countRows(TABLA, null, consulta);
+	}
+	
+	/**
+	 * Restringe los lugares de producción al alcance de la sesión por su ID.
+	 */
+	@Override
+	protected String condicionAlcance(AlcanceDatos alcance, List<Object> params) {
+		return alcance.condicion("ID_LUGAR_PRODUCCION", params);
+	}
+	
+	/**
+	 * Obtiene los IDs de los lugares de producción a cargo de un asistente técnico.
+	 * 
+	 * @param idAsistente ID del asistente técnico
+	 * @return IDs de los lugares de producción
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	public List<Long> obtenerIdsPorAsistente(long idAsistente) throws SQLException {
+		return obtenerIds("SELECT ID_LUGAR_PRODUCCION FROM LUGAR_PRODUCCION WHERE ID_ASISTENTE_TECNICO = ?", idAsistente);
+	}
+	
+	/**
+	 * Obtiene los IDs de los lugares de producción de un productor.
+	 * 
+	 * @param idProductor ID del productor
+	 * @return IDs de los lugares de producción
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	public List<Long> obtenerIdsPorProductor(long idProductor) throws SQLException {
+		return obtenerIds("SELECT ID_LUGAR_PRODUCCION FROM LUGAR_PRODUCCION WHERE ID_PRODUCTOR = ?", idProductor);
+	}
+	
+	/**
+	 * Obtiene los IDs de los lugares de producción ubicados en los predios de un propietario.
+	 * 
+	 * @param idPropietario ID del propietario
+	 * @return IDs de los lugares de producción
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	public List<Long> obtenerIdsPorPropietario(long idPropietario) throws SQLException {
+		return obtenerIds("SELECT DISTINCT ID_LUGAR_PRODUCCION FROM PREDIO " +
+			"WHERE ID_PROPIETARIO = ? AND ID_LUGAR_PRODUCCION IS NOT NULL", idPropietario);
 	}
 	
 	public int actualizar(LugarProduccion lugar) throws SQLException {
 		String sql = "UPDATE LUGAR_PRODUCCION SET TIPO_CULTIVO = ? WHERE ID_LUGAR_PRODUCCION = ?";
 		Object[] params = {"GENERAL", lugar.getId()};
-		return executeUpdate(sql, params);
+		return executeEntityUpdate(TABLA, lugar.getId(), sql, params);
 	}
 	
 	public int eliminar(long id) throws SQLException {
 		String sql = "DELETE FROM LUGAR_PRODUCCION WHERE ID_LUGAR_PRODUCCION = ?";
 		Object[] params = {id};
-		return executeUpdate(sql, params);
+		return executeEntityDelete(TABLA, id, sql, params);
+	}
+	
+	private List<Long> obtenerIds(String sql, long id) throws SQLException {
+		List<Long> ids = new ArrayList<>();
+		Object[] params = {id};
+		forEachWithParams(sql, params, DEFAULT_FETCH_SIZE, rs -> rs.getLong(1), ids::add);
+		return ids;
 	}
 	
 	private LugarProduccion mapLugar(ResultSet rs) throws SQLException {
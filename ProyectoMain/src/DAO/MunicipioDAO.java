@@ -18,6 +18,16 @@ import model.Municipio;
  */
 public class MunicipioDAO extends DAOBase<Municipio> {
 	
+	private static final String TABLA = "MUNICIPIO";
+	private static final String COLUMNA_ID = "ID_MUNICIPIO";
+	
+	/**
+	 * Columnas que lee mapMunicipio.
+	 */
+	private static final Proyeccion COLUMNAS = Proyeccion.de("ID_MUNICIPIO", "NOMBRE");
+	
+	private static final String SQL_SELECT = "SELECT " + COLUMNAS + " FROM " + TABLA;
+	
 	public MunicipioDAO() {
 		super();
 	}
@@ -30,30 +40,51 @@ public class MunicipioDAO extends DAOBase<Municipio> {
 		String sql = "INSERT INTO MUNICIPIO (ID_DEPARTAMENTO, NOMBRE, CODIGO) " +
 					 "VALUES (?, ?, ?)";
 		Object[] params = {null, municipio.getNombre(), municipio.getId()};
-		return executeInsertWithGeneratedKey(sql, params);
+		return executeInsertWithGeneratedKey(sql, params, COLUMNA_ID);
 	}
 	
 	public Municipio obtenerPorId(long id) throws SQLException {
-		String sql = "SELECT * FROM MUNICIPIO WHERE ID_MUNICIPIO = ?";
-		Object[] params = {id};
-		return findOneWithParams(sql, params, this::mapMunicipio);
+		return findById(TABLA, id, SQL_SELECT, COLUMNA_ID, this::mapMunicipio);
 	}
 	
 	public List<Municipio> obtenerTodos() throws SQLException {
-		String sql = "SELECT * FROM MUNICIPIO";
-		return findMany(sql, this::mapMunicipio);
+		return findWhere(SQL_SELECT, null, null, this::mapMunicipio);
+	}
+	
+	/**
+	 * Obtiene una página de municipios usando paginación por clave.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de municipios
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public Pagina<Municipio> obtenerPagina(ConsultaPagina consulta) throws SQLException {
+		return findPage(TABLA, COLUMNA_ID, null, consulta, COLUMNAS, this::mapMunicipio);
+	}
+	
+	/**
+	 * Cuenta los municipios que cumplen los filtros de la consulta.
+	 * 
+	 * @param consulta Filtros a aplicar
+	 * @return Número total de registros
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public long contar(ConsultaPagina consulta) throws SQLException {
+		return countRows(TABLA, null, consulta);
 	}
 	
 	public int actualizar(Municipio municipio) throws SQLException {
 		String sql = "UPDATE MUNICIPIO SET NOMBRE = ? WHERE ID_MUNICIPIO = ?";
 		Object[] params = {municipio.getNombre(), municipio.getId()};
-		return executeUpdate(sql, params);
+		return executeEntityUpdate(TABLA, municipio.getId(), sql, params);
 	}
 	
 	public int eliminar(long id) throws SQLException {
 		String sql = "DELETE FROM MUNICIPIO WHERE ID_MUNICIPIO = ?";
 		Object[] params = {id};
-		return executeUpdate(sql, params);
+		return executeEntityDelete(TABLA, id, sql, params);
 	}
 	
 	private Municipio mapMunicipio(ResultSet rs) throws SQLException {
@@ -0,0 +1,78 @@
+package DAO;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Página de resultados de una consulta paginada por clave.
+ * Contiene los registros de la página y, si hay más, la consulta
+ * para obtener la página siguiente.
+ * 
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ * @param <T> Tipo de entidad de la página
+ */
+public class Pagina<T> {
+	
+	private final List<T> elementos;
+	private final ConsultaPagina consulta;
+	private final ConsultaPagina siguiente;
+	
+	Pagina(List<T> elementos, ConsultaPagina consulta, ConsultaPagina siguiente) {
+		this.elementos = Collections.unmodifiableList(elementos);
+		this.consulta = consulta;
+		this.siguiente = siguiente;
+	}
+	
+	/**
+	 * Obtiene los registros de la página.
+	 * 
+	 * @return Lista no modificable de registros
+	 */
+	public List<T> getElementos() {
+		return elementos;
+	}
+	
+	public int getTamano() {
+		return elementos.size();
+	}
+	
+	public boolean isVacia() {
+		return elementos.isEmpty();
+	}
+	
+	/**
+	 * Obtiene la consulta con la que se generó esta página.
+	 * 
+	 * @return Consulta de la página
+	 */
+	public ConsultaPagina getConsulta() {
+		return consulta;
+	}
+	
+	/**
+	 * Indica si existen registros después de esta página.
+	 * 
+	 * @return true si hay página siguiente
+	 */
+	public boolean hayMas() {
+		return siguiente != null;
+	}
+	
+	/**
+	 * Obtiene la consulta de la página siguiente, posicionada después del último registro.
+	 * 
+	 * @return Consulta siguiente, o null si esta es la última página
+	 */
+	public ConsultaPagina getSiguiente() {
+		return siguiente;
+	}
+	
+	@Override
+	public String toString() {
+		return "Pagina [registros=" + elementos.size() + ", hayMas=" + hayMas() + "]";
+	}
+}
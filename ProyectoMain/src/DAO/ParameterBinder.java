@@ -0,0 +1,175 @@
+package DAO;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * Asigna los parámetros de una sentencia preparada en orden, con un método por tipo:
+ * <pre>
+ * findOneWithBinder(sql, b -&gt; b.bindLong(idCultivo).bindString(estado), this::mapInspeccion);
+ * </pre>
+ * A diferencia de setParameters(pstmt, Object[]), los valores primitivos no se convierten
+ * en objetos, no se arma un arreglo por consulta y no se recorre la cadena de instanceof.
+ * DAOBase reutiliza una instancia por hilo. La lambda que asigna los valores sí se crea
+ * en cada llamada cuando captura los parámetros de la consulta (como en el ejemplo).
+ *
+ * Los null se asignan con setNull y el tipo SQL del método usado (por ejemplo
+ * bindLong((Long) null) usa Types.BIGINT). El driver de Oracle rechaza setObject(i, null)
+ * porque no puede deducir el tipo; los null sin tipo de bindObject se asignan como
+ * VARCHAR, que Oracle acepta para columnas de cualquier tipo.
+ *
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ */
+public final class ParameterBinder {
+
+	/**
+	 * Tipo SQL con el que se asignan los null sin tipo conocido.
+	 */
+	static final int UNTYPED_NULL = Types.VARCHAR;
+
+	private PreparedStatement pstmt;
+	private int index;
+
+	ParameterBinder() {
+	}
+
+	/**
+	 * Prepara el asignador para una sentencia, empezando por el primer parámetro.
+	 */
+	ParameterBinder on(PreparedStatement pstmt) {
+		this.pstmt = pstmt;
+		this.index = 0;
+		return this;
+	}
+
+	/**
+	 * Suelta la sentencia para no retenerla después de usarla.
+	 */
+	void release() {
+		this.pstmt = null;
+	}
+
+	public ParameterBinder bindLong(long value) throws SQLException {
+		pstmt.setLong(++index, value);
+		return this;
+	}
+
+	public ParameterBinder bindLong(Long value) throws SQLException {
+		if (value == null) {
+			return bindNull(Types.BIGINT);
+		}
+		return bindLong(value.longValue());
+	}
+
+	public ParameterBinder bindInt(int value) throws SQLException {
+		pstmt.setInt(++index, value);
+		return this;
+	}
+
+	public ParameterBinder bindInt(Integer value) throws SQLException {
+		if (value == null) {
+			return bindNull(Types.INTEGER);
+		}
+		return bindInt(value.intValue());
+	}
+
+	public ParameterBinder bindDouble(double value) throws SQLException {
+		pstmt.setDouble(++index, value);
+		return this;
+	}
+
+	public ParameterBinder bindDouble(Double value) throws SQLException {
+		if (value == null) {
+			return bindNull(Types.DOUBLE);
+		}
+		return bindDouble(value.doubleValue());
+	}
+
+	/**
+	 * Asigna un booleano como 1 o 0, igual que setParameters.
+	 */
+	public ParameterBinder bindBoolean(boolean value) throws SQLException {
+		return bindInt(value ? 1 : 0);
+	}
+
+	public ParameterBinder bindBoolean(Boolean value) throws SQLException {
+		if (value == null) {
+			return bindNull(Types.INTEGER);
+		}
+		return bindBoolean(value.booleanValue());
+	}
+
+	public ParameterBinder bindString(String value) throws SQLException {
+		if (value == null) {
+			return bindNull(Types.VARCHAR);
+		}
+		pstmt.setString(++index, value);
+		return this;
+	}
+
+	public ParameterBinder bindDate(Date value) throws SQLException {
+		if (value == null) {
+			return bindNull(Types.DATE);
+		}
+		pstmt.setDate(++index, value);
+		return this;
+	}
+
+	public ParameterBinder bindTimestamp(Timestamp value) throws SQLException {
+		if (value == null) {
+			return bindNull(Types.TIMESTAMP);
+		}
+		pstmt.setTimestamp(++index, value);
+		return this;
+	}
+
+	/**
+	 * Asigna NULL al siguiente parámetro.
+	 *
+	 * @param sqlType Tipo SQL de la columna (java.sql.Types)
+	 */
+	public ParameterBinder bindNull(int sqlType) throws SQLException {
+		pstmt.setNull(++index, sqlType);
+		return this;
+	}
+
+	/**
+	 * Asigna un valor según su tipo en tiempo de ejecución. Es el camino de
+	 * setParameters(pstmt, Object[]); los null se asignan como UNTYPED_NULL.
+	 */
+	public ParameterBinder bindObject(Object value) throws SQLException {
+		if (value == null) {
+			return bindNull(UNTYPED_NULL);
+		} else if (value instanceof String) {
+			return bindString((String) value);
+		} else if (value instanceof Integer) {
+			return bindInt(((Integer) value).intValue());
+		} else if (value instanceof Long) {
+			return bindLong(((Long) value).longValue());
+		} else if (value instanceof Double) {
+			return bindDouble(((Double) value).doubleValue());
+		} else if (value instanceof Date) {
+			return bindDate((Date) value);
+		} else if (value instanceof Timestamp) {
+			return bindTimestamp((Timestamp) value);
+		} else if (value instanceof Boolean) {
+			return bindBoolean(((Boolean) value).booleanValue());
+		}
+		pstmt.setObject(++index, value);
+		return this;
+	}
+
+	/**
+	 * @return Número de parámetros asignados
+	 */
+	public int getCount() {
+		return index;
+	}
+}
@@ -18,6 +18,16 @@ import model.Plaga;
  */
 public class PlagaDAO extends DAOBase<Plaga> {
 	
+	private static final String TABLA = "PLAGA";
+	private static final String COLUMNA_ID = "ID_PLAGA";
+	
+	/**
+	 * Columnas que lee mapPlaga.
+	 */
+	private static final Proyeccion COLUMNAS = Proyeccion.de("ID_PLAGA");
+	
+	private static final String SQL_SELECT = "SELECT " + COLUMNAS + " FROM " + TABLA;
+	
 	public PlagaDAO() {
 		super();
 	}
@@ -30,30 +40,51 @@ public class PlagaDAO extends DAOBase<Plaga> {
 		String sql = "INSERT INTO PLAGA (NOMBRE_COMUN, NOMBRE_CIENTIFICO, DESCRIPCION, NIVEL_PELIGROSIDAD) " +
 					 "VALUES (?, ?, ?, ?)";
 		Object[] params = {plaga.getNombreComun(), plaga.getNombreCientifico(), plaga.getDescripcion(), "MEDIA"};
-		return executeInsertWithGeneratedKey(sql, params);
+		return executeInsertWithGeneratedKey(sql, params, COLUMNA_ID);
 	}
 	
 	public Plaga obtenerPorId(long id) throws SQLException {
-		String sql = "SELECT * FROM PLAGA WHERE ID_PLAGA = ?";
-		Object[] params = {id};
-		return findOneWithParams(sql, params, this::mapPlaga);
+		return findById(TABLA, id, SQL_SELECT, COLUMNA_ID, this::mapPlaga);
 	}
 	
 	public List<Plaga> obtenerTodos() throws SQLException {
-		String sql = "SELECT * FROM PLAGA";
-		return findMany(sql, this::mapPlaga);
+		return findWhere(SQL_SELECT, null, null, this::mapPlaga);
+	}
+	
+	/**
+	 * Obtiene una página de plagas usando paginación por clave.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de plagas
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public Pagina<Plaga> obtenerPagina(ConsultaPagina consulta) throws SQLException {
+		return findPage(TABLA, COLUMNA_ID, null, consulta, COLUMNAS, this::mapPlaga);
+	}
+	
+	/**
+	 * Cuenta las plagas que cumplen los filtros de la consulta.
+	 * 
+	 * @param consulta Filtros a aplicar
+	 * @return Número total de registros
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public long contar(ConsultaPagina consulta) throws SQLException {
+		return countRows(TABLA, null, consulta);
 	}
 	
 	public int actualizar(Plaga plaga) throws SQLException {
 		String sql = "UPDATE PLAGA SET NOMBRE_COMUN = ?, DESCRIPCION = ? WHERE ID_PLAGA = ?";
 		Object[] params = {plaga.getNombreComun(), plaga.getDescripcion(), plaga.getId()};
-		return executeUpdate(sql, params);
+		return executeEntityUpdate(TABLA, plaga.getId(), sql, params);
 	}
 	
 	public int eliminar(long id) throws SQLException {
 		String sql = "DELETE FROM PLAGA WHERE ID_PLAGA = ?";
 		Object[] params = {id};
-		return executeUpdate(sql, params);
+		return executeEntityDelete(TABLA, id, sql, params);
 	}
 	
 	private Plaga mapPlaga(ResultSet rs) throws SQLException {
@@ -18,6 +18,27 @@ import model.Predio;
  */
 public class PredioDAO extends DAOBase<Predio> {
 	
+	private static final String TABLA = "PREDIO";
+	private static final String COLUMNA_ID = "ID_PREDIO";
+	
+	/**
+	 * Columnas que lee mapPredio.
+	 */
+	private static final Proyeccion COLUMNAS = Proyeccion.de("ID_PREDIO", "NUMERO_PREDIAL", "DIRECCION", "AREA_HECTAREAS");
+	
+	private static final String SQL_SELECT = "SELECT " + COLUMNAS + " FROM " + TABLA;
+	
+	/**
+	 * Columnas que lee mapResumen, para los listados.
+	 */
+	private static final Proyeccion RESUMEN = Proyeccion.de("ID_PREDIO", "NUMERO_PREDIAL");
+	
+	/**
+	 * Mapper de obtenerPorId, creado una sola vez para que la búsqueda por ID no
+	 * cree una referencia a método en cada llamada.
+	 */
+	private final ResultSetMapper<Predio> porId = this::mapPredio;
+	
 	public PredioDAO() {
 		super();
 	}
@@ -30,38 +51,85 @@ public class PredioDAO extends DAOBase<Predio> {
 		String sql = "INSERT INTO PREDIO (ID_PROPIETARIO, ID_VEREDA, NUMERO_PREDIAL, DIRECCION, AREA_HECTAREAS) " +
 					 "VALUES (?, ?, ?, ?, ?)";
 		Object[] params = {null, null, predio.getNumeroPredial(), predio.getDireccion(), predio.getArea()};
-		return executeInsertWithGeneratedKey(sql, params);
+		return executeInsertWithGeneratedKey(sql, params, COLUMNA_ID);
 	}
 	
 	public Predio obtenerPorId(long id) throws SQLException {
-		String sql = "SELECT * FROM PREDIO WHERE ID_PREDIO = ?";
-		Object[] params = {id};
-		return findOneWithParams(sql, params, this::mapPredio);
+		return findById(TABLA, id, SQL_SELECT, COLUMNA_ID, porId);
 	}
 	
 	public List<Predio> obtenerTodos() throws SQLException {
-		String sql = "SELECT * FROM PREDIO";
-		return findMany(sql, this::mapPredio);
+		return findWhere(SQL_SELECT, null, null, this::mapPredio);
+	}
+	
+	/**
+	 * Obtiene una página de predios usando paginación por clave.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de predios
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public Pagina<Predio> obtenerPagina(ConsultaPagina consulta) throws SQLException {
+		return findPage(TABLA, COLUMNA_ID, null, consulta, COLUMNAS, this::mapPredio);
+	}
+	
+	/**
+	 * Obtiene una página de predios con solo ID y número predial, para listados.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de predios resumidos
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	public Pagina<Predio> obtenerPaginaResumen(ConsultaPagina consulta) throws SQLException {
+		return findPage(TABLA, COLUMNA_ID, null, consulta, RESUMEN, this::mapResumen);
+	}
+	
+	/**
+	 * Cuenta los predios que cumplen los filtros de la consulta.
+	 * 
+	 * @param consulta Filtros a aplicar
+	 * @return Número total de registros
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public long contar(ConsultaPagina consulta) throws SQLException {
+		return countRows(TABLA, null, consulta);
+	}
+	
+	/**
+	 * Restringe los predios al alcance de la sesión por su lugar de producción.
+	 */
+	@Override
+	protected String condicionAlcance(AlcanceDatos alcance, List<Object> params) {
+		return alcance.condicion("ID_LUGAR_PRODUCCION", params);
 	}
 	
 	public int actualizar(Predio predio) throws SQLException {
 		String sql = "UPDATE PREDIO SET NUMERO_PREDIAL = ?, DIRECCION = ?, AREA_HECTAREAS = ? WHERE ID_PREDIO = ?";
 		Object[] params = {predio.getNumeroPredial(), predio.getDireccion(), predio.getArea(), predio.getId()};
-		return executeUpdate(sql, params);
+		return executeEntityUpdate(TABLA, predio.getId(), sql, params);
 	}
 	
 	public int eliminar(long id) throws SQLException {
 		String sql = "DELETE FROM PREDIO WHERE ID_PREDIO = ?";
 		Object[] params = {id};
-		return executeUpdate(sql, params);
+		return executeEntityDelete(TABLA, id, sql, params);
 	}
 	
 	private Predio mapPredio(ResultSet rs) throws SQLException {
 		Predio predio = new Predio();
-		predio.setId(rs.getString("ID_PREDIO"));
+		predio.setId(rs.getLong("ID_PREDIO"));
 		predio.setNumeroPredial(rs.getString("NUMERO_PREDIAL"));
 		predio.setDireccion(rs.getString("DIRECCION"));
 		predio.setArea(rs.getFloat("AREA_HECTAREAS"));
 		return predio;
 	}
+	
+	private Predio mapResumen(ResultSet rs) throws SQLException {
+		Predio predio = new Predio();
+		predio.setId(rs.getLong("ID_PREDIO"));
+		predio.setNumeroPredial(rs.getString("NUMERO_PREDIAL"));
+		return predio;
+	}
 }
@@ -21,9 +21,25 @@ import model.Productor;
  */
 public class ProductorDAO extends DAOBase<Productor> {
 	
+	private static final String TABLA = "PRODUCTOR";
+	private static final String COLUMNA_ID = "ID_PRODUCTOR";
+	
+	/**
+	 * Columnas que lee mapProductor.
+	 */
+	private static final Proyeccion COLUMNAS = Proyeccion.de("ID_PRODUCTOR");
+	
+	private static final String SQL_SELECT = "SELECT " + COLUMNAS + " FROM " + TABLA;
+	
 	/**
 	 * Constructor por defecto.
 	 */
+	/**
+	 * Mapper de obtenerPorId, creado una sola vez para que la búsqueda por ID no
+	 * cree una referencia a método en cada llamada.
+	 */
+	private final ResultSetMapper<Productor> porId = this::mapProductor;
+	
 	public ProductorDAO() {
 		super();
 	}
@@ -53,7 +69,7 @@ public class ProductorDAO extends DAOBase<Productor> {
 			productor.getLugaresProduccion() != null ? productor.getLugaresProduccion().getId() : null
 		};
 		
-		return executeInsertWithGeneratedKey(sql, params);
+		return executeInsertWithGeneratedKey(sql, params, COLUMNA_ID);
 	}
 	
 	/**
@@ -64,10 +80,7 @@ public class ProductorDAO extends DAOBase<Productor> {
 	 * @throws SQLException Si hay error en la operación
 	 */
 	public Productor obtenerPorId(long id) throws SQLException {
-		String sql = "SELECT * FROM PRODUCTOR WHERE ID_PRODUCTOR = ?";
-		Object[] params = {id};
-		
-		return findOneWithParams(sql, params, this::mapProductor);
+		return findById(TABLA, id, SQL_SELECT, COLUMNA_ID, porId);
 	}
 	
 	/**
@@ -77,8 +90,31 @@ public class ProductorDAO extends DAOBase<Productor> {
 	 * @throws SQLException Si hay error en la operación
 	 */
 	public List<Productor> obtenerTodos() throws SQLException {
-		String sql = "SELECT * FROM PRODUCTOR";
-		return findMany(sql, this::mapProductor);
+		return findWhere(SQL_SELECT, null, null, this::mapProductor);
+	}
+	
+	/**
+	 * Obtiene una página de productores usando paginación por clave.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de productores
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public Pagina<Productor> obtenerPagina(ConsultaPagina consulta) throws SQLException {
+		return findPage(TABLA, COLUMNA_ID, null, consulta, COLUMNAS, this::mapProductor);
+	}
+	
+	/**
+	 * Cuenta los productores que cumplen los filtros de la consulta.
+	 * 
+	 * @param consulta Filtros a aplicar
+	 * @return Número total de registros
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public long contar(ConsultaPagina consulta) throws SQLException {
+		return countRows(TABLA, null, consulta);
 	}
 	
 	/**
@@ -96,7 +132,7 @@ public class ProductorDAO extends DAOBase<Productor> {
 			productor.getId()
 		};
 		
-		return executeUpdate(sql, params);
+		return executeEntityUpdate(TABLA, productor.getId(), sql, params);
 	}
 	
 	/**
@@ -110,7 +146,7 @@ public class ProductorDAO extends DAOBase<Productor> {
 		String sql = "DELETE FROM PRODUCTOR WHERE ID_PRODUCTOR = ?";
 		Object[] params = {id};
 		
-		return executeUpdate(sql, params);
+		return executeEntityDelete(TABLA, id, sql, params);
 	}
 	
 	/**
@@ -122,7 +158,7 @@ public class ProductorDAO extends DAOBase<Productor> {
 	 */
 	private Productor mapProductor(ResultSet rs) throws SQLException {
 		Productor productor = new Productor();
-		productor.setId(rs.getString("ID_PRODUCTOR"));
+		productor.setId(rs.getLong("ID_PRODUCTOR"));
 		// Nota: ID_USUARIO y ID_LUGAR_PRODUCCION se cargarían mediante joins si fuera necesario
 		return productor;
 	}
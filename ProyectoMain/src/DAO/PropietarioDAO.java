@@ -18,6 +18,16 @@ import model.Propietario;
  */
 public class PropietarioDAO extends DAOBase<Propietario> {
 	
+	private static final String TABLA = "PROPIETARIO";
+	private static final String COLUMNA_ID = "ID_PROPIETARIO";
+	
+	/**
+	 * Columnas que lee mapPropietario.
+	 */
+	private static final Proyeccion COLUMNAS = Proyeccion.de("ID_PROPIETARIO");
+	
+	private static final String SQL_SELECT = "SELECT " + COLUMNAS + " FROM " + TABLA;
+	
 	public PropietarioDAO() {
 		super();
 	}
@@ -35,19 +45,39 @@ public class PropietarioDAO extends DAOBase<Propietario> {
 			null
 		};
 		
-		return executeInsertWithGeneratedKey(sql, params);
+		return executeInsertWithGeneratedKey(sql, params, COLUMNA_ID);
 	}
 	
 	public Propietario obtenerPorId(long id) throws SQLException {
-		String sql = "SELECT * FROM PROPIETARIO WHERE ID_PROPIETARIO = ?";
-		Object[] params = {id};
-		
-		return findOneWithParams(sql, params, this::mapPropietario);
+		return findById(TABLA, id, SQL_SELECT, COLUMNA_ID, this::mapPropietario);
 	}
 	
 	public List<Propietario> obtenerTodos() throws SQLException {
-		String sql = "SELECT * FROM PROPIETARIO WHERE ACTIVO = 1";
-		return findMany(sql, this::mapPropietario);
+		return findWhere(SQL_SELECT, "ACTIVO = 1", null, this::mapPropietario);
+	}
+	
+	/**
+	 * Obtiene una página de propietarios activos usando paginación por clave.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de propietarios activos
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public Pagina<Propietario> obtenerPagina(ConsultaPagina consulta) throws SQLException {
+		return findPage(TABLA, COLUMNA_ID, "ACTIVO = 1", consulta, COLUMNAS, this::mapPropietario);
+	}
+	
+	/**
+	 * Cuenta los propietarios activos que cumplen los filtros de la consulta.
+	 * 
+	 * @param consulta Filtros a aplicar
+	 * @return Número total de registros
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public long contar(ConsultaPagina consulta) throws SQLException {
+		return countRows(TABLA, "ACTIVO = 1", consulta);
 	}
 	
 	public int actualizar(Propietario propietario) throws SQLException {
@@ -58,14 +88,14 @@ public class PropietarioDAO extends DAOBase<Propietario> {
 			propietario.getId()
 		};
 		
-		return executeUpdate(sql, params);
+		return executeEntityUpdate(TABLA, propietario.getId(), sql, params);
 	}
 	
 	public int eliminarLogico(long id) throws SQLException {
 		String sql = "UPDATE PROPIETARIO SET ACTIVO = 0 WHERE ID_PROPIETARIO = ?";
 		Object[] params = {id};
 		
-		return executeUpdate(sql, params);
+		return executeEntityDelete(TABLA, id, sql, params);
 	}
 	
 	private Propietario mapPropietario(ResultSet rs) throws SQLException {
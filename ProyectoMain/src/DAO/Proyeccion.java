@@ -0,0 +1,86 @@
+package DAO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lista de columnas que lee una consulta, en lugar de SELECT *.
+ * Cada DAO declara la proyección completa (las columnas que usa su mapper) y,
+ * cuando conviene, una proyección resumida para los listados; así no se transfieren
+ * ni decodifican columnas que nadie lee.
+ *
+ * Los nombres se validan como identificadores SQL simples (igual que en ConsultaPagina)
+ * y la lista SQL se arma una sola vez. Es inmutable y puede compartirse entre hilos.
+ *
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ */
+public final class Proyeccion {
+
+	private final List<String> columnas;
+	private final String sql;
+
+	private Proyeccion(List<String> columnas) {
+		this.columnas = Collections.unmodifiableList(columnas);
+		this.sql = String.join(", ", columnas);
+	}
+
+	/**
+	 * Crea una proyección con las columnas indicadas.
+	 *
+	 * @param columnas Nombres de las columnas, en el orden del SELECT
+	 * @return Proyección
+	 */
+	public static Proyeccion de(String... columnas) {
+		if (columnas.length == 0) {
+			throw new IllegalArgumentException("La proyección debe tener al menos una columna");
+		}
+		List<String> lista = new ArrayList<>(columnas.length);
+		for (String columna : columnas) {
+			String nombre = ConsultaPagina.validarColumna(columna);
+			if (!lista.contains(nombre)) {
+				lista.add(nombre);
+			}
+		}
+		return new Proyeccion(lista);
+	}
+
+	/**
+	 * Retorna esta proyección con las columnas indicadas agregadas al final, si faltan.
+	 *
+	 * @param extra Columnas requeridas (los null se ignoran)
+	 * @return Esta misma proyección si ya las incluye, o una nueva
+	 */
+	public Proyeccion con(String... extra) {
+		List<String> lista = null;
+		for (String columna : extra) {
+			if (columna == null || columnas.contains(columna.toUpperCase())) {
+				continue;
+			}
+			if (lista == null) {
+				lista = new ArrayList<>(columnas);
+			}
+			String nombre = ConsultaPagina.validarColumna(columna);
+			if (!lista.contains(nombre)) {
+				lista.add(nombre);
+			}
+		}
+		return lista == null ? this : new Proyeccion(lista);
+	}
+
+	public List<String> getColumnas() {
+		return columnas;
+	}
+
+	/**
+	 * Lista de columnas para el SELECT, como "ID_LOTE, NOMBRE".
+	 */
+	@Override
+	public String toString() {
+		return sql;
+	}
+}
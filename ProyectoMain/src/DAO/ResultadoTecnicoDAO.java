@@ -3,13 +3,28 @@ package DAO;
 import BaseDatos.DBConnection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
 import model.ResultadoTecnico;
 
 /**
  * DAO para la entidad ResultadoTecnico.
  * Gestiona operaciones CRUD sobre la tabla RESULTADO_TECNICO.
  * 
+ * Cada alta y baja actualiza el acumulado semanal de infestación del lote y la plaga
+ * (ESTADISTICA_INFESTACION) en la misma transacción que la fila: si el acumulado no
+ * puede actualizarse, el resultado tampoco se registra ni se elimina.
+ * 
+ * Los resultados guardados se notifican a los GuardadoListener registrados (por ejemplo,
+ * el pipeline de alertas). La notificación ocurre en el hilo que inserta, por lo que los
+ * listeners deben limitarse a encolar el trabajo; dentro de una Transaccion se hace al
+ * confirmarla y se omite si se deshace.
+ * 
  * @version 2.1
  * @author Isabella Vargas
  * @author Ricardo Viancha
@@ -18,43 +33,216 @@ import model.ResultadoTecnico;
  */
 public class ResultadoTecnicoDAO extends DAOBase<ResultadoTecnico> {
 	
+	private static final Logger LOGGER = Logger.getLogger(ResultadoTecnicoDAO.class.getName());
+	
+	private static final String TABLA = "RESULTADO_TECNICO";
+	private static final String COLUMNA_ID = "ID_RESULTADO";
+	
+	/**
+	 * Columnas que lee mapResultado.
+	 */
+	private static final Proyeccion COLUMNAS = Proyeccion.de("ID_RESULTADO");
+	
+	private static final String SQL_TODOS = "SELECT " + COLUMNAS + " FROM " + TABLA;
+	
+	private static final String SQL_INSERT =
+		"INSERT INTO RESULTADO_TECNICO (ID_INSPECCION, ID_LOTE, ID_PLAGA, PLANTAS_EVALUADAS, PLANTAS_AFECTADAS, " +
+		"OBSERVACIONES, NIVEL_INFESTACION) VALUES (?, ?, ?, ?, ?, ?, ?)";
+	
+	private static final List<GuardadoListener> LISTENERS = new CopyOnWriteArrayList<>();
+	
+	private final EstadisticaInfestacionDAO estadisticas;
+	
 	public ResultadoTecnicoDAO() {
 		super();
+		this.estadisticas = new EstadisticaInfestacionDAO(dbConnection);
 	}
 	
 	public ResultadoTecnicoDAO(DBConnection dbConnection) {
 		super(dbConnection);
+		this.estadisticas = new EstadisticaInfestacionDAO(dbConnection);
 	}
 	
+	/**
+	 * Inserta un resultado técnico y lo suma a su acumulado de infestación en una sola
+	 * transacción (o en la transacción activa, si hay una).
+	 * 
+	 * @param resultado El resultado técnico a insertar
+	 * @return ID generado
+	 * @throws SQLException Si hay error (no se inserta el resultado ni cambia el acumulado)
+	 */
 	public long crear(ResultadoTecnico resultado) throws SQLException {
-		String sql = "INSERT INTO RESULTADO_TECNICO (ID_INSPECCION, ID_PLAGA, NIVEL_INFESTACION, RECOMENDACIONES) " +
-					 "VALUES (?, ?, ?, ?)";
-		Object[] params = {null, null, "BAJO", resultado.getId()};
-		return executeInsertWithGeneratedKey(sql, params);
+		Object[] params = insertParams(resultado);
+		long id = inTransaction(() -> {
+			long generado = executeInsertWithGeneratedKey(SQL_INSERT, params, COLUMNA_ID);
+			estadisticas.acumular(generado);
+			return generado;
+		});
+		resultado.setId(String.valueOf(id));
+		notificar(Collections.singletonList(resultado));
+		return id;
+	}
+	
+	/**
+	 * Inserta los resultados técnicos en una sola transacción usando JDBC batch y los suma
+	 * a sus acumulados de infestación en la misma transacción. Si el driver no retorna un ID
+	 * por fila, la inserción falla y no se registra ningún resultado.
+	 * 
+	 * @param resultados Los resultados técnicos a insertar
+	 * @return Resultado de la operación por lotes con los IDs generados y métricas de rendimiento
+	 * @throws SQLException Si hay error en la operación (no se inserta ninguna fila ni cambia ningún acumulado)
+	 */
+	public BatchResult crearTodos(List<ResultadoTecnico> resultados) throws SQLException {
+		List<Object[]> params = new ArrayList<>(resultados.size());
+		for (ResultadoTecnico item : resultados) {
+			params.add(insertParams(item));
+		}
+		BatchResult resultado = inTransaction(() -> {
+			BatchResult insertados = executeBatchWithGeneratedKeys(SQL_INSERT, params, DEFAULT_BATCH_SIZE, COLUMNA_ID);
+			estadisticas.acumularTodos(insertados.getGeneratedKeys());
+			return insertados;
+		});
+		long[] ids = resultado.getGeneratedKeys();
+		for (int i = 0; i < ids.length; i++) {
+			resultados.get(i).setId(String.valueOf(ids[i]));
+		}
+		notificar(resultados);
+		return resultado;
 	}
 	
 	public ResultadoTecnico obtenerPorId(long id) throws SQLException {
-		String sql = "SELECT * FROM RESULTADO_TECNICO WHERE ID_RESULTADO = ?";
-		Object[] params = {id};
-		return findOneWithParams(sql, params, this::mapResultado);
+		return findById(TABLA, id, SQL_TODOS, COLUMNA_ID, this::mapResultado);
 	}
 	
 	public List<ResultadoTecnico> obtenerTodos() throws SQLException {
-		String sql = "SELECT * FROM RESULTADO_TECNICO";
-		return findMany(sql, this::mapResultado);
+		return findWhere(SQL_TODOS, null, null, this::mapResultado);
+	}
+	
+	/**
+	 * Obtiene una página de resultados técnicos usando paginación por clave.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de resultados técnicos
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public Pagina<ResultadoTecnico> obtenerPagina(ConsultaPagina consulta) throws SQLException {
+		return findPage(TABLA, COLUMNA_ID, null, consulta, COLUMNAS, this::mapResultado);
+	}
+	
+	/**
+	 * Cuenta los resultados técnicos que cumplen los filtros de la consulta.
+	 * 
+	 * @param consulta Filtros a aplicar
+	 * @return Número total de registros
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public long contar(ConsultaPagina consulta) throws SQLException {
+		return countRows(TABLA, null, consulta);
+	}
+	
+	/**
+	 * Restringe los resultados técnicos al alcance de la sesión por el lugar de producción de su lote.
+	 */
+	@Override
+	protected String condicionAlcance(AlcanceDatos alcance, List<Object> params) {
+		return "ID_LOTE IN (SELECT ID_LOTE FROM LOTE WHERE " + alcance.condicion("ID_LUGAR_PRODUCCION", params) + ")";
+	}
+	
+	/**
+	 * Recorre todos los resultados técnicos sin cargarlos completos en memoria.
+	 * El Stream mantiene una conexión prestada hasta agotarse o cerrarse,
+	 * por lo que debe usarse con try-with-resources.
+	 * 
+	 * @return Stream de resultados técnicos mapeados bajo demanda
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	public Stream<ResultadoTecnico> streamTodos() throws SQLException {
+		List<Object> params = new ArrayList<>();
+		String sql = scopedSql(SQL_TODOS, null, params);
+		return streamWithParams(sql, params.toArray(), DEFAULT_FETCH_SIZE, this::mapResultado);
+	}
+	
+	/**
+	 * Procesa todos los resultados técnicos uno a uno a medida que se leen de la base de datos.
+	 * 
+	 * @param callback Procesa cada registro
+	 * @return Número de registros procesados
+	 * @throws SQLException Si hay error en la consulta o en el callback
+	 */
+	public int recorrerTodos(RowCallback<ResultadoTecnico> callback) throws SQLException {
+		List<Object> params = new ArrayList<>();
+		String sql = scopedSql(SQL_TODOS, null, params);
+		return forEachWithParams(sql, params.toArray(), DEFAULT_FETCH_SIZE, this::mapResultado, callback);
 	}
 	
 	public int actualizar(ResultadoTecnico resultado) throws SQLException {
 		String sql = "UPDATE RESULTADO_TECNICO SET NIVEL_INFESTACION = ?, RECOMENDACIONES = ? " +
 					 "WHERE ID_RESULTADO = ?";
 		Object[] params = {"BAJO", resultado.getId(), resultado.getId()};
-		return executeUpdate(sql, params);
+		return executeEntityUpdate(TABLA, resultado.getId(), sql, params);
 	}
 	
+	/**
+	 * Elimina un resultado técnico y lo descuenta de su acumulado de infestación en una sola
+	 * transacción (o en la transacción activa, si hay una). El descuento se hace antes del
+	 * borrado porque se calcula a partir de la fila.
+	 * 
+	 * @param id ID del resultado técnico
+	 * @return Número de filas eliminadas
+	 * @throws SQLException Si hay error (no se elimina el resultado ni cambia el acumulado)
+	 */
 	public int eliminar(long id) throws SQLException {
 		String sql = "DELETE FROM RESULTADO_TECNICO WHERE ID_RESULTADO = ?";
 		Object[] params = {id};
-		return executeUpdate(sql, params);
+		return inTransaction(() -> {
+			estadisticas.descontar(id);
+			return executeEntityDelete(TABLA, id, sql, params);
+		});
+	}
+	
+	/**
+	 * Registra un listener de resultados guardados (para todas las instancias del DAO).
+	 */
+	public static void agregarListener(GuardadoListener listener) {
+		LISTENERS.add(listener);
+	}
+	
+	public static void quitarListener(GuardadoListener listener) {
+		LISTENERS.remove(listener);
+	}
+	
+	private static void notificar(List<ResultadoTecnico> resultados) {
+		if (!LISTENERS.isEmpty()) {
+			Transaccion.alConfirmar(() -> avisar(resultados));
+		}
+	}
+	
+	private static void avisar(List<ResultadoTecnico> resultados) {
+		for (GuardadoListener listener : LISTENERS) {
+			try {
+				listener.resultadosGuardados(resultados);
+			} catch (RuntimeException e) {
+				LOGGER.log(Level.WARNING, "Error notificando resultados guardados a " + listener, e);
+			}
+		}
+	}
+	
+	private Object[] insertParams(ResultadoTecnico resultado) {
+		return new Object[] {
+			resultado.getInspeccionFitosanitaria() != null ? idDe(resultado.getInspeccionFitosanitaria().getId()) : null,
+			resultado.getLote() != null ? idDe(resultado.getLote().getId()) : null,
+			resultado.getPlaga() != null ? idDe(resultado.getPlaga().getId()) : null,
+			resultado.getTotalPlantasEvaluadas(),
+			resultado.getPlantasAfectadas(),
+			resultado.getObservaciones(),
+			resultado.getTotalPlantasEvaluadas() > 0 ? resultado.getNivelAlerta() : null
+		};
+	}
+	
+	private static Long idDe(String id) {
+		return id == null || id.trim().isEmpty() ? null : Long.valueOf(id.trim());
 	}
 	
 	private ResultadoTecnico mapResultado(ResultSet rs) throws SQLException {
@@ -62,4 +250,18 @@ public class ResultadoTecnicoDAO extends DAOBase<ResultadoTecnico> {
 		resultado.setId(rs.getString("ID_RESULTADO"));
 		return resultado;
 	}
+	
+	/**
+	 * Recibe los resultados técnicos después de insertarlos.
+	 */
+	@FunctionalInterface
+	public interface GuardadoListener {
+		/**
+		 * Se invoca en el hilo que insertó, una vez por crear o crearTodos.
+		 * No debe bloquear ni modificar los resultados.
+		 * 
+		 * @param resultados Resultados insertados, con su ID asignado
+		 */
+		void resultadosGuardados(List<ResultadoTecnico> resultados);
+	}
 }
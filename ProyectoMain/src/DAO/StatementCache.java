@@ -0,0 +1,281 @@
+package DAO;
+
+import BaseDatos.ConnectionListener;
+import BaseDatos.ConnectionPool;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Caché LRU de sentencias preparadas por conexión física, indexada por el texto SQL.
+ *
+ * DAOBase obtiene sus PreparedStatement a través de esta caché, de modo que las
+ * consultas constantes de cada DAO (login, listados de inspecciones, búsquedas por ID)
+ * se preparan una sola vez por conexión en lugar de en cada llamada.
+ *
+ * Una sentencia se "presta" mientras se usa: si dos usos concurrentes piden el mismo SQL
+ * sobre la misma conexión, el segundo prepara una sentencia nueva. Al liberarla, sus
+ * parámetros se limpian y vuelve a la caché; si ya hay otra copia, se cierra.
+ *
+ * Las sentencias se preparan a través de la conexión recibida (la prestada por el pool),
+ * de modo que un error de conexión al prepararlas o ejecutarlas marca la conexión como
+ * rota igual que sin caché; la caché se indexa por la conexión física.
+ *
+ * La caché de una conexión se conserva mientras la conexión física vive en el pool y
+ * se descarta (cerrando sus sentencias) cuando el pool cierra la conexión. Las cachés de
+ * conexiones sin pool (Conexion o -Dbd.pool.habilitado=false) se descartan cuando su
+ * conexión ya está cerrada al crear la caché de otra conexión. El tamaño por conexión se
+ * configura con -Dbd.cache.sentencias (0 deshabilita la caché).
+ *
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ */
+public final class StatementCache {
+
+	private static final Logger LOGGER = Logger.getLogger(StatementCache.class.getName());
+
+	/**
+	 * Propiedad de sistema con el número máximo de sentencias por conexión.
+	 */
+	public static final String CAPACITY_PROPERTY = "bd.cache.sentencias";
+
+	private static final int CAPACITY = Integer.getInteger(CAPACITY_PROPERTY, 64);
+	private static final String GENERATED_KEYS_SUFFIX = "\u0000#keys:";
+
+	private static final Map<Connection, StatementCache> CACHES = new ConcurrentHashMap<>();
+	private static final LongAdder HITS = new LongAdder();
+	private static final LongAdder MISSES = new LongAdder();
+	private static final LongAdder EVICTIONS = new LongAdder();
+
+	static {
+		ConnectionPool.addConnectionListener(new ConnectionListener() {
+			@Override
+			public void connectionReturned(Connection physical) {
+				StatementCache cache = CACHES.get(physical);
+				if (cache != null) {
+					cache.closeLeaked();
+				}
+			}
+
+			@Override
+			public void connectionDiscarded(Connection physical) {
+				StatementCache cache = CACHES.remove(physical);
+				if (cache != null) {
+					cache.closeAll();
+				}
+			}
+		});
+	}
+
+	private final LinkedHashMap<String, PreparedStatement> cached;
+	private final Map<PreparedStatement, String> inUse = new IdentityHashMap<>();
+
+	private StatementCache() {
+		this.cached = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+				if (size() > CAPACITY) {
+					EVICTIONS.increment();
+					closeQuietly(eldest.getValue());
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Obtiene una sentencia preparada para el SQL indicado, reutilizando la de la caché si existe.
+	 *
+	 * @param conn Conexión (puede ser la conexión prestada por el pool)
+	 * @param sql Consulta SQL
+	 * @param keyColumn Columna cuyo valor generado debe retornar la sentencia, o null
+	 * @return Sentencia preparada lista para asignar parámetros
+	 * @throws SQLException Si hay error al preparar la sentencia
+	 */
+	static PreparedStatement prepare(Connection conn, String sql, String keyColumn) throws SQLException {
+		if (CAPACITY <= 0) {
+			return newStatement(conn, sql, keyColumn);
+		}
+		Connection physical = unwrap(conn);
+		StatementCache cache = CACHES.get(physical);
+		if (cache == null) {
+			discardClosed();
+			cache = CACHES.computeIfAbsent(physical, c -> new StatementCache());
+		}
+		return cache.checkout(conn, keyColumn != null ? sql + GENERATED_KEYS_SUFFIX + keyColumn : sql, sql, keyColumn);
+	}
+
+	/**
+	 * Devuelve una sentencia a la caché de su conexión.
+	 *
+	 * @param pstmt Sentencia a liberar
+	 * @return true si la sentencia pertenecía a la caché (no debe cerrarse), false en caso contrario
+	 */
+	static boolean release(PreparedStatement pstmt) {
+		if (pstmt == null || CAPACITY <= 0) {
+			return false;
+		}
+		try {
+			StatementCache cache = CACHES.get(pstmt.getConnection());
+			return cache != null && cache.checkin(pstmt);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Obtiene el número de sentencias reutilizadas desde la caché.
+	 *
+	 * @return Aciertos acumulados
+	 */
+	public static long getHits() {
+		return HITS.sum();
+	}
+
+	/**
+	 * Obtiene el número de sentencias que tuvieron que prepararse.
+	 *
+	 * @return Fallos acumulados
+	 */
+	public static long getMisses() {
+		return MISSES.sum();
+	}
+
+	/**
+	 * Obtiene el número de sentencias cerradas por exceder la capacidad de la caché.
+	 *
+	 * @return Desalojos acumulados
+	 */
+	public static long getEvictions() {
+		return EVICTIONS.sum();
+	}
+
+	/**
+	 * Obtiene la proporción de aciertos de la caché.
+	 *
+	 * @return Valor entre 0 y 1
+	 */
+	public static double getHitRatio() {
+		long hits = HITS.sum();
+		long total = hits + MISSES.sum();
+		return total == 0 ? 0.0 : (double) hits / total;
+	}
+
+	private static Connection unwrap(Connection conn) throws SQLException {
+		return conn.isWrapperFor(Connection.class) ? conn.unwrap(Connection.class) : conn;
+	}
+
+	/**
+	 * Descarta las cachés de las conexiones que ya están cerradas. Las del pool se descartan
+	 * al cerrarlas el pool; esto cubre las conexiones sin pool, que nadie notifica.
+	 */
+	private static void discardClosed() {
+		for (Iterator<Map.Entry<Connection, StatementCache>> it = CACHES.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<Connection, StatementCache> entry = it.next();
+			if (isClosed(entry.getKey())) {
+				it.remove();
+				entry.getValue().closeAll();
+			}
+		}
+	}
+
+	private static boolean isClosed(Connection physical) {
+		try {
+			return physical.isClosed();
+		} catch (SQLException e) {
+			return true;
+		}
+	}
+
+	private synchronized PreparedStatement checkout(Connection conn, String key, String sql,
+			String keyColumn) throws SQLException {
+		PreparedStatement pstmt = cached.remove(key);
+		if (pstmt != null && !pstmt.isClosed()) {
+			HITS.increment();
+		} else {
+			MISSES.increment();
+			pstmt = newStatement(conn, sql, keyColumn);
+		}
+		inUse.put(pstmt, key);
+		return pstmt;
+	}
+
+	/**
+	 * Prepara la sentencia pidiendo la columna generada por nombre: con
+	 * Statement.RETURN_GENERATED_KEYS el driver de Oracle retorna el ROWID de la fila.
+	 */
+	private static PreparedStatement newStatement(Connection conn, String sql, String keyColumn)
+			throws SQLException {
+		return keyColumn != null
+			? conn.prepareStatement(sql, new String[] {keyColumn})
+			: conn.prepareStatement(sql);
+	}
+
+	private synchronized boolean checkin(PreparedStatement pstmt) {
+		String key = inUse.remove(pstmt);
+		if (key == null) {
+			return false;
+		}
+		try {
+			if (pstmt.isClosed()) {
+				return true;
+			}
+			pstmt.clearParameters();
+			pstmt.clearBatch();
+			if (cached.containsKey(key)) {
+				pstmt.close();
+			} else {
+				cached.put(key, pstmt);
+			}
+		} catch (SQLException e) {
+			LOGGER.log(Level.FINE, "Sentencia descartada de la caché", e);
+			closeQuietly(pstmt);
+		}
+		return true;
+	}
+
+	/**
+	 * Cierra las sentencias que no se liberaron antes de devolver la conexión al pool.
+	 */
+	private synchronized void closeLeaked() {
+		if (inUse.isEmpty()) {
+			return;
+		}
+		LOGGER.warning(inUse.size() + " sentencia(s) no liberadas al devolver la conexión; se cierran");
+		for (Iterator<PreparedStatement> it = inUse.keySet().iterator(); it.hasNext();) {
+			closeQuietly(it.next());
+			it.remove();
+		}
+	}
+
+	private synchronized void closeAll() {
+		for (PreparedStatement pstmt : cached.values()) {
+			closeQuietly(pstmt);
+		}
+		cached.clear();
+		inUse.clear();
+	}
+
+	private static void closeQuietly(Statement stmt) {
+		try {
+			stmt.close();
+		} catch (SQLException e) {
+			LOGGER.log(Level.FINE, "Error al cerrar sentencia de la caché", e);
+		}
+	}
+}
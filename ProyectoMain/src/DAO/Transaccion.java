@@ -0,0 +1,258 @@
+package DAO;
+
+import BaseDatos.DBConnection;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Transacción del hilo actual sobre una conexión compartida por todos los DAOs.
+ *
+ * Mientras un trabajo se ejecuta con ejecutar(...) (o DAOBase.inTransaction), los DAOs
+ * creados con la misma DBConnection toman la conexión de la transacción en lugar de
+ * una nueva: sus sentencias no se confirman una a una, sino con un solo commit al
+ * terminar el trabajo. Si el trabajo lanza una excepción se deshace todo.
+ *
+ * Un ejecutar(...) dentro de otro se une a la transacción externa; si el trabajo
+ * interno falla, la transacción queda marcada para deshacerse aunque el externo capture
+ * la excepción. Para deshacer solo una parte se usa ejecutarConSavepoint(...). Las
+ * operaciones por lotes de DAOBase también se unen a la transacción activa.
+ *
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ */
+public final class Transaccion {
+
+	private static final Logger LOGGER = Logger.getLogger(Transaccion.class.getName());
+
+	private static final ThreadLocal<Transaccion> ACTUAL = new ThreadLocal<>();
+
+	private static final LongAdder CONFIRMADAS = new LongAdder();
+	private static final LongAdder DESHECHAS = new LongAdder();
+
+	private final DBConnection origen;
+	private final Connection conexion;
+	private final List<Runnable> alConfirmar = new ArrayList<>();
+	private boolean soloDeshacer;
+
+	private Transaccion(DBConnection origen, Connection conexion) {
+		this.origen = origen;
+		this.conexion = conexion;
+	}
+
+	/**
+	 * Trabajo que se ejecuta dentro de una transacción.
+	 *
+	 * @param <R> Tipo del resultado
+	 */
+	@FunctionalInterface
+	public interface Trabajo<R> {
+		/**
+		 * @return Resultado del trabajo
+		 * @throws SQLException Si falla una sentencia (la transacción se deshace)
+		 */
+		R ejecutar() throws SQLException;
+	}
+
+	/**
+	 * Ejecuta un trabajo en una transacción sobre la conexión indicada, o lo une a la
+	 * transacción activa del hilo.
+	 *
+	 * @param <R> Tipo del resultado
+	 * @param origen Conexión de los DAOs que participan
+	 * @param trabajo Trabajo a ejecutar
+	 * @return Resultado del trabajo
+	 * @throws SQLException Si falla el trabajo o el commit (la transacción se deshace), o si
+	 *         ya hay una transacción activa sobre otra conexión
+	 */
+	public static <R> R ejecutar(DBConnection origen, Trabajo<R> trabajo) throws SQLException {
+		Transaccion actual = ACTUAL.get();
+		if (actual != null) {
+			actual.verificarOrigen(origen);
+			try {
+				return trabajo.ejecutar();
+			} catch (SQLException | RuntimeException e) {
+				actual.soloDeshacer = true;
+				throw e;
+			}
+		}
+
+		Connection conn = origen.getConnection();
+		if (conn == null || conn.isClosed()) {
+			throw new SQLException("No hay conexión disponible a la base de datos");
+		}
+		boolean autoCommit = conn.getAutoCommit();
+		Transaccion tx = new Transaccion(origen, conn);
+		ACTUAL.set(tx);
+		try {
+			conn.setAutoCommit(false);
+			R resultado = trabajo.ejecutar();
+			if (tx.soloDeshacer) {
+				throw new SQLException("La transacción se marcó para deshacerse por un error en un trabajo interno");
+			}
+			conn.commit();
+			CONFIRMADAS.increment();
+			ACTUAL.remove();
+			for (Runnable accion : tx.alConfirmar) {
+				try {
+					accion.run();
+				} catch (RuntimeException e) {
+					LOGGER.log(Level.WARNING, "Error en una acción posterior al commit", e);
+				}
+			}
+			return resultado;
+		} catch (SQLException | RuntimeException e) {
+			tx.deshacer();
+			throw e;
+		} finally {
+			ACTUAL.remove();
+			try {
+				conn.setAutoCommit(autoCommit);
+			} catch (SQLException e) {
+				LOGGER.log(Level.WARNING, "Error al restablecer autocommit", e);
+			}
+			try {
+				conn.close();
+			} catch (SQLException e) {
+				LOGGER.log(Level.WARNING, "Error al cerrar la conexión de la transacción", e);
+			}
+		}
+	}
+
+	/**
+	 * Ejecuta un trabajo dentro de la transacción activa protegido por un savepoint: si
+	 * falla, se deshacen solo sus cambios y la transacción externa puede continuar. Sin
+	 * transacción activa equivale a ejecutar(origen, trabajo).
+	 *
+	 * @param <R> Tipo del resultado
+	 * @param origen Conexión de los DAOs que participan
+	 * @param trabajo Trabajo a ejecutar
+	 * @return Resultado del trabajo
+	 * @throws SQLException Si falla el trabajo (sus cambios se deshacen)
+	 */
+	public static <R> R ejecutarConSavepoint(DBConnection origen, Trabajo<R> trabajo) throws SQLException {
+		Transaccion actual = ACTUAL.get();
+		if (actual == null) {
+			return ejecutar(origen, trabajo);
+		}
+		actual.verificarOrigen(origen);
+		Savepoint savepoint = actual.conexion.setSavepoint();
+		boolean soloDeshacer = actual.soloDeshacer;
+		int acciones = actual.alConfirmar.size();
+		try {
+			R resultado = trabajo.ejecutar();
+			liberar(actual.conexion, savepoint);
+			return resultado;
+		} catch (SQLException | RuntimeException e) {
+			actual.conexion.rollback(savepoint);
+			actual.soloDeshacer = soloDeshacer;
+			actual.alConfirmar.subList(acciones, actual.alConfirmar.size()).clear();
+			DAOBase.invalidateCountCache();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return Transacción activa en el hilo actual, o null si no hay
+	 */
+	public static Transaccion getActual() {
+		return ACTUAL.get();
+	}
+
+	/**
+	 * Ejecuta una acción cuando se confirme la transacción activa o, si no hay, de
+	 * inmediato. Si la transacción se deshace la acción se descarta. Se usa para avisar
+	 * a otros componentes solo de cambios que quedaron guardados.
+	 *
+	 * @param accion Acción a ejecutar
+	 */
+	public static void alConfirmar(Runnable accion) {
+		Transaccion actual = ACTUAL.get();
+		if (actual == null) {
+			accion.run();
+		} else {
+			actual.alConfirmar.add(accion);
+		}
+	}
+
+	/**
+	 * Conexión de la transacción activa si pertenece al origen indicado.
+	 *
+	 * @param origen Conexión del DAO
+	 * @return Conexión de la transacción, o null si no hay una sobre ese origen
+	 */
+	static Connection conexionPara(DBConnection origen) {
+		Transaccion actual = ACTUAL.get();
+		return actual != null && actual.origen == origen ? actual.conexion : null;
+	}
+
+	/**
+	 * Indica si una conexión es la de la transacción activa: los DAOs no deben cerrarla,
+	 * confirmarla ni deshacerla.
+	 *
+	 * @param conn Conexión a verificar
+	 * @return true si la conexión pertenece a la transacción activa
+	 */
+	static boolean enCurso(Connection conn) {
+		Transaccion actual = ACTUAL.get();
+		return actual != null && actual.conexion == conn;
+	}
+
+	/**
+	 * Marca la transacción para deshacerse al terminar el trabajo externo.
+	 */
+	public void marcarSoloDeshacer() {
+		soloDeshacer = true;
+	}
+
+	public boolean isSoloDeshacer() {
+		return soloDeshacer;
+	}
+
+	/**
+	 * @return Transacciones confirmadas desde el inicio de la aplicación
+	 */
+	public static long getConfirmadas() {
+		return CONFIRMADAS.sum();
+	}
+
+	/**
+	 * @return Transacciones deshechas desde el inicio de la aplicación
+	 */
+	public static long getDeshechas() {
+		return DESHECHAS.sum();
+	}
+
+	private void verificarOrigen(DBConnection otro) throws SQLException {
+		if (otro != origen) {
+			throw new SQLException("Ya hay una transacción activa sobre otra conexión");
+		}
+	}
+
+	private void deshacer() {
+		DESHECHAS.increment();
+		try {
+			conexion.rollback();
+		} catch (SQLException e) {
+			LOGGER.log(Level.WARNING, "Error al deshacer la transacción", e);
+		}
+		DAOBase.invalidateCountCache();
+	}
+
+	private static void liberar(Connection conn, Savepoint savepoint) {
+		try {
+			conn.releaseSavepoint(savepoint);
+		} catch (SQLException e) {
+			// Oracle no implementa releaseSavepoint; el savepoint se libera con el commit
+			LOGGER.log(Level.FINE, "El driver no libera savepoints", e);
+		}
+	}
+}
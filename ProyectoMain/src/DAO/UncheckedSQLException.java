@@ -0,0 +1,37 @@
+package DAO;
+
+import java.sql.SQLException;
+
+/**
+ * Excepción no verificada que envuelve una SQLException ocurrida mientras se
+ * consume un Stream de resultados de DAOBase.
+ * 
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ */
+public class UncheckedSQLException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructor con la excepción SQL original.
+	 * 
+	 * @param cause Excepción SQL que causó el error
+	 */
+	public UncheckedSQLException(SQLException cause) {
+		super(cause.getMessage(), cause);
+	}
+
+	/**
+	 * Obtiene la excepción SQL original.
+	 * 
+	 * @return SQLException envuelta
+	 */
+	@Override
+	public synchronized SQLException getCause() {
+		return (SQLException) super.getCause();
+	}
+}
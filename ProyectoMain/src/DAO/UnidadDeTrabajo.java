@@ -0,0 +1,321 @@
+package DAO;
+
+import BaseDatos.DBConnection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Unidad de trabajo del hilo actual: agrupa las lecturas y escrituras de una carga de
+ * pantalla o de la generación de un reporte.
+ *
+ * Mientras está activa, los DAOs guardan en un mapa de identidad (por tipo de entidad y
+ * ID) los registros que leen con obtenerPorId, de modo que las búsquedas repetidas del
+ * mismo registro se atienden desde memoria y retornan la misma instancia. Las
+ * actualizaciones no se ejecutan de inmediato: se registran como pendientes (una por
+ * registro, la última gana), el DAO retorna 0 en lugar de las filas afectadas (getPendientes
+ * indica cuántas quedan por escribir) y confirmar() las envía agrupadas por sentencia con
+ * JDBC batch y un solo commit. Si un registro pendiente ya no existe, confirmar() falla y no
+ * escribe ninguno. Todas las actualizaciones pendientes deben ser de DAOs con la misma
+ * DBConnection, porque se confirman en una sola transacción; registrar una de otra
+ * conexión falla.
+ *
+ * Las demás escrituras (altas, bajas, lotes) se ejecutan de inmediato y antes envían las
+ * actualizaciones pendientes, para que la base de datos las reciba en el orden en que se
+ * hicieron. Una baja retira además el registro del mapa de identidad. Esas actualizaciones quedan escritas aunque la unidad no se confirme; para
+ * que todo se deshaga junto, la unidad debe usarse dentro de una Transaccion.
+ *
+ * Se usa con try-with-resources:
+ * <pre>
+ * try (UnidadDeTrabajo unidad = UnidadDeTrabajo.iniciar()) {
+ *     Predio predio = predioDAO.obtenerPorId(id);
+ *     ...
+ *     unidad.confirmar();
+ * }
+ * </pre>
+ * Si ya hay una unidad activa en el hilo, iniciar() la reutiliza y solo la unidad más
+ * externa escribe al confirmar. Lo que no se haya escrito se descarta al cerrar. No es segura
+ * entre hilos: cada hilo tiene la suya.
+ *
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ */
+public final class UnidadDeTrabajo implements AutoCloseable {
+
+	private static final Logger LOGGER = Logger.getLogger(UnidadDeTrabajo.class.getName());
+
+	private static final ThreadLocal<UnidadDeTrabajo> ACTUAL = new ThreadLocal<>();
+
+	/**
+	 * Registros leídos, por tipo de entidad (tabla) y ID. Las claves son long primitivos
+	 * para que una búsqueda en el mapa no cree objetos.
+	 */
+	private final Map<String, LongMap<Object>> identidades = new HashMap<>();
+
+	/**
+	 * Actualizaciones pendientes, por sentencia SQL.
+	 */
+	private final Map<String, Pendientes> pendientes = new LinkedHashMap<>();
+
+	/**
+	 * Acciones a ejecutar después de escribir las actualizaciones (invalidar cachés).
+	 */
+	private final List<Runnable> despuesDeEscribir = new ArrayList<>();
+
+	/**
+	 * Conexión de los DAOs con actualizaciones pendientes, o null si no hay ninguna.
+	 */
+	private DBConnection origen;
+
+	private int profundidad = 1;
+	private boolean escribiendo;
+	private long aciertos;
+	private long lecturas;
+
+	private UnidadDeTrabajo() {
+	}
+
+	/**
+	 * Inicia una unidad de trabajo en el hilo actual, o se une a la que ya está activa.
+	 *
+	 * @return Unidad de trabajo activa
+	 */
+	public static UnidadDeTrabajo iniciar() {
+		UnidadDeTrabajo unidad = ACTUAL.get();
+		if (unidad != null) {
+			unidad.profundidad++;
+			return unidad;
+		}
+		unidad = new UnidadDeTrabajo();
+		ACTUAL.set(unidad);
+		return unidad;
+	}
+
+	/**
+	 * @return Unidad de trabajo activa en el hilo actual, o null si no hay
+	 */
+	public static UnidadDeTrabajo getActual() {
+		return ACTUAL.get();
+	}
+
+	/**
+	 * Ejecuta una acción después de que se escriban las actualizaciones: si la unidad
+	 * activa tiene actualizaciones pendientes, cuando se envíen; si no (no hay unidad o la
+	 * escritura fue inmediata y ya envió las pendientes), al confirmar la transacción
+	 * activa o de inmediato (ver Transaccion.alConfirmar). La usan los DAOs con caché para
+	 * invalidar sus entradas cuando el cambio ya está en la base de datos.
+	 *
+	 * @param accion Acción a ejecutar
+	 */
+	static void despuesDeEscribir(Runnable accion) {
+		UnidadDeTrabajo unidad = ACTUAL.get();
+		if (unidad == null || unidad.pendientes.isEmpty()) {
+			Transaccion.alConfirmar(accion);
+		} else {
+			unidad.despuesDeEscribir.add(accion);
+		}
+	}
+
+	/**
+	 * Busca un registro en el mapa de identidad.
+	 *
+	 * @param tipo Tipo de entidad (tabla)
+	 * @param id ID del registro
+	 * @return Instancia leída antes en esta unidad, o null
+	 */
+	Object buscar(String tipo, long id) {
+		lecturas++;
+		LongMap<Object> porId = identidades.get(tipo);
+		Object entidad = porId != null ? porId.get(id) : null;
+		if (entidad != null) {
+			aciertos++;
+		}
+		return entidad;
+	}
+
+	/**
+	 * Guarda un registro leído en el mapa de identidad.
+	 *
+	 * @param tipo Tipo de entidad (tabla)
+	 * @param id ID del registro
+	 * @param entidad Instancia leída
+	 */
+	void registrar(String tipo, long id, Object entidad) {
+		identidades.computeIfAbsent(tipo, t -> new LongMap<>()).put(id, entidad);
+	}
+
+	/**
+	 * Retira un registro del mapa de identidad, para que una búsqueda posterior a su
+	 * baja no retorne la instancia leída antes.
+	 *
+	 * @param tipo Tipo de entidad (tabla)
+	 * @param id ID del registro
+	 */
+	void olvidar(String tipo, long id) {
+		LongMap<Object> porId = identidades.get(tipo);
+		if (porId != null) {
+			porId.remove(id);
+		}
+	}
+
+	/**
+	 * Registra la actualización de un registro para enviarla al confirmar. Si el mismo
+	 * registro ya tenía una actualización con la misma sentencia, se reemplaza.
+	 *
+	 * @param dao DAO que ejecuta la sentencia
+	 * @param tipo Tipo de entidad (tabla)
+	 * @param id ID del registro
+	 * @param sql Sentencia UPDATE
+	 * @param params Parámetros de la sentencia
+	 * @throws SQLException Si ya hay actualizaciones pendientes de un DAO con otra conexión
+	 */
+	void registrarModificacion(DAOBase<?> dao, String tipo, Object id, String sql, Object[] params)
+			throws SQLException {
+		if (origen == null) {
+			origen = dao.dbConnection;
+		} else if (origen != dao.dbConnection) {
+			throw new SQLException("La unidad de trabajo ya tiene actualizaciones pendientes sobre otra conexión");
+		}
+		pendientes.computeIfAbsent(sql, s -> new Pendientes(dao)).filas.put(tipo + ':' + id, params);
+	}
+
+	/**
+	 * Envía las actualizaciones pendientes, una operación por lotes por cada sentencia,
+	 * en una sola transacción (o en la transacción activa del hilo, si hay una).
+	 * En una unidad anidada no hace nada: escribe la unidad más externa.
+	 *
+	 * @return Número de filas afectadas
+	 * @throws SQLException Si falla una sentencia o un registro pendiente ya no existe; no
+	 *         se escribe ninguno y las actualizaciones siguen pendientes
+	 */
+	public int confirmar() throws SQLException {
+		if (profundidad > 1) {
+			return 0;
+		}
+		return escribirPendientes();
+	}
+
+	/**
+	 * Envía las actualizaciones pendientes sin importar el nivel de anidamiento. La usa
+	 * DAOBase antes de cada escritura inmediata.
+	 *
+	 * @return Número de filas afectadas
+	 * @throws SQLException Si falla una sentencia o un registro pendiente ya no existe
+	 */
+	int escribirPendientes() throws SQLException {
+		if (escribiendo) {
+			return 0;
+		}
+		int filas = 0;
+		if (!pendientes.isEmpty()) {
+			int registros = getPendientes();
+			escribiendo = true;
+			try {
+				filas = Transaccion.ejecutar(origen, () -> {
+					int afectadas = 0;
+					for (Map.Entry<String, Pendientes> entrada : pendientes.entrySet()) {
+						Map<String, Object[]> porRegistro = entrada.getValue().filas;
+						BatchResult resultado = entrada.getValue().dao.executeBatch(entrada.getKey(),
+							new ArrayList<>(porRegistro.values()), DAOBase.DEFAULT_BATCH_SIZE);
+						int fila = 0;
+						for (String registro : porRegistro.keySet()) {
+							if (resultado.getAffectedRows(fila++) == 0) {
+								throw new SQLException("No se actualizó el registro " + registro
+									+ ": no existe o fue eliminado");
+							}
+						}
+						afectadas += resultado.getAffectedRows();
+					}
+					return afectadas;
+				});
+			} finally {
+				escribiendo = false;
+			}
+			pendientes.clear();
+			origen = null;
+			LOGGER.fine("Unidad de trabajo: " + registros + " registros actualizados");
+		}
+		for (Runnable accion : despuesDeEscribir) {
+			Transaccion.alConfirmar(accion);
+		}
+		despuesDeEscribir.clear();
+		return filas;
+	}
+
+	/**
+	 * Descarta las actualizaciones pendientes sin escribirlas.
+	 */
+	public void descartar() {
+		pendientes.clear();
+		origen = null;
+		despuesDeEscribir.clear();
+	}
+
+	/**
+	 * @return Número de registros con actualizaciones pendientes
+	 */
+	public int getPendientes() {
+		int total = 0;
+		for (Pendientes p : pendientes.values()) {
+			total += p.filas.size();
+		}
+		return total;
+	}
+
+	/**
+	 * @return Búsquedas por ID atendidas desde el mapa de identidad
+	 */
+	public long getAciertos() {
+		return aciertos;
+	}
+
+	/**
+	 * @return Búsquedas por ID realizadas en esta unidad
+	 */
+	public long getLecturas() {
+		return lecturas;
+	}
+
+	/**
+	 * Termina la unidad (o el nivel anidado). Al cerrar la más externa se descartan las
+	 * actualizaciones no confirmadas y se libera el mapa de identidad.
+	 */
+	@Override
+	public void close() {
+		if (--profundidad > 0) {
+			return;
+		}
+		int sinConfirmar = getPendientes();
+		if (sinConfirmar > 0) {
+			LOGGER.warning("Unidad de trabajo cerrada con " + sinConfirmar + " actualizaciones sin confirmar");
+		}
+		descartar();
+		identidades.clear();
+		ACTUAL.remove();
+	}
+
+	@Override
+	public String toString() {
+		return "UnidadDeTrabajo [lecturas=" + lecturas + ", aciertos=" + aciertos + ", pendientes="
+			+ getPendientes() + "]";
+	}
+
+	/**
+	 * Actualizaciones pendientes de una sentencia, por registro.
+	 */
+	private static final class Pendientes {
+		private final DAOBase<?> dao;
+		private final Map<String, Object[]> filas = new LinkedHashMap<>();
+
+		Pendientes(DAOBase<?> dao) {
+			this.dao = dao;
+		}
+	}
+}
@@ -21,6 +21,22 @@ import model.Usuario;
  */
 public class UsuarioDAO extends DAOBase<Usuario> {
 	
+	private static final String TABLA = "USUARIO";
+	private static final String COLUMNA_ID = "ID_USUARIO";
+	
+	/**
+	 * Columnas que lee mapUsuario.
+	 */
+	private static final Proyeccion COLUMNAS = Proyeccion.de("ID_USUARIO", "NUMERO_IDENTIFICACION", "ROL", "NOMBRE",
+		"TELEFONO_CONTACTO", "CORREO_ELECTRONICO");
+	
+	private static final String SQL_SELECT = "SELECT " + COLUMNAS + " FROM " + TABLA;
+	
+	/**
+	 * Columnas que lee mapResumen, para los listados.
+	 */
+	private static final Proyeccion RESUMEN = Proyeccion.de("ID_USUARIO", "NOMBRE", "ROL");
+	
 	/**
 	 * Constructor por defecto.
 	 * Utiliza la conexión por defecto de la base de datos.
@@ -47,10 +63,7 @@ public class UsuarioDAO extends DAOBase<Usuario> {
 	 * @throws SQLException Si hay error en la operación
 	 */
 	public Usuario obtenerPorId(long id) throws SQLException {
-		String sql = "SELECT * FROM USUARIO WHERE ID_USUARIO = ?";
-		Object[] params = {id};
-		
-		return findOneWithParams(sql, params, this::mapUsuario);
+		return findById(TABLA, id, SQL_SELECT, COLUMNA_ID, this::mapUsuario);
 	}
 	
 	/**
@@ -61,10 +74,8 @@ public class UsuarioDAO extends DAOBase<Usuario> {
 	 * @throws SQLException Si hay error en la operación
 	 */
 	public Usuario obtenerPorEmail(String email) throws SQLException {
-		String sql = "SELECT * FROM USUARIO WHERE CORREO_ELECTRONICO = ?";
-		Object[] params = {email};
-		
-		return findOneWithParams(sql, params, this::mapUsuario);
+		String sql = "SELECT " + COLUMNAS + " FROM USUARIO WHERE CORREO_ELECTRONICO = ?";
+		return findOneWithBinder(sql, b -> b.bindString(email), this::mapUsuario);
 	}
 	
 	/**
@@ -75,10 +86,8 @@ public class UsuarioDAO extends DAOBase<Usuario> {
 	 * @throws SQLException Si hay error en la operación
 	 */
 	public Usuario obtenerPorCedula(String cedula) throws SQLException {
-		String sql = "SELECT * FROM USUARIO WHERE NUMERO_IDENTIFICACION = ?";
-		Object[] params = {cedula};
-		
-		return findOneWithParams(sql, params, this::mapUsuario);
+		String sql = "SELECT " + COLUMNAS + " FROM USUARIO WHERE NUMERO_IDENTIFICACION = ?";
+		return findOneWithBinder(sql, b -> b.bindString(cedula), this::mapUsuario);
 	}
 	
 	/**
@@ -88,8 +97,42 @@ public class UsuarioDAO extends DAOBase<Usuario> {
 	 * @throws SQLException Si hay error en la operación
 	 */
 	public List<Usuario> obtenerTodos() throws SQLException {
-		String sql = "SELECT * FROM USUARIO WHERE ACTIVO = 1";
-		return findMany(sql, this::mapUsuario);
+		return findWhere(SQL_SELECT, "ACTIVO = 1", null, this::mapUsuario);
+	}
+	
+	/**
+	 * Obtiene una página de usuarios activos usando paginación por clave.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de usuarios activos
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public Pagina<Usuario> obtenerPagina(ConsultaPagina consulta) throws SQLException {
+		return findPage(TABLA, COLUMNA_ID, "ACTIVO = 1", consulta, COLUMNAS, this::mapUsuario);
+	}
+	
+	/**
+	 * Obtiene una página de usuarios activos con solo ID, nombre y rol, para listados.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de usuarios activos (sin datos de contacto)
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	public Pagina<Usuario> obtenerPaginaResumen(ConsultaPagina consulta) throws SQLException {
+		return findPage(TABLA, COLUMNA_ID, "ACTIVO = 1", consulta, RESUMEN, this::mapResumen);
+	}
+	
+	/**
+	 * Cuenta los usuarios activos que cumplen los filtros de la consulta.
+	 * 
+	 * @param consulta Filtros a aplicar
+	 * @return Número total de registros
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public long contar(ConsultaPagina consulta) throws SQLException {
+		return countRows(TABLA, "ACTIVO = 1", consulta);
 	}
 	
 	/**
@@ -100,7 +143,7 @@ public class UsuarioDAO extends DAOBase<Usuario> {
 	 * @throws SQLException Si hay error en la operación
 	 */
 	public List<Usuario> obtenerPorRol(String rol) throws SQLException {
-		String sql = "SELECT * FROM USUARIO WHERE ROL = ? AND ACTIVO = 1";
+		String sql = "SELECT " + COLUMNAS + " FROM USUARIO WHERE ROL = ? AND ACTIVO = 1";
 		Object[] params = {rol};
 		
 		return findManyWithParams(sql, params, this::mapUsuario);
@@ -117,7 +160,7 @@ public class UsuarioDAO extends DAOBase<Usuario> {
 		String sql = "UPDATE USUARIO SET ACTIVO = 0 WHERE ID_USUARIO = ?";
 		Object[] params = {id};
 		
-		return executeUpdate(sql, params);
+		return executeEntityDelete(TABLA, id, sql, params);
 	}
 	
 	/**
@@ -133,17 +176,14 @@ public class UsuarioDAO extends DAOBase<Usuario> {
 	
 	/**
 	 * Mapea una fila del ResultSet a un objeto Usuario.
-	 * Nota: Como Usuario es abstracta, creamos una implementación concreta anónima.
+	 * Nota: Como Usuario es abstracta, se usa la implementación concreta UsuarioRegistrado.
 	 * 
 	 * @param rs ResultSet con la fila a mapear
 	 * @return Usuario mapeado (implementación concreta)
 	 * @throws SQLException Si hay error al acceder a los campos
 	 */
 	private Usuario mapUsuario(ResultSet rs) throws SQLException {
-		// Usuario es abstracta, creamos una implementación concreta anónima
-		Usuario usuario = new Usuario() {
-			// Clase anónima concreta de Usuario
-		};
+		Usuario usuario = new UsuarioRegistrado();
 		
 		usuario.setId(rs.getString("ID_USUARIO"));
 		usuario.setNumeroIdentificacion(rs.getString("NUMERO_IDENTIFICACION"));
@@ -154,5 +194,20 @@ public class UsuarioDAO extends DAOBase<Usuario> {
 		
 		return usuario;
 	}
+	
+	private Usuario mapResumen(ResultSet rs) throws SQLException {
+		Usuario usuario = new UsuarioRegistrado();
+		usuario.setId(rs.getString("ID_USUARIO"));
+		usuario.setNombre(rs.getString("NOMBRE"));
+		usuario.setRol(rs.getString("ROL"));
+		return usuario;
+	}
+	
+	/**
+	 * Implementación concreta de Usuario para los registros de la tabla USUARIO.
+	 * Es una clase estática (no anónima) para que los usuarios guardados en caché
+	 * no retengan una referencia al DAO que los cargó.
+	 */
+	static final class UsuarioRegistrado extends Usuario {
+	}
 }
-
@@ -3,6 +3,7 @@ package DAO;
 import BaseDatos.DBConnection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import model.Vereda;
 
@@ -18,6 +19,20 @@ import model.Vereda;
  */
 public class VeredaDAO extends DAOBase<Vereda> {
 	
+	private static final String TABLA = "VEREDA";
+	private static final String COLUMNA_ID = "ID_VEREDA";
+	
+	/**
+	 * Columnas que lee mapVereda.
+	 */
+	private static final Proyeccion COLUMNAS = Proyeccion.de("ID_VEREDA", "NOMBRE");
+	
+	private static final String SQL_SELECT = "SELECT " + COLUMNAS + " FROM " + TABLA;
+	
+	private static final String SQL_INSERT =
+		"INSERT INTO VEREDA (ID_MUNICIPIO, NOMBRE, CODIGO) " +
+		"VALUES (?, ?, ?)";
+	
 	public VeredaDAO() {
 		super();
 	}
@@ -27,33 +42,70 @@ public class VeredaDAO extends DAOBase<Vereda> {
 	}
 	
 	public long crear(Vereda vereda) throws SQLException {
-		String sql = "INSERT INTO VEREDA (ID_MUNICIPIO, NOMBRE, CODIGO) " +
-					 "VALUES (?, ?, ?)";
-		Object[] params = {null, vereda.getNombre(), vereda.getId()};
-		return executeInsertWithGeneratedKey(sql, params);
+		return executeInsertWithGeneratedKey(SQL_INSERT, insertParams(vereda), COLUMNA_ID);
+	}
+	
+	/**
+	 * Inserta las veredas en una sola transacción usando JDBC batch.
+	 * 
+	 * @param veredas Las veredas a insertar
+	 * @return Resultado de la operación por lotes con los IDs generados y métricas de rendimiento
+	 * @throws SQLException Si hay error en la operación (no se inserta ninguna fila)
+	 */
+	public BatchResult crearTodos(List<Vereda> veredas) throws SQLException {
+		List<Object[]> params = new ArrayList<>(veredas.size());
+		for (Vereda item : veredas) {
+			params.add(insertParams(item));
+		}
+		return executeBatchWithGeneratedKeys(SQL_INSERT, params, DEFAULT_BATCH_SIZE, COLUMNA_ID);
 	}
 	
 	public Vereda obtenerPorId(long id) throws SQLException {
-		String sql = "SELECT * FROM VEREDA WHERE ID_VEREDA = ?";
-		Object[] params = {id};
-		return findOneWithParams(sql, params, this::mapVereda);
+		return findById(TABLA, id, SQL_SELECT, COLUMNA_ID, this::mapVereda);
 	}
 	
 	public List<Vereda> obtenerTodos() throws SQLException {
-		String sql = "SELECT * FROM VEREDA";
-		return findMany(sql, this::mapVereda);
+		return findWhere(SQL_SELECT, null, null, this::mapVereda);
+	}
+	
+	/**
+	 * Obtiene una página de veredas usando paginación por clave.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la página
+	 * @return Página de veredas
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public Pagina<Vereda> obtenerPagina(ConsultaPagina consulta) throws SQLException {
+		return findPage(TABLA, COLUMNA_ID, null, consulta, COLUMNAS, this::mapVereda);
+	}
+	
+	/**
+	 * Cuenta las veredas que cumplen los filtros de la consulta.
+	 * 
+	 * @param consulta Filtros a aplicar
+	 * @return Número total de registros
+	 * @throws SQLException Si hay error al ejecutar la consulta
+	 */
+	@Override
+	public long contar(ConsultaPagina consulta) throws SQLException {
+		return countRows(TABLA, null, consulta);
 	}
 	
 	public int actualizar(Vereda vereda) throws SQLException {
 		String sql = "UPDATE VEREDA SET NOMBRE = ? WHERE ID_VEREDA = ?";
 		Object[] params = {vereda.getNombre(), vereda.getId()};
-		return executeUpdate(sql, params);
+		return executeEntityUpdate(TABLA, vereda.getId(), sql, params);
 	}
 	
 	public int eliminar(long id) throws SQLException {
 		String sql = "DELETE FROM VEREDA WHERE ID_VEREDA = ?";
 		Object[] params = {id};
-		return executeUpdate(sql, params);
+		return executeEntityDelete(TABLA, id, sql, params);
+	}
+	
+	private Object[] insertParams(Vereda vereda) {
+		return new Object[] {null, vereda.getNombre(), vereda.getId()};
 	}
 	
 	private Vereda mapVereda(ResultSet rs) throws SQLException {
@@ -0,0 +1,114 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Modela el acumulado de plantas evaluadas y afectadas de un lote por plaga en una semana.
+ * Los acumulados se mantienen de forma incremental a medida que se registran resultados técnicos,
+ * de modo que los tableros y reportes consultan el índice de infestación sin recorrer los resultados.
+ *
+ * Cuando representa un agregado de varios lotes (por ejemplo, por municipio), el lote es nulo.
+ */
+public class EstadisticaInfestacion {
+
+	private String idLote;
+
+	private String idPlaga;
+
+	private String idMunicipio;
+
+	/**
+	 * Lunes de la semana ISO a la que corresponde el acumulado.
+	 */
+	private LocalDate semana;
+
+	private long plantasEvaluadas;
+
+	private long plantasAfectadas;
+
+	/**
+	 * Número de resultados técnicos incluidos en el acumulado.
+	 */
+	private long numeroResultados;
+
+	public EstadisticaInfestacion() {
+
+	}
+
+	public String getIdLote() {
+		return this.idLote;
+	}
+
+	public void setIdLote(String pIdLote) {
+		this.idLote = pIdLote;
+	}
+
+	public String getIdPlaga() {
+		return this.idPlaga;
+	}
+
+	public void setIdPlaga(String pIdPlaga) {
+		this.idPlaga = pIdPlaga;
+	}
+
+	public String getIdMunicipio() {
+		return this.idMunicipio;
+	}
+
+	public void setIdMunicipio(String pIdMunicipio) {
+		this.idMunicipio = pIdMunicipio;
+	}
+
+	public LocalDate getSemana() {
+		return this.semana;
+	}
+
+	public void setSemana(LocalDate pSemana) {
+		this.semana = pSemana;
+	}
+
+	public long getPlantasEvaluadas() {
+		return this.plantasEvaluadas;
+	}
+
+	public void setPlantasEvaluadas(long pPlantasEvaluadas) {
+		this.plantasEvaluadas = pPlantasEvaluadas;
+	}
+
+	public long getPlantasAfectadas() {
+		return this.plantasAfectadas;
+	}
+
+	public void setPlantasAfectadas(long pPlantasAfectadas) {
+		this.plantasAfectadas = pPlantasAfectadas;
+	}
+
+	public long getNumeroResultados() {
+		return this.numeroResultados;
+	}
+
+	public void setNumeroResultados(long pNumeroResultados) {
+		this.numeroResultados = pNumeroResultados;
+	}
+
+	/**
+	 * Calcula el índice de infestación del acumulado (porcentaje de plantas afectadas).
+	 * Retorna 0 si no hay plantas evaluadas.
+	 */
+	public double getIndiceInfestacion() {
+		return this.plantasEvaluadas == 0 ? 0.0 : this.plantasAfectadas * 100.0 / this.plantasEvaluadas;
+	}
+
+	@Override
+	public String toString() {
+		return "EstadisticaInfestacion [lote=" + idLote + ", plaga=" + idPlaga + ", municipio=" + idMunicipio
+			+ ", semana=" + semana + ", evaluadas=" + plantasEvaluadas + ", afectadas=" + plantasAfectadas
+			+ ", resultados=" + numeroResultados + "]";
+	}
+}
@@ -0,0 +1,56 @@
+package model;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Conversión de los identificadores de las entidades entre su forma de texto y su
+ * valor numérico. Las entidades guardan el ID como long y solo arman el texto cuando
+ * se pide con getId(), de modo que las búsquedas y los mapas por ID no convierten el
+ * ID en cada operación.
+ */
+public final class Identificador {
+
+	/**
+	 * Valor de un ID sin asignar o que no es numérico.
+	 */
+	public static final long SIN_ASIGNAR = 0L;
+
+	private Identificador() {
+	}
+
+	/**
+	 * Convierte el texto de un ID en su valor numérico sin lanzar excepciones.
+	 *
+	 * @param texto ID como texto (se ignoran los espacios alrededor)
+	 * @return Valor del ID, o SIN_ASIGNAR si es null, vacío, no numérico o no cabe en un long
+	 */
+	public static long valor(String texto) {
+		if (texto == null) {
+			return SIN_ASIGNAR;
+		}
+		int inicio = 0;
+		int fin = texto.length();
+		while (inicio < fin && texto.charAt(inicio) <= ' ') {
+			inicio++;
+		}
+		while (fin > inicio && texto.charAt(fin - 1) <= ' ') {
+			fin--;
+		}
+		if (inicio == fin || fin - inicio > 18) {
+			return SIN_ASIGNAR;
+		}
+		long valor = 0;
+		for (int i = inicio; i < fin; i++) {
+			char c = texto.charAt(i);
+			if (c < '0' || c > '9') {
+				return SIN_ASIGNAR;
+			}
+			valor = valor * 10 + (c - '0');
+		}
+		return valor;
+	}
+}
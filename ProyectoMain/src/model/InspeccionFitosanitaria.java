@@ -1,5 +1,6 @@
 package model;
 
+import java.util.ArrayList;
 import java.util.Collection;
 
 /**
@@ -21,7 +22,12 @@ public class InspeccionFitosanitaria {
 	/**
 	 * Identificador único de la inspección fitosanitaria.
 	 */
-	private String id;
+	private long id;
+
+	/**
+	 * Texto del ID, armado al pedirlo con getId().
+	 */
+	private String idTexto;
 
 	/**
 	 * Fecha en la que se llevó a cabo la inspección, generalmente almacenada en formato estándar (por ejemplo, "2025-10-11").
@@ -48,10 +54,15 @@ public class InspeccionFitosanitaria {
 	 */
 	private String recomendaciones;
 
-	private Collection<ResultadoTecnico> resultadoTecnico;
+	private Collection<ResultadoTecnico> resultadoTecnico = new ArrayList<>();
 
 	private AsistenteTecnico asistenteTecnico;
 
+	/**
+	 * Cultivo inspeccionado.
+	 */
+	private Cultivo cultivo;
+
 	private LugarProduccion lugarProduccion;
 
 	/**
@@ -67,13 +78,32 @@ public class InspeccionFitosanitaria {
 	 * Asigna un identificador único a la inspección.
 	 */
 	public void setId(String pId) {
+		this.idTexto = pId;
+		this.id = Identificador.valor(pId);
+	}
+
+	/**
+	 * Asigna el identificador de la inspección a partir de su valor numérico.
+	 */
+	public void setId(long pId) {
 		this.id = pId;
+		this.idTexto = null;
 	}
 
 	/**
 	 * Devuelve el identificador actual de la inspección.
 	 */
 	public String getId() {
+		if (idTexto == null && id != Identificador.SIN_ASIGNAR) {
+			idTexto = Long.toString(id);
+		}
+		return this.idTexto;
+	}
+
+	/**
+	 * Retorna el identificador de la inspección como número, sin armar su texto; 0 si no tiene.
+	 */
+	public long getIdNumerico() {
 		return this.id;
 	}
 
@@ -155,7 +185,14 @@ public class InspeccionFitosanitaria {
 	 * Devuelve el resultado técnico asociado a esta inspección. Contiene la información técnica del cultivo evaluado.
 	 */
 	public ResultadoTecnico getResultadoTecnico() {
-		return (ResultadoTecnico) this.resultadoTecnico;
+		return this.resultadoTecnico.isEmpty() ? null : this.resultadoTecnico.iterator().next();
+	}
+
+	/**
+	 * Devuelve todos los resultados técnicos registrados en la inspección.
+	 */
+	public Collection<ResultadoTecnico> getResultadosTecnicos() {
+		return this.resultadoTecnico;
 	}
 
 	/**
@@ -175,6 +212,21 @@ public class InspeccionFitosanitaria {
 		return this.asistenteTecnico;
 	}
 
+	/**
+	 * Asocia la inspección con el cultivo inspeccionado.
+	 * Parámetro: pCultivo → objeto de tipo Cultivo.
+	 */
+	public void setCultivo(Cultivo pCultivo) {
+		this.cultivo = pCultivo;
+	}
+
+	/**
+	 * Devuelve el cultivo inspeccionado.
+	 */
+	public Cultivo getCultivo() {
+		return this.cultivo;
+	}
+
 	/**
 	 * Añade un nuevo lugar de producción dentro del predio.
 	 * Parámetro: lugarProduccion (LugarProduccion).
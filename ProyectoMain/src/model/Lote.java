@@ -21,7 +21,12 @@ public class Lote {
 	/**
 	 * Identificador único del lote dentro del sistema. Se utiliza para distinguirlo de otros lotes, facilitando su búsqueda y gestión.
 	 */
-	private String id;
+	private long id;
+
+	/**
+	 * Texto del ID, armado al pedirlo con getId().
+	 */
+	private String idTexto;
 
 	/**
 	 * Valor numérico que representa el área total del lote (por ejemplo, en hectáreas o metros cuadrados). Es importante para cálculos de producción o distribución de cultivos.
@@ -52,13 +57,32 @@ public class Lote {
 	 * signa el valor del identificador del lote. Se utiliza para establecer un código único y mantener la integridad de los datos.
 	 */
 	public void setId(String pId) {
+		this.idTexto = pId;
+		this.id = Identificador.valor(pId);
+	}
+
+	/**
+	 * Asigna el identificador del lote a partir de su valor numérico.
+	 */
+	public void setId(long pId) {
 		this.id = pId;
+		this.idTexto = null;
 	}
 
 	/**
 	 * Retorna el identificador actual del lote, útil para búsquedas, reportes o relaciones con otros objetos del sistema.
 	 */
 	public String getId() {
+		if (idTexto == null && id != Identificador.SIN_ASIGNAR) {
+			idTexto = Long.toString(id);
+		}
+		return this.idTexto;
+	}
+
+	/**
+	 * Retorna el identificador del lote como número, sin armar su texto; 0 si no tiene.
+	 */
+	public long getIdNumerico() {
 		return this.id;
 	}
 
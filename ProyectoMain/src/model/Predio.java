@@ -19,7 +19,12 @@ public class Predio {
 	/**
 	 * Identificador único del predio dentro del sistema. Permite distinguirlo de otros registros y es usado como clave principal en las relaciones con otras clases.
 	 */
-	private String id;
+	private long id;
+
+	/**
+	 * Texto del ID, armado al pedirlo con getId().
+	 */
+	private String idTexto;
 
 	/**
 	 * Código alfanumérico que identifica oficialmente el predio ante las entidades catastrales. Es fundamental para la gestión territorial y la verificación de la propiedad.
@@ -56,6 +61,16 @@ public class Predio {
 	 * Retorna el identificador único del predio.
 	 */
 	public String getId() {
+		if (idTexto == null && id != Identificador.SIN_ASIGNAR) {
+			idTexto = Long.toString(id);
+		}
+		return this.idTexto;
+	}
+
+	/**
+	 * Retorna el identificador del predio como número, sin armar su texto; 0 si no tiene.
+	 */
+	public long getIdNumerico() {
 		return this.id;
 	}
 
@@ -63,7 +78,16 @@ public class Predio {
 	 * Asigna el valor del identificador único del predio.
 	 */
 	public void setId(String pId) {
+		this.idTexto = pId;
+		this.id = Identificador.valor(pId);
+	}
+
+	/**
+	 * Asigna el identificador del predio a partir de su valor numérico.
+	 */
+	public void setId(long pId) {
 		this.id = pId;
+		this.idTexto = null;
 	}
 
 	/**
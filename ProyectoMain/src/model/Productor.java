@@ -22,7 +22,12 @@ public class Productor extends Usuario {
 	/**
 	 * Identificador único del productor. Este valor permite relacionarlo con sus lugares de producción y mantener una trazabilidad clara en el sistema.
 	 */
-	private String id;
+	private long id;
+
+	/**
+	 * Texto del ID, armado al pedirlo con getId().
+	 */
+	private String idTexto;
 
 	private LugarProduccion lugarProduccion;
 
@@ -40,7 +45,16 @@ public class Productor extends Usuario {
 	 */
 	@Override
 	public void setId(String pId) {
+		this.idTexto = pId;
+		this.id = Identificador.valor(pId);
+	}
+
+	/**
+	 * Asigna el identificador del productor a partir de su valor numérico.
+	 */
+	public void setId(long pId) {
 		this.id = pId;
+		this.idTexto = null;
 	}
 
 	/**
@@ -48,6 +62,16 @@ public class Productor extends Usuario {
 	 */
 	@Override
 	public String getId() {
+		if (idTexto == null && id != Identificador.SIN_ASIGNAR) {
+			idTexto = Long.toString(id);
+		}
+		return this.idTexto;
+	}
+
+	/**
+	 * Retorna el identificador del productor como número, sin armar su texto; 0 si no tiene.
+	 */
+	public long getIdNumerico() {
 		return this.id;
 	}
 
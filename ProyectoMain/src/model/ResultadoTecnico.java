@@ -38,7 +38,9 @@ public class ResultadoTecnico {
 	 */
 	private String observaciones;
 
-	@SuppressWarnings("unused")
+	/**
+	 * Lote al que corresponde el resultado; define el acumulado de infestación en el que se suma.
+	 */
 	private Lote lote;
 
 	private Plaga plaga;
@@ -129,6 +131,21 @@ public class ResultadoTecnico {
 		}
 	}
 
+	/**
+	 * Asocia el resultado técnico con el lote inspeccionado.
+	 * Parámetro: pLote → objeto de tipo Lote
+	 */
+	public void setLote(Lote pLote) {
+		this.lote = pLote;
+	}
+
+	/**
+	 * Devuelve el lote al que corresponde el resultado técnico.
+	 */
+	public Lote getLote() {
+		return this.lote;
+	}
+
 	/**
 	 * Asocia un cultivo al resultado técnico.
 	 * ?Parámetro: pCultivo → objeto de tipo Cultivo.
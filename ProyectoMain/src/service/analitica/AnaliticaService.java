@@ -0,0 +1,176 @@
+package service.analitica;
+
+import BaseDatos.DBConnection;
+import BaseDatos.DBConnectionFactory;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import service.exceptions.ServiceException;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Servicio de análisis epidemiológico sobre los resultados técnicos (qué plagas aumentan
+ * en qué veredas, distribución de severidad por cultivo, etc.).
+ *
+ * cargar() lee los resultados unidos a su inspección, plaga y ubicación en una sola
+ * consulta en streaming y los guarda en ResultadosColumnares, sin crear objetos
+ * ResultadoTecnico. Las consultas se evalúan en memoria con MotorAnalitico sobre la última
+ * carga; una recarga construye un almacén nuevo y lo publica al terminar, de modo que las
+ * consultas en curso no se ven afectadas.
+ */
+public class AnaliticaService {
+
+	private static final Logger LOGGER = Logger.getLogger(AnaliticaService.class.getName());
+
+	/**
+	 * Filas por viaje a la base de datos durante la carga.
+	 */
+	public static final int FETCH_SIZE = 5_000;
+
+	private static final int INTERVALO_CANCELACION = 10_000;
+
+	/**
+	 * Resultados con su lote, plaga, cultivo, vereda y municipio. La vereda del lote se toma
+	 * de los predios de su lugar de producción, como en ESTADISTICA_INFESTACION.
+	 */
+	private static final String SQL_HECHOS =
+		"SELECT r.ID_LOTE, r.ID_PLAGA, p.NOMBRE_COMUN, " +
+		"(SELECT MAX(c.TIPO_CULTIVO) FROM CULTIVO c WHERE c.ID_LOTE = r.ID_LOTE) AS TIPO_CULTIVO, " +
+		"v.ID_VEREDA, v.NOMBRE, m.ID_MUNICIPIO, m.NOMBRE, i.FECHA_INSPECCION, " +
+		"r.PLANTAS_EVALUADAS, r.PLANTAS_AFECTADAS " +
+		"FROM RESULTADO_TECNICO r " +
+		"JOIN INSPECCION_FITOSANITARIA i ON i.ID_INSPECCION = r.ID_INSPECCION " +
+		"LEFT JOIN PLAGA p ON p.ID_PLAGA = r.ID_PLAGA " +
+		"LEFT JOIN LOTE l ON l.ID_LOTE = r.ID_LOTE " +
+		"LEFT JOIN (SELECT ID_LUGAR_PRODUCCION, MAX(ID_VEREDA) AS ID_VEREDA FROM PREDIO " +
+		"GROUP BY ID_LUGAR_PRODUCCION) pr ON pr.ID_LUGAR_PRODUCCION = l.ID_LUGAR_PRODUCCION " +
+		"LEFT JOIN VEREDA v ON v.ID_VEREDA = pr.ID_VEREDA " +
+		"LEFT JOIN MUNICIPIO m ON m.ID_MUNICIPIO = v.ID_MUNICIPIO " +
+		"WHERE i.FECHA_INSPECCION IS NOT NULL";
+
+	private static final String SQL_CONTAR = "SELECT COUNT(*) FROM RESULTADO_TECNICO";
+
+	private final DBConnection dbConnection;
+	private final MotorAnalitico motor;
+
+	private volatile ResultadosColumnares datos;
+	private volatile LocalDateTime fechaCarga;
+
+	/**
+	 * Constructor con la conexión por defecto del sistema.
+	 */
+	public AnaliticaService() {
+		this(DBConnectionFactory.getDefaultConnection());
+	}
+
+	public AnaliticaService(DBConnection dbConnection) {
+		this(dbConnection, new MotorAnalitico());
+	}
+
+	public AnaliticaService(DBConnection dbConnection, MotorAnalitico motor) {
+		this.dbConnection = dbConnection;
+		this.motor = motor;
+	}
+
+	/**
+	 * Carga (o recarga) los resultados técnicos desde la base de datos.
+	 *
+	 * @return Número de resultados cargados
+	 * @throws ServiceException Si hay error de base de datos o el hilo fue interrumpido
+	 */
+	public int cargar() throws ServiceException {
+		long inicio = System.nanoTime();
+		try (Connection conn = dbConnection.getConnection()) {
+			ResultadosColumnares.Cargador cargador = new ResultadosColumnares.Cargador(contar(conn));
+			try (PreparedStatement pstmt = conn.prepareStatement(SQL_HECHOS)) {
+				pstmt.setFetchSize(FETCH_SIZE);
+				try (ResultSet rs = pstmt.executeQuery()) {
+					while (rs.next()) {
+						Date fecha = rs.getDate(9);
+						cargador.agregar(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4),
+							rs.getString(5), rs.getString(6), rs.getString(7), rs.getString(8),
+							fecha.toLocalDate(), rs.getInt(10), rs.getInt(11));
+						if (cargador.getFilas() % INTERVALO_CANCELACION == 0 && Thread.currentThread().isInterrupted()) {
+							throw new ServiceException("ANALYTICS_CANCELLED", "Carga de datos analíticos cancelada");
+						}
+					}
+				}
+			}
+			datos = cargador.construir();
+			fechaCarga = LocalDateTime.now();
+			LOGGER.info("Datos analíticos cargados: " + datos.getFilas() + " resultados en "
+				+ (System.nanoTime() - inicio) / 1_000_000 + " ms");
+			return datos.getFilas();
+		} catch (SQLException e) {
+			LOGGER.log(Level.SEVERE, "Error cargando datos analíticos", e);
+			throw new ServiceException("ANALYTICS_LOAD_ERROR", "Error cargando los resultados técnicos", e);
+		}
+	}
+
+	/**
+	 * Publica un almacén ya construido (por ejemplo, cargado desde otra fuente).
+	 *
+	 * @param datos Resultados a consultar
+	 */
+	public void cargar(ResultadosColumnares datos) {
+		if (datos == null) {
+			throw new IllegalArgumentException("Los datos no pueden ser nulos");
+		}
+		this.datos = datos;
+		this.fechaCarga = LocalDateTime.now();
+	}
+
+	/**
+	 * Ejecuta una consulta sobre la última carga.
+	 *
+	 * @param consulta Filtros y agrupamientos
+	 * @return Grupos con sus agregados
+	 * @throws ServiceException Si no hay datos cargados o la consulta es inválida
+	 */
+	public ResultadoAnalitico consultar(ConsultaAnalitica consulta) throws ServiceException {
+		ResultadosColumnares actuales = datos;
+		if (actuales == null) {
+			throw new ServiceException("ANALYTICS_NOT_LOADED", "No hay datos analíticos cargados");
+		}
+		if (consulta == null) {
+			throw new ServiceException("VALIDATION_ERROR", "La consulta no puede ser nula");
+		}
+		try {
+			ResultadoAnalitico resultado = motor.ejecutar(actuales, consulta);
+			LOGGER.fine(() -> "Consulta analítica: " + resultado.getFilasSeleccionadas() + " de "
+				+ resultado.getFilasRecorridas() + " resultados, " + resultado.getGrupos().size() + " grupos, "
+				+ resultado.getMilisegundos() + " ms");
+			return resultado;
+		} catch (IllegalArgumentException e) {
+			throw new ServiceException("VALIDATION_ERROR", e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Últimos datos cargados, o null si aún no se ha cargado.
+	 */
+	public ResultadosColumnares getDatos() {
+		return datos;
+	}
+
+	public LocalDateTime getFechaCarga() {
+		return fechaCarga;
+	}
+
+	private static int contar(Connection conn) throws SQLException {
+		try (PreparedStatement pstmt = conn.prepareStatement(SQL_CONTAR);
+				ResultSet rs = pstmt.executeQuery()) {
+			return rs.next() ? (int) Math.min(Integer.MAX_VALUE - 8, rs.getLong(1)) : 0;
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package service.analitica;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Definición de una consulta sobre ResultadosColumnares: filtros por dimensión
+ * (conjunto de claves aceptadas), rango de fechas de inspección, hasta dos dimensiones
+ * de agrupamiento y, opcionalmente, la distribución de severidad por grupo.
+ *
+ * Por ejemplo, "índice por plaga y semana en una vereda durante el último año":
+ * filtrar(VEREDA, idVereda), setRangoFechas(hace un año, hoy), agruparPor(PLAGA, SEMANA).
+ */
+public class ConsultaAnalitica {
+
+	/**
+	 * Máximo de dimensiones de agrupamiento.
+	 */
+	public static final int MAX_AGRUPAMIENTOS = 2;
+
+	private final Map<Dimension, Set<String>> filtros = new EnumMap<>(Dimension.class);
+	private Dimension[] agrupamientos = new Dimension[0];
+	private LocalDate fechaDesde;
+	private LocalDate fechaHasta;
+	private int clasesSeveridad;
+
+	/**
+	 * Restringe una dimensión a un conjunto de claves (IDs, o el tipo para CULTIVO).
+	 * Llamadas sucesivas sobre la misma dimensión agregan claves.
+	 *
+	 * @param dimension Dimensión a filtrar (no SEMANA)
+	 * @param claves Claves aceptadas
+	 * @return Esta consulta
+	 */
+	public ConsultaAnalitica filtrar(Dimension dimension, String... claves) {
+		if (dimension == null || dimension == Dimension.SEMANA) {
+			throw new IllegalArgumentException("Dimensión de filtro inválida: " + dimension);
+		}
+		filtros.computeIfAbsent(dimension, d -> new LinkedHashSet<>()).addAll(Arrays.asList(claves));
+		return this;
+	}
+
+	/**
+	 * Rango de fechas de inspección, ambos extremos inclusive; cualquiera puede ser null.
+	 *
+	 * @return Esta consulta
+	 */
+	public ConsultaAnalitica setRangoFechas(LocalDate fechaDesde, LocalDate fechaHasta) {
+		if (fechaDesde != null && fechaHasta != null && fechaDesde.isAfter(fechaHasta)) {
+			throw new IllegalArgumentException("La fecha inicial es posterior a la fecha final");
+		}
+		this.fechaDesde = fechaDesde;
+		this.fechaHasta = fechaHasta;
+		return this;
+	}
+
+	/**
+	 * Dimensiones de agrupamiento, en orden. Sin agrupamientos se obtiene un único total.
+	 *
+	 * @return Esta consulta
+	 */
+	public ConsultaAnalitica agruparPor(Dimension... dimensiones) {
+		if (dimensiones.length > MAX_AGRUPAMIENTOS) {
+			throw new IllegalArgumentException("Se admiten hasta " + MAX_AGRUPAMIENTOS + " agrupamientos");
+		}
+		if (dimensiones.length == 2 && dimensiones[0] == dimensiones[1]) {
+			throw new IllegalArgumentException("Dimensión de agrupamiento repetida: " + dimensiones[0]);
+		}
+		for (Dimension d : dimensiones) {
+			if (d == null) {
+				throw new IllegalArgumentException("Dimensión de agrupamiento nula");
+			}
+		}
+		this.agrupamientos = dimensiones.clone();
+		return this;
+	}
+
+	/**
+	 * Calcula por grupo el histograma de severidad (plantas afectadas / evaluadas)
+	 * en clases de igual ancho entre 0 y 100%.
+	 *
+	 * @param clases Número de clases (0 lo desactiva)
+	 * @return Esta consulta
+	 */
+	public ConsultaAnalitica setClasesSeveridad(int clases) {
+		if (clases < 0 || clases > 100) {
+			throw new IllegalArgumentException("Número de clases de severidad inválido: " + clases);
+		}
+		this.clasesSeveridad = clases;
+		return this;
+	}
+
+	public Map<Dimension, Set<String>> getFiltros() {
+		return Collections.unmodifiableMap(filtros);
+	}
+
+	public Dimension[] getAgrupamientos() {
+		return agrupamientos.clone();
+	}
+
+	public LocalDate getFechaDesde() {
+		return fechaDesde;
+	}
+
+	public LocalDate getFechaHasta() {
+		return fechaHasta;
+	}
+
+	public int getClasesSeveridad() {
+		return clasesSeveridad;
+	}
+}
@@ -0,0 +1,92 @@
+package service.analitica;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Codificación por diccionario de una columna de texto: cada clave distinta recibe un
+ * código entero consecutivo, de modo que las columnas se guardan como int[] y los
+ * agrupamientos se hacen sobre arreglos indexados por código.
+ *
+ * El código 0 está reservado para los valores nulos. Se llena durante la carga
+ * (un solo hilo) y después solo se lee, por lo que no requiere sincronización.
+ */
+public final class Diccionario {
+
+	/**
+	 * Código de los valores nulos.
+	 */
+	public static final int NULO = 0;
+
+	private static final String ETIQUETA_NULO = "Sin dato";
+
+	private final Map<String, Integer> codigos = new HashMap<>();
+	private String[] claves = new String[16];
+	private String[] etiquetas = new String[16];
+	private int tamano = 1;
+
+	Diccionario() {
+		etiquetas[NULO] = ETIQUETA_NULO;
+	}
+
+	/**
+	 * Obtiene el código de una clave, asignándole uno nuevo si no existe.
+	 *
+	 * @param clave Valor a codificar (null retorna NULO)
+	 * @param etiqueta Texto a mostrar para la clave; se conserva el de la primera aparición
+	 * @return Código de la clave
+	 */
+	int codificar(String clave, String etiqueta) {
+		if (clave == null) {
+			return NULO;
+		}
+		Integer codigo = codigos.get(clave);
+		if (codigo != null) {
+			return codigo;
+		}
+		if (tamano == claves.length) {
+			claves = Arrays.copyOf(claves, tamano * 2);
+			etiquetas = Arrays.copyOf(etiquetas, tamano * 2);
+		}
+		claves[tamano] = clave;
+		etiquetas[tamano] = etiqueta != null ? etiqueta : clave;
+		codigos.put(clave, tamano);
+		return tamano++;
+	}
+
+	/**
+	 * Obtiene el código de una clave existente.
+	 *
+	 * @param clave Valor a buscar
+	 * @return Código de la clave, o -1 si no está en el diccionario
+	 */
+	public int codigo(String clave) {
+		if (clave == null) {
+			return NULO;
+		}
+		Integer codigo = codigos.get(clave);
+		return codigo != null ? codigo : -1;
+	}
+
+	public String clave(int codigo) {
+		return claves[codigo];
+	}
+
+	public String etiqueta(int codigo) {
+		return etiquetas[codigo];
+	}
+
+	/**
+	 * Número de códigos asignados, incluido el de los nulos.
+	 */
+	public int tamano() {
+		return tamano;
+	}
+}
@@ -0,0 +1,24 @@
+package service.analitica;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Dimensiones por las que se pueden filtrar y agrupar los resultados técnicos
+ * cargados en ResultadosColumnares.
+ */
+public enum Dimension {
+	LOTE,
+	PLAGA,
+	CULTIVO,
+	VEREDA,
+	MUNICIPIO,
+	/**
+	 * Semana ISO de la inspección (clave: fecha del lunes). Solo se usa para agrupar;
+	 * el filtro por fechas se define con el rango de la consulta.
+	 */
+	SEMANA
+}
@@ -0,0 +1,318 @@
+package service.analitica;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Evalúa consultas analíticas sobre ResultadosColumnares.
+ *
+ * La consulta se traduce primero a un plan sobre códigos: cada filtro se convierte en una
+ * máscara boolean[] indexada por código de diccionario y cada agrupamiento en un índice
+ * denso (código, o número de semana desde la primera semana del rango). El recorrido es un
+ * ciclo sobre arreglos de primitivos, sin objetos por fila, que acumula en long[] por grupo.
+ *
+ * Las filas se reparten en bloques evaluados en paralelo con fork-join; cada bloque
+ * acumula en sus propios arreglos y los parciales se suman al unir las tareas, por lo que
+ * no hay contención entre hilos.
+ */
+public class MotorAnalitico {
+
+	/**
+	 * Máximo de celdas de una consulta: producto de las cardinalidades de los agrupamientos,
+	 * multiplicado por las clases de severidad si se piden.
+	 */
+	public static final int MAX_GRUPOS = 1 << 21;
+
+	/**
+	 * Filas mínimas por bloque; por debajo de este tamaño no compensa dividir.
+	 */
+	static final int MIN_BLOQUE = 1 << 15;
+
+	/**
+	 * Memoria total aproximada para los acumuladores parciales de una consulta. Con muchos
+	 * grupos se usan menos bloques para no multiplicar arreglos grandes.
+	 */
+	private static final long PRESUPUESTO_PARCIALES = 64L << 20;
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Constructor que usa el pool común de fork-join.
+	 */
+	public MotorAnalitico() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	public MotorAnalitico(ForkJoinPool pool) {
+		if (pool == null) {
+			throw new IllegalArgumentException("El pool no puede ser nulo");
+		}
+		this.pool = pool;
+	}
+
+	/**
+	 * Ejecuta una consulta.
+	 *
+	 * @param datos Resultados cargados
+	 * @param consulta Filtros y agrupamientos
+	 * @return Grupos con sus agregados
+	 * @throws IllegalArgumentException Si la consulta genera más de MAX_GRUPOS grupos
+	 */
+	public ResultadoAnalitico ejecutar(ResultadosColumnares datos, ConsultaAnalitica consulta) {
+		long inicio = System.nanoTime();
+		Plan plan = new Plan(datos, consulta);
+		Parcial total;
+		if (plan.vacio) {
+			total = new Parcial(plan);
+		} else {
+			int filas = datos.getFilas();
+			long bytesParcial = (long) plan.grupos * (3 + plan.clases) * Long.BYTES;
+			long hojas = Math.max(1, Math.min(pool.getParallelism() * 4L, PRESUPUESTO_PARCIALES / bytesParcial));
+			int bloque = (int) Math.max(MIN_BLOQUE, (filas + hojas - 1) / hojas);
+			total = filas <= bloque ? plan.evaluar(0, filas) : pool.invoke(new Tarea(plan, 0, filas, bloque));
+		}
+		return plan.resultado(total, datos.getFilas(), System.nanoTime() - inicio);
+	}
+
+	/**
+	 * Consulta traducida a códigos, compartida (solo lectura) por todas las tareas.
+	 */
+	private static final class Plan {
+
+		private final int[] fecha;
+		private final int[] evaluadas;
+		private final int[] afectadas;
+		private final int fechaDesde;
+		private final int fechaHasta;
+
+		private final int[][] columnasFiltro;
+		private final boolean[][] mascaras;
+
+		private final Dimension[] agrupamientos;
+		private final Diccionario[] diccionarios;
+		private final int[][] columnasGrupo;
+		private final int[] cardinalidades;
+		private final int lunesBase;
+		private final int grupos;
+		private final int clases;
+
+		private boolean vacio;
+
+		Plan(ResultadosColumnares datos, ConsultaAnalitica consulta) {
+			this.fecha = datos.fechas();
+			this.evaluadas = datos.evaluadas();
+			this.afectadas = datos.afectadas();
+			this.clases = consulta.getClasesSeveridad();
+			this.vacio = datos.getFilas() == 0;
+
+			int desde = datos.fechaMinimaDia();
+			int hasta = datos.fechaMaximaDia();
+			if (consulta.getFechaDesde() != null) {
+				desde = Math.max(desde, (int) consulta.getFechaDesde().toEpochDay());
+			}
+			if (consulta.getFechaHasta() != null) {
+				hasta = Math.min(hasta, (int) consulta.getFechaHasta().toEpochDay());
+			}
+			if (desde > hasta) {
+				vacio = true;
+				hasta = desde;
+			}
+			this.fechaDesde = desde;
+			this.fechaHasta = hasta;
+			this.lunesBase = (int) LocalDate.ofEpochDay(desde).with(DayOfWeek.MONDAY).toEpochDay();
+
+			Map<Dimension, Set<String>> filtros = consulta.getFiltros();
+			this.columnasFiltro = new int[filtros.size()][];
+			this.mascaras = new boolean[filtros.size()][];
+			int k = 0;
+			for (Map.Entry<Dimension, Set<String>> filtro : filtros.entrySet()) {
+				Diccionario diccionario = datos.diccionario(filtro.getKey());
+				boolean[] mascara = new boolean[diccionario.tamano()];
+				boolean alguno = false;
+				for (String clave : filtro.getValue()) {
+					int codigo = diccionario.codigo(clave);
+					if (codigo >= 0) {
+						mascara[codigo] = true;
+						alguno = true;
+					}
+				}
+				vacio |= !alguno;
+				columnasFiltro[k] = datos.columna(filtro.getKey());
+				mascaras[k++] = mascara;
+			}
+
+			this.agrupamientos = consulta.getAgrupamientos();
+			this.diccionarios = new Diccionario[agrupamientos.length];
+			this.columnasGrupo = new int[agrupamientos.length][];
+			this.cardinalidades = new int[agrupamientos.length];
+			long total = 1;
+			for (int i = 0; i < agrupamientos.length; i++) {
+				if (agrupamientos[i] == Dimension.SEMANA) {
+					cardinalidades[i] = (fechaHasta - lunesBase) / 7 + 1;
+				} else {
+					diccionarios[i] = datos.diccionario(agrupamientos[i]);
+					columnasGrupo[i] = datos.columna(agrupamientos[i]);
+					cardinalidades[i] = diccionarios[i].tamano();
+				}
+				total *= cardinalidades[i];
+			}
+			if (total * Math.max(1, clases) > MAX_GRUPOS) {
+				throw new IllegalArgumentException("La consulta genera " + total + " grupos"
+					+ (clases > 0 ? " de " + clases + " clases" : "") + " (máximo " + MAX_GRUPOS
+					+ " celdas); restrinja el rango o los agrupamientos");
+			}
+			this.grupos = (int) total;
+		}
+
+		/**
+		 * Recorre las filas [desde, hasta) acumulando en un parcial propio.
+		 */
+		Parcial evaluar(int desde, int hasta) {
+			Parcial p = new Parcial(this);
+			long[] resultados = p.resultados;
+			long[] sumaEvaluadas = p.evaluadas;
+			long[] sumaAfectadas = p.afectadas;
+			long[] histograma = p.histograma;
+			int nFiltros = mascaras.length;
+
+			fila:
+			for (int i = desde; i < hasta; i++) {
+				int f = fecha[i];
+				if (f < fechaDesde || f > fechaHasta) {
+					continue;
+				}
+				for (int k = 0; k < nFiltros; k++) {
+					if (!mascaras[k][columnasFiltro[k][i]]) {
+						continue fila;
+					}
+				}
+				int g = grupo(i, f);
+				int ev = evaluadas[i];
+				int af = afectadas[i];
+				resultados[g]++;
+				sumaEvaluadas[g] += ev;
+				sumaAfectadas[g] += af;
+				if (histograma != null && ev > 0) {
+					int clase = (int) ((long) af * clases / ev);
+					histograma[g * clases + Math.max(0, Math.min(clases - 1, clase))]++;
+				}
+			}
+			return p;
+		}
+
+		private int grupo(int i, int f) {
+			int g = 0;
+			for (int d = 0; d < columnasGrupo.length; d++) {
+				int[] columna = columnasGrupo[d];
+				g = g * cardinalidades[d] + (columna != null ? columna[i] : (f - lunesBase) / 7);
+			}
+			return g;
+		}
+
+		ResultadoAnalitico resultado(Parcial total, long filasRecorridas, long nanos) {
+			List<ResultadoAnalitico.Grupo> lista = new ArrayList<>();
+			long seleccionadas = 0;
+			for (int g = 0; g < grupos; g++) {
+				if (total.resultados[g] == 0) {
+					continue;
+				}
+				seleccionadas += total.resultados[g];
+				String[] claves = new String[agrupamientos.length];
+				String[] etiquetas = new String[agrupamientos.length];
+				int resto = g;
+				for (int d = agrupamientos.length - 1; d >= 0; d--) {
+					int codigo = resto % cardinalidades[d];
+					resto /= cardinalidades[d];
+					if (diccionarios[d] == null) {
+						claves[d] = LocalDate.ofEpochDay(lunesBase + 7L * codigo).toString();
+						etiquetas[d] = claves[d];
+					} else {
+						claves[d] = diccionarios[d].clave(codigo);
+						etiquetas[d] = diccionarios[d].etiqueta(codigo);
+					}
+				}
+				long[] histograma = null;
+				if (total.histograma != null) {
+					histograma = new long[clases];
+					System.arraycopy(total.histograma, g * clases, histograma, 0, clases);
+				}
+				lista.add(new ResultadoAnalitico.Grupo(claves, etiquetas, total.resultados[g], total.evaluadas[g],
+					total.afectadas[g], histograma));
+			}
+			return new ResultadoAnalitico(agrupamientos, lista, filasRecorridas, seleccionadas, nanos);
+		}
+	}
+
+	/**
+	 * Acumuladores de un bloque de filas.
+	 */
+	private static final class Parcial {
+
+		final long[] resultados;
+		final long[] evaluadas;
+		final long[] afectadas;
+		final long[] histograma;
+
+		Parcial(Plan plan) {
+			resultados = new long[plan.grupos];
+			evaluadas = new long[plan.grupos];
+			afectadas = new long[plan.grupos];
+			histograma = plan.clases > 0 ? new long[plan.grupos * plan.clases] : null;
+		}
+
+		Parcial combinar(Parcial otro) {
+			for (int g = 0; g < resultados.length; g++) {
+				resultados[g] += otro.resultados[g];
+				evaluadas[g] += otro.evaluadas[g];
+				afectadas[g] += otro.afectadas[g];
+			}
+			if (histograma != null) {
+				for (int i = 0; i < histograma.length; i++) {
+					histograma[i] += otro.histograma[i];
+				}
+			}
+			return this;
+		}
+	}
+
+	private static final class Tarea extends RecursiveTask<Parcial> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient Plan plan;
+		private final int desde;
+		private final int hasta;
+		private final int bloque;
+
+		Tarea(Plan plan, int desde, int hasta, int bloque) {
+			this.plan = plan;
+			this.desde = desde;
+			this.hasta = hasta;
+			this.bloque = bloque;
+		}
+
+		@Override
+		protected Parcial compute() {
+			if (hasta - desde <= bloque) {
+				return plan.evaluar(desde, hasta);
+			}
+			int medio = (desde + hasta) >>> 1;
+			Tarea izquierda = new Tarea(plan, desde, medio, bloque);
+			izquierda.fork();
+			Parcial derecha = new Tarea(plan, medio, hasta, bloque).compute();
+			return izquierda.join().combinar(derecha);
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package service.analitica;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Resultado de una ConsultaAnalitica: los grupos con al menos un resultado técnico,
+ * en orden de código de sus claves, y las métricas de la ejecución.
+ */
+public class ResultadoAnalitico {
+
+	private final Dimension[] agrupamientos;
+	private final List<Grupo> grupos;
+	private final long filasRecorridas;
+	private final long filasSeleccionadas;
+	private final long nanos;
+
+	ResultadoAnalitico(Dimension[] agrupamientos, List<Grupo> grupos, long filasRecorridas,
+			long filasSeleccionadas, long nanos) {
+		this.agrupamientos = agrupamientos;
+		this.grupos = Collections.unmodifiableList(grupos);
+		this.filasRecorridas = filasRecorridas;
+		this.filasSeleccionadas = filasSeleccionadas;
+		this.nanos = nanos;
+	}
+
+	public Dimension[] getAgrupamientos() {
+		return agrupamientos.clone();
+	}
+
+	public List<Grupo> getGrupos() {
+		return grupos;
+	}
+
+	public long getFilasRecorridas() {
+		return filasRecorridas;
+	}
+
+	/**
+	 * Resultados técnicos que cumplieron los filtros.
+	 */
+	public long getFilasSeleccionadas() {
+		return filasSeleccionadas;
+	}
+
+	/**
+	 * Duración de la evaluación en milisegundos.
+	 */
+	public double getMilisegundos() {
+		return nanos / 1_000_000.0;
+	}
+
+	/**
+	 * Agregados de un grupo. Las claves y etiquetas siguen el orden de los agrupamientos;
+	 * para SEMANA la clave es la fecha del lunes (yyyy-MM-dd).
+	 */
+	public static final class Grupo {
+
+		private final String[] claves;
+		private final String[] etiquetas;
+		private final long resultados;
+		private final long plantasEvaluadas;
+		private final long plantasAfectadas;
+		private final long[] histograma;
+
+		Grupo(String[] claves, String[] etiquetas, long resultados, long plantasEvaluadas, long plantasAfectadas,
+				long[] histograma) {
+			this.claves = claves;
+			this.etiquetas = etiquetas;
+			this.resultados = resultados;
+			this.plantasEvaluadas = plantasEvaluadas;
+			this.plantasAfectadas = plantasAfectadas;
+			this.histograma = histograma;
+		}
+
+		public String getClave(int agrupamiento) {
+			return claves[agrupamiento];
+		}
+
+		public String getEtiqueta(int agrupamiento) {
+			return etiquetas[agrupamiento];
+		}
+
+		public long getResultados() {
+			return resultados;
+		}
+
+		public long getPlantasEvaluadas() {
+			return plantasEvaluadas;
+		}
+
+		public long getPlantasAfectadas() {
+			return plantasAfectadas;
+		}
+
+		/**
+		 * Índice de infestación del grupo en porcentaje (0 si no hay plantas evaluadas).
+		 */
+		public double getIndiceInfestacion() {
+			return plantasEvaluadas == 0 ? 0.0 : plantasAfectadas * 100.0 / plantasEvaluadas;
+		}
+
+		/**
+		 * Resultados por clase de severidad, o null si la consulta no la pidió.
+		 * Los resultados sin plantas evaluadas no se cuentan.
+		 */
+		public long[] getHistogramaSeveridad() {
+			return histograma == null ? null : histograma.clone();
+		}
+
+		@Override
+		public String toString() {
+			return (etiquetas.length == 0 ? "Total" : String.join(" / ", etiquetas)) + ": resultados=" + resultados + ", evaluadas=" + plantasEvaluadas
+				+ ", afectadas=" + plantasAfectadas + ", indice=" + String.format("%.2f", getIndiceInfestacion());
+		}
+	}
+}
@@ -0,0 +1,242 @@
+package service.analitica;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Resultados técnicos cargados en memoria por columnas para consultas analíticas.
+ * Cada atributo es un arreglo de primitivos del mismo largo: las dimensiones de texto
+ * (lote, plaga, cultivo, vereda, municipio) se guardan como códigos de un Diccionario,
+ * la fecha de inspección como día época y los conteos de plantas como int.
+ *
+ * Un millón de resultados ocupa alrededor de 32 MB, frente a los grafos de objetos de
+ * ResultadoTecnico, y los recorridos leen memoria contigua. La instancia es inmutable
+ * una vez construida; para refrescar los datos se construye una nueva con Cargador.
+ */
+public final class ResultadosColumnares {
+
+	private final int filas;
+	private final int[] lote;
+	private final int[] plaga;
+	private final int[] cultivo;
+	private final int[] vereda;
+	private final int[] municipio;
+	private final int[] fecha;
+	private final int[] evaluadas;
+	private final int[] afectadas;
+
+	private final Diccionario lotes;
+	private final Diccionario plagas;
+	private final Diccionario cultivos;
+	private final Diccionario veredas;
+	private final Diccionario municipios;
+
+	private final int fechaMinima;
+	private final int fechaMaxima;
+
+	private ResultadosColumnares(Cargador c) {
+		this.filas = c.filas;
+		this.lote = Arrays.copyOf(c.lote, c.filas);
+		this.plaga = Arrays.copyOf(c.plaga, c.filas);
+		this.cultivo = Arrays.copyOf(c.cultivo, c.filas);
+		this.vereda = Arrays.copyOf(c.vereda, c.filas);
+		this.municipio = Arrays.copyOf(c.municipio, c.filas);
+		this.fecha = Arrays.copyOf(c.fecha, c.filas);
+		this.evaluadas = Arrays.copyOf(c.evaluadas, c.filas);
+		this.afectadas = Arrays.copyOf(c.afectadas, c.filas);
+		this.lotes = c.lotes;
+		this.plagas = c.plagas;
+		this.cultivos = c.cultivos;
+		this.veredas = c.veredas;
+		this.municipios = c.municipios;
+		this.fechaMinima = c.fechaMinima;
+		this.fechaMaxima = c.fechaMaxima;
+	}
+
+	public int getFilas() {
+		return filas;
+	}
+
+	/**
+	 * Fecha de la inspección más antigua, o null si no hay filas.
+	 */
+	public LocalDate getFechaMinima() {
+		return filas == 0 ? null : LocalDate.ofEpochDay(fechaMinima);
+	}
+
+	/**
+	 * Fecha de la inspección más reciente, o null si no hay filas.
+	 */
+	public LocalDate getFechaMaxima() {
+		return filas == 0 ? null : LocalDate.ofEpochDay(fechaMaxima);
+	}
+
+	/**
+	 * Diccionario de una dimensión de texto.
+	 *
+	 * @param dimension Dimensión (SEMANA no tiene diccionario)
+	 * @return Diccionario de la dimensión
+	 */
+	public Diccionario diccionario(Dimension dimension) {
+		switch (dimension) {
+			case LOTE:
+				return lotes;
+			case PLAGA:
+				return plagas;
+			case CULTIVO:
+				return cultivos;
+			case VEREDA:
+				return veredas;
+			case MUNICIPIO:
+				return municipios;
+			default:
+				throw new IllegalArgumentException("La dimensión " + dimension + " no tiene diccionario");
+		}
+	}
+
+	int[] columna(Dimension dimension) {
+		switch (dimension) {
+			case LOTE:
+				return lote;
+			case PLAGA:
+				return plaga;
+			case CULTIVO:
+				return cultivo;
+			case VEREDA:
+				return vereda;
+			case MUNICIPIO:
+				return municipio;
+			default:
+				return fecha;
+		}
+	}
+
+	int[] fechas() {
+		return fecha;
+	}
+
+	int[] evaluadas() {
+		return evaluadas;
+	}
+
+	int[] afectadas() {
+		return afectadas;
+	}
+
+	int fechaMinimaDia() {
+		return fechaMinima;
+	}
+
+	int fechaMaximaDia() {
+		return fechaMaxima;
+	}
+
+	/**
+	 * Acumula filas en arreglos que crecen al doble y construye el almacén columnar.
+	 * No es seguro entre hilos; se usa desde el hilo que lee la consulta de carga.
+	 */
+	public static final class Cargador {
+
+		private int filas;
+		private int[] lote;
+		private int[] plaga;
+		private int[] cultivo;
+		private int[] vereda;
+		private int[] municipio;
+		private int[] fecha;
+		private int[] evaluadas;
+		private int[] afectadas;
+
+		private final Diccionario lotes = new Diccionario();
+		private final Diccionario plagas = new Diccionario();
+		private final Diccionario cultivos = new Diccionario();
+		private final Diccionario veredas = new Diccionario();
+		private final Diccionario municipios = new Diccionario();
+
+		private int fechaMinima = Integer.MAX_VALUE;
+		private int fechaMaxima = Integer.MIN_VALUE;
+
+		public Cargador() {
+			this(1024);
+		}
+
+		/**
+		 * @param capacidad Número de filas esperado (evita copias al crecer)
+		 */
+		public Cargador(int capacidad) {
+			int n = Math.max(16, capacidad);
+			lote = new int[n];
+			plaga = new int[n];
+			cultivo = new int[n];
+			vereda = new int[n];
+			municipio = new int[n];
+			fecha = new int[n];
+			evaluadas = new int[n];
+			afectadas = new int[n];
+		}
+
+		/**
+		 * Agrega un resultado técnico.
+		 *
+		 * @param idLote ID del lote
+		 * @param idPlaga ID de la plaga
+		 * @param nombrePlaga Nombre común de la plaga
+		 * @param tipoCultivo Tipo de cultivo del lote
+		 * @param idVereda ID de la vereda del lote
+		 * @param nombreVereda Nombre de la vereda
+		 * @param idMunicipio ID del municipio del lote
+		 * @param nombreMunicipio Nombre del municipio
+		 * @param fechaInspeccion Fecha de la inspección (obligatoria)
+		 * @param plantasEvaluadas Plantas evaluadas
+		 * @param plantasAfectadas Plantas afectadas
+		 */
+		public void agregar(String idLote, String idPlaga, String nombrePlaga, String tipoCultivo,
+				String idVereda, String nombreVereda, String idMunicipio, String nombreMunicipio,
+				LocalDate fechaInspeccion, int plantasEvaluadas, int plantasAfectadas) {
+			if (fechaInspeccion == null) {
+				throw new IllegalArgumentException("La fecha de inspección es obligatoria");
+			}
+			if (filas == lote.length) {
+				crecer();
+			}
+			int dia = (int) fechaInspeccion.toEpochDay();
+			lote[filas] = lotes.codificar(idLote, null);
+			plaga[filas] = plagas.codificar(idPlaga, nombrePlaga);
+			cultivo[filas] = cultivos.codificar(tipoCultivo, null);
+			vereda[filas] = veredas.codificar(idVereda, nombreVereda);
+			municipio[filas] = municipios.codificar(idMunicipio, nombreMunicipio);
+			fecha[filas] = dia;
+			evaluadas[filas] = plantasEvaluadas;
+			afectadas[filas] = plantasAfectadas;
+			fechaMinima = Math.min(fechaMinima, dia);
+			fechaMaxima = Math.max(fechaMaxima, dia);
+			filas++;
+		}
+
+		public int getFilas() {
+			return filas;
+		}
+
+		public ResultadosColumnares construir() {
+			return new ResultadosColumnares(this);
+		}
+
+		private void crecer() {
+			int n = lote.length * 2;
+			lote = Arrays.copyOf(lote, n);
+			plaga = Arrays.copyOf(plaga, n);
+			cultivo = Arrays.copyOf(cultivo, n);
+			vereda = Arrays.copyOf(vereda, n);
+			municipio = Arrays.copyOf(municipio, n);
+			fecha = Arrays.copyOf(fecha, n);
+			evaluadas = Arrays.copyOf(evaluadas, n);
+			afectadas = Arrays.copyOf(afectadas, n);
+		}
+	}
+}
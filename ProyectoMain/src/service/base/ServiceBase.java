@@ -1,7 +1,13 @@
 package service.base;
 
+import java.sql.SQLException;
+import java.util.logging.Level;
 import java.util.logging.Logger;
+import DAO.AlcanceDatos;
+import DAO.ConsultaPagina;
 import DAO.DAOBase;
+import DAO.Pagina;
+import service.exceptions.ServiceException;
 import service.exceptions.ValidationException;
 
 /**
@@ -12,15 +18,47 @@ import service.exceptions.ValidationException;
  * @author Andres Rivero
  * 
  * Clase base generica para todos los servicios.
- * Proporciona validaciones comunes y acceso al Logger.
+ * Proporciona validaciones comunes, acceso al Logger y la consulta paginada del DAO.
+ * Aplica al DAO el alcance de la sesion actual (SessionContext), leida en cada consulta:
+ * un servicio creado antes de cerrar sesion o de cambiar de usuario usa la sesion vigente.
  */
 public abstract class ServiceBase<T, D extends DAOBase<T>> {
     protected D dao;
+    /**
+     * Sesion fijada con setSesion; si es null se usa la sesion actual de la aplicacion.
+     */
+    protected volatile SessionContext sesion;
     protected static final Logger LOGGER = Logger.getLogger(ServiceBase.class.getName());
 
     public ServiceBase(D dao) {
         if (dao == null) throw new IllegalArgumentException("DAO cannot be null");
         this.dao = dao;
+        dao.setFuenteAlcance(this::getAlcance);
+    }
+
+    /**
+     * Fija la sesion del servicio en lugar de la sesion actual de la aplicacion.
+     *
+     * @param sesion - Sesion del usuario, o null para volver a usar la sesion actual
+     */
+    public void setSesion(SessionContext sesion) {
+        this.sesion = sesion;
+    }
+
+    /**
+     * @return Sesion fijada con setSesion o, si no hay, la sesion actual (null si no hay sesion)
+     */
+    public SessionContext getSesion() {
+        SessionContext fijada = sesion;
+        return fijada != null ? fijada : SessionContext.getActual();
+    }
+
+    /**
+     * @return Alcance de los datos de la sesion vigente; sin sesion, ningun registro
+     */
+    protected AlcanceDatos getAlcance() {
+        SessionContext vigente = getSesion();
+        return vigente != null ? vigente.getAlcance() : AlcanceDatos.NINGUNO;
     }
 
     protected String getServiceName() {
@@ -31,6 +69,44 @@ public abstract class ServiceBase<T, D extends DAOBase<T>> {
         return dao;
     }
 
+    /**
+     * Obtiene una pagina de registros usando paginacion por clave.
+     *
+     * @param consulta Tamaño, orden, filtros y cursor de la pagina
+     * @return Pagina de registros
+     * @throws ServiceException Si hay error en la consulta o el DAO no admite paginacion
+     */
+    public Pagina<T> obtenerPagina(ConsultaPagina consulta) throws ServiceException {
+        try {
+            validateNotNull(consulta, "consulta");
+            return dao.obtenerPagina(consulta);
+        } catch (ValidationException e) {
+            throw new ServiceException("VALIDATION_ERROR", e.getMessage(), e);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error al obtener pagina en " + getServiceName(), e);
+            throw new ServiceException("GET_PAGE_ERROR", "Error obteniendo pagina", e);
+        }
+    }
+
+    /**
+     * Cuenta los registros que cumplen los filtros de la consulta.
+     *
+     * @param consulta Filtros a aplicar
+     * @return Numero total de registros
+     * @throws ServiceException Si hay error en la consulta o el DAO no admite paginacion
+     */
+    public long contar(ConsultaPagina consulta) throws ServiceException {
+        try {
+            validateNotNull(consulta, "consulta");
+            return dao.contar(consulta);
+        } catch (ValidationException e) {
+            throw new ServiceException("VALIDATION_ERROR", e.getMessage(), e);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error al contar registros en " + getServiceName(), e);
+            throw new ServiceException("COUNT_ERROR", "Error contando registros", e);
+        }
+    }
+
     protected void validateNotEmpty(String value, String fieldName) throws ValidationException {
         if (value == null || value.trim().isEmpty())
             throw new ValidationException(fieldName, "Cannot be empty");
@@ -0,0 +1,188 @@
+package service.base;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import DAO.AlcanceDatos;
+import DAO.DAOBase;
+import DAO.LugarProduccionDAO;
+import model.Usuario;
+import service.exceptions.ServiceException;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Contexto de la sesión iniciada: usuario, rol y alcance de los datos que puede consultar.
+ *
+ * El alcance se resuelve una sola vez al iniciar sesión (los lugares de producción del
+ * asistente técnico, productor o propietario) y ServiceBase lo entrega a su DAO, que lo
+ * aplica en todas las consultas de registros de la tabla. Así los listados no tienen que volver a
+ * consultar el usuario ni unir sus tablas de asignación en cada actualización.
+ *
+ * Solo el rol ADMINISTRADOR ve todos los registros (AlcanceDatos.TOTAL); un rol sin
+ * lugares de producción o desconocido no ve ninguno. La sesión actual de la aplicación se
+ * publica con iniciar(...) y los servicios la leen al ejecutar cada consulta. Sin sesión
+ * (antes de iniciarla o después de cerrar()) el alcance es AlcanceDatos.NINGUNO: los DAOs
+ * con alcance no devuelven registros. Los procesos internos que deben ver todos los
+ * registros, como las alertas, usan la sesión SISTEMA.
+ */
+public final class SessionContext {
+
+    private static final Logger LOGGER = Logger.getLogger(SessionContext.class.getName());
+
+    public static final String ROL_ADMINISTRADOR = "ADMINISTRADOR";
+    public static final String ROL_INSPECTOR = "INSPECTOR";
+    public static final String ROL_TECNICO = "TECNICO";
+    public static final String ROL_ASISTENTE_TECNICO = "ASISTENTE_TECNICO";
+    public static final String ROL_PRODUCTOR = "PRODUCTOR";
+    public static final String ROL_PROPIETARIO = "PROPIETARIO";
+
+    private static volatile SessionContext actual;
+
+    static {
+        // Los DAOs creados sin servicio también se restringen a la sesión actual
+        DAOBase.setFuenteAlcancePorDefecto(() -> actual != null ? actual.alcance : AlcanceDatos.NINGUNO);
+    }
+
+    /**
+     * Sesión de los procesos internos de la aplicación (pipeline de alertas, detección de
+     * brotes), que analizan todos los registros sin importar el usuario conectado.
+     */
+    public static final SessionContext SISTEMA = new SessionContext(0L, "Sistema", ROL_ADMINISTRADOR, AlcanceDatos.TOTAL);
+
+    private final long idUsuario;
+    private final String nombre;
+    private final String rol;
+    private final AlcanceDatos alcance;
+    private final long inicio;
+
+    /**
+     * @param idUsuario - ID del usuario de la sesión
+     * @param nombre - Nombre del usuario
+     * @param rol - Rol del usuario
+     * @param alcance - Alcance de los datos que puede consultar (TOTAL solo para ADMINISTRADOR)
+     */
+    public SessionContext(long idUsuario, String nombre, String rol, AlcanceDatos alcance) {
+        if (alcance == null) {
+            throw new IllegalArgumentException("El alcance de la sesión es obligatorio");
+        }
+        if (alcance.esTotal() && !ROL_ADMINISTRADOR.equals(rol)) {
+            throw new IllegalArgumentException("Solo una sesión de " + ROL_ADMINISTRADOR + " puede ver todos los registros");
+        }
+        this.idUsuario = idUsuario;
+        this.nombre = nombre;
+        this.rol = rol;
+        this.alcance = alcance;
+        this.inicio = System.currentTimeMillis();
+    }
+
+    /**
+     * Resuelve el contexto de un usuario autenticado y lo publica como sesión actual.
+     *
+     * @param usuario - Usuario que inició sesión
+     * @param lugarDAO - DAO con el que se resuelven sus lugares de producción
+     * @return Contexto de la sesión
+     * @throws ServiceException si el usuario no tiene un ID válido o falla la consulta
+     */
+    public static SessionContext iniciar(Usuario usuario, LugarProduccionDAO lugarDAO) throws ServiceException {
+        long idUsuario;
+        try {
+            idUsuario = Long.parseLong(usuario.getId().trim());
+        } catch (NullPointerException | NumberFormatException e) {
+            throw new ServiceException("SESSION_ERROR", "El usuario no tiene un ID válido", e);
+        }
+        String rol = usuario.getRol() != null ? usuario.getRol().trim().toUpperCase(Locale.ROOT) : "";
+        AlcanceDatos alcance;
+        try {
+            alcance = resolverAlcance(rol, idUsuario, lugarDAO);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error resolviendo el alcance de la sesión", e);
+            throw new ServiceException("SESSION_ERROR", "Error resolviendo los permisos del usuario", e);
+        }
+        SessionContext sesion = new SessionContext(idUsuario, usuario.getNombre(), rol, alcance);
+        actual = sesion;
+        LOGGER.info("Sesión iniciada: usuario " + idUsuario + " (" + rol + "), " + alcance);
+        return sesion;
+    }
+
+    private static AlcanceDatos resolverAlcance(String rol, long idUsuario, LugarProduccionDAO lugarDAO)
+            throws SQLException {
+        List<Long> lugares;
+        switch (rol) {
+            case ROL_ADMINISTRADOR:
+                return AlcanceDatos.TOTAL;
+            case ROL_TECNICO:
+            case ROL_ASISTENTE_TECNICO:
+                lugares = lugarDAO.obtenerIdsPorAsistente(idUsuario);
+                break;
+            case ROL_PRODUCTOR:
+                lugares = lugarDAO.obtenerIdsPorProductor(idUsuario);
+                break;
+            case ROL_PROPIETARIO:
+                lugares = lugarDAO.obtenerIdsPorPropietario(idUsuario);
+                break;
+            default:
+                LOGGER.warning("Rol sin alcance definido: '" + rol + "'; la sesión no verá registros");
+                lugares = Collections.emptyList();
+        }
+        return AlcanceDatos.porLugares(lugares);
+    }
+
+    /**
+     * @return Sesión actual de la aplicación, o null si no hay sesión iniciada
+     */
+    public static SessionContext getActual() {
+        return actual;
+    }
+
+    /**
+     * Termina la sesión actual. Desde ese momento los servicios sin sesión fijada no
+     * devuelven registros de las tablas con alcance.
+     */
+    public static void cerrar() {
+        actual = null;
+    }
+
+    public long getIdUsuario() {
+        return idUsuario;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public String getRol() {
+        return rol;
+    }
+
+    public AlcanceDatos getAlcance() {
+        return alcance;
+    }
+
+    public long getInicio() {
+        return inicio;
+    }
+
+    /**
+     * Indica si la sesión puede ver los registros de un lugar de producción.
+     *
+     * @param idLugar - ID del lugar de producción
+     * @return true si el lugar está en el alcance de la sesión
+     */
+    public boolean puedeAcceder(long idLugar) {
+        return alcance.incluye(idLugar);
+    }
+
+    @Override
+    public String toString() {
+        return "SessionContext [usuario=" + idUsuario + ", rol=" + rol + ", " + alcance + "]";
+    }
+}
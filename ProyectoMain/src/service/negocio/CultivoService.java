@@ -4,6 +4,9 @@ import java.sql.SQLException;
 import java.util.List;
 import java.util.logging.Level;
 
+import BaseDatos.DBConnection;
+import BaseDatos.DBConnectionFactory;
+import DAO.CachedCultivoDAO;
 import DAO.CultivoDAO;
 import model.Cultivo;
 import service.base.ServiceBase;
@@ -22,6 +25,23 @@ import service.exceptions.ValidationException;
  */
 public class CultivoService extends ServiceBase<Cultivo, CultivoDAO> {
 
+	/**
+	 * Constructor con la conexión por defecto del sistema. Lee el catálogo de cultivos a
+	 * través de CachedCultivoDAO.
+	 */
+	public CultivoService() {
+		this(DBConnectionFactory.getDefaultConnection());
+	}
+
+	/**
+	 * Constructor con una conexión específica; el catálogo se lee a través de CachedCultivoDAO.
+	 *
+	 * @param dbConnection - Conexión (o pool) de la que se leen los cultivos
+	 */
+	public CultivoService(DBConnection dbConnection) {
+		this(new CachedCultivoDAO(dbConnection));
+	}
+
 	public CultivoService(CultivoDAO dao) {
 		super(dao);
 	}
@@ -0,0 +1,122 @@
+package service.negocio;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.logging.Level;
+
+import DAO.EstadisticaInfestacionDAO;
+import model.EstadisticaInfestacion;
+import service.base.ServiceBase;
+import service.exceptions.ServiceException;
+import service.exceptions.ValidationException;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Servicio de consulta de los acumulados semanales de infestacion.
+ * Los tableros y reportes leen los indices por lote, plaga y municipio desde los
+ * acumulados, sin recorrer los resultados tecnicos.
+ */
+public class EstadisticaInfestacionService extends ServiceBase<EstadisticaInfestacion, EstadisticaInfestacionDAO> {
+
+	public EstadisticaInfestacionService(EstadisticaInfestacionDAO dao) {
+		super(dao);
+	}
+
+	/**
+	 * Obtiene la serie semanal de un lote para todas las plagas.
+	 *
+	 * @param idLote ID del lote
+	 * @param desde Fecha inicial (null sin limite)
+	 * @param hasta Fecha final (null sin limite)
+	 * @return Acumulados por semana y plaga
+	 * @throws ServiceException Si los parametros son invalidos o hay error en la consulta
+	 */
+	public List<EstadisticaInfestacion> obtenerPorLote(long idLote, LocalDate desde, LocalDate hasta) throws ServiceException {
+		try {
+			validatePositive((double) idLote, "idLote");
+			validarRango(desde, hasta);
+			return dao.obtenerPorLote(idLote, desde, hasta);
+		} catch (ValidationException e) {
+			throw new ServiceException("VALIDATION_ERROR", e.getMessage(), e);
+		} catch (SQLException e) {
+			LOGGER.log(Level.SEVERE, "Error al obtener estadisticas del lote", e);
+			throw new ServiceException("STATS_ERROR", "Error obteniendo estadisticas de infestacion", e);
+		}
+	}
+
+	/**
+	 * Obtiene la serie semanal de un municipio por plaga.
+	 *
+	 * @param idMunicipio ID del municipio
+	 * @param desde Fecha inicial (null sin limite)
+	 * @param hasta Fecha final (null sin limite)
+	 * @return Acumulados por semana y plaga
+	 * @throws ServiceException Si los parametros son invalidos o hay error en la consulta
+	 */
+	public List<EstadisticaInfestacion> obtenerPorMunicipio(long idMunicipio, LocalDate desde, LocalDate hasta)
+			throws ServiceException {
+		try {
+			validatePositive((double) idMunicipio, "idMunicipio");
+			validarRango(desde, hasta);
+			return dao.obtenerPorMunicipio(idMunicipio, desde, hasta);
+		} catch (ValidationException e) {
+			throw new ServiceException("VALIDATION_ERROR", e.getMessage(), e);
+		} catch (SQLException e) {
+			LOGGER.log(Level.SEVERE, "Error al obtener estadisticas del municipio", e);
+			throw new ServiceException("STATS_ERROR", "Error obteniendo estadisticas de infestacion", e);
+		}
+	}
+
+	/**
+	 * Calcula el indice de infestacion de un lote para una plaga en un rango de fechas.
+	 *
+	 * @param idLote ID del lote
+	 * @param idPlaga ID de la plaga
+	 * @param desde Fecha inicial (null sin limite)
+	 * @param hasta Fecha final (null sin limite)
+	 * @return Indice de infestacion en porcentaje (0 si no hay plantas evaluadas)
+	 * @throws ServiceException Si los parametros son invalidos o hay error en la consulta
+	 */
+	public double obtenerIndice(long idLote, long idPlaga, LocalDate desde, LocalDate hasta) throws ServiceException {
+		try {
+			validatePositive((double) idLote, "idLote");
+			validatePositive((double) idPlaga, "idPlaga");
+			validarRango(desde, hasta);
+			return dao.obtenerTotal(idLote, idPlaga, desde, hasta).getIndiceInfestacion();
+		} catch (ValidationException e) {
+			throw new ServiceException("VALIDATION_ERROR", e.getMessage(), e);
+		} catch (SQLException e) {
+			LOGGER.log(Level.SEVERE, "Error al calcular indice de infestacion", e);
+			throw new ServiceException("STATS_ERROR", "Error calculando indice de infestacion", e);
+		}
+	}
+
+	/**
+	 * Recalcula todos los acumulados a partir de los resultados tecnicos.
+	 *
+	 * @return Numero de acumulados generados
+	 * @throws ServiceException Si hay error (los acumulados no se modifican)
+	 */
+	public int reconstruir() throws ServiceException {
+		try {
+			int filas = dao.reconstruir();
+			LOGGER.info("Acumulados de infestacion reconstruidos: " + filas);
+			return filas;
+		} catch (SQLException e) {
+			LOGGER.log(Level.SEVERE, "Error al reconstruir estadisticas de infestacion", e);
+			throw new ServiceException("STATS_REBUILD_ERROR", "Error reconstruyendo estadisticas de infestacion", e);
+		}
+	}
+
+	private void validarRango(LocalDate desde, LocalDate hasta) throws ValidationException {
+		if (desde != null && hasta != null && desde.isAfter(hasta)) {
+			throw new ValidationException("La fecha inicial es posterior a la fecha final");
+		}
+	}
+}
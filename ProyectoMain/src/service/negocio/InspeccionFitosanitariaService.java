@@ -4,8 +4,12 @@ import java.sql.SQLException;
 import java.util.List;
 import java.util.logging.Level;
 
+import DAO.ConsultaPagina;
+import DAO.DAOBase.RowCallback;
 import DAO.InspeccionFitosanitariaDAO;
+import DAO.Pagina;
 import model.InspeccionFitosanitaria;
+import model.ResultadoTecnico;
 import service.base.ServiceBase;
 import service.exceptions.BusinessRuleException;
 import service.exceptions.ServiceException;
@@ -48,6 +52,99 @@ public class InspeccionFitosanitariaService extends ServiceBase<InspeccionFitosa
 		}
 	}
 
+	/**
+	 * Registra una inspeccion con sus resultados tecnicos en una sola transaccion.
+	 * 
+	 * @param inspeccion Inspeccion a registrar
+	 * @param resultados Resultados tecnicos de la inspeccion
+	 * @return ID generado de la inspeccion
+	 * @throws ServiceException Si hay error (no se guarda nada)
+	 */
+	public long crearConResultados(InspeccionFitosanitaria inspeccion, List<ResultadoTecnico> resultados)
+			throws ServiceException {
+		try {
+			validateNotNull(inspeccion, "inspeccion");
+			validateNotNull(resultados, "resultados");
+			return dao.crearConResultados(inspeccion, resultados);
+		} catch (ValidationException e) {
+			throw new ServiceException("VALIDATION_ERROR", e.getMessage(), e);
+		} catch (SQLException e) {
+			LOGGER.log(Level.SEVERE, "Error al crear inspeccion con sus resultados", e);
+			throw new ServiceException("CREATE_ERROR", "Error creando inspeccion", e);
+		}
+	}
+
+	/**
+	 * Obtiene todas las inspecciones con su lugar de produccion, asistente tecnico y
+	 * resultados tecnicos, en un numero fijo de consultas.
+	 * 
+	 * @return Lista de inspecciones con sus relaciones cargadas
+	 * @throws ServiceException Si hay error en la consulta
+	 */
+	public List<InspeccionFitosanitaria> obtenerTodosCompletos() throws ServiceException {
+		try {
+			return dao.obtenerTodosCompletos();
+		} catch (SQLException e) {
+			LOGGER.log(Level.SEVERE, "Error al obtener inspecciones con sus relaciones", e);
+			throw new ServiceException("GET_ALL_ERROR", "Error obteniendo inspecciones", e);
+		}
+	}
+
+	/**
+	 * Obtiene una pagina de inspecciones con su lugar de produccion, asistente tecnico y
+	 * resultados tecnicos, para los listados que los muestran.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la pagina
+	 * @return Pagina de inspecciones con sus relaciones cargadas
+	 * @throws ServiceException Si hay error en la consulta
+	 */
+	public Pagina<InspeccionFitosanitaria> obtenerPaginaCompleta(ConsultaPagina consulta) throws ServiceException {
+		try {
+			validateNotNull(consulta, "consulta");
+			return dao.obtenerPaginaCompleta(consulta);
+		} catch (ValidationException e) {
+			throw new ServiceException("VALIDATION_ERROR", e.getMessage(), e);
+		} catch (SQLException e) {
+			LOGGER.log(Level.SEVERE, "Error al obtener pagina de inspecciones", e);
+			throw new ServiceException("GET_PAGE_ERROR", "Error obteniendo pagina de inspecciones", e);
+		}
+	}
+
+	/**
+	 * Obtiene una pagina de inspecciones con solo ID, fecha y estado, para listados.
+	 * 
+	 * @param consulta Tamaño, orden, filtros y cursor de la pagina
+	 * @return Pagina de inspecciones resumidas
+	 * @throws ServiceException Si hay error en la consulta
+	 */
+	public Pagina<InspeccionFitosanitaria> obtenerPaginaResumen(ConsultaPagina consulta) throws ServiceException {
+		try {
+			validateNotNull(consulta, "consulta");
+			return dao.obtenerPaginaResumen(consulta);
+		} catch (ValidationException e) {
+			throw new ServiceException("VALIDATION_ERROR", e.getMessage(), e);
+		} catch (SQLException e) {
+			LOGGER.log(Level.SEVERE, "Error al obtener pagina de inspecciones", e);
+			throw new ServiceException("GET_PAGE_ERROR", "Error obteniendo pagina de inspecciones", e);
+		}
+	}
+
+	/**
+	 * Procesa todas las inspecciones una a una sin cargarlas completas en memoria.
+	 * 
+	 * @param callback Procesa cada registro a medida que se lee
+	 * @return Numero de registros procesados
+	 * @throws ServiceException Si hay error en la consulta o en el callback
+	 */
+	public int procesarTodos(RowCallback<InspeccionFitosanitaria> callback) throws ServiceException {
+		try {
+			return dao.recorrerTodos(callback);
+		} catch (SQLException e) {
+			LOGGER.log(Level.SEVERE, "Error al recorrer inspecciones", e);
+			throw new ServiceException("GET_ALL_ERROR", "Error recorriendo inspecciones", e);
+		}
+	}
+
 	public List<InspeccionFitosanitaria> obtenerPorEstado(String estado) throws ServiceException {
 		try {
 			validateNotEmpty(estado, "estado");
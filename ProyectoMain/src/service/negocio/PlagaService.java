@@ -4,6 +4,9 @@ import java.sql.SQLException;
 import java.util.List;
 import java.util.logging.Level;
 
+import BaseDatos.DBConnection;
+import BaseDatos.DBConnectionFactory;
+import DAO.CachedPlagaDAO;
 import DAO.PlagaDAO;
 import model.Plaga;
 import service.base.ServiceBase;
@@ -22,6 +25,23 @@ import service.exceptions.ValidationException;
  */
 public class PlagaService extends ServiceBase<Plaga, PlagaDAO> {
 
+	/**
+	 * Constructor con la conexión por defecto del sistema. Lee el catálogo de plagas a
+	 * través de CachedPlagaDAO.
+	 */
+	public PlagaService() {
+		this(DBConnectionFactory.getDefaultConnection());
+	}
+
+	/**
+	 * Constructor con una conexión específica; el catálogo se lee a través de CachedPlagaDAO.
+	 *
+	 * @param dbConnection - Conexión (o pool) de la que se leen los plagas
+	 */
+	public PlagaService(DBConnection dbConnection) {
+		this(new CachedPlagaDAO(dbConnection));
+	}
+
 	public PlagaService(PlagaDAO dao) {
 		super(dao);
 	}
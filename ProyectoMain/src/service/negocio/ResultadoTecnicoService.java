@@ -4,6 +4,7 @@ import java.sql.SQLException;
 import java.util.List;
 import java.util.logging.Level;
 
+import DAO.DAOBase.RowCallback;
 import DAO.ResultadoTecnicoDAO;
 import model.ResultadoTecnico;
 import service.base.ServiceBase;
@@ -47,6 +48,22 @@ public class ResultadoTecnicoService extends ServiceBase<ResultadoTecnico, Resul
 		}
 	}
 
+	/**
+	 * Procesa todos los resultados tecnicos uno a uno sin cargarlos completos en memoria.
+	 * 
+	 * @param callback Procesa cada registro a medida que se lee
+	 * @return Numero de registros procesados
+	 * @throws ServiceException Si hay error en la consulta o en el callback
+	 */
+	public int procesarTodos(RowCallback<ResultadoTecnico> callback) throws ServiceException {
+		try {
+			return dao.recorrerTodos(callback);
+		} catch (SQLException e) {
+			LOGGER.log(Level.SEVERE, "Error al recorrer resultados tecnicos", e);
+			throw new ServiceException("GET_ALL_ERROR", "Error recorriendo resultados", e);
+		}
+	}
+
 	public String generarRecomendacion(String nivelSeveridad, String tipoCultivo) 
 			throws ValidationException {
 		
@@ -0,0 +1,101 @@
+package service.usuario;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Métricas de los inicios de sesión de la aplicación: intentos, resultados y tiempo de
+ * resolución del usuario (promedio y máximo). Las registra UsuarioService.iniciarSesion;
+ * los contadores son acumuladores sin bloqueo, por lo que registrar es barato incluso
+ * con muchos inicios de sesión simultáneos.
+ */
+public final class MetricasLogin {
+
+	private static final LongAdder INTENTOS = new LongAdder();
+	private static final LongAdder EXITOSOS = new LongAdder();
+	private static final LongAdder NO_ENCONTRADOS = new LongAdder();
+	private static final LongAdder FALLIDOS = new LongAdder();
+	private static final LongAdder NANOS_TOTALES = new LongAdder();
+	private static final LongAccumulator NANOS_MAXIMO = new LongAccumulator(Math::max, 0);
+
+	private MetricasLogin() {
+	}
+
+	/**
+	 * Registra un intento de inicio de sesión.
+	 *
+	 * @param nanos Duración de la resolución del usuario
+	 * @param encontrado Si el correo correspondía a un usuario
+	 * @param error Si la resolución terminó con error
+	 */
+	static void registrar(long nanos, boolean encontrado, boolean error) {
+		INTENTOS.increment();
+		if (error) {
+			FALLIDOS.increment();
+		} else if (encontrado) {
+			EXITOSOS.increment();
+		} else {
+			NO_ENCONTRADOS.increment();
+		}
+		NANOS_TOTALES.add(nanos);
+		NANOS_MAXIMO.accumulate(nanos);
+	}
+
+	public static long getIntentos() {
+		return INTENTOS.sum();
+	}
+
+	public static long getExitosos() {
+		return EXITOSOS.sum();
+	}
+
+	public static long getNoEncontrados() {
+		return NO_ENCONTRADOS.sum();
+	}
+
+	public static long getFallidos() {
+		return FALLIDOS.sum();
+	}
+
+	/**
+	 * Tiempo promedio de resolución del usuario, en milisegundos.
+	 */
+	public static double getTiempoPromedioMs() {
+		long intentos = INTENTOS.sum();
+		return intentos == 0 ? 0.0 : NANOS_TOTALES.sum() / 1_000_000.0 / intentos;
+	}
+
+	/**
+	 * Tiempo máximo de resolución del usuario, en milisegundos.
+	 */
+	public static long getTiempoMaximoMs() {
+		return TimeUnit.NANOSECONDS.toMillis(NANOS_MAXIMO.get());
+	}
+
+	/**
+	 * Reinicia los contadores.
+	 */
+	public static void reiniciar() {
+		INTENTOS.reset();
+		EXITOSOS.reset();
+		NO_ENCONTRADOS.reset();
+		FALLIDOS.reset();
+		NANOS_TOTALES.reset();
+		NANOS_MAXIMO.reset();
+	}
+
+	/**
+	 * Resumen de una línea para registros de diagnóstico.
+	 */
+	public static String resumen() {
+		return String.format("Logins [intentos=%d exitosos=%d no encontrados=%d fallidos=%d promedio=%.2f ms maximo=%d ms]",
+			getIntentos(), getExitosos(), getNoEncontrados(), getFallidos(), getTiempoPromedioMs(), getTiempoMaximoMs());
+	}
+}
@@ -70,7 +70,7 @@ public class ProductorService extends ServiceBase<Productor, ProductorDAO> {
 		try {
 			validarProductor(productor);
 			long id = dao.crear(productor);
-			productor.setId(String.valueOf(id));
+			productor.setId(id);
 			return productor;
 		} catch (ValidationException e) {
 			throw e;
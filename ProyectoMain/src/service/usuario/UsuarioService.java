@@ -88,6 +88,28 @@ public class UsuarioService extends ServiceBase<Usuario, UsuarioDAO> {
 		}
 	}
 
+	/**
+	 * Resuelve el usuario que inicia sesión con un correo y registra el tiempo de la
+	 * resolución en MetricasLogin. Con un CachedUsuarioDAO los inicios de sesión
+	 * repetidos se atienden desde memoria.
+	 *
+	 * @param email - Correo con el que se inicia sesión
+	 * @return Usuario encontrado, o null si el correo no está registrado
+	 * @throws ServiceException si hay error
+	 */
+	public Usuario iniciarSesion(String email) throws ServiceException {
+		long inicio = System.nanoTime();
+		Usuario usuario = null;
+		boolean error = true;
+		try {
+			usuario = obtenerPorEmail(email);
+			error = false;
+			return usuario;
+		} finally {
+			MetricasLogin.registrar(System.nanoTime() - inicio, usuario != null, error);
+		}
+	}
+
 	/**
 	 * Busca un usuario por cédula.
 	 * 
@@ -0,0 +1,255 @@
+package service.utilidad;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Bitácora en archivo de las alertas de AlertService.
+ *
+ * Cada creación y cierre se agrega como una línea de texto (campos separados por
+ * tabulador). Los hilos que crean alertas solo encolan la línea; un hilo escritor vacía
+ * la cola por lotes y hace flush al final de cada lote, de modo que el costo de E/S se
+ * reparte entre muchas alertas. Si la cola se llena, quien registra espera (no se pierden
+ * eventos).
+ *
+ * Al abrir se reproduce la bitácora para recuperar las alertas activas y, si la mayoría
+ * de las líneas corresponde a alertas ya cerradas, se reescribe solo con las activas
+ * (archivo temporal y movimiento atómico). La bitácora compactada empieza con una línea
+ * de secuencia con el mayor ID registrado hasta entonces, para que al reabrirla la
+ * secuencia de AlertService no retroceda ni reutilice los IDs de alertas cerradas.
+ */
+class AlertJournal {
+
+	private static final Logger LOGGER = Logger.getLogger(AlertJournal.class.getName());
+
+	private static final int CAPACIDAD_COLA = 65_536;
+	private static final int LOTE_ESCRITURA = 4_096;
+	private static final long ESPERA_CIERRE_MS = 5_000;
+	private static final int MIN_LINEAS_COMPACTAR = 1_000;
+
+	private static final String CREADA = "C";
+	private static final String CERRADA = "X";
+	private static final String SECUENCIA = "S";
+
+	/**
+	 * Marca de fin para el hilo escritor (se compara por identidad).
+	 */
+	private static final String FIN = new String("FIN");
+
+	private final Path archivo;
+	private final BlockingQueue<String> cola = new LinkedBlockingQueue<>(CAPACIDAD_COLA);
+	private final BufferedWriter writer;
+	private final Thread escritor;
+
+	/**
+	 * Abre (o crea) la bitácora y recupera las alertas que no fueron cerradas.
+	 *
+	 * @param archivo Ruta de la bitácora
+	 * @param activas Recibe las alertas activas, en orden de creación
+	 * @throws IOException Si no se puede leer o abrir el archivo
+	 */
+	AlertJournal(Path archivo, Collection<AlertService.Alerta> activas) throws IOException {
+		this.archivo = archivo;
+		Map<Long, AlertService.Alerta> recuperadas = reproducir();
+		activas.addAll(recuperadas.values());
+		this.writer = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+			StandardOpenOption.APPEND);
+		this.escritor = new Thread(this::escribir, "alertas-bitacora");
+		this.escritor.setDaemon(true);
+		this.escritor.start();
+	}
+
+	void creada(AlertService.Alerta alerta) {
+		encolar(linea(alerta));
+	}
+
+	void cerrada(long idAlerta) {
+		encolar(CERRADA + '\t' + idAlerta + '\t' + System.currentTimeMillis());
+	}
+
+	/**
+	 * Escribe lo pendiente y detiene el hilo escritor. Puede invocarse más de una vez.
+	 */
+	void cerrar() {
+		if (escritor.isAlive()) {
+			encolar(FIN);
+			try {
+				escritor.join(ESPERA_CIERRE_MS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		try {
+			writer.close();
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Error cerrando la bitácora de alertas", e);
+		}
+	}
+
+	private void encolar(String linea) {
+		if (!escritor.isAlive()) {
+			LOGGER.warning("Bitácora de alertas cerrada; evento no registrado: " + linea);
+			return;
+		}
+		try {
+			cola.put(linea);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOGGER.warning("Interrumpido registrando en la bitácora de alertas: " + linea);
+		}
+	}
+
+	private void escribir() {
+		List<String> lote = new ArrayList<>(LOTE_ESCRITURA);
+		boolean fin = false;
+		while (!fin) {
+			try {
+				String primera = cola.poll(1, TimeUnit.SECONDS);
+				if (primera == null) {
+					continue;
+				}
+				lote.add(primera);
+				cola.drainTo(lote, LOTE_ESCRITURA - 1);
+			} catch (InterruptedException e) {
+				fin = true;
+				cola.drainTo(lote);
+			}
+			try {
+				for (String linea : lote) {
+					if (linea == FIN) {
+						fin = true;
+					} else {
+						writer.write(linea);
+						writer.newLine();
+					}
+				}
+				writer.flush();
+			} catch (IOException e) {
+				LOGGER.log(Level.SEVERE, "Error escribiendo la bitácora de alertas " + archivo, e);
+			}
+			lote.clear();
+		}
+	}
+
+	private Map<Long, AlertService.Alerta> reproducir() throws IOException {
+		Map<Long, AlertService.Alerta> activas = new LinkedHashMap<>();
+		List<String> lineas;
+		try {
+			lineas = Files.readAllLines(archivo, StandardCharsets.UTF_8);
+		} catch (NoSuchFileException e) {
+			return activas;
+		}
+		long maxId = 0;
+		for (String linea : lineas) {
+			try {
+				String[] campos = separar(linea);
+				long id = Long.parseLong(campos[1]);
+				maxId = Math.max(maxId, id);
+				if (CREADA.equals(campos[0])) {
+					activas.put(id, new AlertService.Alerta(id, campos[3], campos[6], campos[4],
+						Long.parseLong(campos[5]), new Date(Long.parseLong(campos[2]))));
+				} else if (CERRADA.equals(campos[0])) {
+					activas.remove(id);
+				} else if (!SECUENCIA.equals(campos[0])) {
+					throw new IllegalArgumentException("Evento desconocido: " + campos[0]);
+				}
+			} catch (RuntimeException e) {
+				// Típicamente la última línea, truncada por una caída durante la escritura
+				LOGGER.warning("Línea inválida en la bitácora de alertas ignorada: " + linea);
+			}
+		}
+		AlertService.Alerta.avanzarSecuencia(maxId);
+		if (lineas.size() >= MIN_LINEAS_COMPACTAR && lineas.size() > 2 * activas.size()) {
+			compactar(activas.values(), maxId);
+		}
+		LOGGER.info("Bitácora de alertas " + archivo + ": " + lineas.size() + " eventos, "
+			+ activas.size() + " alertas activas");
+		return activas;
+	}
+
+	private void compactar(Collection<AlertService.Alerta> activas, long maxId) throws IOException {
+		Path tmp = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+		try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+			out.write(SECUENCIA + '\t' + maxId);
+			out.newLine();
+			for (AlertService.Alerta alerta : activas) {
+				out.write(linea(alerta));
+				out.newLine();
+			}
+		}
+		Files.move(tmp, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static String linea(AlertService.Alerta alerta) {
+		return CREADA + '\t' + alerta.getId() + '\t' + alerta.getFechaCreacion().getTime() + '\t'
+			+ escapar(alerta.getTipo()) + '\t' + escapar(alerta.getNivelSeveridad()) + '\t'
+			+ alerta.getEntidadAfectada() + '\t' + escapar(alerta.getDescripcion());
+	}
+
+	private static String escapar(String valor) {
+		if (valor == null) {
+			return "";
+		}
+		StringBuilder sb = null;
+		for (int i = 0; i < valor.length(); i++) {
+			char c = valor.charAt(i);
+			String reemplazo = c == '\\' ? "\\\\" : c == '\t' ? "\\t" : c == '\n' ? "\\n" : c == '\r' ? "\\r" : null;
+			if (reemplazo != null && sb == null) {
+				sb = new StringBuilder(valor.length() + 8).append(valor, 0, i);
+			}
+			if (sb != null) {
+				if (reemplazo != null) {
+					sb.append(reemplazo);
+				} else {
+					sb.append(c);
+				}
+			}
+		}
+		return sb == null ? valor : sb.toString();
+	}
+
+	/**
+	 * Separa una línea por tabuladores y revierte el escape de cada campo.
+	 */
+	private static String[] separar(String linea) {
+		List<String> campos = new ArrayList<>(7);
+		StringBuilder actual = new StringBuilder();
+		for (int i = 0; i < linea.length(); i++) {
+			char c = linea.charAt(i);
+			if (c == '\t') {
+				campos.add(actual.toString());
+				actual.setLength(0);
+			} else if (c == '\\' && i + 1 < linea.length()) {
+				char s = linea.charAt(++i);
+				actual.append(s == 't' ? '\t' : s == 'n' ? '\n' : s == 'r' ? '\r' : s);
+			} else {
+				actual.append(c);
+			}
+		}
+		campos.add(actual.toString());
+		return campos.toArray(new String[0]);
+	}
+}
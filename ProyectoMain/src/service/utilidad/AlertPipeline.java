@@ -0,0 +1,291 @@
+package service.utilidad;
+
+import DAO.InspeccionFitosanitariaDAO;
+import DAO.ResultadoTecnicoDAO;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import model.ResultadoTecnico;
+import service.base.SessionContext;
+import service.exceptions.ValidationException;
+import service.negocio.InspeccionFitosanitariaService;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Genera alertas de infestación a partir de los resultados técnicos que se guardan.
+ *
+ * Se registra como listener de ResultadoTecnicoDAO: el hilo que inserta solo suma cada
+ * resultado a las plantas evaluadas y afectadas pendientes de su lote y plaga (sin
+ * esperar), y los hilos del pipeline toman esos acumulados con un DespachadorAgrupado. El
+ * índice de infestación de cada lote y plaga se clasifica con
+ * InspeccionFitosanitariaService.evaluarSeveridad y, si alcanza el nivel mínimo, se crea
+ * la alerta en AlertService.
+ *
+ * Por cada lote y plaga:
+ * - deduplicación: no se crea otra alerta mientras haya una activa de igual o mayor severidad;
+ * - límite de frecuencia: tras cerrarse una alerta, no se crea otra de igual o menor
+ *   severidad hasta que pase el intervalo mínimo;
+ * - escalamiento: una severidad mayor siempre genera alerta y cierra la anterior.
+ *
+ * Los resultados de un lote y plaga que ya tiene trabajo pendiente se suman a él, así que
+ * una importación masiva más rápida que el pipeline no pierde resultados. Solo cuando ya
+ * hay tantos lotes y plagas distintos pendientes como la capacidad se descartan los de
+ * claves nuevas, y se cuentan en getDescartados(); la inserción nunca espera.
+ */
+public class AlertPipeline implements ResultadoTecnicoDAO.GuardadoListener {
+
+	private static final Logger LOGGER = Logger.getLogger(AlertPipeline.class.getName());
+
+	/**
+	 * Tipo de las alertas generadas por el pipeline.
+	 */
+	public static final String TIPO_ALERTA = "INFESTACION";
+
+	public static final int CAPACIDAD_POR_DEFECTO = 10_000;
+	public static final int LOTE_POR_DEFECTO = 500;
+	public static final long INTERVALO_POR_DEFECTO_MS = TimeUnit.MINUTES.toMillis(30);
+
+	private static final String[] NIVELES = {"BAJA", "MEDIA", "ALTA", "CRITICA"};
+	private static final int MAX_CLAVES = 100_000;
+
+	private static AlertPipeline instanciaPorDefecto;
+
+	private final AlertService alertService;
+	private final InspeccionFitosanitariaService inspeccionService;
+	private final DespachadorAgrupado<ResultadoTecnico, String, long[]> despachador;
+	private final long intervaloMinimoMs;
+	private final int nivelMinimo;
+
+	/**
+	 * Última alerta por lote y plaga (clave "lote:plaga").
+	 */
+	private final Map<String, UltimaAlerta> ultimas = new ConcurrentHashMap<>();
+
+	private final LongAdder alertasCreadas = new LongAdder();
+	private final LongAdder duplicadas = new LongAdder();
+	private final LongAdder limitadas = new LongAdder();
+
+	private boolean activo;
+
+	/**
+	 * @param alertService - Servicio donde se crean las alertas
+	 * @param inspeccionService - Servicio que clasifica la severidad
+	 * @param hilos - Hilos que procesan los resultados
+	 * @param capacidad - Lotes y plagas distintos con resultados pendientes antes de descartar
+	 * @param intervaloMinimoMs - Tiempo mínimo entre alertas de igual severidad para un lote y plaga
+	 * @param nivelMinimo - Severidad mínima que genera alerta (BAJA, MEDIA, ALTA o CRITICA)
+	 */
+	public AlertPipeline(AlertService alertService, InspeccionFitosanitariaService inspeccionService, int hilos,
+			int capacidad, long intervaloMinimoMs, String nivelMinimo) {
+		if (alertService == null || inspeccionService == null) {
+			throw new IllegalArgumentException("Los servicios de alertas e inspecciones son obligatorios");
+		}
+		if (hilos < 1 || capacidad < 1) {
+			throw new IllegalArgumentException("Hilos y capacidad deben ser positivos");
+		}
+		if (nivel(nivelMinimo) < 0) {
+			throw new IllegalArgumentException("Nivel de severidad inválido: " + nivelMinimo);
+		}
+		this.alertService = alertService;
+		this.inspeccionService = inspeccionService;
+		this.despachador = new DespachadorAgrupado<>("alertas-pipeline", hilos, capacidad,
+			Math.min(LOTE_POR_DEFECTO, capacidad), AlertPipeline::clave, k -> new long[3], AlertPipeline::acumular,
+			this::evaluar);
+		this.intervaloMinimoMs = intervaloMinimoMs;
+		this.nivelMinimo = nivel(nivelMinimo);
+	}
+
+	/**
+	 * Pipeline de la aplicación, iniciado sobre AlertService.getDefault(): un hilo, hasta
+	 * CAPACIDAD_POR_DEFECTO lotes y plagas pendientes y alertas desde severidad ALTA.
+	 * Consulta con la sesión SISTEMA, no con la del usuario conectado.
+	 */
+	public static synchronized AlertPipeline getDefault() {
+		if (instanciaPorDefecto == null) {
+			InspeccionFitosanitariaService inspecciones = new InspeccionFitosanitariaService(new InspeccionFitosanitariaDAO());
+			inspecciones.setSesion(SessionContext.SISTEMA);
+			instanciaPorDefecto = new AlertPipeline(AlertService.getDefault(), inspecciones, 1, CAPACIDAD_POR_DEFECTO,
+				INTERVALO_POR_DEFECTO_MS, "ALTA");
+			instanciaPorDefecto.iniciar();
+		}
+		return instanciaPorDefecto;
+	}
+
+	/**
+	 * Inicia los hilos y se registra en ResultadoTecnicoDAO.
+	 */
+	public synchronized void iniciar() {
+		if (activo) {
+			return;
+		}
+		activo = true;
+		despachador.iniciar();
+		ResultadoTecnicoDAO.agregarListener(this);
+	}
+
+	/**
+	 * Deja de recibir resultados, procesa los que quedan pendientes y detiene los hilos.
+	 */
+	public synchronized void detener() {
+		if (!activo) {
+			return;
+		}
+		ResultadoTecnicoDAO.quitarListener(this);
+		activo = false;
+		despachador.detener();
+	}
+
+	@Override
+	public void resultadosGuardados(List<ResultadoTecnico> resultados) {
+		despachador.agregar(resultados);
+	}
+
+	/**
+	 * Clave "lote:plaga" de un resultado, o null si no tiene lote o plantas evaluadas.
+	 */
+	private static String clave(ResultadoTecnico r) {
+		if (r.getLote() == null || r.getLote().getId() == null || r.getTotalPlantasEvaluadas() <= 0) {
+			return null;
+		}
+		String plaga = r.getPlaga() != null ? r.getPlaga().getId() : null;
+		return r.getLote().getId() + ":" + plaga;
+	}
+
+	/**
+	 * Suma un resultado a las plantas evaluadas, las afectadas y el número de resultados
+	 * de su lote y plaga.
+	 */
+	private static void acumular(long[] suma, ResultadoTecnico r) {
+		suma[0] += r.getTotalPlantasEvaluadas();
+		suma[1] += Math.min(r.getPlantasAfectadas(), r.getTotalPlantasEvaluadas());
+		suma[2]++;
+	}
+
+	/**
+	 * Evalúa los acumulados pendientes de cada lote y plaga.
+	 */
+	private void evaluar(Map<String, long[]> grupos) {
+		long ahora = System.currentTimeMillis();
+		for (Map.Entry<String, long[]> grupo : grupos.entrySet()) {
+			long[] suma = grupo.getValue();
+			double indice = suma[1] * 100.0 / suma[0];
+			String severidad;
+			try {
+				severidad = inspeccionService.evaluarSeveridad(indice);
+			} catch (ValidationException e) {
+				LOGGER.log(Level.WARNING, "Índice fuera de rango para " + grupo.getKey(), e);
+				continue;
+			}
+			if (nivel(severidad) >= nivelMinimo) {
+				alertar(grupo.getKey(), severidad, indice, suma[2], ahora);
+			}
+		}
+		if (ultimas.size() > MAX_CLAVES) {
+			depurar(ahora);
+		}
+	}
+
+	/**
+	 * Decide y crea la alerta de un lote y plaga. La decisión se toma dentro de compute
+	 * para que dos hilos no alerten a la vez por la misma clave.
+	 */
+	private void alertar(String clave, String severidad, double indice, long resultados, long ahora) {
+		int nivel = nivel(severidad);
+		ultimas.compute(clave, (k, ultima) -> {
+			if (ultima != null && nivel <= ultima.nivel) {
+				if (alertService.obtenerAlerta(ultima.idAlerta) != null) {
+					duplicadas.increment();
+					return ultima;
+				}
+				if (ahora - ultima.creada < intervaloMinimoMs) {
+					limitadas.increment();
+					return ultima;
+				}
+			}
+			if (ultima != null && nivel > ultima.nivel) {
+				alertService.cerrarAlerta(ultima.idAlerta);
+			}
+			String[] partes = k.split(":", 2);
+			String descripcion = String.format("Plaga %s en lote %s: índice de infestación %.1f%% (%d resultados)",
+				partes[1], partes[0], indice, resultados);
+			AlertService.Alerta alerta = alertService.crearAlerta(TIPO_ALERTA, descripcion, severidad,
+				entidad(partes[0]));
+			alertasCreadas.increment();
+			return new UltimaAlerta(alerta.getId(), nivel, ahora);
+		});
+	}
+
+	/**
+	 * Olvida las claves cuya alerta ya se cerró y cuyo intervalo mínimo pasó.
+	 */
+	private void depurar(long ahora) {
+		ultimas.entrySet().removeIf(e -> ahora - e.getValue().creada >= intervaloMinimoMs
+			&& alertService.obtenerAlerta(e.getValue().idAlerta) == null);
+	}
+
+	private static long entidad(String idLote) {
+		try {
+			return Long.parseLong(idLote.trim());
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	private static int nivel(String severidad) {
+		for (int i = 0; i < NIVELES.length; i++) {
+			if (NIVELES[i].equals(severidad)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public long getRecibidos() {
+		return despachador.getRecibidos();
+	}
+
+	public long getDescartados() {
+		return despachador.getDescartados();
+	}
+
+	public long getProcesados() {
+		return despachador.getProcesados();
+	}
+
+	public long getAlertasCreadas() {
+		return alertasCreadas.sum();
+	}
+
+	public long getDuplicadas() {
+		return duplicadas.sum();
+	}
+
+	public long getLimitadas() {
+		return limitadas.sum();
+	}
+
+	public int getPendientes() {
+		return despachador.getPendientes();
+	}
+
+	private static final class UltimaAlerta {
+		final long idAlerta;
+		final int nivel;
+		final long creada;
+
+		UltimaAlerta(long idAlerta, int nivel, long creada) {
+			this.idAlerta = idAlerta;
+			this.nivel = nivel;
+			this.creada = creada;
+		}
+	}
+}
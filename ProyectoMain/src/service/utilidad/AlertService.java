@@ -1,8 +1,20 @@
 package service.utilidad;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -11,53 +23,279 @@ import java.util.logging.Logger;
  * @author Ricardo Viancha
  * @author Iswar Corrales
  * @author Andres Rivero
- * 
+ *
  * Servicio para gestionar alertas del sistema.
  * Permite crear, consultar y gestionar alertas epidemiologicas.
+ *
+ * Es seguro entre hilos y está pensado para recibir alertas desde los hilos de
+ * procesamiento de inspecciones: las alertas activas se indexan por id, tipo, severidad
+ * y entidad afectada en mapas concurrentes, los conteos por tipo y severidad son
+ * contadores (sin recorrer las alertas) y los ids se generan de forma atómica.
+ * Las alertas de severidad CRITICA o superior se encolan además en una cola de prioridad
+ * para que un consumidor las atienda en orden de severidad.
+ *
+ * Con una bitácora (ver getDefault()) las alertas sobreviven a reinicios; la instancia
+ * creada con el constructor sin parámetros solo las mantiene en memoria.
  */
 public class AlertService {
 
 	private static final Logger LOGGER = Logger.getLogger(AlertService.class.getName());
-	private final List<Alerta> alertasActivas = new ArrayList<>();
 
-	public void crearAlerta(String tipo, String descripcion, String nivelSeveridad, long entidadAfectada) {
+	/**
+	 * Propiedad del sistema con la ruta de la bitácora de alertas.
+	 */
+	public static final String JOURNAL_PROPERTY = "alertas.journal";
+
+	private static final String[] NIVELES = {"BAJA", "MEDIA", "ALTA", "CRITICA", "CUARENTENARIA"};
+	private static final int NIVEL_ALTA = 3;
+	private static final int NIVEL_CRITICA = 4;
+
+	private static AlertService instanciaPorDefecto;
+
+	private final ConcurrentMap<Long, Alerta> alertasActivas = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Set<Alerta>> porTipo = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Set<Alerta>> porSeveridad = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Long, Set<Alerta>> porEntidad = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, LongAdder> contadoresTipo = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, LongAdder> contadoresSeveridad = new ConcurrentHashMap<>();
+
+	/**
+	 * Alertas críticas pendientes de atender: mayor severidad primero y, a igual
+	 * severidad, la más antigua.
+	 */
+	private final PriorityBlockingQueue<Alerta> criticas = new PriorityBlockingQueue<>(64,
+		Comparator.comparingInt((Alerta a) -> -nivel(a.getNivelSeveridad())).thenComparingLong(Alerta::getId));
+
+	private final AlertJournal journal;
+
+	/**
+	 * Constructor sin persistencia: las alertas solo se mantienen en memoria.
+	 */
+	public AlertService() {
+		this.journal = null;
+	}
+
+	/**
+	 * Constructor con bitácora. Recupera las alertas activas registradas en el archivo.
+	 *
+	 * @param archivoJournal - Ruta de la bitácora (se crea si no existe)
+	 * @throws IOException Si no se puede leer o abrir la bitácora
+	 */
+	public AlertService(Path archivoJournal) throws IOException {
+		List<Alerta> recuperadas = new ArrayList<>();
+		this.journal = new AlertJournal(archivoJournal, recuperadas);
+		for (Alerta alerta : recuperadas) {
+			registrar(alerta);
+		}
+	}
+
+	/**
+	 * Servicio compartido de la aplicación, con la bitácora indicada en la propiedad
+	 * alertas.journal (por defecto alertas.journal en el directorio de trabajo). Si la
+	 * bitácora no se puede abrir, las alertas se mantienen solo en memoria.
+	 * La bitácora se cierra al terminar la JVM, de modo que System.exit no pierde los
+	 * eventos que el hilo escritor aún no había escrito.
+	 */
+	public static synchronized AlertService getDefault() {
+		if (instanciaPorDefecto == null) {
+			Path ruta = Paths.get(System.getProperty(JOURNAL_PROPERTY, "alertas.journal"));
+			try {
+				instanciaPorDefecto = new AlertService(ruta);
+				final AlertService servicio = instanciaPorDefecto;
+				Runtime.getRuntime().addShutdownHook(new Thread(servicio::cerrar, "alertas-cierre"));
+			} catch (IOException e) {
+				LOGGER.log(Level.SEVERE, "No fue posible abrir la bitácora de alertas " + ruta
+					+ "; las alertas no se conservarán al reiniciar", e);
+				instanciaPorDefecto = new AlertService();
+			}
+		}
+		return instanciaPorDefecto;
+	}
+
+	/**
+	 * Crea y registra una alerta.
+	 *
+	 * @return Alerta creada
+	 */
+	public Alerta crearAlerta(String tipo, String descripcion, String nivelSeveridad, long entidadAfectada) {
+		if (tipo == null || tipo.trim().isEmpty()) {
+			throw new IllegalArgumentException("El tipo de alerta no puede estar vacío");
+		}
+		if (nivelSeveridad == null || nivelSeveridad.trim().isEmpty()) {
+			throw new IllegalArgumentException("El nivel de severidad no puede estar vacío");
+		}
 		Alerta alerta = new Alerta(tipo, descripcion, nivelSeveridad, entidadAfectada);
-		alertasActivas.add(alerta);
-		LOGGER.warning("ALERTA CREADA: " + tipo + " - " + descripcion);
+		// Se registra en la bitácora antes de publicarla, para que un cierre concurrente
+		// nunca quede escrito antes que la creación
+		if (journal != null) {
+			journal.creada(alerta);
+		}
+		registrar(alerta);
+		if (nivel(nivelSeveridad) >= NIVEL_ALTA) {
+			LOGGER.warning("ALERTA CREADA: " + tipo + " - " + descripcion);
+		} else {
+			LOGGER.fine(() -> "ALERTA CREADA: " + tipo + " - " + descripcion);
+		}
+		return alerta;
 	}
 
 	public List<Alerta> obtenerAlertasActivas() {
-		return new ArrayList<>(alertasActivas);
+		List<Alerta> activas = new ArrayList<>(alertasActivas.values());
+		activas.sort(Comparator.comparingLong(Alerta::getId));
+		return activas;
+	}
+
+	public Alerta obtenerAlerta(long idAlerta) {
+		return alertasActivas.get(idAlerta);
 	}
 
 	public List<Alerta> obtenerAlertasCriticas() {
-		List<Alerta> criticas = new ArrayList<>();
-		for (Alerta alerta : alertasActivas) {
-			if ("CRITICA".equals(alerta.getNivelSeveridad())) {
-				criticas.add(alerta);
+		return obtenerPorSeveridad("CRITICA");
+	}
+
+	public List<Alerta> obtenerPorSeveridad(String nivelSeveridad) {
+		return copia(porSeveridad.get(nivelSeveridad));
+	}
+
+	public List<Alerta> obtenerPorTipo(String tipo) {
+		return copia(porTipo.get(tipo));
+	}
+
+	public List<Alerta> obtenerPorEntidad(long entidadAfectada) {
+		return copia(porEntidad.get(entidadAfectada));
+	}
+
+	/**
+	 * Toma la siguiente alerta crítica pendiente de atender.
+	 *
+	 * @return Alerta de mayor severidad, o null si no hay pendientes
+	 */
+	public Alerta siguienteAlertaCritica() {
+		Alerta alerta;
+		do {
+			alerta = criticas.poll();
+		} while (alerta != null && !alertasActivas.containsKey(alerta.getId()));
+		return alerta;
+	}
+
+	/**
+	 * Espera la siguiente alerta crítica pendiente de atender.
+	 *
+	 * @param espera - Tiempo máximo de espera
+	 * @param unidad - Unidad del tiempo de espera
+	 * @return Alerta de mayor severidad, o null si no llegó ninguna en el tiempo indicado
+	 * @throws InterruptedException Si el hilo es interrumpido mientras espera
+	 */
+	public Alerta esperarAlertaCritica(long espera, TimeUnit unidad) throws InterruptedException {
+		long limite = System.nanoTime() + unidad.toNanos(espera);
+		while (true) {
+			Alerta alerta = criticas.poll(limite - System.nanoTime(), TimeUnit.NANOSECONDS);
+			if (alerta == null || alertasActivas.containsKey(alerta.getId())) {
+				return alerta;
 			}
 		}
-		return criticas;
 	}
 
 	public void cerrarAlerta(long idAlerta) {
-		alertasActivas.removeIf(a -> a.getId() == idAlerta);
+		Alerta alerta = alertasActivas.remove(idAlerta);
+		if (alerta == null) {
+			return;
+		}
+		desindexar(porTipo, alerta.getTipo(), alerta);
+		desindexar(porSeveridad, alerta.getNivelSeveridad(), alerta);
+		desindexar(porEntidad, alerta.getEntidadAfectada(), alerta);
+		contadoresTipo.get(alerta.getTipo()).decrement();
+		contadoresSeveridad.get(alerta.getNivelSeveridad()).decrement();
+		if (journal != null) {
+			journal.cerrada(idAlerta);
+		}
 		LOGGER.info("Alerta cerrada: " + idAlerta);
 	}
 
 	public int contarAlertasPorTipo(String tipo) {
-		int contador = 0;
-		for (Alerta alerta : alertasActivas) {
-			if (tipo.equals(alerta.getTipo())) {
-				contador++;
+		LongAdder contador = contadoresTipo.get(tipo);
+		return contador == null ? 0 : contador.intValue();
+	}
+
+	public int contarAlertasPorSeveridad(String nivelSeveridad) {
+		LongAdder contador = contadoresSeveridad.get(nivelSeveridad);
+		return contador == null ? 0 : contador.intValue();
+	}
+
+	public int contarAlertasActivas() {
+		return alertasActivas.size();
+	}
+
+	/**
+	 * Escribe los eventos pendientes en la bitácora y la cierra. Las alertas siguen
+	 * disponibles en memoria, pero los cambios posteriores no se registran. Puede
+	 * invocarse más de una vez.
+	 */
+	public void cerrar() {
+		if (journal != null) {
+			journal.cerrar();
+		}
+	}
+
+	/**
+	 * Indexa la alerta y la publica al final: cerrarAlerta solo la encuentra cuando ya
+	 * está en todos los índices y contadores.
+	 */
+	private void registrar(Alerta alerta) {
+		indexar(porTipo, alerta.getTipo(), alerta);
+		indexar(porSeveridad, alerta.getNivelSeveridad(), alerta);
+		indexar(porEntidad, alerta.getEntidadAfectada(), alerta);
+		contadoresTipo.computeIfAbsent(alerta.getTipo(), k -> new LongAdder()).increment();
+		contadoresSeveridad.computeIfAbsent(alerta.getNivelSeveridad(), k -> new LongAdder()).increment();
+		alertasActivas.put(alerta.getId(), alerta);
+		if (nivel(alerta.getNivelSeveridad()) >= NIVEL_CRITICA) {
+			criticas.offer(alerta);
+		}
+	}
+
+	/**
+	 * Agrega la alerta al conjunto de la clave. Se hace dentro de compute para no
+	 * competir con desindexar, que elimina los conjuntos vacíos.
+	 */
+	private static <K> void indexar(ConcurrentMap<K, Set<Alerta>> indice, K clave, Alerta alerta) {
+		indice.compute(clave, (k, alertas) -> {
+			Set<Alerta> conjunto = alertas != null ? alertas : ConcurrentHashMap.newKeySet();
+			conjunto.add(alerta);
+			return conjunto;
+		});
+	}
+
+	private static <K> void desindexar(ConcurrentMap<K, Set<Alerta>> indice, K clave, Alerta alerta) {
+		indice.computeIfPresent(clave, (k, alertas) -> {
+			alertas.remove(alerta);
+			return alertas.isEmpty() ? null : alertas;
+		});
+	}
+
+	private static List<Alerta> copia(Set<Alerta> alertas) {
+		if (alertas == null) {
+			return new ArrayList<>();
+		}
+		List<Alerta> lista = new ArrayList<>(alertas);
+		lista.sort(Comparator.comparingLong(Alerta::getId));
+		return lista;
+	}
+
+	/**
+	 * Rango de un nivel de severidad (0 si no es un nivel conocido).
+	 */
+	private static int nivel(String nivelSeveridad) {
+		for (int i = 0; i < NIVELES.length; i++) {
+			if (NIVELES[i].equals(nivelSeveridad)) {
+				return i + 1;
 			}
 		}
-		return contador;
+		return 0;
 	}
 
 	// Clase interna para representar alertas
 	public static class Alerta {
-		private static long contadorId = 1;
+		private static final AtomicLong SECUENCIA = new AtomicLong();
 		private final long id;
 		private final String tipo;
 		private final String descripcion;
@@ -66,12 +304,27 @@ public class AlertService {
 		private final Date fechaCreacion;
 
 		public Alerta(String tipo, String descripcion, String nivelSeveridad, long entidadAfectada) {
-			this.id = contadorId++;
+			this(SECUENCIA.incrementAndGet(), tipo, descripcion, nivelSeveridad, entidadAfectada, new Date());
+		}
+
+		/**
+		 * Constructor para alertas recuperadas de la bitácora.
+		 */
+		Alerta(long id, String tipo, String descripcion, String nivelSeveridad, long entidadAfectada,
+				Date fechaCreacion) {
+			this.id = id;
 			this.tipo = tipo;
 			this.descripcion = descripcion;
 			this.nivelSeveridad = nivelSeveridad;
 			this.entidadAfectada = entidadAfectada;
-			this.fechaCreacion = new Date();
+			this.fechaCreacion = fechaCreacion;
+		}
+
+		/**
+		 * Garantiza que los próximos ids sean mayores que uno ya usado.
+		 */
+		static void avanzarSecuencia(long idUsado) {
+			SECUENCIA.accumulateAndGet(idUsado, Math::max);
 		}
 
 		public long getId() { return id; }
@@ -83,7 +336,7 @@ public class AlertService {
 
 		@Override
 		public String toString() {
-			return String.format("[%s] %s - %s (Severidad: %s)", 
+			return String.format("[%s] %s - %s (Severidad: %s)",
 				fechaCreacion, tipo, descripcion, nivelSeveridad);
 		}
 	}
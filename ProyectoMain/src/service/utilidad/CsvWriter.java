@@ -0,0 +1,283 @@
+package service.utilidad;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Escritor de archivos CSV para los reportes.
+ * Los valores se codifican directamente en un búfer de caracteres propio (sin
+ * String.format ni cadenas intermedias por fila) y se vuelcan al archivo por bloques,
+ * de modo que el costo de un reporte grande queda dominado por la E/S.
+ *
+ * Los textos que contienen separador, comillas o saltos de línea se escriben entre
+ * comillas dobles según RFC 4180. Los números decimales usan punto como separador.
+ */
+public final class CsvWriter implements Closeable, Flushable {
+
+	private static final int BUFFER_SIZE = 16 * 1024;
+	private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+	private static final char SEPARADOR = ',';
+	private static final long[] POTENCIAS = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L};
+	private static final double MAXIMO_EXACTO = 1e12;
+
+	private final Writer out;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private final char[] digitos = new char[20];
+	private int pos;
+	private boolean inicioFila = true;
+	private long filas;
+
+	/**
+	 * Crea un escritor sobre un Writer existente.
+	 *
+	 * @param out - Destino de los caracteres (no necesita ser buffered)
+	 */
+	public CsvWriter(Writer out) {
+		this.out = out;
+	}
+
+	/**
+	 * Abre un archivo CSV en UTF-8, opcionalmente comprimido con gzip.
+	 *
+	 * @param path - Ruta del archivo a crear (se sobrescribe si existe)
+	 * @param gzip - true para comprimir la salida
+	 * @return CsvWriter - Escritor abierto
+	 * @throws IOException Si no es posible crear el archivo
+	 */
+	public static CsvWriter open(Path path, boolean gzip) throws IOException {
+		OutputStream os = Files.newOutputStream(path);
+		try {
+			if (gzip) {
+				os = new GZIPOutputStream(os, GZIP_BUFFER_SIZE);
+			}
+		} catch (IOException e) {
+			os.close();
+			throw e;
+		}
+		return new CsvWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Escribe la fila de encabezado.
+	 *
+	 * @param columnas - Nombres de las columnas
+	 * @throws IOException Si hay error de escritura
+	 */
+	public void encabezado(String... columnas) throws IOException {
+		for (String columna : columnas) {
+			campo(columna);
+		}
+		finFila();
+		filas--;
+	}
+
+	/**
+	 * Escribe un campo de texto; null se escribe como campo vacío.
+	 */
+	public CsvWriter campo(String valor) throws IOException {
+		separador();
+		if (valor == null) {
+			return this;
+		}
+		if (!requiereComillas(valor)) {
+			append(valor);
+			return this;
+		}
+		append('"');
+		for (int i = 0; i < valor.length(); i++) {
+			char c = valor.charAt(i);
+			if (c == '"') {
+				append('"');
+			}
+			append(c);
+		}
+		append('"');
+		return this;
+	}
+
+	/**
+	 * Escribe un campo entero.
+	 */
+	public CsvWriter campo(long valor) throws IOException {
+		separador();
+		appendLong(valor);
+		return this;
+	}
+
+	/**
+	 * Escribe un campo decimal redondeado (HALF_UP) al número de decimales indicado.
+	 * NaN e infinito se escriben como campo vacío.
+	 *
+	 * @param valor - Valor a escribir
+	 * @param decimales - Decimales (0 a 6)
+	 */
+	public CsvWriter campo(double valor, int decimales) throws IOException {
+		separador();
+		if (Double.isNaN(valor) || Double.isInfinite(valor)) {
+			return this;
+		}
+		if (decimales < 0 || decimales >= POTENCIAS.length) {
+			throw new IllegalArgumentException("Decimales fuera de rango: " + decimales);
+		}
+		if (Math.abs(valor) >= MAXIMO_EXACTO) {
+			append(BigDecimal.valueOf(valor).setScale(decimales, RoundingMode.HALF_UP).toPlainString());
+			return this;
+		}
+		long escala = POTENCIAS[decimales];
+		long escalado = Math.round(Math.abs(valor) * escala);
+		if (valor < 0 && escalado != 0) {
+			append('-');
+		}
+		appendLong(escalado / escala);
+		if (decimales > 0) {
+			append('.');
+			long fraccion = escalado % escala;
+			for (long p = escala / 10; p > 0; p /= 10) {
+				append((char) ('0' + (fraccion / p) % 10));
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Escribe una fecha en formato ISO (yyyy-MM-dd); null se escribe como campo vacío.
+	 */
+	public CsvWriter campo(LocalDate fecha) throws IOException {
+		separador();
+		if (fecha == null) {
+			return this;
+		}
+		appendLong(fecha.getYear());
+		append('-');
+		dosDigitos(fecha.getMonthValue());
+		append('-');
+		dosDigitos(fecha.getDayOfMonth());
+		return this;
+	}
+
+	/**
+	 * Escribe un campo vacío.
+	 */
+	public CsvWriter vacio() throws IOException {
+		separador();
+		return this;
+	}
+
+	/**
+	 * Termina la fila actual.
+	 */
+	public void finFila() throws IOException {
+		append('\n');
+		inicioFila = true;
+		filas++;
+	}
+
+	/**
+	 * Obtiene el número de filas de datos escritas (sin contar el encabezado).
+	 */
+	public long getFilas() {
+		return filas;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		vaciarBuffer();
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			vaciarBuffer();
+		} finally {
+			out.close();
+		}
+	}
+
+	private static boolean requiereComillas(String valor) {
+		for (int i = 0; i < valor.length(); i++) {
+			char c = valor.charAt(i);
+			if (c == SEPARADOR || c == '"' || c == '\n' || c == '\r') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void separador() throws IOException {
+		if (inicioFila) {
+			inicioFila = false;
+		} else {
+			append(SEPARADOR);
+		}
+	}
+
+	private void dosDigitos(int valor) throws IOException {
+		append((char) ('0' + valor / 10));
+		append((char) ('0' + valor % 10));
+	}
+
+	private void appendLong(long valor) throws IOException {
+		if (valor == Long.MIN_VALUE) {
+			append(Long.toString(valor));
+			return;
+		}
+		if (valor < 0) {
+			append('-');
+			valor = -valor;
+		}
+		int n = 0;
+		do {
+			digitos[n++] = (char) ('0' + valor % 10);
+			valor /= 10;
+		} while (valor > 0);
+		while (n > 0) {
+			append(digitos[--n]);
+		}
+	}
+
+	private void append(char c) throws IOException {
+		if (pos == buffer.length) {
+			vaciarBuffer();
+		}
+		buffer[pos++] = c;
+	}
+
+	private void append(String s) throws IOException {
+		int len = s.length();
+		int offset = 0;
+		while (offset < len) {
+			if (pos == buffer.length) {
+				vaciarBuffer();
+			}
+			int n = Math.min(len - offset, buffer.length - pos);
+			s.getChars(offset, offset + n, buffer, pos);
+			pos += n;
+			offset += n;
+		}
+	}
+
+	private void vaciarBuffer() throws IOException {
+		if (pos > 0) {
+			out.write(buffer, 0, pos);
+			pos = 0;
+		}
+	}
+}
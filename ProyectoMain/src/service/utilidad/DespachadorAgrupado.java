@@ -0,0 +1,279 @@
+package service.utilidad;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Despacha a hilos propios el trabajo que generan los resultados técnicos guardados,
+ * agrupado por clave. Lo usan AlertPipeline (por lote y plaga) y DetectorBrotes (por lote
+ * y día).
+ *
+ * El hilo que inserta solo suma cada elemento al acumulado pendiente de su clave, sin
+ * esperar ni consultar la base de datos; los hilos del despachador toman hasta tamanoLote
+ * claves con sus acumulados y los procesan. Un elemento cuya clave ya está pendiente nunca
+ * se descarta, porque no ocupa lugar nuevo: en una importación masiva los resultados de un
+ * mismo lote se reducen a un acumulado. Solo cuando hay maxClaves claves distintas
+ * pendientes se descartan los elementos de claves nuevas, y se cuentan en getDescartados().
+ *
+ * Las funciones de clave y acumulación se ejecutan en el hilo que inserta, con el
+ * despachador bloqueado: deben ser rápidas y no acceder a la base de datos.
+ *
+ * @param <T> Tipo de los elementos recibidos
+ * @param <K> Tipo de la clave de agrupación
+ * @param <A> Tipo del acumulado de una clave
+ */
+final class DespachadorAgrupado<T, K, A> {
+
+	private static final Logger LOGGER = Logger.getLogger(DespachadorAgrupado.class.getName());
+
+	private static final long ESPERA_MS = 200;
+	private static final long ESPERA_DETENER_MS = 10_000;
+
+	private final String nombre;
+	private final int hilos;
+	private final int maxClaves;
+	private final int tamanoLote;
+	private final Function<T, K> clave;
+	private final Function<K, A> nuevo;
+	private final BiConsumer<A, T> acumular;
+	private final Consumer<Map<K, A>> procesar;
+
+	/**
+	 * Acumulados pendientes por clave, en el orden en que llegó su primer elemento.
+	 */
+	private final Map<K, Pendiente<A>> pendientes = new LinkedHashMap<>();
+	private int elementosPendientes;
+
+	private final LongAdder recibidos = new LongAdder();
+	private final LongAdder descartados = new LongAdder();
+	private final LongAdder procesados = new LongAdder();
+
+	private final List<Thread> trabajadores = new ArrayList<>();
+	private boolean activo;
+	private boolean preparado;
+
+	/**
+	 * @param nombre - Nombre de los hilos y de los mensajes de registro
+	 * @param hilos - Hilos que procesan los acumulados
+	 * @param maxClaves - Claves distintas pendientes antes de descartar
+	 * @param tamanoLote - Claves que toma un hilo en cada vuelta
+	 * @param clave - Clave de un elemento, o null si el elemento no genera trabajo
+	 * @param nuevo - Crea el acumulado vacío de una clave
+	 * @param acumular - Suma un elemento al acumulado de su clave
+	 * @param procesar - Procesa un lote de acumulados, en un hilo del despachador
+	 */
+	DespachadorAgrupado(String nombre, int hilos, int maxClaves, int tamanoLote, Function<T, K> clave,
+			Function<K, A> nuevo, BiConsumer<A, T> acumular, Consumer<Map<K, A>> procesar) {
+		if (hilos < 1 || maxClaves < 1 || tamanoLote < 1) {
+			throw new IllegalArgumentException("Hilos, capacidad y tamaño de lote deben ser positivos");
+		}
+		this.nombre = nombre;
+		this.hilos = hilos;
+		this.maxClaves = maxClaves;
+		this.tamanoLote = tamanoLote;
+		this.clave = clave;
+		this.nuevo = nuevo;
+		this.acumular = acumular;
+		this.procesar = procesar;
+	}
+
+	/**
+	 * Inicia los hilos del despachador.
+	 */
+	void iniciar() {
+		iniciar(null);
+	}
+
+	/**
+	 * Inicia los hilos del despachador. El primero ejecuta antes la preparación indicada
+	 * (por ejemplo, cargar estado de la base de datos) y ningún hilo procesa hasta que
+	 * termine; mientras tanto los elementos recibidos se acumulan.
+	 *
+	 * @param preparar Preparación previa al proceso, o null
+	 */
+	synchronized void iniciar(Runnable preparar) {
+		if (activo) {
+			return;
+		}
+		activo = true;
+		preparado = preparar == null;
+		for (int i = 0; i < hilos; i++) {
+			Runnable trabajo = i == 0 && preparar != null ? () -> preparar(preparar) : this::procesar;
+			Thread t = new Thread(trabajo, nombre + "-" + (i + 1));
+			t.setDaemon(true);
+			trabajadores.add(t);
+			t.start();
+		}
+	}
+
+	/**
+	 * Procesa los acumulados pendientes y detiene los hilos.
+	 */
+	void detener() {
+		List<Thread> hilosActivos;
+		synchronized (this) {
+			if (!activo) {
+				return;
+			}
+			activo = false;
+			notifyAll();
+			hilosActivos = new ArrayList<>(trabajadores);
+			trabajadores.clear();
+		}
+		for (Thread t : hilosActivos) {
+			try {
+				t.join(ESPERA_DETENER_MS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Suma los elementos a los acumulados pendientes de sus claves. Nunca espera.
+	 *
+	 * @param elementos Elementos recibidos
+	 */
+	void agregar(List<T> elementos) {
+		long descartadosAntes = descartados.sum();
+		synchronized (this) {
+			int agregados = 0;
+			for (T elemento : elementos) {
+				recibidos.increment();
+				K k = clave.apply(elemento);
+				if (k == null) {
+					continue;
+				}
+				Pendiente<A> pendiente = pendientes.get(k);
+				if (pendiente == null) {
+					if (pendientes.size() >= maxClaves) {
+						descartados.increment();
+						continue;
+					}
+					pendiente = new Pendiente<>(nuevo.apply(k));
+					pendientes.put(k, pendiente);
+				}
+				acumular.accept(pendiente.acumulado, elemento);
+				pendiente.elementos++;
+				agregados++;
+			}
+			if (agregados > 0) {
+				elementosPendientes += agregados;
+				notifyAll();
+			}
+		}
+		long total = descartados.sum();
+		if (total / 1_000 > descartadosAntes / 1_000 || descartadosAntes == 0 && total > 0) {
+			LOGGER.warning(nombre + ": " + maxClaves + " claves pendientes; elementos descartados: " + total);
+		}
+	}
+
+	private void preparar(Runnable preparar) {
+		try {
+			preparar.run();
+		} catch (RuntimeException e) {
+			LOGGER.log(Level.SEVERE, nombre + ": error en la preparación", e);
+		} finally {
+			synchronized (this) {
+				preparado = true;
+				notifyAll();
+			}
+		}
+		procesar();
+	}
+
+	private void procesar() {
+		Map<K, A> lote = new LinkedHashMap<>();
+		while (true) {
+			int elementos;
+			synchronized (this) {
+				while (!preparado || pendientes.isEmpty()) {
+					if (!activo && preparado) {
+						return;
+					}
+					try {
+						wait(ESPERA_MS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+				}
+				elementos = tomar(lote);
+			}
+			try {
+				procesar.accept(lote);
+			} catch (RuntimeException e) {
+				LOGGER.log(Level.SEVERE, nombre + ": error procesando " + lote.size() + " claves", e);
+			} finally {
+				procesados.add(elementos);
+				lote.clear();
+			}
+		}
+	}
+
+	/**
+	 * Pasa al lote las primeras tamanoLote claves pendientes. Se llama con el despachador
+	 * bloqueado.
+	 *
+	 * @return Elementos acumulados en las claves tomadas
+	 */
+	private int tomar(Map<K, A> lote) {
+		int elementos = 0;
+		Iterator<Map.Entry<K, Pendiente<A>>> it = pendientes.entrySet().iterator();
+		while (it.hasNext() && lote.size() < tamanoLote) {
+			Map.Entry<K, Pendiente<A>> entrada = it.next();
+			lote.put(entrada.getKey(), entrada.getValue().acumulado);
+			elementos += entrada.getValue().elementos;
+			it.remove();
+		}
+		elementosPendientes -= elementos;
+		return elementos;
+	}
+
+	long getRecibidos() {
+		return recibidos.sum();
+	}
+
+	long getDescartados() {
+		return descartados.sum();
+	}
+
+	/**
+	 * Elementos cuyos acumulados ya se procesaron.
+	 */
+	long getProcesados() {
+		return procesados.sum();
+	}
+
+	/**
+	 * Elementos acumulados que esperan proceso.
+	 */
+	synchronized int getPendientes() {
+		return elementosPendientes;
+	}
+
+	private static final class Pendiente<A> {
+		final A acumulado;
+		int elementos;
+
+		Pendiente(A acumulado) {
+			this.acumulado = acumulado;
+		}
+	}
+}
@@ -0,0 +1,560 @@
+package service.utilidad;
+
+import DAO.EstadisticaInfestacionDAO;
+import DAO.InspeccionFitosanitariaDAO;
+import DAO.LoteDAO;
+import DAO.LruCache;
+import DAO.ResultadoTecnicoDAO;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import model.EstadisticaInfestacion;
+import model.ResultadoTecnico;
+import service.base.SessionContext;
+import model.Vereda;
+import service.exceptions.ValidationException;
+import service.negocio.InspeccionFitosanitariaService;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Detecta brotes: aumentos significativos de resultados técnicos con severidad ALTA o
+ * CRITICA en una vereda o un municipio.
+ *
+ * Recibe los resultados guardados de ResultadoTecnicoDAO y mantiene, por vereda y por
+ * municipio, una ventana deslizante de conteos diarios (por fecha de inspección) de los
+ * últimos diasHistoria días, con la suma y la suma de cuadrados de los conteos. Cada
+ * resultado actualiza la ventana en O(1), sin volver a leer el historial; cuando el conteo
+ * del día alcanza minimoCasos y su puntaje z respecto a la media y desviación de los días
+ * anteriores supera zUmbral, se crea una alerta en AlertService (una por región y día,
+ * escalada a CRITICA si el puntaje duplica el umbral). La desviación nunca se toma menor
+ * que la de una distribución de Poisson con la misma media, y una región no alerta hasta
+ * tener al menos una semana de historia.
+ *
+ * Al iniciar, antes de procesar resultados, las ventanas se siembran con los acumulados
+ * semanales de ESTADISTICA_INFESTACION (ver sembrar), de modo que un reinicio de la
+ * aplicación no deja a las regiones sin línea base durante una semana.
+ *
+ * La vereda y el municipio de cada lote se consultan por lotes con LoteDAO.obtenerUbicaciones
+ * y se guardan en una caché LRU. El estado de las ventanas vive en un solo hilo, por lo que
+ * no requiere sincronización. La inserción solo clasifica cada resultado y suma los severos
+ * al conteo pendiente de su lote y día en un DespachadorAgrupado; una importación masiva solo
+ * descarta resultados cuando ya hay tantos lotes y días distintos pendientes como la capacidad.
+ */
+public class DetectorBrotes implements ResultadoTecnicoDAO.GuardadoListener {
+
+	private static final Logger LOGGER = Logger.getLogger(DetectorBrotes.class.getName());
+
+	public static final String TIPO_BROTE_VEREDA = "BROTE_VEREDA";
+	public static final String TIPO_BROTE_MUNICIPIO = "BROTE_MUNICIPIO";
+
+	public static final int DIAS_HISTORIA_POR_DEFECTO = 28;
+	public static final double Z_UMBRAL_POR_DEFECTO = 3.0;
+	public static final int MINIMO_CASOS_POR_DEFECTO = 5;
+	public static final int CAPACIDAD_POR_DEFECTO = 50_000;
+
+	/**
+	 * Días de historia que necesita una región antes de poder alertar; evita alertas en
+	 * regiones sin línea base (sin acumulados recientes en ESTADISTICA_INFESTACION).
+	 */
+	private static final int MIN_DIAS_OBSERVADOS = 7;
+
+	private static final int TAMANO_LOTE = 1_000;
+	private static final int CAPACIDAD_UBICACIONES = 50_000;
+	private static final long VIGENCIA_UBICACIONES_MS = TimeUnit.HOURS.toMillis(12);
+
+	/**
+	 * Marca de los lotes sin ubicación, para no consultarlos en cada resultado.
+	 */
+	private static final Vereda SIN_UBICACION = new Vereda();
+
+	private static DetectorBrotes instanciaPorDefecto;
+
+	private final AlertService alertService;
+	private final InspeccionFitosanitariaService inspeccionService;
+	private final LoteDAO loteDAO;
+	private final EstadisticaInfestacionDAO estadisticaDAO;
+	private final int diasHistoria;
+	private final double zUmbral;
+	private final int minimoCasos;
+	private final DespachadorAgrupado<ResultadoTecnico, LoteDia, int[]> despachador;
+	private final LruCache<Long, Vereda> ubicaciones;
+
+	private final Map<String, Ventana> veredas = new HashMap<>();
+	private final Map<String, Ventana> municipios = new HashMap<>();
+
+	private final LongAdder severos = new LongAdder();
+	private final LongAdder sinUbicacion = new LongAdder();
+	private final LongAdder brotes = new LongAdder();
+
+	private boolean activo;
+
+	/**
+	 * @param alertService - Servicio donde se crean las alertas de brote
+	 * @param inspeccionService - Servicio que clasifica la severidad de cada resultado
+	 * @param loteDAO - DAO para ubicar los lotes
+	 * @param estadisticaDAO - DAO de los acumulados semanales con que se siembran las ventanas
+	 * @param diasHistoria - Días anteriores con los que se compara el día actual
+	 * @param zUmbral - Puntaje z mínimo para considerar un brote
+	 * @param minimoCasos - Resultados severos mínimos en el día para considerar un brote
+	 * @param capacidad - Lotes y días distintos con resultados pendientes antes de descartar
+	 */
+	public DetectorBrotes(AlertService alertService, InspeccionFitosanitariaService inspeccionService, LoteDAO loteDAO,
+			EstadisticaInfestacionDAO estadisticaDAO, int diasHistoria, double zUmbral, int minimoCasos, int capacidad) {
+		if (alertService == null || inspeccionService == null || loteDAO == null || estadisticaDAO == null) {
+			throw new IllegalArgumentException("Los servicios y los DAOs de lotes y estadísticas son obligatorios");
+		}
+		if (diasHistoria < 2 || zUmbral <= 0 || minimoCasos < 1 || capacidad < 1) {
+			throw new IllegalArgumentException("Parámetros de detección inválidos");
+		}
+		this.alertService = alertService;
+		this.inspeccionService = inspeccionService;
+		this.loteDAO = loteDAO;
+		this.estadisticaDAO = estadisticaDAO;
+		this.diasHistoria = diasHistoria;
+		this.zUmbral = zUmbral;
+		this.minimoCasos = minimoCasos;
+		this.despachador = new DespachadorAgrupado<>("detector-brotes", 1, capacidad, Math.min(TAMANO_LOTE, capacidad),
+			this::clave, k -> new int[1], (casos, r) -> casos[0]++, this::evaluar);
+		this.ubicaciones = new LruCache<>("UBICACION_LOTE", CAPACIDAD_UBICACIONES, VIGENCIA_UBICACIONES_MS);
+	}
+
+	/**
+	 * Detector de la aplicación, iniciado sobre AlertService.getDefault() con los
+	 * parámetros por defecto. Consulta con la sesión SISTEMA, no con la del usuario conectado.
+	 */
+	public static synchronized DetectorBrotes getDefault() {
+		if (instanciaPorDefecto == null) {
+			InspeccionFitosanitariaService inspecciones = new InspeccionFitosanitariaService(new InspeccionFitosanitariaDAO());
+			inspecciones.setSesion(SessionContext.SISTEMA);
+			LoteDAO lotes = new LoteDAO();
+			lotes.setAlcance(SessionContext.SISTEMA.getAlcance());
+			instanciaPorDefecto = new DetectorBrotes(AlertService.getDefault(), inspecciones, lotes,
+				new EstadisticaInfestacionDAO(), DIAS_HISTORIA_POR_DEFECTO, Z_UMBRAL_POR_DEFECTO, MINIMO_CASOS_POR_DEFECTO, CAPACIDAD_POR_DEFECTO);
+			instanciaPorDefecto.iniciar();
+		}
+		return instanciaPorDefecto;
+	}
+
+	/**
+	 * Inicia el hilo de detección, que siembra las ventanas antes de procesar, y se
+	 * registra en ResultadoTecnicoDAO.
+	 */
+	public synchronized void iniciar() {
+		if (activo) {
+			return;
+		}
+		activo = true;
+		despachador.iniciar(this::sembrar);
+		ResultadoTecnicoDAO.agregarListener(this);
+	}
+
+	/**
+	 * Deja de recibir resultados, procesa los que quedan pendientes y detiene el hilo.
+	 */
+	public synchronized void detener() {
+		if (!activo) {
+			return;
+		}
+		ResultadoTecnicoDAO.quitarListener(this);
+		activo = false;
+		despachador.detener();
+	}
+
+	@Override
+	public void resultadosGuardados(List<ResultadoTecnico> resultados) {
+		despachador.agregar(resultados);
+	}
+
+	/**
+	 * Lote y día de un resultado severo, o null si el resultado no es ALTA/CRITICA o no
+	 * tiene lote.
+	 */
+	private LoteDia clave(ResultadoTecnico r) {
+		if (!esSevero(r)) {
+			return null;
+		}
+		Long idLote = idLote(r);
+		if (idLote == null) {
+			sinUbicacion.increment();
+			return null;
+		}
+		return new LoteDia(idLote, dia(r));
+	}
+
+	/**
+	 * Ubica los lotes de los conteos pendientes (una consulta para los que no están en
+	 * caché) y actualiza las ventanas.
+	 */
+	private void evaluar(Map<LoteDia, int[]> conteos) {
+		Set<Long> faltantes = new HashSet<>();
+		for (LoteDia clave : conteos.keySet()) {
+			if (ubicaciones.get(clave.idLote) == null) {
+				faltantes.add(clave.idLote);
+			}
+		}
+		if (!faltantes.isEmpty()) {
+			cargarUbicaciones(faltantes);
+		}
+		for (Map.Entry<LoteDia, int[]> conteo : conteos.entrySet()) {
+			int casos = conteo.getValue()[0];
+			Vereda vereda = ubicaciones.get(conteo.getKey().idLote);
+			if (vereda == null || vereda == SIN_UBICACION) {
+				sinUbicacion.add(casos);
+				continue;
+			}
+			severos.add(casos);
+			long dia = conteo.getKey().dia;
+			registrar(veredas, TIPO_BROTE_VEREDA, vereda.getId(), "vereda " + vereda.getNombre()
+				+ " (" + vereda.getMunicipio().getNombre() + ")", dia, casos);
+			registrar(municipios, TIPO_BROTE_MUNICIPIO, vereda.getMunicipio().getId(),
+				"municipio " + vereda.getMunicipio().getNombre(), dia, casos);
+		}
+	}
+
+	/**
+	 * Siembra las ventanas con los acumulados semanales de los últimos diasHistoria días.
+	 * Los acumulados no guardan la severidad de cada resultado: se cuentan como severos
+	 * todos los resultados de un lote y plaga cuya semana tuvo un índice ALTA o CRITICA,
+	 * repartidos por igual entre los días de la semana anteriores a hoy. Si la consulta
+	 * falla, las ventanas inician vacías.
+	 */
+	private void sembrar() {
+		long hoy = LocalDate.now().toEpochDay();
+		long desde = hoy - diasHistoria;
+		List<EstadisticaInfestacion> acumulados;
+		try {
+			acumulados = estadisticaDAO.obtenerDesde(LocalDate.ofEpochDay(desde));
+		} catch (SQLException e) {
+			LOGGER.log(Level.WARNING, "No fue posible cargar la historia de brotes; las ventanas inician vacías", e);
+			return;
+		}
+		Set<Long> faltantes = new HashSet<>();
+		for (EstadisticaInfestacion acumulado : acumulados) {
+			Long idLote = idLote(acumulado.getIdLote());
+			if (idLote != null && ubicaciones.get(idLote) == null) {
+				faltantes.add(idLote);
+			}
+		}
+		if (!faltantes.isEmpty()) {
+			cargarUbicaciones(faltantes);
+		}
+		Map<String, Long> porVereda = new LinkedHashMap<>();
+		Map<String, Long> porMunicipio = new LinkedHashMap<>();
+		LocalDate semana = null;
+		for (EstadisticaInfestacion acumulado : acumulados) {
+			if (!acumulado.getSemana().equals(semana)) {
+				sembrarSemana(semana, porVereda, porMunicipio, desde, hoy);
+				semana = acumulado.getSemana();
+			}
+			Long idLote = idLote(acumulado.getIdLote());
+			Vereda vereda = idLote != null ? ubicaciones.get(idLote) : null;
+			if (vereda == null || vereda == SIN_UBICACION) {
+				continue;
+			}
+			long casos = esSevero(acumulado.getPlantasEvaluadas(), acumulado.getPlantasAfectadas())
+				? acumulado.getNumeroResultados() : 0;
+			if (vereda.getId() != null) {
+				porVereda.merge(vereda.getId(), casos, Long::sum);
+			}
+			if (vereda.getMunicipio().getId() != null) {
+				porMunicipio.merge(vereda.getMunicipio().getId(), casos, Long::sum);
+			}
+		}
+		sembrarSemana(semana, porVereda, porMunicipio, desde, hoy);
+		LOGGER.info("Ventanas de brotes sembradas: " + veredas.size() + " veredas, " + municipios.size() + " municipios");
+	}
+
+	/**
+	 * Reparte los casos de una semana entre sus días anteriores a hoy y los suma a las
+	 * ventanas, día por día.
+	 */
+	private void sembrarSemana(LocalDate semana, Map<String, Long> porVereda, Map<String, Long> porMunicipio,
+			long desde, long hoy) {
+		if (semana == null) {
+			return;
+		}
+		long inicio = semana.toEpochDay();
+		int dias = (int) Math.min(7, hoy - inicio);
+		for (int d = 0; d < dias; d++) {
+			if (inicio + d >= desde) {
+				repartir(veredas, porVereda, inicio + d, d, dias);
+				repartir(municipios, porMunicipio, inicio + d, d, dias);
+			}
+		}
+		porVereda.clear();
+		porMunicipio.clear();
+	}
+
+	private void repartir(Map<String, Ventana> regiones, Map<String, Long> casosSemana, long dia, int d, int dias) {
+		for (Map.Entry<String, Long> region : casosSemana.entrySet()) {
+			long total = region.getValue();
+			int casos = (int) (total / dias + (d < total % dias ? 1 : 0));
+			regiones.computeIfAbsent(region.getKey(), k -> new Ventana(diasHistoria)).agregar(dia, casos);
+		}
+	}
+
+	private void cargarUbicaciones(Set<Long> idsLote) {
+		try {
+			Map<Long, Vereda> encontradas = loteDAO.obtenerUbicaciones(idsLote);
+			for (Long id : idsLote) {
+				Vereda vereda = encontradas.get(id);
+				ubicaciones.put(id, vereda != null && vereda.getMunicipio() != null ? vereda : SIN_UBICACION);
+			}
+		} catch (SQLException e) {
+			// Sin caché negativa: se reintenta con el siguiente lote de resultados
+			LOGGER.log(Level.WARNING, "No fue posible ubicar " + idsLote.size() + " lotes", e);
+		}
+	}
+
+	private void registrar(Map<String, Ventana> regiones, String tipo, String idRegion, String nombre, long dia,
+			int casos) {
+		if (idRegion == null) {
+			return;
+		}
+		Ventana ventana = regiones.computeIfAbsent(idRegion, k -> new Ventana(diasHistoria));
+		if (!ventana.agregar(dia, casos) || ventana.actual < minimoCasos
+			|| ventana.diasTranscurridos() < Math.min(MIN_DIAS_OBSERVADOS, diasHistoria)) {
+			return;
+		}
+		double z = ventana.puntajeZ();
+		if (z < zUmbral) {
+			return;
+		}
+		String severidad = z >= 2 * zUmbral ? "CRITICA" : "ALTA";
+		if (ventana.diaAlertado == dia && ("CRITICA".equals(ventana.severidadAlertada) || severidad.equals("ALTA"))) {
+			return;
+		}
+		if (ventana.diaAlertado == dia) {
+			alertService.cerrarAlerta(ventana.idAlerta);
+		}
+		String descripcion = String.format("Posible brote en %s: %d resultados ALTA/CRITICA el %s; "
+			+ "media de %.1f por día en los %d días anteriores (z = %.1f)", nombre, ventana.actual,
+			LocalDate.ofEpochDay(dia), ventana.media(), ventana.diasObservados(), z);
+		AlertService.Alerta alerta = alertService.crearAlerta(tipo, descripcion, severidad, entidad(idRegion));
+		ventana.diaAlertado = dia;
+		ventana.severidadAlertada = severidad;
+		ventana.idAlerta = alerta.getId();
+		brotes.increment();
+	}
+
+	private boolean esSevero(ResultadoTecnico r) {
+		return esSevero(r.getTotalPlantasEvaluadas(), r.getPlantasAfectadas());
+	}
+
+	private boolean esSevero(long evaluadas, long afectadas) {
+		if (evaluadas <= 0) {
+			return false;
+		}
+		double indice = Math.min(100.0, afectadas * 100.0 / evaluadas);
+		try {
+			String severidad = inspeccionService.evaluarSeveridad(Math.max(0.0, indice));
+			return "ALTA".equals(severidad) || "CRITICA".equals(severidad);
+		} catch (ValidationException e) {
+			return false;
+		}
+	}
+
+	private static Long idLote(ResultadoTecnico r) {
+		return r.getLote() != null ? idLote(r.getLote().getId()) : null;
+	}
+
+	private static Long idLote(String id) {
+		if (id == null) {
+			return null;
+		}
+		try {
+			return Long.valueOf(id.trim());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Día época de la inspección del resultado; si no se conoce, el día actual.
+	 */
+	private static long dia(ResultadoTecnico r) {
+		if (r.getInspeccionFitosanitaria() != null) {
+			String fecha = r.getInspeccionFitosanitaria().getFechaInspeccion();
+			if (fecha != null && fecha.length() >= 10) {
+				try {
+					return LocalDate.parse(fecha.substring(0, 10)).toEpochDay();
+				} catch (DateTimeParseException e) {
+					// Formato no ISO: se usa el día de llegada
+				}
+			}
+		}
+		return LocalDate.now().toEpochDay();
+	}
+
+	private static long entidad(String id) {
+		try {
+			return Long.parseLong(id.trim());
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	public long getRecibidos() {
+		return despachador.getRecibidos();
+	}
+
+	public long getDescartados() {
+		return despachador.getDescartados();
+	}
+
+	/**
+	 * Resultados ALTA/CRITICA ubicados y contados en las ventanas.
+	 */
+	public long getSeveros() {
+		return severos.sum();
+	}
+
+	public long getSinUbicacion() {
+		return sinUbicacion.sum();
+	}
+
+	public long getBrotes() {
+		return brotes.sum();
+	}
+
+	public int getPendientes() {
+		return despachador.getPendientes();
+	}
+
+	/**
+	 * Clave de los conteos pendientes: lote y día época de la inspección.
+	 */
+	private static final class LoteDia {
+		final long idLote;
+		final long dia;
+
+		LoteDia(long idLote, long dia) {
+			this.idLote = idLote;
+			this.dia = dia;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof LoteDia)) {
+				return false;
+			}
+			LoteDia otra = (LoteDia) o;
+			return idLote == otra.idLote && dia == otra.dia;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(idLote) * 31 + Long.hashCode(dia);
+		}
+	}
+
+	/**
+	 * Conteos diarios de una región. El día actual (el más reciente recibido) se cuenta
+	 * aparte; los diasHistoria días anteriores están en un arreglo circular indexado por
+	 * día época, junto con su suma y suma de cuadrados para calcular media y varianza en O(1).
+	 */
+	private static final class Ventana {
+
+		private final int[] historia;
+		private long suma;
+		private long sumaCuadrados;
+		private long diaActual = Long.MIN_VALUE;
+		private long primerDia;
+		int actual;
+
+		long diaAlertado = Long.MIN_VALUE;
+		String severidadAlertada;
+		long idAlerta;
+
+		Ventana(int dias) {
+			this.historia = new int[dias];
+		}
+
+		/**
+		 * Cuenta resultados del día indicado.
+		 *
+		 * @return true si los resultados corresponden al día actual (hay que evaluar brote)
+		 */
+		boolean agregar(long dia, int casos) {
+			if (diaActual == Long.MIN_VALUE) {
+				diaActual = dia;
+				primerDia = dia;
+			} else if (dia > diaActual) {
+				avanzar(dia);
+			}
+			if (dia == diaActual) {
+				actual += casos;
+				return true;
+			}
+			if (diaActual - dia <= historia.length) {
+				// Resultados tardíos de un día que sigue en la historia
+				int i = (int) Math.floorMod(dia, (long) historia.length);
+				long anterior = historia[i];
+				historia[i] += casos;
+				suma += casos;
+				sumaCuadrados += (2 * anterior + casos) * casos;
+				primerDia = Math.min(primerDia, dia);
+			}
+			return false;
+		}
+
+		/**
+		 * Cierra el día actual y los días sin resultados hasta el nuevo día.
+		 */
+		private void avanzar(long dia) {
+			if (dia - diaActual > historia.length) {
+				Arrays.fill(historia, 0);
+				suma = 0;
+				sumaCuadrados = 0;
+				primerDia = dia;
+			} else {
+				for (long d = diaActual; d < dia; d++) {
+					int i = (int) Math.floorMod(d, (long) historia.length);
+					long sale = historia[i];
+					long entra = d == diaActual ? actual : 0;
+					historia[i] = (int) entra;
+					suma += entra - sale;
+					sumaCuadrados += entra * entra - sale * sale;
+				}
+			}
+			diaActual = dia;
+			actual = 0;
+		}
+
+		long diasTranscurridos() {
+			return diaActual - primerDia;
+		}
+
+		int diasObservados() {
+			return (int) Math.max(1, Math.min(historia.length, diaActual - primerDia));
+		}
+
+		double media() {
+			return (double) suma / diasObservados();
+		}
+
+		double puntajeZ() {
+			int n = diasObservados();
+			double media = (double) suma / n;
+			double varianza = Math.max(0.0, (double) sumaCuadrados / n - media * media);
+			double desviacion = Math.max(1.0, Math.sqrt(Math.max(varianza, media)));
+			return (actual - media) / desviacion;
+		}
+	}
+}
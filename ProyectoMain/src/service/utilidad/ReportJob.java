@@ -0,0 +1,148 @@
+package service.utilidad;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Trabajo de generación de un reporte administrado por ReportJobScheduler.
+ * El estado y el avance se actualizan desde el hilo trabajador y pueden
+ * consultarse en cualquier momento desde la interfaz.
+ */
+public class ReportJob {
+
+	/**
+	 * Estados de un trabajo de reporte.
+	 */
+	public enum Estado {
+		PENDIENTE,
+		EN_EJECUCION,
+		COMPLETADO,
+		FALLIDO,
+		CANCELADO;
+
+		/**
+		 * Indica si el trabajo ya no volverá a ejecutarse.
+		 */
+		public boolean isFinal() {
+			return this == COMPLETADO || this == FALLIDO || this == CANCELADO;
+		}
+	}
+
+	/**
+	 * Prioridad de ejecución; ante varios trabajos pendientes se ejecuta primero el de mayor prioridad.
+	 */
+	public enum Prioridad {
+		ALTA,
+		NORMAL,
+		BAJA
+	}
+
+	private final long id;
+	private final ReportRequest request;
+	private final Prioridad prioridad;
+	private final long creado;
+	private volatile Estado estado = Estado.PENDIENTE;
+	private volatile long filas;
+	private volatile long iniciado;
+	private volatile long terminado;
+	private volatile String rutaArchivo;
+	private volatile String error;
+	private volatile int intentos;
+
+	ReportJob(long id, ReportRequest request, Prioridad prioridad, long creado) {
+		this.id = id;
+		this.request = request;
+		this.prioridad = prioridad;
+		this.creado = creado;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public ReportRequest getRequest() {
+		return request;
+	}
+
+	public Prioridad getPrioridad() {
+		return prioridad;
+	}
+
+	public Estado getEstado() {
+		return estado;
+	}
+
+	void setEstado(Estado estado) {
+		this.estado = estado;
+	}
+
+	/**
+	 * Filas escritas hasta el momento (se actualiza cada ReportService.PROGRESS_INTERVAL filas).
+	 */
+	public long getFilas() {
+		return filas;
+	}
+
+	void setFilas(long filas) {
+		this.filas = filas;
+	}
+
+	/** Instante de creación, en milisegundos desde la época. */
+	public long getCreado() {
+		return creado;
+	}
+
+	/** Instante de inicio de la última ejecución (0 si no ha iniciado). */
+	public long getIniciado() {
+		return iniciado;
+	}
+
+	void setIniciado(long iniciado) {
+		this.iniciado = iniciado;
+	}
+
+	/** Instante de finalización (0 si no ha terminado). */
+	public long getTerminado() {
+		return terminado;
+	}
+
+	void setTerminado(long terminado) {
+		this.terminado = terminado;
+	}
+
+	/** Ruta del archivo generado, cuando el trabajo está COMPLETADO. */
+	public String getRutaArchivo() {
+		return rutaArchivo;
+	}
+
+	void setRutaArchivo(String rutaArchivo) {
+		this.rutaArchivo = rutaArchivo;
+	}
+
+	/** Mensaje de error, cuando el trabajo está FALLIDO. */
+	public String getError() {
+		return error;
+	}
+
+	void setError(String error) {
+		this.error = error;
+	}
+
+	/** Número de ejecuciones iniciadas (mayor a 1 si se reanudó tras un reinicio). */
+	public int getIntentos() {
+		return intentos;
+	}
+
+	void setIntentos(int intentos) {
+		this.intentos = intentos;
+	}
+
+	@Override
+	public String toString() {
+		return "ReportJob [id=" + id + ", estado=" + estado + ", prioridad=" + prioridad + ", filas=" + filas
+			+ ", " + request + "]";
+	}
+}
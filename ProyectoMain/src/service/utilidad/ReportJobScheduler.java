@@ -0,0 +1,487 @@
+package service.utilidad;
+
+import DAO.AlcanceDatos;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import service.exceptions.ServiceException;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Planificador de trabajos de reportes.
+ *
+ * Las solicitudes se encolan como ReportJob con un ID y se ejecutan en un grupo acotado
+ * de hilos (-Dreportes.hilos, por defecto 2), atendiendo primero las de mayor prioridad y,
+ * entre iguales, en orden de llegada. Una solicitud equivalente a un trabajo pendiente o
+ * en ejecución (mismo tipo, lote, rango de fechas, compresión, alcance y directorio
+ * destino) no crea un trabajo nuevo: retorna el ID del existente.
+ *
+ * El estado de los trabajos se guarda en un archivo de propiedades (-Dreportes.estado,
+ * por defecto reportes_trabajos.properties) después de cada cambio de estado. La escritura
+ * se hace en un hilo propio ("reportes-estado") a partir de una copia del estado, y los
+ * cambios seguidos se agrupan en una sola escritura: enviar y cancelar no hacen E/S y
+ * pueden llamarse desde el EDT. cerrar() espera la última escritura. Al crear el
+ * planificador, los trabajos que quedaron pendientes o en ejecución se vuelven a encolar
+ * con el solicitante y el alcance guardados, no con los de la sesión que esté abierta; los
+ * terminados se conservan para consulta durante -Dreportes.retencion días (7).
+ */
+public class ReportJobScheduler {
+
+	private static final Logger LOGGER = Logger.getLogger(ReportJobScheduler.class.getName());
+
+	/**
+	 * Propiedad de sistema con el número de hilos trabajadores.
+	 */
+	public static final String HILOS_PROPERTY = "reportes.hilos";
+
+	/**
+	 * Propiedad de sistema con la ruta del archivo de estado.
+	 */
+	public static final String ESTADO_PROPERTY = "reportes.estado";
+
+	/**
+	 * Propiedad de sistema con los días que se conservan los trabajos terminados.
+	 */
+	public static final String RETENCION_PROPERTY = "reportes.retencion";
+
+	/**
+	 * Máximo de trabajos pendientes; por encima se rechazan las solicitudes.
+	 */
+	public static final int MAX_PENDIENTES = 100;
+
+	private static final long DIA_MILLIS = 24L * 60 * 60 * 1000;
+
+	/**
+	 * Tiempo máximo que cerrar() espera la última escritura del estado.
+	 */
+	private static final long ESPERA_CIERRE_MS = 5_000;
+
+	private static ReportJobScheduler defaultScheduler;
+
+	private final ReportService reportService;
+	private final Path archivoEstado;
+	private final long retencionMillis;
+	private final ThreadPoolExecutor executor;
+	private final ExecutorService persistencia;
+	private final AtomicLong secuencia = new AtomicLong();
+	private final AtomicLong orden = new AtomicLong();
+
+	/** Trabajos por ID, en orden de creación. Protegido por this. */
+	private final Map<Long, ReportJob> trabajos = new LinkedHashMap<>();
+	/** Trabajo activo (pendiente o en ejecución) por clave de deduplicación. Protegido por this. */
+	private final Map<String, ReportJob> activos = new HashMap<>();
+	/** Tareas encoladas o en ejecución por ID de trabajo. Protegido por this. */
+	private final Map<Long, Tarea> tareas = new HashMap<>();
+	/** true si hay una escritura del estado encolada que aún no tomó su copia. Protegido por this. */
+	private boolean escrituraPendiente;
+
+	/**
+	 * Constructor del planificador.
+	 *
+	 * @param reportService - Servicio que genera los reportes
+	 * @param archivoEstado - Archivo donde se persiste el estado de los trabajos
+	 * @param hilos - Número de hilos trabajadores
+	 */
+	public ReportJobScheduler(ReportService reportService, Path archivoEstado, int hilos) {
+		if (hilos <= 0) {
+			throw new IllegalArgumentException("El número de hilos debe ser mayor a cero");
+		}
+		this.reportService = reportService;
+		this.archivoEstado = archivoEstado;
+		this.retencionMillis = Long.getLong(RETENCION_PROPERTY, 7L) * DIA_MILLIS;
+
+		AtomicInteger contador = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(hilos, hilos, 30, TimeUnit.SECONDS,
+			new PriorityBlockingQueue<Runnable>(), r -> {
+				Thread t = new Thread(r, "reportes-" + contador.incrementAndGet());
+				t.setDaemon(true);
+				t.setPriority(Thread.NORM_PRIORITY - 1);
+				return t;
+			});
+		this.executor.allowCoreThreadTimeOut(true);
+		this.persistencia = Executors.newSingleThreadExecutor(r -> {
+			Thread t = new Thread(r, "reportes-estado");
+			t.setDaemon(true);
+			return t;
+		});
+
+		cargar();
+	}
+
+	/**
+	 * Obtiene el planificador compartido de la aplicación, creándolo en el primer uso.
+	 * La primera llamada lee el archivo de estado, por lo que no debe hacerse en el EDT.
+	 * El planificador se cierra al terminar la JVM, guardando los trabajos pendientes.
+	 *
+	 * @return ReportJobScheduler - Planificador por defecto
+	 */
+	public static synchronized ReportJobScheduler getDefault() {
+		if (defaultScheduler == null) {
+			ReportJobScheduler scheduler = new ReportJobScheduler(new ReportService(),
+				Paths.get(System.getProperty(ESTADO_PROPERTY, "reportes_trabajos.properties")),
+				Integer.getInteger(HILOS_PROPERTY, 2));
+			Runtime.getRuntime().addShutdownHook(new Thread(scheduler::cerrar, "reportes-cierre"));
+			defaultScheduler = scheduler;
+		}
+		return defaultScheduler;
+	}
+
+	/**
+	 * Encola una solicitud de reporte.
+	 *
+	 * @param request - Solicitud de reporte
+	 * @param prioridad - Prioridad de ejecución
+	 * @return long - ID del trabajo (el de un trabajo equivalente si ya había uno activo)
+	 * @throws ServiceException Si la cola de trabajos está llena o el planificador está cerrado
+	 */
+	public synchronized long enviar(ReportRequest request, ReportJob.Prioridad prioridad) throws ServiceException {
+		ReportJob existente = activos.get(request.claveDeduplicacion());
+		if (existente != null) {
+			LOGGER.fine("Solicitud de reporte unida al trabajo " + existente.getId());
+			return existente.getId();
+		}
+		if (executor.isShutdown()) {
+			throw new ServiceException("REPORT_SCHEDULER_CLOSED", "El planificador de reportes está cerrado");
+		}
+		if (executor.getQueue().size() >= MAX_PENDIENTES) {
+			throw new ServiceException("REPORT_QUEUE_FULL", "Hay demasiados reportes pendientes; intente más tarde");
+		}
+		ReportJob job = new ReportJob(secuencia.incrementAndGet(), request,
+			prioridad == null ? ReportJob.Prioridad.NORMAL : prioridad, System.currentTimeMillis());
+		trabajos.put(job.getId(), job);
+		encolar(job);
+		guardar();
+		return job.getId();
+	}
+
+	/**
+	 * Obtiene un trabajo por su ID.
+	 *
+	 * @param id - ID del trabajo
+	 * @return ReportJob - Trabajo, o null si no existe
+	 */
+	public synchronized ReportJob obtener(long id) {
+		return trabajos.get(id);
+	}
+
+	/**
+	 * Obtiene todos los trabajos conocidos, del más reciente al más antiguo.
+	 *
+	 * @return List - Copia de la lista de trabajos
+	 */
+	public synchronized List<ReportJob> obtenerTodos() {
+		List<ReportJob> lista = new ArrayList<>(trabajos.values());
+		Collections.reverse(lista);
+		return lista;
+	}
+
+	/**
+	 * Cancela un trabajo pendiente o en ejecución. Un trabajo en ejecución se
+	 * interrumpe y su archivo parcial se elimina.
+	 *
+	 * @param id - ID del trabajo
+	 * @return boolean - true si el trabajo estaba activo y se canceló
+	 */
+	public synchronized boolean cancelar(long id) {
+		ReportJob job = trabajos.get(id);
+		Tarea tarea = tareas.get(id);
+		if (job == null || tarea == null || job.getEstado().isFinal()) {
+			return false;
+		}
+		if (executor.remove(tarea)) {
+			finalizar(job, ReportJob.Estado.CANCELADO, null, null);
+		} else {
+			// En ejecución: la tarea registra la cancelación al detectar la interrupción
+			tarea.cancelada = true;
+			Thread hilo = tarea.hilo;
+			if (hilo != null) {
+				hilo.interrupt();
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Detiene los hilos trabajadores y espera la última escritura del estado. Los trabajos
+	 * pendientes quedan guardados y se reanudan la próxima vez que se cree el planificador.
+	 */
+	public void cerrar() {
+		executor.shutdownNow();
+		synchronized (this) {
+			guardar();
+		}
+		persistencia.shutdown();
+		try {
+			if (!persistencia.awaitTermination(ESPERA_CIERRE_MS, TimeUnit.MILLISECONDS)) {
+				LOGGER.warning("No terminó a tiempo la escritura del estado de los reportes en " + archivoEstado);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void encolar(ReportJob job) {
+		Tarea tarea = new Tarea(job, orden.incrementAndGet());
+		activos.put(job.getRequest().claveDeduplicacion(), job);
+		tareas.put(job.getId(), tarea);
+		executor.execute(tarea);
+	}
+
+	private void finalizar(ReportJob job, ReportJob.Estado estado, String ruta, String error) {
+		job.setEstado(estado);
+		job.setRutaArchivo(ruta);
+		job.setError(error);
+		job.setTerminado(System.currentTimeMillis());
+		activos.remove(job.getRequest().claveDeduplicacion(), job);
+		tareas.remove(job.getId());
+		depurar();
+		guardar();
+	}
+
+	/**
+	 * Descarta los trabajos terminados que superaron el periodo de retención.
+	 */
+	private void depurar() {
+		long limite = System.currentTimeMillis() - retencionMillis;
+		trabajos.values().removeIf(j -> j.getEstado().isFinal() && j.getTerminado() < limite);
+	}
+
+	/**
+	 * Tarea ejecutada por el grupo de hilos; se ordena por prioridad y orden de llegada.
+	 */
+	private final class Tarea implements Runnable, Comparable<Tarea> {
+		private final ReportJob job;
+		private final long orden;
+		private volatile Thread hilo;
+		private volatile boolean cancelada;
+
+		Tarea(ReportJob job, long orden) {
+			this.job = job;
+			this.orden = orden;
+		}
+
+		@Override
+		public void run() {
+			synchronized (ReportJobScheduler.this) {
+				if (job.getEstado().isFinal()) {
+					return;
+				}
+				if (cancelada) {
+					finalizar(job, ReportJob.Estado.CANCELADO, null, null);
+					return;
+				}
+				hilo = Thread.currentThread();
+				job.setEstado(ReportJob.Estado.EN_EJECUCION);
+				job.setIniciado(System.currentTimeMillis());
+				job.setIntentos(job.getIntentos() + 1);
+				job.setFilas(0);
+				guardar();
+			}
+			String ruta = null;
+			String error = null;
+			try {
+				ruta = reportService.generar(job.getRequest(), job::setFilas);
+			} catch (ServiceException e) {
+				error = e.getMessage();
+			} catch (RuntimeException e) {
+				LOGGER.log(Level.SEVERE, "Error inesperado en el trabajo de reporte " + job.getId(), e);
+				error = e.toString();
+			} finally {
+				hilo = null;
+			}
+			synchronized (ReportJobScheduler.this) {
+				if (cancelada) {
+					finalizar(job, ReportJob.Estado.CANCELADO, null, null);
+				} else if (error != null && executor.isShutdown()) {
+					// Interrumpido por cerrar(): queda pendiente para reanudarse
+					job.setEstado(ReportJob.Estado.PENDIENTE);
+					guardar();
+				} else if (error != null) {
+					finalizar(job, ReportJob.Estado.FALLIDO, null, error);
+				} else {
+					finalizar(job, ReportJob.Estado.COMPLETADO, ruta, null);
+				}
+			}
+			// Limpia una interrupción que llegó después de terminar el reporte
+			Thread.interrupted();
+		}
+
+		@Override
+		public int compareTo(Tarea otra) {
+			int cmp = job.getPrioridad().compareTo(otra.job.getPrioridad());
+			return cmp != 0 ? cmp : Long.compare(orden, otra.orden);
+		}
+	}
+
+	// ------------------------------------------------------------------
+	// Persistencia del estado
+	// ------------------------------------------------------------------
+
+	/**
+	 * Encola la escritura del estado en el hilo de persistencia. Se invoca con el monitor
+	 * tomado; si ya hay una escritura encolada, esa escritura incluirá este cambio.
+	 */
+	private void guardar() {
+		if (escrituraPendiente || persistencia.isShutdown()) {
+			return;
+		}
+		escrituraPendiente = true;
+		persistencia.execute(this::escribirEstado);
+	}
+
+	private void escribirEstado() {
+		Properties props;
+		synchronized (this) {
+			escrituraPendiente = false;
+			props = copiarEstado();
+		}
+		try {
+			Path dir = archivoEstado.toAbsolutePath().getParent();
+			if (dir != null) {
+				Files.createDirectories(dir);
+			}
+			Path tmp = archivoEstado.resolveSibling(archivoEstado.getFileName() + ".tmp");
+			try (OutputStream out = Files.newOutputStream(tmp)) {
+				props.store(out, "Trabajos de reportes");
+			}
+			Files.move(tmp, archivoEstado, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "No fue posible guardar el estado de los reportes en " + archivoEstado, e);
+		}
+	}
+
+	/**
+	 * Copia el estado de los trabajos a propiedades. Se invoca con el monitor tomado.
+	 */
+	private Properties copiarEstado() {
+		Properties props = new Properties();
+		props.setProperty("secuencia", String.valueOf(secuencia.get()));
+		for (ReportJob job : trabajos.values()) {
+			String p = "trabajo." + job.getId() + ".";
+			ReportRequest r = job.getRequest();
+			props.setProperty(p + "tipo", r.getTipo().name());
+			props.setProperty(p + "destino", r.getRutaDestino());
+			props.setProperty(p + "comprimir", String.valueOf(r.isComprimir()));
+			poner(props, p + "lote", r.getIdLote());
+			poner(props, p + "desde", r.getFechaDesde());
+			poner(props, p + "hasta", r.getFechaHasta());
+			props.setProperty(p + "solicitante", String.valueOf(r.getIdSolicitante()));
+			props.setProperty(p + "alcance", r.getAlcance().comoTexto());
+			props.setProperty(p + "prioridad", job.getPrioridad().name());
+			props.setProperty(p + "estado", job.getEstado().name());
+			props.setProperty(p + "creado", String.valueOf(job.getCreado()));
+			props.setProperty(p + "iniciado", String.valueOf(job.getIniciado()));
+			props.setProperty(p + "terminado", String.valueOf(job.getTerminado()));
+			props.setProperty(p + "intentos", String.valueOf(job.getIntentos()));
+			props.setProperty(p + "filas", String.valueOf(job.getFilas()));
+			poner(props, p + "archivo", job.getRutaArchivo());
+			poner(props, p + "error", job.getError());
+		}
+		return props;
+	}
+
+	private static void poner(Properties props, String clave, Object valor) {
+		if (valor != null) {
+			props.setProperty(clave, valor.toString());
+		}
+	}
+
+	private synchronized void cargar() {
+		if (!Files.isRegularFile(archivoEstado)) {
+			return;
+		}
+		Properties props = new Properties();
+		try (InputStream in = Files.newInputStream(archivoEstado)) {
+			props.load(in);
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "No fue posible leer el estado de los reportes en " + archivoEstado, e);
+			return;
+		}
+		secuencia.set(Long.parseLong(props.getProperty("secuencia", "0")));
+
+		List<Long> ids = new ArrayList<>();
+		for (String clave : props.stringPropertyNames()) {
+			if (clave.startsWith("trabajo.") && clave.endsWith(".tipo")) {
+				ids.add(Long.parseLong(clave.substring("trabajo.".length(), clave.length() - ".tipo".length())));
+			}
+		}
+		Collections.sort(ids);
+
+		long limite = System.currentTimeMillis() - retencionMillis;
+		int reanudados = 0;
+		for (Long id : ids) {
+			try {
+				ReportJob job = leer(props, id);
+				if (job.getEstado().isFinal()) {
+					if (job.getTerminado() >= limite) {
+						trabajos.put(id, job);
+					}
+				} else if (!activos.containsKey(job.getRequest().claveDeduplicacion())) {
+					job.setEstado(ReportJob.Estado.PENDIENTE);
+					trabajos.put(id, job);
+					encolar(job);
+					reanudados++;
+				}
+				secuencia.set(Math.max(secuencia.get(), id));
+			} catch (RuntimeException e) {
+				LOGGER.log(Level.WARNING, "Trabajo de reporte " + id + " inválido en " + archivoEstado, e);
+			}
+		}
+		if (reanudados > 0) {
+			LOGGER.info(reanudados + " trabajo(s) de reportes reanudados");
+			guardar();
+		}
+	}
+
+	private static ReportJob leer(Properties props, long id) {
+		String p = "trabajo." + id + ".";
+		ReportRequest request = new ReportRequest(ReportRequest.Tipo.valueOf(props.getProperty(p + "tipo")),
+			props.getProperty(p + "destino"));
+		request.setComprimir(Boolean.parseBoolean(props.getProperty(p + "comprimir")));
+		String lote = props.getProperty(p + "lote");
+		request.setIdLote(lote == null ? null : Long.valueOf(lote));
+		String desde = props.getProperty(p + "desde");
+		String hasta = props.getProperty(p + "hasta");
+		request.setRangoFechas(desde == null ? null : LocalDate.parse(desde), hasta == null ? null : LocalDate.parse(hasta));
+		// Un trabajo guardado sin alcance se restaura con NINGUNO: sale vacío en lugar de completo
+		request.restaurarSolicitante(Long.parseLong(props.getProperty(p + "solicitante", "0")),
+			AlcanceDatos.desdeTexto(props.getProperty(p + "alcance")));
+
+		ReportJob job = new ReportJob(id, request, ReportJob.Prioridad.valueOf(props.getProperty(p + "prioridad")),
+			Long.parseLong(props.getProperty(p + "creado", "0")));
+		job.setEstado(ReportJob.Estado.valueOf(props.getProperty(p + "estado")));
+		job.setIniciado(Long.parseLong(props.getProperty(p + "iniciado", "0")));
+		job.setTerminado(Long.parseLong(props.getProperty(p + "terminado", "0")));
+		job.setIntentos(Integer.parseInt(props.getProperty(p + "intentos", "0")));
+		job.setFilas(Long.parseLong(props.getProperty(p + "filas", "0")));
+		job.setRutaArchivo(props.getProperty(p + "archivo"));
+		job.setError(props.getProperty(p + "error"));
+		return job;
+	}
+}
@@ -0,0 +1,158 @@
+package service.utilidad;
+
+import DAO.AlcanceDatos;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import service.base.SessionContext;
+
+/**
+ * @version 2.1
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Parámetros de generación de un reporte de ReportService.
+ * Sin lote se reportan todas las inspecciones del alcance del solicitante; el rango de
+ * fechas es opcional y se interpreta como [fechaDesde, fechaHasta], ambos inclusive.
+ *
+ * La solicitud guarda el usuario que la hizo y su alcance (ver setSolicitante), porque el
+ * reporte se genera en otro hilo o después de reiniciar la aplicación, cuando la sesión
+ * que lo pidió ya no es la actual. Sin solicitante el alcance es AlcanceDatos.NINGUNO y el
+ * reporte sale vacío.
+ */
+public class ReportRequest {
+
+	/**
+	 * Tipos de reporte soportados.
+	 */
+	public enum Tipo {
+		INSPECCIONES,
+		CULTIVOS
+	}
+
+	private final Tipo tipo;
+	private final String rutaDestino;
+	private Long idLote;
+	private LocalDate fechaDesde;
+	private LocalDate fechaHasta;
+	private boolean comprimir;
+	private long idSolicitante;
+	private AlcanceDatos alcance = AlcanceDatos.NINGUNO;
+
+	/**
+	 * Constructor con el tipo de reporte y el directorio destino.
+	 *
+	 * @param tipo - Tipo de reporte
+	 * @param rutaDestino - Directorio donde se crea el archivo
+	 */
+	public ReportRequest(Tipo tipo, String rutaDestino) {
+		if (tipo == null) {
+			throw new IllegalArgumentException("El tipo de reporte es obligatorio");
+		}
+		if (rutaDestino == null || rutaDestino.trim().isEmpty()) {
+			throw new IllegalArgumentException("La ruta destino no puede estar vacía");
+		}
+		this.tipo = tipo;
+		this.rutaDestino = rutaDestino;
+	}
+
+	public Tipo getTipo() {
+		return tipo;
+	}
+
+	public String getRutaDestino() {
+		return rutaDestino;
+	}
+
+	public Long getIdLote() {
+		return idLote;
+	}
+
+	/**
+	 * Lote a reportar; null reporta todos los lotes.
+	 */
+	public void setIdLote(Long idLote) {
+		this.idLote = idLote;
+	}
+
+	public LocalDate getFechaDesde() {
+		return fechaDesde;
+	}
+
+	public LocalDate getFechaHasta() {
+		return fechaHasta;
+	}
+
+	/**
+	 * Rango de fechas de inspección; cualquiera de los extremos puede ser null.
+	 */
+	public void setRangoFechas(LocalDate fechaDesde, LocalDate fechaHasta) {
+		if (fechaDesde != null && fechaHasta != null && fechaDesde.isAfter(fechaHasta)) {
+			throw new IllegalArgumentException("La fecha inicial es posterior a la fecha final");
+		}
+		this.fechaDesde = fechaDesde;
+		this.fechaHasta = fechaHasta;
+	}
+
+	public boolean isComprimir() {
+		return comprimir;
+	}
+
+	/**
+	 * true para generar el archivo comprimido con gzip (.csv.gz).
+	 */
+	public void setComprimir(boolean comprimir) {
+		this.comprimir = comprimir;
+	}
+
+	/**
+	 * Registra la sesión que pide el reporte: su usuario y el alcance de los datos que puede ver.
+	 *
+	 * @param sesion - Sesión del solicitante (null deja el reporte sin datos)
+	 */
+	public void setSolicitante(SessionContext sesion) {
+		this.idSolicitante = sesion != null ? sesion.getIdUsuario() : 0L;
+		this.alcance = sesion != null ? sesion.getAlcance() : AlcanceDatos.NINGUNO;
+	}
+
+	/**
+	 * Restaura el solicitante de un trabajo guardado por ReportJobScheduler.
+	 */
+	void restaurarSolicitante(long idSolicitante, AlcanceDatos alcance) {
+		this.idSolicitante = idSolicitante;
+		this.alcance = alcance != null ? alcance : AlcanceDatos.NINGUNO;
+	}
+
+	/**
+	 * @return ID del usuario que pidió el reporte (0 si no se registró)
+	 */
+	public long getIdSolicitante() {
+		return idSolicitante;
+	}
+
+	/**
+	 * @return Alcance de los datos del solicitante, que restringe las filas del reporte
+	 */
+	public AlcanceDatos getAlcance() {
+		return alcance;
+	}
+
+	/**
+	 * Clave que identifica reportes equivalentes (mismo tipo, lote, rango de fechas,
+	 * compresión, alcance y directorio destino), usada para no ejecutar dos veces el mismo
+	 * reporte a la vez. El destino forma parte de la clave porque cada trabajo escribe un
+	 * solo archivo: una solicitud para otra carpeta crea su propio trabajo.
+	 */
+	String claveDeduplicacion() {
+		return tipo + "|" + idLote + "|" + fechaDesde + "|" + fechaHasta + "|" + comprimir + "|" + alcance.comoTexto()
+			+ "|" + Paths.get(rutaDestino).toAbsolutePath().normalize();
+	}
+
+	@Override
+	public String toString() {
+		return "ReportRequest [tipo=" + tipo + ", idLote=" + idLote + ", fechaDesde=" + fechaDesde
+			+ ", fechaHasta=" + fechaHasta + ", comprimir=" + comprimir + ", solicitante=" + idSolicitante
+			+ ", " + alcance + "]";
+	}
+}
@@ -1,16 +1,25 @@
 package service.utilidad;
 
-import BaseDatos.Conexion;
-import java.io.FileWriter;
+import BaseDatos.DBConnection;
+import BaseDatos.DBConnectionFactory;
+import DAO.AlcanceDatos;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import service.base.SessionContext;
+import service.exceptions.ServiceException;
 
 /**
  * @version 2.1
@@ -18,113 +27,262 @@ import java.util.logging.Logger;
  * @author Ricardo Viancha
  * @author Iswar Corrales
  * @author Andres Rivero
- * 
+ *
  * Servicio para generar reportes del sistema.
  * Exporta datos a formato CSV y genera reportes de inspecciones.
+ *
+ * Las consultas son parametrizadas y se leen en streaming (fetch size ajustado),
+ * escribiendo cada fila directamente al archivo con CsvWriter; la memoria usada no
+ * depende del tamaño del reporte. La salida puede comprimirse con gzip y el avance
+ * se notifica a un ProgressListener. Si el hilo es interrumpido, la generación se
+ * cancela y el archivo parcial se elimina.
+ *
+ * Las consultas se restringen al alcance del solicitante guardado en el ReportRequest, con
+ * la misma condición por lugar de producción que aplican los DAOs: un productor solo
+ * exporta las inspecciones y cultivos de sus lugares de producción.
  */
 public class ReportService {
 
 	private static final Logger LOGGER = Logger.getLogger(ReportService.class.getName());
-	private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd_HHmmss");
 
+	/**
+	 * Filas por viaje a la base de datos al leer los datos de un reporte.
+	 */
+	public static final int FETCH_SIZE = 1_000;
+
+	/**
+	 * Cada cuántas filas se notifica el avance.
+	 */
+	public static final int PROGRESS_INTERVAL = 10_000;
+
+	private static final DateTimeFormatter FORMATO_ARCHIVO = DateTimeFormatter.ofPattern("yyyy-MM-dd_HHmmss_SSS");
+
+	private static final String SQL_INSPECCIONES =
+		"SELECT i.id_inspeccion, i.fecha, p.nombre_plaga, i.plantas_afectadas, i.plantas_muestreadas " +
+		"FROM inspeccion_fitosanitaria i " +
+		"INNER JOIN plaga p ON i.id_plaga = p.id_plaga";
+
+	private static final String SQL_CULTIVOS =
+		"SELECT c.id_cultivo, c.nombre_cultivo, c.variedad, SUM(l.area) AS area_total " +
+		"FROM cultivo c " +
+		"INNER JOIN lote l ON c.id_lote = l.id_lote";
+
+	private static final String SQL_CULTIVOS_AGRUPAR = " GROUP BY c.id_cultivo, c.nombre_cultivo, c.variedad";
+
+	private final DBConnection dbConnection;
+
+	/**
+	 * Constructor con la conexión por defecto del sistema.
+	 */
+	public ReportService() {
+		this(DBConnectionFactory.getDefaultConnection());
+	}
+
+	/**
+	 * Constructor con una conexión específica.
+	 *
+	 * @param dbConnection - Conexión (o pool) de la que se leen los datos
+	 */
+	public ReportService(DBConnection dbConnection) {
+		this.dbConnection = dbConnection;
+	}
+
+	/**
+	 * Genera el reporte de inspecciones de un lote con el alcance de la sesión actual.
+	 *
+	 * @param idLote - ID del lote
+	 * @param rutaDestino - Directorio destino
+	 * @return String - Ruta del archivo generado, o null si hubo error
+	 */
 	public String generarReporteInspecciones(long idLote, String rutaDestino) {
-		Connection conn = null;
-		Statement stmt = null;
-		ResultSet rs = null;
-		String nombreArchivo = "reporte_inspecciones_" + dateFormat.format(new Date()) + ".csv";
-		String rutaCompleta = rutaDestino + "\\" + nombreArchivo;
-		
-		try {
-			conn = Conexion.getInstance().getConnection();
-			stmt = conn.createStatement();
-			
-			String sql = "SELECT i.id_inspeccion, i.fecha, p.nombre_plaga, " +
-				"i.plantas_afectadas, i.plantas_muestreadas " +
-				"FROM inspeccion_fitosanitaria i " +
-				"INNER JOIN plaga p ON i.id_plaga = p.id_plaga " +
-				"WHERE i.id_lote = " + idLote + " ORDER BY i.fecha DESC";
-			
-			rs = stmt.executeQuery(sql);
-			
-			try (FileWriter writer = new FileWriter(rutaCompleta)) {
-				writer.write("ID,Fecha,Plaga,Plantas Afectadas,Plantas Muestreadas,Indice %\n");
-				
-				while (rs.next()) {
-					int afectadas = rs.getInt("plantas_afectadas");
-					int muestreadas = rs.getInt("plantas_muestreadas");
-					double indice = (double) afectadas / muestreadas * 100.0;
-					
-					writer.write(String.format("%d,%s,%s,%d,%d,%.2f\n",
-						rs.getLong("id_inspeccion"),
-						rs.getDate("fecha"),
-						rs.getString("nombre_plaga"),
-						afectadas,
-						muestreadas,
-						indice
-					));
-				}
+		ReportRequest request = new ReportRequest(ReportRequest.Tipo.INSPECCIONES, rutaDestino);
+		request.setIdLote(idLote);
+		request.setSolicitante(SessionContext.getActual());
+		return generarSinExcepcion(request);
+	}
+
+	/**
+	 * Genera el reporte de área por cultivo con el alcance de la sesión actual.
+	 *
+	 * @param rutaDestino - Directorio destino
+	 * @return String - Ruta del archivo generado, o null si hubo error
+	 */
+	public String generarReporteCultivos(String rutaDestino) {
+		ReportRequest request = new ReportRequest(ReportRequest.Tipo.CULTIVOS, rutaDestino);
+		request.setSolicitante(SessionContext.getActual());
+		return generarSinExcepcion(request);
+	}
+
+	/**
+	 * Genera un reporte.
+	 *
+	 * @param request - Tipo, filtros y destino del reporte
+	 * @param listener - Receptor del avance (puede ser null)
+	 * @return String - Ruta del archivo generado
+	 * @throws ServiceException Si hay error de base de datos, de escritura o el hilo fue interrumpido
+	 */
+	public String generar(ReportRequest request, ProgressListener listener) throws ServiceException {
+		String prefijo = request.getTipo() == ReportRequest.Tipo.CULTIVOS ? "reporte_cultivos_" : "reporte_inspecciones_";
+		String nombreArchivo = prefijo + LocalDateTime.now().format(FORMATO_ARCHIVO)
+			+ (request.isComprimir() ? ".csv.gz" : ".csv");
+		Path ruta = Paths.get(request.getRutaDestino(), nombreArchivo);
+		long inicio = System.nanoTime();
+		boolean completo = false;
+
+		try (CsvWriter writer = CsvWriter.open(ruta, request.isComprimir())) {
+			if (request.getTipo() == ReportRequest.Tipo.CULTIVOS) {
+				escribirCultivos(request, writer, listener);
+			} else {
+				escribirInspecciones(request, writer, listener);
 			}
-			
-			LOGGER.info("Reporte generado: " + rutaCompleta);
-			return rutaCompleta;
-			
-		} catch (SQLException | IOException e) {
-			LOGGER.log(Level.SEVERE, "Error generando reporte", e);
-			return null;
+			completo = true;
+			if (listener != null) {
+				listener.onProgress(writer.getFilas());
+			}
+			LOGGER.info("Reporte generado: " + ruta + " (" + writer.getFilas() + " filas, "
+				+ (System.nanoTime() - inicio) / 1_000_000 + " ms)");
+			return ruta.toString();
+		} catch (SQLException e) {
+			LOGGER.log(Level.SEVERE, "Error consultando datos del reporte", e);
+			throw new ServiceException("REPORT_QUERY_ERROR", "Error consultando datos del reporte", e);
+		} catch (IOException e) {
+			LOGGER.log(Level.SEVERE, "Error escribiendo reporte " + ruta, e);
+			throw new ServiceException("REPORT_WRITE_ERROR", "Error escribiendo el reporte", e);
 		} finally {
-			try {
-				if (rs != null) rs.close();
-				if (stmt != null) stmt.close();
-			} catch (SQLException e) {
-				LOGGER.log(Level.WARNING, "Error cerrando recursos", e);
+			if (!completo) {
+				eliminarParcial(ruta);
 			}
 		}
 	}
 
-	public String generarReporteCultivos(String rutaDestino) {
-		Connection conn = null;
-		Statement stmt = null;
-		ResultSet rs = null;
-		String nombreArchivo = "reporte_cultivos_" + dateFormat.format(new Date()) + ".csv";
-		String rutaCompleta = rutaDestino + "\\" + nombreArchivo;
-		
+	private String generarSinExcepcion(ReportRequest request) {
 		try {
-			conn = Conexion.getInstance().getConnection();
-			stmt = conn.createStatement();
-			
-			String sql = "SELECT c.id_cultivo, c.nombre_cultivo, c.variedad, " +
-				"SUM(l.area) as area_total FROM cultivo c " +
-				"INNER JOIN lote l ON c.id_lote = l.id_lote " +
-				"GROUP BY c.id_cultivo, c.nombre_cultivo, c.variedad";
-			
-			rs = stmt.executeQuery(sql);
-			
-			try (FileWriter writer = new FileWriter(rutaCompleta)) {
-				writer.write("ID,Cultivo,Variedad,Area Total (ha)\n");
-				
+			return generar(request, null);
+		} catch (ServiceException e) {
+			LOGGER.log(Level.SEVERE, "Error generando reporte", e);
+			return null;
+		}
+	}
+
+	private void escribirInspecciones(ReportRequest request, CsvWriter writer, ProgressListener listener)
+			throws SQLException, IOException, ServiceException {
+		StringBuilder sql = new StringBuilder(SQL_INSPECCIONES);
+		List<Object> params = new ArrayList<>(3);
+		String conector = " WHERE ";
+		AlcanceDatos alcance = request.getAlcance();
+		if (!alcance.esTotal()) {
+			sql.append(conector).append("i.id_lote IN (SELECT l.id_lote FROM lote l WHERE ")
+				.append(alcance.condicion("l.id_lugar_produccion", params)).append(')');
+			conector = " AND ";
+		}
+		if (request.getIdLote() != null) {
+			sql.append(conector).append("i.id_lote = ?");
+			params.add(request.getIdLote());
+			conector = " AND ";
+		}
+		if (request.getFechaDesde() != null) {
+			sql.append(conector).append("i.fecha >= ?");
+			params.add(Date.valueOf(request.getFechaDesde()));
+			conector = " AND ";
+		}
+		if (request.getFechaHasta() != null) {
+			// Límite exclusivo al día siguiente para incluir las inspecciones con hora
+			sql.append(conector).append("i.fecha < ?");
+			params.add(Date.valueOf(request.getFechaHasta().plusDays(1)));
+		}
+		sql.append(" ORDER BY i.fecha DESC");
+
+		writer.encabezado("ID", "Fecha", "Plaga", "Plantas Afectadas", "Plantas Muestreadas", "Indice %");
+		try (Connection conn = dbConnection.getConnection();
+				PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+			pstmt.setFetchSize(FETCH_SIZE);
+			asignar(pstmt, params);
+			try (ResultSet rs = pstmt.executeQuery()) {
 				while (rs.next()) {
-					writer.write(String.format("%d,%s,%s,%.2f\n",
-						rs.getLong("id_cultivo"),
-						rs.getString("nombre_cultivo"),
-						rs.getString("variedad"),
-						rs.getDouble("area_total")
-					));
+					int afectadas = rs.getInt(4);
+					int muestreadas = rs.getInt(5);
+					Date fecha = rs.getDate(2);
+					writer.campo(rs.getLong(1))
+						.campo(fecha == null ? null : fecha.toLocalDate())
+						.campo(rs.getString(3))
+						.campo(afectadas)
+						.campo(muestreadas);
+					if (muestreadas > 0) {
+						writer.campo((double) afectadas / muestreadas * 100.0, 2);
+					} else {
+						writer.vacio();
+					}
+					writer.finFila();
+					avance(writer, listener);
 				}
 			}
-			
-			LOGGER.info("Reporte generado: " + rutaCompleta);
-			return rutaCompleta;
-			
-		} catch (SQLException | IOException e) {
-			LOGGER.log(Level.SEVERE, "Error generando reporte", e);
-			return null;
-		} finally {
-			try {
-				if (rs != null) rs.close();
-				if (stmt != null) stmt.close();
-			} catch (SQLException e) {
-				LOGGER.log(Level.WARNING, "Error cerrando recursos", e);
+		}
+	}
+
+	private void escribirCultivos(ReportRequest request, CsvWriter writer, ProgressListener listener)
+			throws SQLException, IOException, ServiceException {
+		StringBuilder sql = new StringBuilder(SQL_CULTIVOS);
+		List<Object> params = new ArrayList<>();
+		AlcanceDatos alcance = request.getAlcance();
+		if (!alcance.esTotal()) {
+			sql.append(" WHERE ").append(alcance.condicion("l.id_lugar_produccion", params));
+		}
+		sql.append(SQL_CULTIVOS_AGRUPAR);
+
+		writer.encabezado("ID", "Cultivo", "Variedad", "Area Total (ha)");
+		try (Connection conn = dbConnection.getConnection();
+				PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+			pstmt.setFetchSize(FETCH_SIZE);
+			asignar(pstmt, params);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					writer.campo(rs.getLong(1))
+						.campo(rs.getString(2))
+						.campo(rs.getString(3))
+						.campo(rs.getDouble(4), 2);
+					writer.finFila();
+					avance(writer, listener);
+				}
 			}
 		}
 	}
+
+	private static void asignar(PreparedStatement pstmt, List<Object> params) throws SQLException {
+		for (int i = 0; i < params.size(); i++) {
+			pstmt.setObject(i + 1, params.get(i));
+		}
+	}
+
+	private static void avance(CsvWriter writer, ProgressListener listener) throws ServiceException {
+		long filas = writer.getFilas();
+		if (filas % PROGRESS_INTERVAL != 0) {
+			return;
+		}
+		if (Thread.currentThread().isInterrupted()) {
+			throw new ServiceException("REPORT_CANCELLED", "Generación del reporte cancelada");
+		}
+		if (listener != null) {
+			listener.onProgress(filas);
+		}
+	}
+
+	private static void eliminarParcial(Path ruta) {
+		try {
+			Files.deleteIfExists(ruta);
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "No fue posible eliminar el reporte incompleto " + ruta, e);
+		}
+	}
+
+	/**
+	 * Receptor del avance de generación de un reporte.
+	 */
+	public interface ProgressListener {
+		/**
+		 * Se invoca cada PROGRESS_INTERVAL filas y al terminar el reporte.
+		 *
+		 * @param filas Filas escritas hasta el momento
+		 */
+		void onProgress(long filas);
+	}
 }
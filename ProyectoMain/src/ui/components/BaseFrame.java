@@ -89,4 +89,28 @@ public abstract class BaseFrame extends JFrame {
 		setVisible(false);
 		dispose();
 	}
+
+	/**
+	 * Ejecuta una tarea en segundo plano para no bloquear la ventana con consultas a la base de datos.
+	 * El resultado se entrega en el hilo de eventos de Swing.
+	 * 
+	 * @param <V> Tipo del resultado
+	 * @param task Tarea a ejecutar
+	 * @return La tarea enviada (permite cancelarla)
+	 */
+	protected <V> UITask<V> runInBackground(UITask<V> task) {
+		return UITaskExecutor.submit(task);
+	}
+
+	/**
+	 * Ejecuta una tarea en segundo plano agrupando las solicitudes repetidas con la misma clave.
+	 * 
+	 * @param <V> Tipo del resultado
+	 * @param key Clave de agrupación
+	 * @param task Tarea a ejecutar
+	 * @return La tarea que atenderá la solicitud
+	 */
+	protected <V> UITask<V> runInBackground(String key, UITask<V> task) {
+		return UITaskExecutor.submit(key, task);
+	}
 }
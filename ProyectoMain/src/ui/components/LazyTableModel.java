@@ -0,0 +1,383 @@
+package ui.components;
+
+import DAO.ConsultaPagina;
+import DAO.Pagina;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.table.AbstractTableModel;
+import service.exceptions.ServiceException;
+
+/**
+ * @version 1.0
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ * 
+ * Modelo de tabla que carga los registros por páginas a medida que se muestran.
+ * 
+ * En lugar de copiar todos los registros a un DefaultTableModel, la tabla pide
+ * las filas visibles y el modelo obtiene en segundo plano la página que las contiene
+ * (paginación por clave del DAO). Mientras llega, las celdas muestran un texto
+ * provisional. Solo se conservan en memoria las últimas páginas usadas y, por cada
+ * página, la consulta que la ubica; al desplazarse se precarga la página siguiente
+ * en la dirección del desplazamiento. Las páginas se cargan con el UITaskExecutor
+ * compartido, con una clave por modelo para el conteo y otra por página: varias
+ * recargas seguidas dejan como máximo una consulta en curso y una pendiente de cada
+ * clase, y la pendiente de una generación anterior se cancela.
+ * 
+ * Una página cercana a una ya ubicada se alcanza siguiendo el cursor página a página;
+ * para un salto largo con la barra de desplazamiento se piden directamente las filas de
+ * la página omitiendo las anteriores con OFFSET (ConsultaPagina.saltando).
+ * 
+ * El orden y los filtros se envían a la base de datos: cambiarlos descarta las
+ * páginas cargadas y vuelve a consultar. El estado del modelo solo se modifica
+ * desde el hilo de eventos (EDT).
+ * 
+ * @param <T> Tipo de registro de cada fila
+ */
+public abstract class LazyTableModel<T> extends AbstractTableModel {
+
+	private static final long serialVersionUID = 1L;
+	private static final Logger LOGGER = Logger.getLogger(LazyTableModel.class.getName());
+
+	/**
+	 * Texto mostrado en las celdas cuya página aún no se ha cargado.
+	 */
+	public static final String TEXTO_CARGANDO = "Cargando...";
+
+	/**
+	 * Número de páginas que se conservan en memoria por defecto.
+	 */
+	public static final int PAGINAS_EN_MEMORIA = 10;
+
+	/**
+	 * Distancia máxima, en páginas, que se recorre siguiendo el cursor; para saltos
+	 * mayores se omiten las filas intermedias con OFFSET.
+	 */
+	private static final int PAGINAS_POR_CURSOR = 3;
+
+	private static final AtomicInteger MODELOS = new AtomicInteger();
+
+	/**
+	 * Origen de las páginas del modelo, normalmente un servicio.
+	 * 
+	 * @param <T> Tipo de registro
+	 */
+	public interface PageSource<T> {
+		Pagina<T> obtenerPagina(ConsultaPagina consulta) throws ServiceException;
+
+		long contar(ConsultaPagina consulta) throws ServiceException;
+	}
+
+	private final String[] columnNames;
+	private final String[] sortColumns;
+	private final transient PageSource<T> source;
+	private final int pageSize;
+
+	/**
+	 * Prefijo de las claves de las tareas del modelo en UITaskExecutor.
+	 */
+	private final String taskKey = "tabla-" + MODELOS.incrementAndGet();
+
+	private final Map<Integer, List<T>> pages;
+	private final Set<Integer> pending = new HashSet<>();
+	private final NavigableMap<Integer, ConsultaPagina> pageStarts = new TreeMap<>();
+
+	private ConsultaPagina consulta;
+	private int rowCount;
+	private int lastPage;
+	private volatile int generation;
+	private int sortColumn = -1;
+	private transient Consumer<Exception> errorHandler;
+
+	/**
+	 * Constructor del modelo.
+	 * 
+	 * @param columnNames Títulos de las columnas
+	 * @param sortColumns Columna de base de datos por la que se ordena cada columna
+	 *                    de la tabla (null si no es ordenable)
+	 * @param source Origen de las páginas
+	 * @param pageSize Registros por página
+	 */
+	public LazyTableModel(String[] columnNames, String[] sortColumns, PageSource<T> source, int pageSize) {
+		this(columnNames, sortColumns, source, pageSize, PAGINAS_EN_MEMORIA);
+	}
+
+	/**
+	 * Constructor del modelo con el número de páginas a conservar.
+	 * 
+	 * @param columnNames Títulos de las columnas
+	 * @param sortColumns Columna de base de datos de cada columna (null si no es ordenable)
+	 * @param source Origen de las páginas
+	 * @param pageSize Registros por página
+	 * @param maxPages Páginas que se conservan en memoria
+	 */
+	public LazyTableModel(String[] columnNames, String[] sortColumns, PageSource<T> source, int pageSize,
+			int maxPages) {
+		this.columnNames = columnNames.clone();
+		this.sortColumns = sortColumns != null ? sortColumns.clone() : new String[columnNames.length];
+		this.source = source;
+		this.pageSize = pageSize;
+		this.consulta = new ConsultaPagina(pageSize);
+		this.pages = new LinkedHashMap<Integer, List<T>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+				return size() > Math.max(2, maxPages);
+			}
+		};
+	}
+
+	/**
+	 * Obtiene el valor a mostrar de una columna para un registro.
+	 * 
+	 * @param row Registro de la fila
+	 * @param column Índice de la columna
+	 * @return Valor de la celda
+	 */
+	protected abstract Object getColumnValue(T row, int column);
+
+	@Override
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	@Override
+	public int getColumnCount() {
+		return columnNames.length;
+	}
+
+	@Override
+	public String getColumnName(int column) {
+		return columnNames[column];
+	}
+
+	@Override
+	public boolean isCellEditable(int row, int column) {
+		return false;
+	}
+
+	@Override
+	public Object getValueAt(int rowIndex, int columnIndex) {
+		T row = getRow(rowIndex);
+		return row != null ? getColumnValue(row, columnIndex) : (columnIndex == 0 ? TEXTO_CARGANDO : "");
+	}
+
+	/**
+	 * Obtiene el registro de una fila si su página ya está cargada; en caso contrario
+	 * solicita la página y retorna null.
+	 * 
+	 * @param rowIndex Índice de la fila
+	 * @return Registro de la fila o null si aún no está disponible
+	 */
+	public T getRow(int rowIndex) {
+		int page = rowIndex / pageSize;
+		List<T> rows = pages.get(page);
+		if (rows == null) {
+			requestPage(page);
+			return null;
+		}
+		int offset = rowIndex % pageSize;
+		if (page != lastPage) {
+			int direction = Integer.signum(page - lastPage);
+			lastPage = page;
+			prefetch(page + direction);
+		}
+		return offset < rows.size() ? rows.get(offset) : null;
+	}
+
+	/**
+	 * Define el manejador de errores de carga (se invoca en el EDT).
+	 * 
+	 * @param errorHandler Manejador de errores
+	 */
+	public void setErrorHandler(Consumer<Exception> errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Obtiene una copia de la consulta base (orden y filtros) del modelo.
+	 * 
+	 * @return Consulta sin cursor
+	 */
+	public ConsultaPagina getConsulta() {
+		return consulta.copia();
+	}
+
+	/**
+	 * Reemplaza el orden y los filtros del modelo y recarga desde la base de datos.
+	 * 
+	 * @param consulta Consulta base; se usa el tamaño de página del modelo
+	 */
+	public void setConsulta(ConsultaPagina consulta) {
+		ConsultaPagina nueva = consulta.copia();
+		nueva.setTamano(pageSize);
+		this.consulta = nueva;
+		recargar();
+	}
+
+	/**
+	 * Ordena por la columna de base de datos asociada a una columna de la tabla.
+	 * Si ya estaba ordenado por esa columna, invierte el sentido.
+	 * 
+	 * @param column Índice de la columna de la tabla
+	 * @return true si la columna es ordenable
+	 */
+	public boolean ordenarPorColumna(int column) {
+		if (column < 0 || column >= sortColumns.length || sortColumns[column] == null) {
+			return false;
+		}
+		boolean descendente = column == sortColumn && !consulta.isDescendente();
+		sortColumn = column;
+		consulta.setOrden(sortColumns[column], descendente);
+		recargar();
+		return true;
+	}
+
+	/**
+	 * Descarta las páginas cargadas, vuelve a contar los registros y carga la primera página.
+	 */
+	public void recargar() {
+		generation++;
+		pages.clear();
+		pending.clear();
+		synchronized (pageStarts) {
+			pageStarts.clear();
+			pageStarts.put(0, consulta.copia());
+		}
+		lastPage = 0;
+		rowCount = 0;
+		fireTableDataChanged();
+
+		final int gen = generation;
+		final ConsultaPagina base = consulta.copia();
+		submit(taskKey + ".contar", UITask.of(null, () -> source.contar(base), total -> {
+			if (gen == generation) {
+				rowCount = (int) Math.min(Integer.MAX_VALUE, total);
+				fireTableDataChanged();
+			}
+		}, e -> reportError(gen, e)));
+		requestPage(0);
+	}
+
+	private void prefetch(int page) {
+		if (page >= 0 && (long) page * pageSize < rowCount && !pages.containsKey(page)) {
+			requestPage(page);
+		}
+	}
+
+	private void requestPage(int page) {
+		if (!pending.add(page)) {
+			return;
+		}
+		final int gen = generation;
+		submit(taskKey + ".pagina." + page, UITask.of(null, () -> gen == generation ? loadPage(gen, page) : null,
+			pagina -> installPage(gen, page, pagina), e -> {
+				pending.remove(page);
+				reportError(gen, e);
+			}));
+	}
+
+	/**
+	 * Envía una tarea con la clave indicada. Si UITaskExecutor la agrupa con una tarea
+	 * aún no iniciada, esa tarea es de una generación anterior (en la actual cada clave
+	 * se solicita una sola vez): se cancela y la nueva queda como siguiente.
+	 */
+	private static <V> void submit(String key, UITask<V> task) {
+		UITask<V> atendida = UITaskExecutor.submit(key, task);
+		if (atendida != task) {
+			atendida.cancel();
+			UITaskExecutor.submit(key, task);
+		}
+	}
+
+	/**
+	 * Carga una página fuera del EDT. Si la consulta de la página aún no se conoce, parte
+	 * de la página ubicada más cercana: si está a pocas páginas avanza con el cursor
+	 * guardando la consulta de inicio de cada página intermedia; si no, omite las filas
+	 * intermedias con OFFSET.
+	 */
+	private Pagina<T> loadPage(int gen, int page) throws ServiceException {
+		Map.Entry<Integer, ConsultaPagina> inicio;
+		synchronized (pageStarts) {
+			inicio = pageStarts.floorEntry(page);
+		}
+		int conocida = inicio.getKey();
+		Pagina<T> pagina;
+		if (page - conocida > PAGINAS_POR_CURSOR) {
+			ConsultaPagina salto = inicio.getValue().saltando((long) (page - conocida) * pageSize);
+			recordStart(gen, page, salto);
+			pagina = source.obtenerPagina(salto);
+			conocida = page;
+		} else {
+			pagina = source.obtenerPagina(inicio.getValue());
+			while (conocida < page && pagina.hayMas() && gen == generation) {
+				conocida++;
+				recordStart(gen, conocida, pagina.getSiguiente());
+				pagina = source.obtenerPagina(pagina.getSiguiente());
+			}
+		}
+		if (pagina.hayMas()) {
+			recordStart(gen, conocida + 1, pagina.getSiguiente());
+		}
+		return conocida == page ? pagina : null;
+	}
+
+	/**
+	 * Guarda la consulta de inicio de una página. La consulta por cursor reemplaza a la
+	 * de un salto con OFFSET, que es más costosa de repetir.
+	 */
+	private void recordStart(int gen, int page, ConsultaPagina inicio) {
+		synchronized (pageStarts) {
+			if (gen != generation) {
+				return;
+			}
+			ConsultaPagina actual = pageStarts.get(page);
+			if (actual == null || actual.getFilasOmitidas() > 0 && inicio.getFilasOmitidas() == 0) {
+				pageStarts.put(page, inicio);
+			}
+		}
+	}
+
+	private void installPage(int gen, int page, Pagina<T> pagina) {
+		if (gen != generation) {
+			return;
+		}
+		pending.remove(page);
+		if (pagina == null) {
+			// La página pedida está más allá del final real (conteo desactualizado)
+			rowCount = Math.min(rowCount, page * pageSize);
+			fireTableDataChanged();
+			return;
+		}
+		pages.put(page, pagina.getElementos());
+
+		int firstRow = page * pageSize;
+		int lastRow = firstRow + pagina.getTamano();
+		if (!pagina.hayMas() && lastRow != rowCount || pagina.hayMas() && lastRow >= rowCount) {
+			// El conteo cacheado no coincide con los datos: se ajusta al final observado
+			rowCount = pagina.hayMas() ? lastRow + 1 : lastRow;
+			fireTableDataChanged();
+		} else if (pagina.getTamano() > 0) {
+			fireTableRowsUpdated(firstRow, lastRow - 1);
+		}
+	}
+
+	private void reportError(int gen, Exception e) {
+		LOGGER.log(Level.WARNING, "Error cargando página", e);
+		if (gen == generation && errorHandler != null) {
+			errorHandler.accept(e);
+		}
+	}
+}
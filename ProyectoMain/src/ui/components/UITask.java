@@ -0,0 +1,218 @@
+package ui.components;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+
+/**
+ * @version 1.0
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ * 
+ * Tarea de la interfaz que ejecuta trabajo de E/S (consultas a la base de datos,
+ * archivos) fuera del hilo de eventos de Swing, al estilo de SwingWorker.
+ * 
+ * doInBackground() se ejecuta en un hilo del UITaskExecutor; done(), failed(),
+ * cancelled() y process() se ejecutan siempre en el EDT. Una tarea cancelada no
+ * invoca done() ni failed().
+ * 
+ * @param <V> Tipo del resultado de la tarea
+ */
+public abstract class UITask<V> {
+
+	private static final Logger LOGGER = Logger.getLogger(UITask.class.getName());
+
+	private final String description;
+	private volatile boolean cancelled;
+	private volatile boolean started;
+	private volatile boolean finished;
+	private volatile Future<?> future;
+
+	/**
+	 * Constructor sin descripción (la tarea no se muestra en la barra de estado).
+	 */
+	protected UITask() {
+		this(null);
+	}
+
+	/**
+	 * Constructor con la descripción que se muestra en la barra de estado mientras se ejecuta.
+	 * 
+	 * @param description Descripción de la tarea
+	 */
+	protected UITask(String description) {
+		this.description = description;
+	}
+
+	/**
+	 * Crea una tarea a partir de funciones.
+	 * 
+	 * @param <V> Tipo del resultado
+	 * @param description Descripción para la barra de estado (puede ser null)
+	 * @param work Trabajo a ejecutar en segundo plano
+	 * @param onDone Recibe el resultado en el EDT
+	 * @param onError Recibe el error en el EDT
+	 * @return Tarea lista para enviarse al UITaskExecutor
+	 */
+	public static <V> UITask<V> of(String description, Callable<V> work, Consumer<V> onDone,
+			Consumer<Exception> onError) {
+		return new UITask<V>(description) {
+			@Override
+			protected V doInBackground() throws Exception {
+				return work.call();
+			}
+
+			@Override
+			protected void done(V result) {
+				if (onDone != null) {
+					onDone.accept(result);
+				}
+			}
+
+			@Override
+			protected void failed(Exception error) {
+				if (onError != null) {
+					onError.accept(error);
+				} else {
+					super.failed(error);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Trabajo de la tarea. Se ejecuta fuera del EDT: no debe modificar componentes Swing.
+	 * 
+	 * @return Resultado de la tarea
+	 * @throws Exception Si el trabajo falla
+	 */
+	protected abstract V doInBackground() throws Exception;
+
+	/**
+	 * Recibe el resultado en el EDT cuando la tarea termina correctamente.
+	 * 
+	 * @param result Resultado de doInBackground()
+	 */
+	protected void done(V result) {
+		// Implementación por defecto vacía
+	}
+
+	/**
+	 * Recibe el error en el EDT cuando la tarea falla.
+	 * 
+	 * @param error Excepción lanzada por doInBackground()
+	 */
+	protected void failed(Exception error) {
+		LOGGER.log(Level.WARNING, "Error en tarea en segundo plano: " + description, error);
+	}
+
+	/**
+	 * Se invoca en el EDT cuando la tarea se cancela.
+	 */
+	protected void cancelled() {
+		// Implementación por defecto vacía
+	}
+
+	/**
+	 * Recibe en el EDT el avance publicado con publishProgress().
+	 * 
+	 * @param percent Porcentaje de avance (0-100) o -1 si es indeterminado
+	 * @param message Mensaje de avance
+	 */
+	protected void process(int percent, String message) {
+		// Implementación por defecto vacía
+	}
+
+	/**
+	 * Publica el avance de la tarea desde doInBackground(). El avance se muestra
+	 * en la barra de estado y se entrega a process() en el EDT.
+	 * 
+	 * @param percent Porcentaje de avance (0-100) o -1 si es indeterminado
+	 * @param message Mensaje de avance
+	 */
+	protected final void publishProgress(int percent, String message) {
+		if (cancelled) {
+			return;
+		}
+		SwingUtilities.invokeLater(() -> {
+			if (!cancelled) {
+				process(percent, message);
+			}
+		});
+		UITaskExecutor.progress(this, percent, message);
+	}
+
+	/**
+	 * Cancela la tarea. Si aún no ha empezado no se ejecuta; si está en curso se
+	 * interrumpe su hilo y su resultado se descarta.
+	 * 
+	 * El Future solo se cancela cuando la tarea ya empezó: una tarea sin empezar igual
+	 * llega a run(), que la termina sin ejecutarla, de modo que el UITaskExecutor siempre
+	 * descuenta la tarea activa y lanza la siguiente de su clave.
+	 * 
+	 * @return true si la tarea no había terminado
+	 */
+	public final boolean cancel() {
+		if (finished || cancelled) {
+			return false;
+		}
+		cancelled = true;
+		Future<?> f = future;
+		if (f != null && started) {
+			f.cancel(true);
+		}
+		SwingUtilities.invokeLater(this::cancelled);
+		return true;
+	}
+
+	public final boolean isCancelled() {
+		return cancelled;
+	}
+
+	public final boolean isStarted() {
+		return started;
+	}
+
+	public final boolean isFinished() {
+		return finished;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	void setFuture(Future<?> future) {
+		this.future = future;
+	}
+
+	/**
+	 * Ejecuta la tarea en el hilo de trabajo y entrega el resultado en el EDT.
+	 */
+	final void run() {
+		started = true;
+		try {
+			if (cancelled) {
+				return;
+			}
+			V result = doInBackground();
+			if (!cancelled) {
+				SwingUtilities.invokeLater(() -> {
+					if (!cancelled) {
+						done(result);
+					}
+				});
+			}
+		} catch (Exception e) {
+			if (!cancelled) {
+				SwingUtilities.invokeLater(() -> failed(e));
+			}
+		} finally {
+			finished = true;
+		}
+	}
+}
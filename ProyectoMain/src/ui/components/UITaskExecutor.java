@@ -0,0 +1,195 @@
+package ui.components;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+
+/**
+ * @version 1.0
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ * 
+ * Ejecutor compartido de las tareas de la interfaz (UITask).
+ * 
+ * Usa hilos virtuales cuando la JVM los soporta y, en su defecto, un pool de hilos
+ * daemon. La concurrencia real hacia la base de datos queda limitada por el pool de
+ * conexiones, por lo que no se limita aquí.
+ * 
+ * Las tareas enviadas con una clave se agrupan: si ya hay una tarea pendiente con la
+ * misma clave, la nueva se descarta; si la anterior está en curso, la nueva se ejecuta
+ * una sola vez al terminar (las solicitudes intermedias se descartan). Así varios clics
+ * seguidos en "Actualizar" producen como máximo una consulta adicional.
+ * 
+ * El avance de las tareas se notifica en el EDT a un StatusListener (la barra de
+ * estado de MainFrame).
+ */
+public final class UITaskExecutor {
+
+	private static final Logger LOGGER = Logger.getLogger(UITaskExecutor.class.getName());
+
+	/**
+	 * Recibe en el EDT los cambios de estado de las tareas en curso.
+	 */
+	@FunctionalInterface
+	public interface StatusListener {
+		/**
+		 * @param message Descripción de la tarea o mensaje de avance (null si no hay tareas)
+		 * @param percent Porcentaje de avance (0-100) o -1 si es indeterminado
+		 * @param activeTasks Número de tareas en ejecución
+		 */
+		void statusChanged(String message, int percent, int activeTasks);
+	}
+
+	private static final ExecutorService EXECUTOR = createExecutor();
+	private static final AtomicInteger ACTIVE = new AtomicInteger();
+	private static final Map<String, KeyedSlot> BY_KEY = new HashMap<>();
+
+	private static volatile StatusListener statusListener;
+
+	private UITaskExecutor() {
+	}
+
+	/**
+	 * Crea el ejecutor de hilos virtuales (Java 21+) o, si no está disponible, un pool de hilos daemon.
+	 */
+	private static ExecutorService createExecutor() {
+		try {
+			Object executor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+			LOGGER.fine("Tareas de interfaz sobre hilos virtuales");
+			return (ExecutorService) executor;
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			AtomicInteger count = new AtomicInteger();
+			return Executors.newCachedThreadPool(r -> {
+				Thread thread = new Thread(r, "ui-task-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+	/**
+	 * Define el receptor de los cambios de estado de las tareas.
+	 * 
+	 * @param listener Receptor (null para ninguno)
+	 */
+	public static void setStatusListener(StatusListener listener) {
+		statusListener = listener;
+	}
+
+	/**
+	 * Ejecuta una tarea en segundo plano.
+	 * 
+	 * @param <V> Tipo del resultado
+	 * @param task Tarea a ejecutar
+	 * @return La misma tarea (permite cancelarla)
+	 */
+	public static <V> UITask<V> submit(UITask<V> task) {
+		start(task, null);
+		return task;
+	}
+
+	/**
+	 * Ejecuta una tarea en segundo plano agrupándola con las de la misma clave.
+	 * 
+	 * @param <V> Tipo del resultado
+	 * @param key Clave de agrupación (por ejemplo "inspecciones.actualizar")
+	 * @param task Tarea a ejecutar
+	 * @return La tarea que efectivamente atenderá la solicitud
+	 */
+	@SuppressWarnings("unchecked")
+	public static <V> UITask<V> submit(String key, UITask<V> task) {
+		synchronized (BY_KEY) {
+			KeyedSlot slot = BY_KEY.get(key);
+			if (slot == null) {
+				BY_KEY.put(key, new KeyedSlot(task));
+			} else if (!slot.current.isStarted() && !slot.current.isCancelled()) {
+				return (UITask<V>) slot.current;
+			} else {
+				// Reemplaza a la siguiente pendiente: solo se ejecuta la última solicitud
+				slot.next = task;
+				return task;
+			}
+		}
+		start(task, key);
+		return task;
+	}
+
+	/**
+	 * Número de tareas en ejecución.
+	 * 
+	 * @return Tareas activas
+	 */
+	public static int getActiveTasks() {
+		return ACTIVE.get();
+	}
+
+	private static void start(UITask<?> task, String key) {
+		int active = ACTIVE.incrementAndGet();
+		notifyStatus(task.getDescription(), -1, active);
+		task.setFuture(EXECUTOR.submit(() -> {
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				LOGGER.log(Level.SEVERE, "Error inesperado en tarea de interfaz", e);
+			} finally {
+				// También se ejecuta para las tareas canceladas antes de empezar (ver UITask.cancel)
+				int remaining = ACTIVE.decrementAndGet();
+				notifyStatus(null, -1, remaining);
+				if (key != null) {
+					startNext(key);
+				}
+			}
+		}));
+	}
+
+	private static void startNext(String key) {
+		UITask<?> next;
+		synchronized (BY_KEY) {
+			KeyedSlot slot = BY_KEY.get(key);
+			if (slot == null) {
+				return;
+			}
+			next = slot.next;
+			if (next == null) {
+				BY_KEY.remove(key);
+				return;
+			}
+			slot.current = next;
+			slot.next = null;
+		}
+		start(next, key);
+	}
+
+	/**
+	 * Notifica el avance publicado por una tarea.
+	 */
+	static void progress(UITask<?> task, int percent, String message) {
+		notifyStatus(message != null ? message : task.getDescription(), percent, ACTIVE.get());
+	}
+
+	private static void notifyStatus(String message, int percent, int active) {
+		StatusListener listener = statusListener;
+		if (listener != null && (message != null || active == 0)) {
+			SwingUtilities.invokeLater(() -> listener.statusChanged(message, percent, active));
+		}
+	}
+
+	/**
+	 * Tarea en curso y siguiente solicitud pendiente de una clave.
+	 */
+	private static final class KeyedSlot {
+		private UITask<?> current;
+		private UITask<?> next;
+
+		KeyedSlot(UITask<?> current) {
+			this.current = current;
+		}
+	}
+}
@@ -3,13 +3,15 @@ package ui.forms;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.List;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
+import DAO.ConsultaPagina;
+import DAO.Pagina;
 import model.InspeccionFitosanitaria;
+import service.exceptions.ServiceException;
 import service.negocio.InspeccionFitosanitariaService;
 import ui.components.BasePanel;
+import ui.components.LazyTableModel;
 import ui.utils.MessageUtil;
 import ui.utils.UIConstants;
 
@@ -26,6 +28,9 @@ public class InspeccionFitosanitariaListPanel extends BasePanel {
 
 	private static final long serialVersionUID = 1L;
 
+	/** Inspecciones por página cargada en la tabla. */
+	private static final int TAMANO_PAGINA = 100;
+
 	// Servicios
 	private InspeccionFitosanitariaService inspeccionService;
 	private JFrame parentFrame;
@@ -42,11 +47,10 @@ public class InspeccionFitosanitariaListPanel extends BasePanel {
 	private JButton exportarButton;
 
 	private JTable table;
-	private DefaultTableModel tableModel;
+	private LazyTableModel<InspeccionFitosanitaria> tableModel;
 	private JScrollPane scrollPane;
 
 	// Datos
-	private List<InspeccionFitosanitaria> inspecciones;
 	private InspeccionFitosanitaria selectedInspeccion;
 
 	/**
@@ -81,14 +85,18 @@ public class InspeccionFitosanitariaListPanel extends BasePanel {
 		tablePanel.setBackground(UIConstants.COLOR_BACKGROUND);
 
 		String[] columnNames = { "ID", "Fecha", "Estado", "Tipo", "Lugar Producción", "Observaciones" };
-		tableModel = new DefaultTableModel(columnNames, 0) {
+		// Columnas de base de datos por las que se puede ordenar (null = no ordenable)
+		String[] sortColumns = { "ID_INSPECCION", "FECHA_INSPECCION", "ESTADO", null, null, null };
+		tableModel = new LazyTableModel<InspeccionFitosanitaria>(columnNames, sortColumns,
+				new InspeccionPageSource(), TAMANO_PAGINA) {
 			private static final long serialVersionUID = 1L;
 
 			@Override
-			public boolean isCellEditable(int row, int column) {
-				return false; // Tabla no editable
+			protected Object getColumnValue(InspeccionFitosanitaria insp, int column) {
+				return toColumnValue(insp, column);
 			}
 		};
+		tableModel.setErrorHandler(ex -> MessageUtil.showError(this, "Error al cargar inspecciones: " + ex.getMessage()));
 
 		table = new JTable(tableModel);
 		table.setFont(UIConstants.FONT_BODY);
@@ -156,8 +164,8 @@ public class InspeccionFitosanitariaListPanel extends BasePanel {
 		table.getSelectionModel().addListSelectionListener(e -> {
 			if (!e.getValueIsAdjusting()) {
 				int selectedRow = table.getSelectedRow();
-				if (selectedRow >= 0) {
-					selectedInspeccion = inspecciones.get(selectedRow);
+				if (selectedRow >= 0 && tableModel.getRow(selectedRow) != null) {
+					selectedInspeccion = tableModel.getRow(selectedRow);
 					editarButton.setEnabled(true);
 					eliminarButton.setEnabled(true);
 				} else {
@@ -168,6 +176,17 @@ public class InspeccionFitosanitariaListPanel extends BasePanel {
 			}
 		});
 
+		// Click en el encabezado para ordenar en la base de datos
+		table.getTableHeader().addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				int column = table.columnAtPoint(e.getPoint());
+				if (column >= 0) {
+					tableModel.ordenarPorColumna(table.convertColumnIndexToModel(column));
+				}
+			}
+		});
+
 		// Doble click para editar
 		table.addMouseListener(new MouseAdapter() {
 			@Override
@@ -199,46 +218,33 @@ public class InspeccionFitosanitariaListPanel extends BasePanel {
 
 	/**
 	 * Carga la lista de inspecciones desde el servicio.
+	 * Las páginas se obtienen en segundo plano a medida que se muestran.
 	 */
 	private void loadInspecciones() {
-		try {
-			inspecciones = inspeccionService.obtenerTodos();
-			updateTable();
-		} catch (Exception ex) {
-			MessageUtil.showError(this, "Error al cargar inspecciones: " + ex.getMessage());
-			inspecciones = new java.util.ArrayList<>();
-		}
+		tableModel.recargar();
 	}
 
 	/**
-	 * Actualiza la tabla con los datos actuales.
+	 * Obtiene el valor de una columna de la tabla para una inspección.
 	 */
-	private void updateTable() {
-		tableModel.setRowCount(0); // Limpiar tabla
-
-		if (inspecciones == null || inspecciones.isEmpty()) {
-			return;
-		}
-
-		for (InspeccionFitosanitaria insp : inspecciones) {
-			Object[] row = new Object[6];
-			row[0] = insp.getId();
-			row[1] = insp.getFechaInspeccion() != null ? insp.getFechaInspeccion() : "";
-			row[2] = insp.getEstado() != null ? insp.getEstado() : "N/A";
-			row[3] = insp.getTipoInspeccion() != null ? insp.getTipoInspeccion() : "N/A";
-			
-			// Lugar de producción
-			if (insp.getLugaresProduccion() != null) {
-				row[4] = insp.getLugaresProduccion().getNombre();
-			} else {
-				row[4] = "N/A";
-			}
-			
-			// Observaciones (truncadas si son muy largas)
-			row[5] = insp.getObservaciones() != null && insp.getObservaciones().length() > 50
-					? insp.getObservaciones().substring(0, 47) + "..."
-					: insp.getObservaciones();
-			tableModel.addRow(row);
+	private Object toColumnValue(InspeccionFitosanitaria insp, int column) {
+		switch (column) {
+			case 0:
+				return insp.getId();
+			case 1:
+				return insp.getFechaInspeccion() != null ? insp.getFechaInspeccion() : "";
+			case 2:
+				return insp.getEstado() != null ? insp.getEstado() : "N/A";
+			case 3:
+				return insp.getTipoInspeccion() != null ? insp.getTipoInspeccion() : "N/A";
+			case 4:
+				// Lugar de producción
+				return insp.getLugaresProduccion() != null ? insp.getLugaresProduccion().getNombre() : "N/A";
+			default:
+				// Observaciones (truncadas si son muy largas)
+				return insp.getObservaciones() != null && insp.getObservaciones().length() > 50
+						? insp.getObservaciones().substring(0, 47) + "..."
+						: insp.getObservaciones();
 		}
 	}
 
@@ -302,8 +308,20 @@ public class InspeccionFitosanitariaListPanel extends BasePanel {
 	 * Abre el diálogo de búsqueda.
 	 */
 	private void buscarInspeccion() {
-		// TODO: Implementar diálogo de búsqueda
-		MessageUtil.showInfo(this, "Funcionalidad en desarrollo", "Buscar Inspección");
+		String estado = JOptionPane.showInputDialog(this, "Estado de la inspección (vacío para ver todas):",
+				"Buscar Inspección", JOptionPane.QUESTION_MESSAGE);
+		if (estado == null) {
+			return;
+		}
+
+		// El filtro se aplica en la consulta a la base de datos
+		ConsultaPagina consulta = tableModel.getConsulta();
+		consulta.limpiarFiltros();
+		if (!estado.trim().isEmpty()) {
+			consulta.agregarFiltro("ESTADO", estado.trim().toUpperCase());
+		}
+		tableModel.setConsulta(consulta);
+		limpiarSeleccion();
 	}
 
 	/**
@@ -311,6 +329,10 @@ public class InspeccionFitosanitariaListPanel extends BasePanel {
 	 */
 	private void actualizarLista() {
 		loadInspecciones();
+		limpiarSeleccion();
+	}
+
+	private void limpiarSeleccion() {
 		table.clearSelection();
 		selectedInspeccion = null;
 		editarButton.setEnabled(false);
@@ -331,4 +353,20 @@ public class InspeccionFitosanitariaListPanel extends BasePanel {
 	public InspeccionFitosanitaria getSelectedInspeccion() {
 		return selectedInspeccion;
 	}
+
+	/**
+	 * Origen de las páginas de la tabla: delega en el servicio de inspecciones.
+	 * Cada página trae el lugar de producción que muestra la tabla.
+	 */
+	private class InspeccionPageSource implements LazyTableModel.PageSource<InspeccionFitosanitaria> {
+		@Override
+		public Pagina<InspeccionFitosanitaria> obtenerPagina(ConsultaPagina consulta) throws ServiceException {
+			return inspeccionService.obtenerPaginaCompleta(consulta);
+		}
+
+		@Override
+		public long contar(ConsultaPagina consulta) throws ServiceException {
+			return inspeccionService.contar(consulta);
+		}
+	}
 }
@@ -3,14 +3,15 @@ package ui.forms;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.List;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
+import DAO.ConsultaPagina;
+import DAO.Pagina;
 import model.InspeccionFitosanitaria;
 import service.exceptions.ServiceException;
 import service.negocio.InspeccionFitosanitariaService;
 import ui.components.BasePanel;
+import ui.components.LazyTableModel;
 import ui.utils.MessageUtil;
 import ui.utils.UIConstants;
 
@@ -21,6 +22,7 @@ import ui.utils.UIConstants;
 public class InspeccionFitosanitariaListPanelSimple extends BasePanel {
 
 	private static final long serialVersionUID = 1L;
+	private static final int TAMANO_PAGINA = 100;
 
 	private final InspeccionFitosanitariaService inspeccionService;
 	private final JFrame parentFrame;
@@ -32,10 +34,9 @@ public class InspeccionFitosanitariaListPanelSimple extends BasePanel {
 	private JButton actualizarButton;
 
 	private JTable table;
-	private DefaultTableModel tableModel;
+	private LazyTableModel<InspeccionFitosanitaria> tableModel;
 	private JScrollPane scrollPane;
 
-	private List<InspeccionFitosanitaria> inspecciones;
 	private InspeccionFitosanitaria selectedInspeccion;
 
 	public InspeccionFitosanitariaListPanelSimple(JFrame parent, InspeccionFitosanitariaService service) {
@@ -59,14 +60,27 @@ public class InspeccionFitosanitariaListPanelSimple extends BasePanel {
 		eliminarButton.setEnabled(false);
 
 		String[] columnNames = { "ID", "Fecha Inspección" };
-		tableModel = new DefaultTableModel(columnNames, 0) {
+		String[] sortColumns = { "ID_INSPECCION", "FECHA_INSPECCION" };
+		tableModel = new LazyTableModel<InspeccionFitosanitaria>(columnNames, sortColumns,
+				new LazyTableModel.PageSource<InspeccionFitosanitaria>() {
+					@Override
+					public Pagina<InspeccionFitosanitaria> obtenerPagina(ConsultaPagina consulta) throws ServiceException {
+						return inspeccionService.obtenerPaginaResumen(consulta);
+					}
+
+					@Override
+					public long contar(ConsultaPagina consulta) throws ServiceException {
+						return inspeccionService.contar(consulta);
+					}
+				}, TAMANO_PAGINA) {
 			private static final long serialVersionUID = 1L;
 
 			@Override
-			public boolean isCellEditable(int row, int column) {
-				return false;
+			protected Object getColumnValue(InspeccionFitosanitaria insp, int column) {
+				return column == 0 ? insp.getId() : insp.getFechaInspeccion();
 			}
 		};
+		tableModel.setErrorHandler(ex -> MessageUtil.showError(this, "Error al cargar inspecciones: " + ex.getMessage()));
 
 		table = new JTable(tableModel);
 		table.setFont(UIConstants.FONT_BODY);
@@ -120,8 +134,8 @@ public class InspeccionFitosanitariaListPanelSimple extends BasePanel {
 		table.getSelectionModel().addListSelectionListener(e -> {
 			if (!e.getValueIsAdjusting()) {
 				int selectedRow = table.getSelectedRow();
-				if (selectedRow >= 0) {
-					selectedInspeccion = inspecciones.get(selectedRow);
+				if (selectedRow >= 0 && tableModel.getRow(selectedRow) != null) {
+					selectedInspeccion = tableModel.getRow(selectedRow);
 					editarButton.setEnabled(true);
 					eliminarButton.setEnabled(true);
 				} else {
@@ -132,6 +146,16 @@ public class InspeccionFitosanitariaListPanelSimple extends BasePanel {
 			}
 		});
 
+		table.getTableHeader().addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				int column = table.columnAtPoint(e.getPoint());
+				if (column >= 0) {
+					tableModel.ordenarPorColumna(table.convertColumnIndexToModel(column));
+				}
+			}
+		});
+
 		table.addMouseListener(new MouseAdapter() {
 			@Override
 			public void mouseClicked(MouseEvent e) {
@@ -155,28 +179,7 @@ public class InspeccionFitosanitariaListPanelSimple extends BasePanel {
 	}
 
 	private void loadInspecciones() {
-		try {
-			inspecciones = inspeccionService.obtenerTodos();
-			updateTable();
-		} catch (ServiceException ex) {
-			MessageUtil.showError(this, "Error al cargar inspecciones: " + ex.getMessage());
-			inspecciones = new java.util.ArrayList<>();
-		}
-	}
-
-	private void updateTable() {
-		tableModel.setRowCount(0);
-
-		if (inspecciones == null || inspecciones.isEmpty()) {
-			return;
-		}
-
-		for (InspeccionFitosanitaria insp : inspecciones) {
-			Object[] row = new Object[2];
-			row[0] = insp.getId();
-			row[1] = insp.getFechaInspeccion();
-			tableModel.addRow(row);
-		}
+		tableModel.recargar();
 	}
 
 	private void nuevaInspeccion() {
@@ -0,0 +1,223 @@
+package ui.forms;
+
+import java.awt.*;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.AbstractTableModel;
+import service.utilidad.ReportJob;
+import service.utilidad.ReportJobScheduler;
+import service.utilidad.ReportRequest;
+import ui.components.BasePanel;
+import ui.utils.MessageUtil;
+import ui.utils.UIConstants;
+
+/**
+ * @version 1.0
+ * @author Isabella Vargas
+ * @author Ricardo Viancha
+ * @author Iswar Corrales
+ * @author Andres Rivero
+ *
+ * Panel con el estado de los trabajos de reportes.
+ * Consulta periódicamente el planificador mientras está visible y permite cancelar
+ * los trabajos pendientes o en ejecución.
+ */
+public class ReportJobsPanel extends BasePanel {
+
+	private static final long serialVersionUID = 1L;
+	private static final int INTERVALO_CONSULTA_MS = 1000;
+
+	private final ReportJobScheduler scheduler;
+
+	private JButton cancelarButton;
+	private JButton actualizarButton;
+	private JTable table;
+	private TrabajosTableModel tableModel;
+	private JScrollPane scrollPane;
+	private Timer timer;
+
+	public ReportJobsPanel(ReportJobScheduler scheduler) {
+		super(new BorderLayout(10, 10));
+		this.scheduler = scheduler;
+		setBorder(new EmptyBorder(15, 15, 15, 15));
+	}
+
+	@Override
+	protected void initializeComponents() {
+		cancelarButton = new JButton("Cancelar");
+		cancelarButton.setFont(UIConstants.FONT_BUTTON);
+		cancelarButton.setEnabled(false);
+		actualizarButton = new JButton("Actualizar");
+		actualizarButton.setFont(UIConstants.FONT_BUTTON);
+
+		tableModel = new TrabajosTableModel();
+		table = new JTable(tableModel);
+		table.setFont(UIConstants.FONT_BODY);
+		table.setRowHeight(26);
+		table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+		table.getTableHeader().setFont(UIConstants.FONT_SUBHEADING);
+
+		scrollPane = new JScrollPane(table);
+		scrollPane.setBorder(BorderFactory.createLineBorder(UIConstants.COLOR_BORDER));
+
+		timer = new Timer(INTERVALO_CONSULTA_MS, e -> actualizar());
+	}
+
+	@Override
+	protected void setupLayout() {
+		JPanel toolbarPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+		toolbarPanel.setBackground(UIConstants.COLOR_SURFACE);
+		toolbarPanel.add(cancelarButton);
+		toolbarPanel.add(actualizarButton);
+
+		JLabel titleLabel = new JLabel("Trabajos de Reportes");
+		titleLabel.setFont(UIConstants.FONT_HEADING);
+
+		JPanel tablePanel = new JPanel(new BorderLayout(0, 10));
+		tablePanel.setBackground(UIConstants.COLOR_BACKGROUND);
+		tablePanel.add(titleLabel, BorderLayout.NORTH);
+		tablePanel.add(scrollPane, BorderLayout.CENTER);
+
+		add(toolbarPanel, BorderLayout.NORTH);
+		add(tablePanel, BorderLayout.CENTER);
+	}
+
+	@Override
+	protected void setupListeners() {
+		actualizarButton.addActionListener(e -> actualizar());
+		cancelarButton.addActionListener(e -> cancelarSeleccionado());
+		table.getSelectionModel().addListSelectionListener(e -> {
+			if (!e.getValueIsAdjusting()) {
+				actualizarBotones();
+			}
+		});
+	}
+
+	/**
+	 * La consulta periódica solo corre mientras el panel está en pantalla.
+	 */
+	@Override
+	public void addNotify() {
+		super.addNotify();
+		actualizar();
+		timer.start();
+	}
+
+	@Override
+	public void removeNotify() {
+		timer.stop();
+		super.removeNotify();
+	}
+
+	private void actualizar() {
+		ReportJob seleccionado = seleccionado();
+		tableModel.setTrabajos(scheduler.obtenerTodos());
+		if (seleccionado != null) {
+			int fila = tableModel.indiceDe(seleccionado.getId());
+			if (fila >= 0) {
+				table.getSelectionModel().setSelectionInterval(fila, fila);
+			}
+		}
+		actualizarBotones();
+	}
+
+	private void actualizarBotones() {
+		ReportJob job = seleccionado();
+		cancelarButton.setEnabled(job != null && !job.getEstado().isFinal());
+	}
+
+	private ReportJob seleccionado() {
+		int fila = table.getSelectedRow();
+		return fila >= 0 ? tableModel.getTrabajo(table.convertRowIndexToModel(fila)) : null;
+	}
+
+	private void cancelarSeleccionado() {
+		ReportJob job = seleccionado();
+		if (job == null) {
+			return;
+		}
+		if (MessageUtil.showConfirm(this, "¿Desea cancelar el reporte " + job.getId() + "?", "Cancelar Reporte")) {
+			scheduler.cancelar(job.getId());
+			actualizar();
+		}
+	}
+
+	/**
+	 * Modelo de la tabla de trabajos. Reemplaza la lista completa en cada consulta;
+	 * el número de trabajos es pequeño (los terminados se depuran por antigüedad).
+	 */
+	private static final class TrabajosTableModel extends AbstractTableModel {
+
+		private static final long serialVersionUID = 1L;
+		private static final String[] COLUMNAS = { "ID", "Tipo", "Lote", "Desde", "Hasta", "Prioridad", "Estado",
+			"Filas", "Creado", "Resultado" };
+
+		private final SimpleDateFormat formatoFecha = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+		private List<ReportJob> trabajos = new ArrayList<>();
+
+		void setTrabajos(List<ReportJob> trabajos) {
+			this.trabajos = trabajos;
+			fireTableDataChanged();
+		}
+
+		ReportJob getTrabajo(int fila) {
+			return fila < trabajos.size() ? trabajos.get(fila) : null;
+		}
+
+		int indiceDe(long id) {
+			for (int i = 0; i < trabajos.size(); i++) {
+				if (trabajos.get(i).getId() == id) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		public int getRowCount() {
+			return trabajos.size();
+		}
+
+		@Override
+		public int getColumnCount() {
+			return COLUMNAS.length;
+		}
+
+		@Override
+		public String getColumnName(int column) {
+			return COLUMNAS[column];
+		}
+
+		@Override
+		public Object getValueAt(int row, int column) {
+			ReportJob job = trabajos.get(row);
+			ReportRequest request = job.getRequest();
+			switch (column) {
+				case 0:
+					return job.getId();
+				case 1:
+					return request.getTipo();
+				case 2:
+					return request.getIdLote() != null ? request.getIdLote() : "Todos";
+				case 3:
+					return request.getFechaDesde();
+				case 4:
+					return request.getFechaHasta();
+				case 5:
+					return job.getPrioridad();
+				case 6:
+					return job.getEstado();
+				case 7:
+					return job.getFilas();
+				case 8:
+					return formatoFecha.format(new Date(job.getCreado()));
+				default:
+					return job.getError() != null ? job.getError() : job.getRutaArchivo();
+			}
+		}
+	}
+}
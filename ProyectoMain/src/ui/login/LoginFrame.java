@@ -9,14 +9,17 @@ import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 
 import ui.components.BaseFrame;
+import ui.components.UITask;
 import ui.main.MainFrame;
 import ui.utils.UIConstants;
 import ui.utils.MessageUtil;
 import model.Usuario;
-import DAO.UsuarioDAO;
+import DAO.CachedUsuarioDAO;
+import DAO.LugarProduccionDAO;
+import service.base.SessionContext;
 import service.usuario.UsuarioService;
 import service.exceptions.ServiceException;
-import BaseDatos.Conexion;
+import BaseDatos.DBConnectionFactory;
 
 /**
  * @version 1.0
@@ -57,14 +60,18 @@ public class LoginFrame extends BaseFrame {
 	public LoginFrame() {
 		super(UIConstants.APP_TITLE, UIConstants.SIZE_LOGIN);
 		
-		// Inicializar servicio
-		try {
-			UsuarioDAO usuarioDAO = new UsuarioDAO(Conexion.getInstance());
-			this.usuarioService = new UsuarioService(usuarioDAO);
-		} catch (Exception e) {
-			MessageUtil.showError(this, "Error al inicializar el sistema: " + e.getMessage());
-			System.exit(1);
-		}
+		// Inicializar servicio en segundo plano: abrir el pool de conexiones no debe congelar la ventana
+		loginButton.setEnabled(false);
+		runInBackground(UITask.of("Conectando a la base de datos...",
+			() -> new UsuarioService(new CachedUsuarioDAO(DBConnectionFactory.getDefaultConnection())),
+			service -> {
+				this.usuarioService = service;
+				loginButton.setEnabled(true);
+			},
+			e -> {
+				MessageUtil.showError(this, "Error al inicializar el sistema: " + e.getMessage());
+				System.exit(1);
+			}));
 	}
 
 	@Override
@@ -250,35 +257,61 @@ public class LoginFrame extends BaseFrame {
 			return;
 		}
 
-		// Autenticar usuario
-		try {
-			Usuario usuario = usuarioService.obtenerPorEmail(email);
+		if (usuarioService == null) {
+			MessageUtil.showInfo(this, "Conectando a la base de datos, intente de nuevo en un momento");
+			return;
+		}
 
-			if (usuario == null) {
-				MessageUtil.showError(this, "Usuario no encontrado");
-				passwordField.setText("");
-				return;
+		// Autenticar usuario fuera del hilo de eventos
+		loginButton.setEnabled(false);
+		setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+		runInBackground("login", new UITask<Usuario>("Autenticando...") {
+			@Override
+			protected Usuario doInBackground() throws ServiceException {
+				Usuario usuario = usuarioService.iniciarSesion(email);
+				if (usuario != null) {
+					// Resolver una sola vez el alcance del usuario para todos los servicios de la sesión
+					SessionContext.iniciar(usuario, new LugarProduccionDAO(DBConnectionFactory.getDefaultConnection()));
+				}
+				return usuario;
 			}
 
-			// TODO: Implementar verificación de contraseña con hash
-			// Por ahora usamos una autenticación simple para demostración
-			
-			// Login exitoso
-			MessageUtil.showSuccess(this, "¡Bienvenido, " + usuario.getNombre() + "!");
-			
-			// Abrir ventana principal
-			SwingUtilities.invokeLater(new Runnable() {
-				@Override
-				public void run() {
-					MainFrame mainFrame = new MainFrame(usuario);
-					mainFrame.display();
-					LoginFrame.this.dispose();
+			@Override
+			protected void done(Usuario usuario) {
+				restaurarFormulario();
+
+				if (usuario == null) {
+					MessageUtil.showError(LoginFrame.this, "Usuario no encontrado");
+					passwordField.setText("");
+					return;
 				}
-			});
 
-		} catch (ServiceException ex) {
-			MessageUtil.showError(this, "Error al autenticar: " + ex.getMessage());
-		}
+				// TODO: Implementar verificación de contraseña con hash
+				// Por ahora usamos una autenticación simple para demostración
+				
+				// Login exitoso
+				MessageUtil.showSuccess(LoginFrame.this, "¡Bienvenido, " + usuario.getNombre() + "!");
+				
+				// Abrir ventana principal
+				MainFrame mainFrame = new MainFrame(usuario);
+				mainFrame.display();
+				LoginFrame.this.dispose();
+			}
+
+			@Override
+			protected void failed(Exception ex) {
+				restaurarFormulario();
+				MessageUtil.showError(LoginFrame.this, "Error al autenticar: " + ex.getMessage());
+			}
+		});
+	}
+
+	/**
+	 * Rehabilita el formulario al terminar la autenticación.
+	 */
+	private void restaurarFormulario() {
+		loginButton.setEnabled(true);
+		setCursor(Cursor.getDefaultCursor());
 	}
 
 	/**
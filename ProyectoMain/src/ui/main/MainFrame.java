@@ -1,12 +1,23 @@
 package ui.main;
 
-import BaseDatos.Conexion;
+import BaseDatos.DBConnectionFactory;
 import DAO.InspeccionFitosanitariaDAO;
 import java.awt.*;
 import javax.swing.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import model.Usuario;
+import service.base.SessionContext;
 import service.negocio.InspeccionFitosanitariaService;
+import service.utilidad.AlertPipeline;
+import service.utilidad.DetectorBrotes;
+import service.utilidad.ReportJob;
+import service.utilidad.ReportJobScheduler;
+import service.utilidad.ReportRequest;
+import ui.components.UITask;
+import ui.components.UITaskExecutor;
 import ui.forms.InspeccionFitosanitariaListPanelSimple;
+import ui.forms.ReportJobsPanel;
 import ui.utils.MessageUtil;
 import ui.utils.UIConstants;
 
@@ -46,6 +57,11 @@ public class MainFrame extends JFrame {
 	// Labels de status bar
 	private JLabel statusLabel;
 	private JLabel userLabel;
+	private JProgressBar progressBar;
+	/**
+	 * Último mensaje de estado de la ventana; se restaura al terminar las tareas en segundo plano.
+	 */
+	private String statusMessage = "Listo";
 
 	/**
 	 * Constructor de la ventana principal.
@@ -73,7 +89,7 @@ public class MainFrame extends JFrame {
 		
 		// Inicializar servicios
 		try {
-			InspeccionFitosanitariaDAO inspeccionDAO = new InspeccionFitosanitariaDAO(Conexion.getInstance());
+			InspeccionFitosanitariaDAO inspeccionDAO = new InspeccionFitosanitariaDAO(DBConnectionFactory.getDefaultConnection());
 			this.inspeccionService = new InspeccionFitosanitariaService(inspeccionDAO);
 		} catch (Exception e) {
 			MessageUtil.showError(this, "Error al inicializar servicios: " + e.getMessage());
@@ -119,6 +135,11 @@ public class MainFrame extends JFrame {
 		userLabel = new JLabel("Usuario: " + userName + " (" + userRole + ")  ");
 		userLabel.setFont(UIConstants.FONT_CAPTION);
 		userLabel.setForeground(UIConstants.COLOR_TEXT_SECONDARY);
+
+		// Avance de las tareas en segundo plano
+		progressBar = new JProgressBar(0, 100);
+		progressBar.setPreferredSize(new Dimension(150, 14));
+		progressBar.setVisible(false);
 	}
 
 	protected void setupLayout() {
@@ -142,6 +163,10 @@ public class MainFrame extends JFrame {
 
 		// Status bar
 		statusBar.add(statusLabel, BorderLayout.WEST);
+		JPanel progressPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 4));
+		progressPanel.setOpaque(false);
+		progressPanel.add(progressBar);
+		statusBar.add(progressPanel, BorderLayout.CENTER);
 		statusBar.add(userLabel, BorderLayout.EAST);
 
 		// Panel de bienvenida inicial
@@ -255,18 +280,26 @@ public class MainFrame extends JFrame {
 	 */
 	private void setupMenuReportes() {
 		JMenuItem reporteInspecciones = createMenuItem("Reporte de Inspecciones", 'I');
+		JMenuItem reporteCultivos = createMenuItem("Reporte de Cultivos", 'C');
 		JMenuItem reportePredios = createMenuItem("Reporte de Predios", 'P');
 		JMenuItem reportePlagas = createMenuItem("Reporte de Plagas", 'L');
 		JMenuItem exportarCSV = createMenuItem("Exportar a CSV", 'E');
+		JMenuItem estadoReportes = createMenuItem("Estado de Reportes", 'S');
 
 		menuReportes.add(reporteInspecciones);
+		menuReportes.add(reporteCultivos);
 		menuReportes.add(reportePredios);
 		menuReportes.add(reportePlagas);
 		menuReportes.addSeparator();
 		menuReportes.add(exportarCSV);
+		menuReportes.addSeparator();
+		menuReportes.add(estadoReportes);
 
+		// Listeners
+		reporteInspecciones.addActionListener(e -> solicitarReporte(ReportRequest.Tipo.INSPECCIONES));
+		reporteCultivos.addActionListener(e -> solicitarReporte(ReportRequest.Tipo.CULTIVOS));
+		estadoReportes.addActionListener(e -> mostrarTrabajosReportes());
 		// TODO: Agregar listeners
-		reporteInspecciones.addActionListener(e -> showNotImplemented());
 		reportePredios.addActionListener(e -> showNotImplemented());
 		reportePlagas.addActionListener(e -> showNotImplemented());
 		exportarCSV.addActionListener(e -> showNotImplemented());
@@ -317,7 +350,7 @@ public class MainFrame extends JFrame {
 		// Listeners
 		btnNewInspection.addActionListener(e -> showNotImplemented());
 		btnListInspections.addActionListener(e -> mostrarListadoInspecciones());
-		btnReports.addActionListener(e -> showNotImplemented());
+		btnReports.addActionListener(e -> mostrarTrabajosReportes());
 	}
 
 	/**
@@ -364,6 +397,90 @@ public class MainFrame extends JFrame {
 		updateStatus("Listado de Inspecciones Fitosanitarias");
 	}
 
+	/**
+	 * Solicita los parámetros de un reporte y lo encola en el planificador de reportes.
+	 * El reporte se genera en segundo plano; su avance se consulta en "Estado de Reportes".
+	 */
+	private void solicitarReporte(ReportRequest.Tipo tipo) {
+		boolean inspecciones = tipo == ReportRequest.Tipo.INSPECCIONES;
+		JTextField loteField = new JTextField(10);
+		JTextField desdeField = new JTextField(10);
+		JTextField hastaField = new JTextField(10);
+		JComboBox<ReportJob.Prioridad> prioridadCombo = new JComboBox<>(ReportJob.Prioridad.values());
+		prioridadCombo.setSelectedItem(ReportJob.Prioridad.NORMAL);
+		JCheckBox comprimirCheck = new JCheckBox("Comprimir (gzip)");
+
+		JPanel panel = new JPanel(new GridLayout(0, 2, 5, 5));
+		if (inspecciones) {
+			panel.add(new JLabel("Lote (vacío = todos):"));
+			panel.add(loteField);
+			panel.add(new JLabel("Desde (aaaa-mm-dd):"));
+			panel.add(desdeField);
+			panel.add(new JLabel("Hasta (aaaa-mm-dd):"));
+			panel.add(hastaField);
+		}
+		panel.add(new JLabel("Prioridad:"));
+		panel.add(prioridadCombo);
+		panel.add(new JLabel());
+		panel.add(comprimirCheck);
+
+		int opcion = JOptionPane.showConfirmDialog(this, panel, inspecciones ? "Reporte de Inspecciones" : "Reporte de Cultivos",
+			JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+		if (opcion != JOptionPane.OK_OPTION) {
+			return;
+		}
+
+		JFileChooser chooser = new JFileChooser();
+		chooser.setDialogTitle("Carpeta destino del reporte");
+		chooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+		if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+			return;
+		}
+
+		try {
+			ReportRequest request = new ReportRequest(tipo, chooser.getSelectedFile().getAbsolutePath());
+			request.setComprimir(comprimirCheck.isSelected());
+			request.setSolicitante(SessionContext.getActual());
+			if (inspecciones) {
+				String lote = loteField.getText().trim();
+				request.setIdLote(lote.isEmpty() ? null : Long.valueOf(lote));
+				request.setRangoFechas(parseFecha(desdeField.getText()), parseFecha(hastaField.getText()));
+			}
+			ReportJob.Prioridad prioridad = (ReportJob.Prioridad) prioridadCombo.getSelectedItem();
+			// El primer uso del planificador lee su archivo de estado: se encola fuera del EDT
+			UITaskExecutor.submit(UITask.of("Encolando reporte...",
+				() -> ReportJobScheduler.getDefault().enviar(request, prioridad),
+				id -> {
+					updateStatus("Reporte en cola (trabajo " + id + ")");
+					mostrarTrabajosReportes();
+				},
+				e -> MessageUtil.showError(this, e.getMessage())));
+		} catch (NumberFormatException e) {
+			MessageUtil.showError(this, "El lote debe ser un número");
+		} catch (DateTimeParseException e) {
+			MessageUtil.showError(this, "Las fechas deben tener el formato aaaa-mm-dd");
+		} catch (IllegalArgumentException e) {
+			MessageUtil.showError(this, e.getMessage());
+		}
+	}
+
+	private static LocalDate parseFecha(String texto) {
+		String valor = texto.trim();
+		return valor.isEmpty() ? null : LocalDate.parse(valor);
+	}
+
+	/**
+	 * Muestra el estado de los trabajos de reportes.
+	 */
+	private void mostrarTrabajosReportes() {
+		UITaskExecutor.submit(UITask.of("Cargando trabajos de reportes...", ReportJobScheduler::getDefault,
+			scheduler -> {
+				setContent(new ReportJobsPanel(scheduler));
+				updateStatus("Trabajos de Reportes");
+			},
+			e -> MessageUtil.showError(this, "Error al cargar los trabajos de reportes: " + e.getMessage())));
+	}
+
 	/**
 	 * Muestra mensaje de funcionalidad no implementada.
 	 */
@@ -395,6 +512,7 @@ public class MainFrame extends JFrame {
 		boolean confirm = MessageUtil.showConfirm(this, "¿Está seguro que desea cerrar sesión?", "Cerrar Sesión");
 		if (confirm) {
 			// TODO: Implementar cierre de sesión y retorno a LoginFrame
+			SessionContext.cerrar();
 			MessageUtil.showInfo(this, "Sesión cerrada exitosamente");
 			System.exit(0);
 		}
@@ -414,8 +532,11 @@ public class MainFrame extends JFrame {
 	 * Configura los listeners de la ventana.
 	 */
 	protected void setupListeners() {
-		// Implementación por defecto vacía
-		// Las subclases pueden sobrescribir si necesitan listeners
+		// Las tareas en segundo plano reportan su avance en la barra de estado
+		UITaskExecutor.setStatusListener(this::updateStatus);
+		// Los resultados técnicos guardados desde cualquier formulario generan alertas
+		AlertPipeline.getDefault();
+		DetectorBrotes.getDefault();
 	}
 
 	/**
@@ -429,9 +550,34 @@ public class MainFrame extends JFrame {
 	 * Actualiza el mensaje de la barra de estado.
 	 */
 	public void updateStatus(String message) {
+		statusMessage = message;
 		statusLabel.setText("  " + message);
 	}
 
+	/**
+	 * Actualiza la barra de estado con el avance de las tareas en segundo plano.
+	 * 
+	 * @param message Mensaje de la tarea (null para conservar el actual)
+	 * @param percent Porcentaje de avance (0-100) o -1 si es indeterminado
+	 * @param activeTasks Tareas en ejecución; con 0 se oculta la barra de progreso y se
+	 *                    restaura el mensaje de estado anterior a las tareas
+	 */
+	public void updateStatus(String message, int percent, int activeTasks) {
+		if (activeTasks == 0) {
+			progressBar.setVisible(false);
+			statusLabel.setText("  " + statusMessage);
+			return;
+		}
+		if (message != null) {
+			statusLabel.setText("  " + message);
+		}
+		progressBar.setIndeterminate(percent < 0);
+		if (percent >= 0) {
+			progressBar.setValue(Math.min(100, percent));
+		}
+		progressBar.setVisible(true);
+	}
+
 	/**
 	 * Cambia el contenido del panel principal.
 	 */